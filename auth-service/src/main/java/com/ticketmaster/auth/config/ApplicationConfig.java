@@ -2,7 +2,9 @@ package com.ticketmaster.auth.config;
 
 
 import com.ticketmaster.auth.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,8 +14,11 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 /**
  * <h1>Application Security Configuration</h1>
  * <p>
@@ -61,13 +66,14 @@ public class ApplicationConfig {
      * </ol>
      * </p>
      *
+     * @param passwordEncoder The encoder defined below.
      * @return The configured provider ready to verify credentials.
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
         daoAuthenticationProvider.setUserDetailsService(userDetailsService());
-        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder());
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
         return daoAuthenticationProvider;
     }
 
@@ -94,11 +100,34 @@ public class ApplicationConfig {
      * It adds "salt" to passwords so that even if two users have the same password,
      * their database entries will look different.
      * </p>
+     * <p>
+     * New hashes are stored as <code>{bcrypt}$2a$&lt;strength&gt;$...</code>. Hashes saved before the
+     * <code>{bcrypt}</code> id existed still match, and hashes with no id or a lower cost are reported
+     * by {@code upgradeEncoding}, so the {@code PasswordHashUpgrader} moves them to the current
+     * cost as users log in.
+     * </p>
+     * <p>
+     * BCrypt is deliberately slow, so it runs on a bounded pool of its own instead of on request
+     * threads (see {@link BoundedPasswordEncoder}).
+     * </p>
      *
-     * @return A new BCryptPasswordEncoder instance.
+     * @param strength          The BCrypt cost for new hashes ({@code auth.password-hashing.bcrypt-strength}).
+     * @param threads           Hashing workers ({@code auth.password-hashing.threads}, 0 = one per CPU).
+     * @param queueCapacity     Calls that may wait for a worker before new ones get a 429.
+     * @param retryAfterSeconds The {@code Retry-After} sent with that 429.
+     * @param meterRegistry     Where the pool's queue depth and hash latency are published.
+     * @return A delegating BCrypt encoder running on the hashing pool.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password-hashing.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.password-hashing.threads:0}") int threads,
+                                           @Value("${auth.password-hashing.queue-capacity:32}") int queueCapacity,
+                                           @Value("${auth.password-hashing.retry-after-seconds:1}") long retryAfterSeconds,
+                                           MeterRegistry meterRegistry) {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BoundedPasswordEncoder(delegating, workers, queueCapacity, retryAfterSeconds, meterRegistry);
     }
 }
@@ -0,0 +1,119 @@
+package com.ticketmaster.auth.config;
+
+import com.ticketmaster.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <h1>Bounded Password Encoder</h1>
+ * <p>
+ * Runs every hash and every verification of the wrapped encoder on a dedicated pool of
+ * {@code threads} workers, with at most {@code queueCapacity} calls waiting for a worker.
+ * </p>
+ * <h2>Why:</h2>
+ * <p>
+ * A BCrypt hash costs tens of milliseconds of CPU. Run directly on Tomcat threads, a burst of
+ * logins takes every request thread and even {@code /api/v1/system/status} stops answering.
+ * Here at most {@code threads + queueCapacity} request threads are ever busy with passwords: once
+ * the queue is full, the caller fails fast with a {@link PasswordHashingBusyException} (a 429 with
+ * {@code Retry-After}) instead of queueing behind work the CPU cannot keep up with.
+ * </p>
+ * <h2>Metrics:</h2>
+ * <ul>
+ * <li>{@code auth.password.hashing} - hash latency on the worker, tagged {@code operation=encode|matches}.</li>
+ * <li>{@code auth.password.hashing.queue} - calls waiting for a worker.</li>
+ * <li>{@code auth.password.hashing.active} - workers currently hashing.</li>
+ * <li>{@code auth.password.hashing.rejected} - calls turned away because the queue was full.</li>
+ * </ul>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    static final String METRIC = "auth.password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger workers = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + workers.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder(METRIC).tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder(METRIC).tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder(METRIC + ".rejected").register(meterRegistry);
+        Gauge.builder(METRIC + ".queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder(METRIC + ".active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the stored hash, no hashing
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the workers when the context shuts down (Spring infers {@code close} as the destroy method).
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Supplier<T> hashing) {
+        Future<T> result;
+        try {
+            result = executor.submit(() -> timer.record(hashing));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
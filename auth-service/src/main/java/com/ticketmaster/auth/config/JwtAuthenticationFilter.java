@@ -1,15 +1,22 @@
 package com.ticketmaster.auth.config;
 
+import com.ticketmaster.auth.entity.User;
 import com.ticketmaster.auth.service.JwtService;
+import com.ticketmaster.auth.service.TokenRevocationService;
+import com.ticketmaster.auth.util.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -18,6 +25,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.lang.NonNull;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * <h1>JWT Authentication Filter</h1>
@@ -32,15 +41,46 @@ import java.io.IOException;
  * <li>Validates the token against the database and secret key.</li>
  * <li>If valid, it manually authenticates the user in Spring Security's context.</li>
  * </ol>
+ * <h2>Modes ({@code auth.token-authentication}):</h2>
+ * <ul>
+ * <li>{@code claims} (default): the token is verified once and the user is built from its
+ * {@code uid}, {@code role} and {@code cv} claims as a {@link JwtPrincipal}. The only state consulted
+ * is the user's credential version, through {@link UserCredentialCache}. Tokens without these
+ * claims (issued before they existed) fall back to the cached user.</li>
+ * <li>{@code database}: the user is loaded from the database on every request, as before.</li>
+ * </ul>
+ * <p>
+ * In both modes a token issued for an older credential version (before a password change) is rejected,
+ * and so is a revoked token (logout or admin revoke), checked in memory by {@link TokenRevocationService}.
+ * </p>
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
 
     private final UserDetailsService userDetailsService;
 
+    private final UserCredentialCache userCredentialCache;
+
+    private final TokenRevocationService tokenRevocationService;
+
+    private final boolean statelessClaims;
+
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsService userDetailsService,
+                                   UserCredentialCache userCredentialCache,
+                                   TokenRevocationService tokenRevocationService,
+                                   @Value("${auth.token-authentication:claims}") String mode) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.userCredentialCache = userCredentialCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.statelessClaims = !"database".equalsIgnoreCase(mode);
+    }
+
     /**
      * The core logic that runs for every request.
      *
@@ -56,8 +96,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
         // Check for the Authorization Header
         final String authorizationHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
         // If header is missing or doesn't start with "Bearer", ignore it and pass along.
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -65,10 +103,67 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         // Extract the Token (Remove "Bearer " prefix)
-        jwt = authorizationHeader.substring(7);
+        final String jwt = authorizationHeader.substring(7);
+
+        if (statelessClaims) {
+            authenticateFromClaims(jwt, request);
+        } else {
+            authenticateFromDatabase(jwt, request);
+        }
+
+        // Continue the filter chain (Pass to the next filter)
+        filterChain.doFilter(request, response);
+
+    }
+
+    private void authenticateFromClaims(String jwt, HttpServletRequest request) {
+        // We only authenticate if the user is not already authenticated
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return;
+        }
+
+        // Verify the signature and expiry once, and read everything we need from the same parse
+        Claims claims = jwtService.parseClaims(jwt);
+        if (claims == null || claims.getSubject() == null || tokenRevocationService.isRevoked(claims.getId())) {
+            return;
+        }
+
+        Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        Integer credentialVersion = claims.get(JwtService.CREDENTIAL_VERSION_CLAIM, Integer.class);
+        String role = claims.get(JwtService.ROLE_CLAIM, String.class);
+
+        if (userId == null || credentialVersion == null || role == null) {
+            // Token issued before these claims existed: authenticate the (cached) user instead
+            UserDetails userDetails;
+            try {
+                userDetails = userCredentialCache.loadUser(claims.getSubject());
+            } catch (UsernameNotFoundException ex) {
+                return;
+            }
+            if (!(userDetails instanceof User user) || user.getCredentialVersion() == 0) {
+                authenticate(userDetails, userDetails.getAuthorities(), request);
+            }
+            return;
+        }
+
+        Role grantedRole;
+        try {
+            grantedRole = Role.valueOf(role);
+        } catch (IllegalArgumentException ex) {
+            // A role this service does not know (e.g. one removed since the token was issued)
+            return;
+        }
 
+        // A password change since the token was issued makes it stale
+        if (userCredentialCache.isCurrent(userId, credentialVersion)) {
+            JwtPrincipal principal = new JwtPrincipal(userId, claims.getSubject(), grantedRole, credentialVersion);
+            authenticate(principal, List.of(new SimpleGrantedAuthority(role)), request);
+        }
+    }
+
+    private void authenticateFromDatabase(String jwt, HttpServletRequest request) {
         // Extract User Email from Token
-        userEmail = jwtService.extractUsername(jwt);
+        final String userEmail = jwtService.extractUsername(jwt);
 
         // Validate and Authenticate
         // We only authenticate if the user is not already authenticated
@@ -77,29 +172,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Load user details from the database
             UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
-            // Check if token is valid (matches user and not expired)
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-
-                // Create an Authentication Token required by Spring Security
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-
-                // Add extra request details (IP, Session ID, etc.)
-                authenticationToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-
-                // Tell Spring Security "This user is valid!"
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            // Check if token is valid (matches user, current credential version and not expired)
+            if (jwtService.isTokenValid(jwt, userDetails)
+                    && !tokenRevocationService.isRevoked(jwtService.extractClaim(jwt, Claims::getId))) {
+                authenticate(userDetails, userDetails.getAuthorities(), request);
             }
 
         }
+    }
 
-        // Continue the filter chain (Pass to the next filter)
-        filterChain.doFilter(request, response);
+    private void authenticate(Object principal, Collection<? extends GrantedAuthority> authorities, HttpServletRequest request) {
+        // Create an Authentication Token required by Spring Security
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                authorities
+        );
+
+        // Add extra request details (IP, Session ID, etc.)
+        authenticationToken.setDetails(detailsSource.buildDetails(request));
 
+        // Tell Spring Security "This user is valid!"
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
     }
 }
@@ -0,0 +1,29 @@
+package com.ticketmaster.auth.config;
+
+import com.ticketmaster.auth.util.Role;
+
+import java.security.Principal;
+
+/**
+ * <h1>JWT Principal</h1>
+ * <p>
+ * The authenticated user as described by the verified claims of their token: no database row
+ * behind it. {@link JwtAuthenticationFilter} builds one per request in claims mode.
+ * </p>
+ * <p>
+ * {@link #getName()} returns the email, like {@code User.getUsername()} does, so code reading
+ * {@code Principal.getName()} works with both principals.
+ * </p>
+ *
+ * @param userId            The {@code uid} claim.
+ * @param email             The subject of the token.
+ * @param role              The {@code role} claim.
+ * @param credentialVersion The {@code cv} claim: the credential version the token was issued for.
+ */
+public record JwtPrincipal(Long userId, String email, Role role, int credentialVersion) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
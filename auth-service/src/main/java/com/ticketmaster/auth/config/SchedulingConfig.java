@@ -0,0 +1,12 @@
+package com.ticketmaster.auth.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (e.g. the password hash upgrade flush).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
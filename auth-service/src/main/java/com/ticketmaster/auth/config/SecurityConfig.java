@@ -32,6 +32,7 @@ import org.springframework.security.config.Customizer;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ServiceKeyAuthenticationFilter serviceKeyAuthenticationFilter;
     private final AuthenticationProvider authenticationProvider;
 
     /**
@@ -45,12 +46,14 @@ public class SecurityConfig {
      * <li><b>Authorization Rules:</b>
      * <ul>
      * <li>{@code /api/v1/auth/**} -> Permitted (Login/Register)</li>
+     * <li>{@code /api/v1/internal/**} -> Other services (service key) or ADMIN only</li>
      * <li>Swagger UI paths -> Permitted (Documentation)</li>
+     * <li>{@code /api/v1/admin/**} -> {@code ADMIN} role only</li>
      * <li>Any other request -> <b>Blocked</b> (Must be authenticated)</li>
      * </ul>
      * </li>
      * <li><b>Session Management:</b> Set to {@code STATELESS}. The server will not store any user session data in memory. Every request must be independently authenticated via Token.</li>
-     * <li><b>Filter Placement:</b> We insert our {@code jwtAuthenticationFilter} <b>before</b> the standard Spring {@code UsernamePasswordAuthenticationFilter}. This ensures the Token is checked first.</li>
+     * <li><b>Filter Placement:</b> We insert our {@code jwtAuthenticationFilter} <b>before</b> the standard Spring {@code UsernamePasswordAuthenticationFilter}. This ensures the Token is checked first. The {@code serviceKeyAuthenticationFilter} sits next to it for the internal endpoints.</li>
      * </ol>
      *
      * @param http The HttpSecurity object to configure.
@@ -68,6 +71,9 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/system/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**").permitAll()
+                        .requestMatchers("/api/v1/admin/**").hasAuthority("ADMIN")
+                        .requestMatchers("/api/v1/internal/**")
+                        .hasAnyAuthority(ServiceKeyAuthenticationFilter.SERVICE_AUTHORITY, "ADMIN")
                         .anyRequest()
                         .authenticated()
                 )
@@ -75,7 +81,8 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(serviceKeyAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
@@ -0,0 +1,58 @@
+package com.ticketmaster.auth.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * <h1>Service Key Authentication Filter</h1>
+ * <p>
+ * Authenticates calls from the other services to {@code /api/v1/internal/**}. A request whose
+ * {@value #SERVICE_KEY_HEADER} header matches {@code internal.service-key} gets the {@code SERVICE}
+ * authority. The key is compared in constant time. A blank key turns this off, leaving the
+ * internal endpoints to {@code ADMIN} tokens.
+ * </p>
+ */
+@Component
+public class ServiceKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String SERVICE_KEY_HEADER = "X-Service-Key";
+    public static final String SERVICE_AUTHORITY = "SERVICE";
+
+    private final byte[] serviceKey;
+
+    public ServiceKeyAuthenticationFilter(@Value("${internal.service-key:}") String serviceKey) {
+        this.serviceKey = serviceKey.isBlank() ? null : serviceKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return serviceKey == null || !request.getRequestURI().startsWith("/api/v1/internal/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String presented = request.getHeader(SERVICE_KEY_HEADER);
+        if (presented != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && MessageDigest.isEqual(serviceKey, presented.getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    "service", null, List.of(new SimpleGrantedAuthority(SERVICE_AUTHORITY))));
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ticketmaster.auth.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.ticketmaster.auth.entity.User;
+import com.ticketmaster.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * <h1>User Credential Cache</h1>
+ * <p>
+ * The small, bounded per-node state that token authentication still needs once it stops loading
+ * the user on every request.
+ * </p>
+ * <h2>What is cached:</h2>
+ * <ul>
+ * <li><b>Credential versions</b> by user ID, to check the {@code cv} claim. A miss runs a
+ * version-only query, so an active user costs at most one small query per
+ * {@code auth.user-cache.ttl-seconds} instead of one full user load per request.</li>
+ * <li><b>Users</b> by email, only for tokens issued before the {@code uid}/{@code cv} claims
+ * existed, which have nothing else to authenticate from.</li>
+ * </ul>
+ * <h2>Consistency:</h2>
+ * <p>
+ * A password change on this node updates both caches immediately via {@link #credentialsChanged}.
+ * Other nodes notice when their entry expires, so an old token can outlive a password change
+ * there by at most {@code auth.user-cache.ttl-seconds}.
+ * </p>
+ */
+@Component
+public class UserCredentialCache {
+
+    private final LoadingCache<Long, Optional<Integer>> credentialVersions;
+    private final LoadingCache<String, UserDetails> users;
+
+    public UserCredentialCache(UserRepository userRepository,
+                               UserDetailsService userDetailsService,
+                               @Value("${auth.user-cache.max-size:10000}") long maxSize,
+                               @Value("${auth.user-cache.ttl-seconds:30}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.credentialVersions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(userRepository::findCredentialVersionById);
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * @return {@code true} if the user still exists and {@code credentialVersion} is their current one.
+     */
+    public boolean isCurrent(Long userId, int credentialVersion) {
+        return credentialVersions.get(userId).map(current -> current == credentialVersion).orElse(false);
+    }
+
+    /**
+     * Loads the user by email through the cache.
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException If there is no such user (not cached).
+     */
+    public UserDetails loadUser(String email) {
+        return users.get(email);
+    }
+
+    /**
+     * Makes tokens and cached users with an older credential version fail right away on this node.
+     */
+    public void credentialsChanged(User user) {
+        credentialVersions.put(user.getId(), Optional.of(user.getCredentialVersion()));
+        users.invalidate(user.getEmail());
+    }
+}
@@ -0,0 +1,38 @@
+package com.ticketmaster.auth.controller;
+
+import com.ticketmaster.auth.dto.request.RevokeTokenRequest;
+import com.ticketmaster.auth.service.TokenRevocationService;
+import com.ticketmaster.common.dto.RevokedTokenResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * <h1>Admin Controller</h1>
+ * <p>
+ * Administrative endpoints. Restricted to the {@code ADMIN} role in {@code SecurityConfig}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Revokes any user's token by its ID ({@code jti} claim), e.g. a leaked one.
+     *
+     * @param request The token ID and, if known, its expiry.
+     * @return The stored revocation.
+     */
+    @PostMapping(value = "/tokens/revoke", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RevokedTokenResponse> revokeToken(@Valid @RequestBody RevokeTokenRequest request) {
+        return ResponseEntity.ok(tokenRevocationService.revoke(request.getJti(), request.getExpiresAt()));
+    }
+}
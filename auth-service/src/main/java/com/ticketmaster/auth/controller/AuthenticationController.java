@@ -5,14 +5,20 @@ import com.ticketmaster.auth.dto.request.AuthenticationRequest;
 import com.ticketmaster.auth.dto.response.AuthenticationResponse;
 import com.ticketmaster.auth.dto.request.RegisterRequest;
 import com.ticketmaster.auth.service.AuthenticationService;
+import com.ticketmaster.auth.service.TokenRevocationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+
 /**
  * <h1>Authentication Controller</h1>
  * <p>
@@ -24,6 +30,7 @@ import org.springframework.web.bind.annotation.RestController;
  * <ul>
  * <li><b>Register:</b> Creating new user accounts.</li>
  * <li><b>Authenticate:</b> Verifying credentials and issuing JWTs.</li>
+ * <li><b>Logout:</b> Revoking the presented JWT before it expires.</li>
  * </ul>
  */
 @RestController
@@ -32,6 +39,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Registers a new user in the system.
@@ -59,14 +67,33 @@ public class AuthenticationController {
      * If they match, it generates and signs a new JWT for the user.
      * </p>
      *
-     * @param request The DTO containing the user's login credentials.
+     * @param request     The DTO containing the user's login credentials.
+     * @param httpRequest The raw request, for the client IP that failed attempts are counted against.
      * @return A {@link ResponseEntity} containing the JWT access token.
      * @throws org.springframework.security.authentication.BadCredentialsException If the email/password is incorrect.
+     * @throws com.ticketmaster.auth.exception.LoginThrottledException If the account or IP failed too often (429).
      */
     @PostMapping(value = "/authenticate", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<AuthenticationResponse> authenticateUser(
-            @Valid @RequestBody AuthenticationRequest request) {
-        return ResponseEntity.ok(authenticationService.authenticate(request));
+            @Valid @RequestBody AuthenticationRequest request, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(authenticationService.authenticate(request, httpRequest.getRemoteAddr()));
+    }
+
+    /**
+     * Logs out: revokes the token in the {@code Authorization} header, so it is rejected from now
+     * on even though it has not expired.
+     *
+     * @param authorization The {@code Bearer} header of the token to revoke.
+     * @return 204 No Content, or 401 if there is no valid token to revoke.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")
+                || !tokenRevocationService.logout(authorization.substring(7))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.noContent().build();
     }
 
 }
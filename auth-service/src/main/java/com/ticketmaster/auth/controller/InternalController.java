@@ -0,0 +1,46 @@
+package com.ticketmaster.auth.controller;
+
+import com.ticketmaster.auth.service.TokenRevocationService;
+import com.ticketmaster.common.dto.RevokedTokenResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * <h1>Internal Controller</h1>
+ * <p>
+ * Endpoints called by the other services, not by users. Restricted in {@code SecurityConfig} to
+ * callers presenting the shared service key ({@code ServiceKeyAuthenticationFilter}) or an
+ * {@code ADMIN} token.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/internal")
+@RequiredArgsConstructor
+public class InternalController {
+
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Lists the tokens revoked since a point in time that have not expired yet.
+     * <p>
+     * Polled by other services to keep their own revocation list.
+     * </p>
+     *
+     * @param since Only revocations made at or after this instant (ISO-8601); all if omitted.
+     * @return The revocations, oldest first.
+     */
+    @GetMapping(value = "/revocations", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<RevokedTokenResponse>> revocations(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since) {
+        return ResponseEntity.ok(tokenRevocationService.revokedSince(since != null ? since : Instant.EPOCH));
+    }
+}
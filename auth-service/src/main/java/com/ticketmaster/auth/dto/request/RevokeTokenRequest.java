@@ -0,0 +1,36 @@
+package com.ticketmaster.auth.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * <h1>Revoke Token Request DTO</h1>
+ * <p>
+ * Identifies the access token an administrator wants to invalidate before it expires.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokeTokenRequest {
+
+    /**
+     * The {@code jti} claim of the token.
+     */
+    @Schema(description = "Token ID (jti claim)", example = "3f2b8c1e-7a4d-4e0b-9c55-1d2f6a8b9e70")
+    @NotBlank(message = "Token ID is required")
+    private String jti;
+
+    /**
+     * When the token expires. If unknown, the revocation is kept for the longest a token can live.
+     */
+    @Schema(description = "Token expiry (optional)", example = "2026-06-15T20:00:00Z")
+    private Instant expiresAt;
+}
@@ -0,0 +1,45 @@
+package com.ticketmaster.auth.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * <h1>Revoked Token Entity</h1>
+ * <p>
+ * An access token that was revoked (logout or admin revoke) before it expired, identified by its
+ * {@code jti} claim. The row is only needed until the token expires; expired rows are purged.
+ * </p>
+ */
+@Data
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revokedAt"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Schema(description = "Token ID (jti claim)", example = "3f2b8c1e-7a4d-4e0b-9c55-1d2f6a8b9e70")
+    private String jti;
+
+    @Schema(description = "When the token expires", example = "2026-06-15T20:00:00Z")
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Schema(description = "When the token was revoked", example = "2026-06-14T20:00:00Z")
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
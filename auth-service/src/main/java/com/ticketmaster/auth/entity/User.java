@@ -62,6 +62,19 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    /**
+     * Incremented whenever the user's credentials change (e.g. a password change).
+     * <p>
+     * Every token carries the version it was issued for (the {@code cv} claim). A token whose
+     * version is not the current one is rejected, so changing the password logs out all
+     * previously issued tokens.
+     * </p>
+     */
+    @Schema(description = "Credential version, bumped on every password change", example = "0")
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int credentialVersion = 0;
+
     /**
      * Returns the authorities (permissions) granted to the user.
      * <p>
@@ -0,0 +1,10 @@
+package com.ticketmaster.auth.exception;
+
+/**
+ * Exception thrown when registering an email that already belongs to a user
+ */
+public class EmailAlreadyRegisteredException extends RuntimeException {
+    public EmailAlreadyRegisteredException(String email) {
+        super("An account already exists for " + email);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketmaster.auth.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when an account or client IP has too many recent failed logins
+ */
+@Getter
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(long retryAfterSeconds) {
+        super("Too many failed login attempts, please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,17 @@
+package com.ticketmaster.auth.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when the password hashing pool and its queue are full
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Too many logins in progress, please try again shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ticketmaster.auth.repository;
+
+import com.ticketmaster.auth.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Revocations made at or after {@code since} whose token has not expired yet.
+     */
+    List<RevokedToken> findByRevokedAtGreaterThanEqualAndExpiresAtAfterOrderByRevokedAt(Instant since, Instant now);
+
+    /**
+     * Deletes the revocations of tokens that expired before {@code now}, in one statement.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
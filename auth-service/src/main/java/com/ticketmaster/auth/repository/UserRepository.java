@@ -1,9 +1,16 @@
 package com.ticketmaster.auth.repository;
 
 import com.ticketmaster.auth.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  *
@@ -12,4 +19,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
 
     Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    /**
+     * Every registered email, streamed (call inside a transaction and close the stream).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+
+    /**
+     * The current credential version only, to check a token's {@code cv} claim without loading the user.
+     */
+    @Query("SELECT u.credentialVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findCredentialVersionById(@Param("id") Long id);
+
+    /**
+     * Counts users whose password hash does not match {@code pattern} (a SQL LIKE pattern),
+     * e.g. to find hashes that are not at the current BCrypt cost yet.
+     */
+    long countByPasswordNotLike(String pattern);
+
+    /**
+     * Replaces the password hash only while it is still {@code oldHash}, and touches no other
+     * column: a password changed in the meantime (and its credential version) is never overwritten.
+     *
+     * @return 1 if the hash was replaced, 0 if the password changed or the user is gone.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
 }
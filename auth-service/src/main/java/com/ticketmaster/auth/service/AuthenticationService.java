@@ -4,11 +4,15 @@ import com.ticketmaster.auth.dto.request.AuthenticationRequest;
 import com.ticketmaster.auth.dto.response.AuthenticationResponse;
 import com.ticketmaster.auth.dto.request.RegisterRequest;
 import com.ticketmaster.auth.entity.User;
+import com.ticketmaster.auth.exception.EmailAlreadyRegisteredException;
 import com.ticketmaster.auth.repository.UserRepository;
 import com.ticketmaster.auth.util.Role;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -33,11 +37,19 @@ public class AuthenticationService {
 
     private final AuthenticationManager authenticationManager;
 
+    private final PasswordHashUpgrader passwordHashUpgrader;
+
+    private final LoginThrottle loginThrottle;
+
+    private final RegisteredEmails registeredEmails;
+
     /**
      * Registers a new user into the database.
      * <p>
      * <b>Process Flow:</b>
      * <ol>
+     * <li>Rejects an email that is already registered. The {@link RegisteredEmails} filter
+     * answers for emails that are definitely new; only the others cost an index probe.</li>
      * <li>Converts the {@link RegisterRequest} DTO into a {@link User} entity.</li>
      * <li><b>Hashes the password</b> using BCrypt so we never store plain text passwords.</li>
      * <li>Assigns the default role ({@code Role.USER}).</li>
@@ -48,21 +60,34 @@ public class AuthenticationService {
      *
      * @param request The registration data (name, email, password) from the frontend.
      * @return An {@link AuthenticationResponse} containing the JWT access token.
+     * @throws EmailAlreadyRegisteredException If a user already has this email (409).
      */
     public AuthenticationResponse register(RegisterRequest request) {
+        String email = request.getEmail();
+        // Only probe the index when the filter cannot rule the email out
+        if (registeredEmails.mightExist(email) && userRepository.existsByEmail(email)) {
+            throw new EmailAlreadyRegisteredException(email);
+        }
+
         var user = User.builder()
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
-                .email(request.getEmail())
+                .email(email)
                 .password(passwordEncoder.encode(request.getPassword()))
                 .role(request.getRole() != null ? request.getRole() : Role.USER)
                 .build();
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Registered concurrently, or on another node since our filter was built
+            if (userRepository.existsByEmail(email)) {
+                throw new EmailAlreadyRegisteredException(email);
+            }
+            throw e;
+        }
+        registeredEmails.added(email);
 
-        // Add role to JWT claims
-        var claims = new java.util.HashMap<String, Object>();
-        claims.put("role", user.getRole().name());
-        var jwtToken = jwtService.generateToken(claims, user);
+        var jwtToken = jwtService.generateAccessToken(user);
 
         return AuthenticationResponse.builder()
                 .token(jwtToken)
@@ -74,31 +99,49 @@ public class AuthenticationService {
      * <p>
      * <b>Process Flow:</b>
      * <ol>
+     * <li>Rejects the attempt if the account or the client IP failed too often recently
+     * (see {@link LoginThrottle}).</li>
      * <li>Delegates credentials verification to the {@link AuthenticationManager}.</li>
-     * <li>If the password is wrong, Spring throws a {@code BadCredentialsException} here.</li>
-     * <li>If valid, we fetch the User entity from the database.</li>
+     * <li>If the password is wrong, Spring throws a {@code BadCredentialsException} here,
+     * and the failure is counted.</li>
+     * <li>If valid, we take the User entity the manager loaded to check the password
+     * (only a different kind of principal makes us fetch it from the database again).</li>
+     * <li>If the stored hash is below the current BCrypt cost, the password is rehashed and the new
+     * hash queued for a background write (see {@link PasswordHashUpgrader}).</li>
      * <li>We generate a new JWT signed with our secret key.</li>
      * </ol>
      * </p>
      *
-     * @param request The login credentials (email and password).
+     * @param request  The login credentials (email and password).
+     * @param clientIp The client's address, or {@code null} if unknown.
      * @return An {@link AuthenticationResponse} containing the valid JWT access token.
      * @throws org.springframework.security.core.AuthenticationException If login fails.
+     * @throws com.ticketmaster.auth.exception.LoginThrottledException If there were too many failed attempts.
      */
-    public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
-        var user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow();
-
-        // Add role to JWT claims
-        var claims = new java.util.HashMap<String, Object>();
-        claims.put("role", user.getRole().name());
-        var jwtToken = jwtService.generateToken(claims, user);
+    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp) {
+        // Throttled before any hashing or database access
+        loginThrottle.checkAllowed(request.getEmail(), clientIp);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(request.getEmail(), clientIp);
+            throw e;
+        }
+        // The provider already loaded the user to check the password: reuse it instead of a second query
+        var user = authentication.getPrincipal() instanceof User authenticated
+                ? authenticated
+                : userRepository.findByEmail(request.getEmail()).orElseThrow();
+
+        passwordHashUpgrader.loginSucceeded(user, request.getPassword());
+
+        var jwtToken = jwtService.generateAccessToken(user);
 
         return AuthenticationResponse.builder()
                 .token(jwtToken)
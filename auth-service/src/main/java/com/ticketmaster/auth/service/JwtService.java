@@ -1,5 +1,6 @@
 package com.ticketmaster.auth.service;
 
+import com.ticketmaster.auth.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
@@ -10,10 +11,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -32,6 +38,15 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    /** The user's role, e.g. {@code USER}. */
+    public static final String ROLE_CLAIM = "role";
+
+    /** The user's database ID. */
+    public static final String USER_ID_CLAIM = "uid";
+
+    /** The user's credential version when the token was issued (see {@code User.credentialVersion}). */
+    public static final String CREDENTIAL_VERSION_CLAIM = "cv";
+
     /**
      * The cryptographic key used to sign the tokens.
      * <p>
@@ -49,6 +64,18 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    /** {@code {"alg":"HS256"}}, the same header jjwt writes, Base64URL-encoded once. */
+    private static final byte[] HS256_HEADER = Base64.getUrlEncoder().withoutPadding()
+            .encode("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII));
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    /** Decoded from {@link #secretKey} on first use, then reused. */
+    private volatile Key signingKey;
+
+    /** A {@code Mac} is not thread-safe but is reusable: keep one initialised per thread. */
+    private final ThreadLocal<Mac> hmacSha256 = ThreadLocal.withInitial(this::newMac);
+
     /**
      * Extracts the Username (Email) from the token.
      *
@@ -92,6 +119,7 @@ public class JwtService {
      * <b>Structure of the Token:</b>
      * <ol>
      * <li><b>Claims:</b> Custom data (empty map by default).</li>
+     * <li><b>ID:</b> A random token ID ({@code jti}), so the token can be revoked.</li>
      * <li><b>Subject:</b> The unique identifier (User Email).</li>
      * <li><b>IssuedAt:</b> Current timestamp.</li>
      * <li><b>Expiration:</b> Current timestamp + configured duration.</li>
@@ -109,6 +137,7 @@ public class JwtService {
         return Jwts
                 .builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
@@ -116,6 +145,51 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Mints the access token for a user: the fast path used at login and registration.
+     * <p>
+     * The token is the same as {@code generateToken(claims, user)} with the role, user ID and
+     * credential version claims and a random token ID, but built without jjwt: the header segment
+     * is precomputed, the payload is written straight to JSON (no claims map) and the signature
+     * comes from a per-thread {@link Mac} initialised once with the cached key.
+     * </p>
+     *
+     * @param user The authenticated user.
+     * @return The final signed JWT string.
+     */
+    public String generateAccessToken(User user) {
+        long now = System.currentTimeMillis();
+        StringBuilder json = new StringBuilder(128).append('{');
+        if (user.getRole() != null) {
+            json.append('"').append(ROLE_CLAIM).append("\":\"").append(user.getRole().name()).append("\",");
+        }
+        if (user.getId() != null) {
+            json.append('"').append(USER_ID_CLAIM).append("\":").append(user.getId()).append(',');
+        }
+        json.append('"').append(CREDENTIAL_VERSION_CLAIM).append("\":").append(user.getCredentialVersion())
+                .append(",\"sub\":");
+        appendJsonString(json, user.getUsername());
+        json.append(",\"jti\":\"").append(UUID.randomUUID()).append('"')
+                .append(",\"iat\":").append(now / 1000)
+                .append(",\"exp\":").append((now + jwtExpiration) / 1000)
+                .append('}');
+
+        byte[] payload = BASE64_URL.encode(json.toString().getBytes(StandardCharsets.UTF_8));
+        Mac mac = hmacSha256.get();
+        mac.update(HS256_HEADER);
+        mac.update((byte) '.');
+        mac.update(payload);
+        byte[] signature = BASE64_URL.encode(mac.doFinal());
+
+        byte[] token = new byte[HS256_HEADER.length + payload.length + signature.length + 2];
+        System.arraycopy(HS256_HEADER, 0, token, 0, HS256_HEADER.length);
+        token[HS256_HEADER.length] = '.';
+        System.arraycopy(payload, 0, token, HS256_HEADER.length + 1, payload.length);
+        token[HS256_HEADER.length + 1 + payload.length] = '.';
+        System.arraycopy(signature, 0, token, token.length - signature.length, signature.length);
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
     /**
      * Validates if a token belongs to the given user and is not expired.
      *
@@ -126,12 +200,42 @@ public class JwtService {
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
             final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token)
+                    && isCurrentCredentialVersion(token, userDetails);
         } catch (JwtException | IllegalArgumentException ex) {
             return false;
         }
     }
 
+    /**
+     * Parses and verifies the token once.
+     * <p>
+     * Unlike the {@code extract*} methods, an invalid token is not an exception here: callers
+     * that only need a yes or no get {@code null}.
+     * </p>
+     *
+     * @param token The JWT string.
+     * @return All claims of the token, or {@code null} if it is malformed, forged or expired.
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return extractAllClaimsJWT(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Tokens issued before the {@code cv} claim existed count as version 0.
+     */
+    private boolean isCurrentCredentialVersion(String token, UserDetails userDetails) {
+        if (!(userDetails instanceof User user)) {
+            return true;
+        }
+        Integer version = extractClaim(token, claims -> claims.get(CREDENTIAL_VERSION_CLAIM, Integer.class));
+        return (version != null ? version : 0) == user.getCredentialVersion();
+    }
+
     /**
      * Checks if the token's expiration date has passed.
      *
@@ -167,12 +271,52 @@ public class JwtService {
     }
 
     /**
-     * Decodes the Secret Key from Base64 into a cryptographic Key object.
+     * Decodes the Secret Key from Base64 into a cryptographic Key object, once.
      *
      * @return A standard Key object usable by the HMAC-SHA algorithm.
      */
     private Key getSignInkey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key key = signingKey;
+        if (key == null) {
+            // Two threads may both decode on startup: same result, no harm
+            key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(getSignInkey());
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /**
+     * Appends {@code value} as a JSON string literal.
+     */
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
     }
 }
@@ -0,0 +1,98 @@
+package com.ticketmaster.auth.service;
+
+import com.ticketmaster.auth.exception.LoginThrottledException;
+import com.ticketmaster.auth.util.SlidingWindowCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * <h1>Login Throttle</h1>
+ * <p>
+ * Turns away logins for an account or a client IP that recently failed too often, before any
+ * password hashing or database access: a credential-stuffing wave then costs a hash lookup per
+ * attempt instead of a BCrypt verification.
+ * </p>
+ * <h2>Limits:</h2>
+ * <ul>
+ * <li>{@code auth.login-throttle.max-failures-per-email} failed logins per account, and</li>
+ * <li>{@code auth.login-throttle.max-failures-per-ip} failed logins per client IP,</li>
+ * </ul>
+ * <p>
+ * both over the last {@code auth.login-throttle.window-seconds}. Failures are counted in two
+ * {@link SlidingWindowCounter}s, so memory stays fixed however many emails and IPs are tried.
+ * Counts are per node.
+ * </p>
+ */
+@Service
+public class LoginThrottle {
+
+    private final SlidingWindowCounter failuresByEmail;
+    private final SlidingWindowCounter failuresByIp;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final Counter throttledByEmail;
+    private final Counter throttledByIp;
+
+    @Autowired
+    public LoginThrottle(@Value("${auth.login-throttle.window-seconds:900}") long windowSeconds,
+                         @Value("${auth.login-throttle.slots:15}") int slots,
+                         @Value("${auth.login-throttle.counters-per-row:4096}") int width,
+                         @Value("${auth.login-throttle.max-failures-per-email:10}") int maxFailuresPerEmail,
+                         @Value("${auth.login-throttle.max-failures-per-ip:100}") int maxFailuresPerIp,
+                         MeterRegistry meterRegistry) {
+        this(windowSeconds, slots, width, maxFailuresPerEmail, maxFailuresPerIp, meterRegistry, Clock.systemUTC());
+    }
+
+    LoginThrottle(long windowSeconds, int slots, int width, int maxFailuresPerEmail, int maxFailuresPerIp,
+                  MeterRegistry meterRegistry, Clock clock) {
+        Duration window = Duration.ofSeconds(windowSeconds);
+        this.failuresByEmail = new SlidingWindowCounter(window, slots, 4, width, clock);
+        this.failuresByIp = new SlidingWindowCounter(window, slots, 4, width, clock);
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.throttledByEmail = Counter.builder("auth.login.throttled").tag("by", "email").register(meterRegistry);
+        this.throttledByIp = Counter.builder("auth.login.throttled").tag("by", "ip").register(meterRegistry);
+    }
+
+    /**
+     * @param email    The account being logged into.
+     * @param clientIp The client's address, or {@code null} if unknown.
+     * @throws LoginThrottledException If either has reached its failure limit.
+     */
+    public void checkAllowed(String email, String clientIp) {
+        if (failuresByEmail.count(normalize(email)) >= maxFailuresPerEmail) {
+            throttledByEmail.increment();
+            throw new LoginThrottledException(retryAfterSeconds(failuresByEmail));
+        }
+        if (clientIp != null && failuresByIp.count(clientIp) >= maxFailuresPerIp) {
+            throttledByIp.increment();
+            throw new LoginThrottledException(retryAfterSeconds(failuresByIp));
+        }
+    }
+
+    /**
+     * Counts a failed login against the account and the client IP.
+     */
+    public void recordFailure(String email, String clientIp) {
+        failuresByEmail.increment(normalize(email));
+        if (clientIp != null) {
+            failuresByIp.increment(clientIp);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long retryAfterSeconds(SlidingWindowCounter counter) {
+        // The earliest the count can drop; it may take longer if failures are spread over the window
+        return Math.max(1, (counter.millisUntilSlide() + 999) / 1000);
+    }
+}
@@ -0,0 +1,181 @@
+package com.ticketmaster.auth.service;
+
+import com.ticketmaster.auth.entity.User;
+import com.ticketmaster.auth.exception.PasswordHashingBusyException;
+import com.ticketmaster.auth.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h1>Password Hash Upgrader</h1>
+ * <p>
+ * Moves stored hashes to the current BCrypt cost ({@code auth.password-hashing.bcrypt-strength})
+ * as users log in, so the cost can be tuned without forcing password resets.
+ * </p>
+ * <h2>How it works:</h2>
+ * <ol>
+ * <li>After a successful login, {@link #loginSucceeded} asks the encoder whether the stored hash
+ * needs an upgrade (older cost, or no <code>{bcrypt}</code> id yet). If so, the password the user
+ * just proved is rehashed right away on the bounded hashing pool, and only the new hash is parked
+ * in a bounded pending map. A hash that is already at the current cost only gets its
+ * <code>{bcrypt}</code> id, with no rehash.</li>
+ * <li>{@link #flush()} runs in the background and writes up to {@code batch-size} pending hashes
+ * back through {@link UserRepository} in one transaction.</li>
+ * <li>Each write is a single UPDATE guarded on the hash the user logged in with, so a row whose
+ * password changed in the meantime is left alone, credential version included.</li>
+ * </ol>
+ * <p>
+ * The raw password is never kept: it only lives for the login request. When the hashing pool is
+ * busy, or the pending map is full, the upgrade is skipped and happens on a later login instead,
+ * so an upgrade never turns a login into a 429.
+ * </p>
+ * <h2>Reporting:</h2>
+ * <p>
+ * The gauge {@code auth.password.hash.outdated} is the fraction of users whose hash is not yet at
+ * the current cost, refreshed every {@code report-interval-ms}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class PasswordHashUpgrader {
+
+    static final String ENCODING_ID = "{bcrypt}";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final String currentHashPrefix;
+    private final int batchSize;
+    private final int maxPending;
+
+    private final Map<Long, Rehashed> pending = new ConcurrentHashMap<>();
+    private volatile double outdatedFraction;
+
+    public PasswordHashUpgrader(UserRepository userRepository,
+                                PasswordEncoder passwordEncoder,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${auth.password-hashing.bcrypt-strength:10}") int strength,
+                                @Value("${auth.password-upgrade.batch-size:50}") int batchSize,
+                                @Value("${auth.password-upgrade.max-pending:10000}") int maxPending) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.currentHashPrefix = bcryptPrefix(strength);
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+
+        Gauge.builder("auth.password.hash.outdated", this, PasswordHashUpgrader::outdatedFraction)
+                .description("Fraction of users whose password hash is not at the current BCrypt cost")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rehashes the password if the encoder reports the stored hash as outdated, and queues the
+     * new hash for the next write.
+     *
+     * @param user        The user who just authenticated, with the hash they authenticated against.
+     * @param rawPassword The password they authenticated with. Not kept.
+     */
+    public void loginSucceeded(User user, String rawPassword) {
+        if (user.getId() == null || !passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        if (pending.size() >= maxPending) {
+            return;
+        }
+        String newHash;
+        try {
+            newHash = rehash(user.getPassword(), rawPassword);
+        } catch (PasswordHashingBusyException e) {
+            // Logins have the pool: upgrade on a later login
+            return;
+        }
+        pending.put(user.getId(), new Rehashed(user.getPassword(), newHash));
+    }
+
+    /**
+     * Writes one batch of pending hashes back.
+     */
+    @Scheduled(fixedDelayString = "${auth.password-upgrade.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Rehashed> batch = new HashMap<>();
+        Iterator<Map.Entry<Long, Rehashed>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            Map.Entry<Long, Rehashed> entry = iterator.next();
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            int written = write(batch);
+            log.debug("Upgraded {} of {} password hashes", written, batch.size());
+        }
+    }
+
+    /**
+     * Recomputes the fraction of users whose hash is not at the current cost.
+     */
+    @Scheduled(fixedDelayString = "${auth.password-upgrade.report-interval-ms:300000}")
+    public void refreshOutdatedFraction() {
+        long users = userRepository.count();
+        long outdated = users == 0 ? 0 : userRepository.countByPasswordNotLike(currentHashPrefix + "%");
+        outdatedFraction = users == 0 ? 0.0 : (double) outdated / users;
+        log.info("{} of {} users have a password hash below the current BCrypt cost", outdated, users);
+    }
+
+    public double outdatedFraction() {
+        return outdatedFraction;
+    }
+
+    int pendingUpgrades() {
+        return pending.size();
+    }
+
+    private String rehash(String oldHash, String rawPassword) {
+        if (!oldHash.startsWith(ENCODING_ID) && (ENCODING_ID + oldHash).startsWith(currentHashPrefix)) {
+            // Right cost, only the encoder id is missing
+            return ENCODING_ID + oldHash;
+        }
+        return passwordEncoder.encode(rawPassword);
+    }
+
+    private int write(Map<Long, Rehashed> batch) {
+        Integer written = transactionTemplate.execute(status -> {
+            int updated = 0;
+            for (Map.Entry<Long, Rehashed> entry : batch.entrySet()) {
+                // Guarded on the old hash: a password changed since the login is left alone
+                Rehashed rehashed = entry.getValue();
+                updated += userRepository.updatePasswordIfUnchanged(entry.getKey(), rehashed.oldHash(), rehashed.newHash());
+            }
+            return updated;
+        });
+        return written == null ? 0 : written;
+    }
+
+    /**
+     * The start of every hash produced at the given cost, e.g. <code>{bcrypt}$2a$10$</code>.
+     */
+    static String bcryptPrefix(int strength) {
+        return ENCODING_ID + String.format("$2a$%02d$", strength);
+    }
+
+    private record Rehashed(String oldHash, String newHash) {
+    }
+}
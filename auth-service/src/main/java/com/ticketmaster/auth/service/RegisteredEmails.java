@@ -0,0 +1,97 @@
+package com.ticketmaster.auth.service;
+
+import com.ticketmaster.auth.repository.UserRepository;
+import com.ticketmaster.common.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * <h1>Registered Emails</h1>
+ * <p>
+ * An in-memory {@link BloomFilter} of every registered email. Registration asks it first, so an
+ * email that is definitely new skips the {@code existsByEmail} index probe and goes straight to
+ * the insert.
+ * </p>
+ * <h2>Lifecycle:</h2>
+ * <ul>
+ * <li>Rebuilt at startup by streaming the emails of {@code _user}. Until that is done every
+ * email "might exist", so registration falls back to the probe.</li>
+ * <li>Updated by {@link #added} after each successful insert on this node.</li>
+ * </ul>
+ * <p>
+ * Users registered on another node are not in this node's filter. That is safe: the unique
+ * constraint on {@code email} still rejects the duplicate insert, and registration reports it as
+ * a conflict the same way.
+ * </p>
+ */
+@Slf4j
+@Service
+public class RegisteredEmails {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+
+    public RegisteredEmails(UserRepository userRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${auth.registered-emails.expected-users:1000000}") long expectedUsers,
+                            @Value("${auth.registered-emails.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Loads every registered email into a new filter, sized for at least twice the current users.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedUsers, 2 * userRepository.count()), falsePositiveRate);
+        // Registrations during the rebuild go into the new filter too
+        filter = rebuilt;
+        long loaded = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<String> emails = userRepository.streamAllEmails()) {
+                Iterator<String> iterator = emails.iterator();
+                while (iterator.hasNext()) {
+                    rebuilt.add(iterator.next());
+                    count++;
+                }
+            }
+            return count;
+        });
+        ready = true;
+        log.info("Loaded {} registered emails into a {} KB filter", loaded, rebuilt.sizeInBytes() / 1024);
+    }
+
+    /**
+     * @return {@code false} if no user has this email; {@code true} if one may have it.
+     */
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        return !ready || current == null || current.mightContain(email);
+    }
+
+    /**
+     * Records a newly registered email.
+     */
+    public void added(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(email);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ticketmaster.auth.service;
+
+import com.ticketmaster.auth.entity.RevokedToken;
+import com.ticketmaster.auth.repository.RevokedTokenRepository;
+import com.ticketmaster.common.dto.RevokedTokenResponse;
+import com.ticketmaster.common.util.RevocationList;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * <h1>Token Revocation Service</h1>
+ * <p>
+ * Revokes access tokens before they expire (logout, or an administrator), by their {@code jti}
+ * claim, and answers "is this token revoked?" for {@code JwtAuthenticationFilter} on every request.
+ * </p>
+ * <h2>How it works:</h2>
+ * <ul>
+ * <li>A revocation is stored in {@code revoked_tokens} with the token's expiry, and added to this
+ * node's {@link RevocationList}. The per-request check only reads the list, never the database.</li>
+ * <li>Every {@code jwt.revocation.refresh-interval-ms} the list picks up revocations made on
+ * other nodes, and both the list and the table forget tokens that have expired by now.</li>
+ * <li>Other services poll {@link #revokedSince} (see {@code GET /api/v1/internal/revocations}) to keep
+ * their own list.</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtService jwtService;
+    private final RevocationList revocationList;
+    private final long maxTokenLifetimeMillis;
+    private final Clock clock;
+
+    /** Revocations made from here on have not been read from the table yet. */
+    private volatile Instant syncedUpTo = Instant.EPOCH;
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  JwtService jwtService,
+                                  @Value("${jwt.expiration}") long jwtExpiration,
+                                  @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this(revokedTokenRepository, jwtService, jwtExpiration,
+                new RevocationList(expectedRevocations, falsePositiveRate), Clock.systemUTC());
+    }
+
+    TokenRevocationService(RevokedTokenRepository revokedTokenRepository, JwtService jwtService,
+                           long jwtExpiration, RevocationList revocationList, Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtService = jwtService;
+        this.maxTokenLifetimeMillis = jwtExpiration;
+        this.revocationList = revocationList;
+        this.clock = clock;
+    }
+
+    /**
+     * Revokes the token a user presents, so it can no longer be used.
+     *
+     * @param token The JWT string.
+     * @return {@code false} if the token is invalid or expired (nothing to revoke).
+     */
+    public boolean logout(String token) {
+        Claims claims = jwtService.parseClaims(token);
+        if (claims == null || claims.getId() == null) {
+            return false;
+        }
+        revoke(claims.getId(), claims.getExpiration().toInstant());
+        return true;
+    }
+
+    /**
+     * Revokes the token with this id.
+     *
+     * @param tokenId   The token's {@code jti} claim.
+     * @param expiresAt When the token expires; {@code null} keeps the revocation for the longest a
+     *                  token can live ({@code jwt.expiration}).
+     * @return The stored revocation.
+     */
+    public RevokedTokenResponse revoke(String tokenId, Instant expiresAt) {
+        Instant now = clock.instant();
+        RevokedToken revoked = revokedTokenRepository.save(RevokedToken.builder()
+                .jti(tokenId)
+                .expiresAt(expiresAt != null ? expiresAt : now.plusMillis(maxTokenLifetimeMillis))
+                .revokedAt(now)
+                .build());
+        revocationList.revoke(revoked.getJti(), revoked.getExpiresAt());
+        return toResponse(revoked);
+    }
+
+    /**
+     * The per-request check: in memory, no database access.
+     *
+     * @param tokenId The token's {@code jti} claim, or {@code null} for tokens issued without one.
+     */
+    public boolean isRevoked(String tokenId) {
+        return revocationList.isRevoked(tokenId);
+    }
+
+    /**
+     * @return Revocations made at or after {@code since} of tokens that have not expired yet.
+     */
+    public List<RevokedTokenResponse> revokedSince(Instant since) {
+        return revokedTokenRepository
+                .findByRevokedAtGreaterThanEqualAndExpiresAtAfterOrderByRevokedAt(since, clock.instant())
+                .stream()
+                .map(TokenRevocationService::toResponse)
+                .toList();
+    }
+
+    /**
+     * Loads every live revocation when the application starts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = sync();
+        log.info("Loaded {} revoked tokens", loaded);
+    }
+
+    /**
+     * Picks up revocations made on other nodes and purges expired ones.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:5000}",
+            initialDelayString = "${jwt.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        sync();
+        Instant now = clock.instant();
+        int purged = revocationList.purgeExpired(now);
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        if (purged > 0 || deleted > 0) {
+            log.debug("Purged {} expired revocations ({} rows)", purged, deleted);
+        }
+    }
+
+    private int sync() {
+        Instant now = clock.instant();
+        // Re-read a little before the last sync: a revocation committed late on another node
+        // may carry an earlier revokedAt. Revoking twice is harmless.
+        Instant since = Instant.EPOCH.equals(syncedUpTo) ? syncedUpTo : syncedUpTo.minusSeconds(60);
+        List<RevokedToken> revoked = revokedTokenRepository
+                .findByRevokedAtGreaterThanEqualAndExpiresAtAfterOrderByRevokedAt(since, now);
+        revoked.forEach(token -> revocationList.revoke(token.getJti(), token.getExpiresAt()));
+        syncedUpTo = now;
+        return revoked.size();
+    }
+
+    private static RevokedTokenResponse toResponse(RevokedToken token) {
+        return RevokedTokenResponse.builder()
+                .jti(token.getJti())
+                .expiresAt(token.getExpiresAt())
+                .revokedAt(token.getRevokedAt())
+                .build();
+    }
+}
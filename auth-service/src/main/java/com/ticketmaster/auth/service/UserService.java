@@ -1,5 +1,7 @@
 package com.ticketmaster.auth.service;
 
+import com.ticketmaster.auth.config.JwtPrincipal;
+import com.ticketmaster.auth.config.UserCredentialCache;
 import com.ticketmaster.auth.entity.User;
 import com.ticketmaster.auth.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -23,9 +25,14 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCredentialCache userCredentialCache;
 
     /**
      * Changes the currently logged-in user's password.
+     * <p>
+     * The user's credential version is bumped with the password, so every token issued before
+     * the change (including the one used for this request) stops working.
+     * </p>
      *
      * @param connectedUser The principal (current user) automatically injected by Spring Security.
      * @param currentPassword The password the user is currently using.
@@ -34,7 +41,7 @@ public class UserService {
      */
     public void changePassword(Principal connectedUser, String currentPassword,  String newPassword) {
 
-        var user = (User) ((UsernamePasswordAuthenticationToken) connectedUser).getPrincipal();
+        var user = currentUser(connectedUser);
 
         if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
             throw new IllegalStateException("Wrong password");
@@ -43,8 +50,26 @@ public class UserService {
         if (!newPassword.equals(currentPassword)) {
 
             user.setPassword(passwordEncoder.encode(newPassword));
+            user.setCredentialVersion(user.getCredentialVersion() + 1);
             userRepository.save(user);
+            userCredentialCache.credentialsChanged(user);
         }
     }
 
+    /**
+     * Token authentication in claims mode gives a {@link JwtPrincipal} with no password:
+     * the user is then loaded, since changing the password needs the stored hash.
+     */
+    private User currentUser(Principal connectedUser) {
+        Object principal = ((UsernamePasswordAuthenticationToken) connectedUser).getPrincipal();
+        if (principal instanceof User user) {
+            return user;
+        }
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return userRepository.findById(jwtPrincipal.userId())
+                    .orElseThrow(() -> new IllegalStateException("User not found"));
+        }
+        throw new IllegalStateException("User not found");
+    }
+
 }
@@ -0,0 +1,143 @@
+package com.ticketmaster.auth.util;
+
+import com.ticketmaster.common.util.SeededHash;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <h1>Sliding Window Counter</h1>
+ * <p>
+ * Approximate per-key event counts over a sliding time window, in a fixed amount of memory no
+ * matter how many distinct keys are seen.
+ * </p>
+ * <h2>Structure:</h2>
+ * <ul>
+ * <li>The window is cut into {@code slots} equal slots. Only the current slot is written; a slot
+ * is reset when the ring comes back to it, so the window slides one slot at a time.</li>
+ * <li>Each slot is a count-min sketch: {@code depth} rows of {@code width} striped counters. A key
+ * hashes to one counter per row; its count is the smallest of its counters summed over the live
+ * slots.</li>
+ * </ul>
+ * <p>
+ * Hash collisions can only make a count higher, never lower, so a key over a limit is always
+ * seen as over it. The hash is seeded randomly per instance, so callers cannot pick keys that
+ * collide with someone else's on purpose.
+ * </p>
+ * <p>
+ * Memory is {@code slots * depth * width} ints (e.g. 15 x 4 x 4096 = 960 KB).
+ * </p>
+ */
+public class SlidingWindowCounter {
+
+    private final long slotMillis;
+    private final int slots;
+    private final int depth;
+    private final int mask;
+    private final long seed;
+    private final Clock clock;
+    private final AtomicReferenceArray<Slot> ring;
+
+    /**
+     * @param window The time span counts are kept for.
+     * @param slots  How many steps the window slides in.
+     * @param depth  Counters per key (rows of the sketch).
+     * @param width  Counters per row, rounded up to a power of two.
+     * @param clock  The time source.
+     */
+    public SlidingWindowCounter(Duration window, int slots, int depth, int width, Clock clock) {
+        if (slots < 1 || depth < 1 || width < 1 || window.toMillis() < slots) {
+            throw new IllegalArgumentException("Window, slots, depth and width must be positive");
+        }
+        this.slotMillis = window.toMillis() / slots;
+        this.slots = slots;
+        this.depth = depth;
+        this.mask = (width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1) - 1;
+        this.seed = new SecureRandom().nextLong();
+        this.clock = clock;
+        this.ring = new AtomicReferenceArray<>(slots);
+    }
+
+    /**
+     * Counts one event for {@code key}.
+     *
+     * @return The key's count in the window, including this event.
+     */
+    public int increment(String key) {
+        long now = currentSlot();
+        long hash = hash(key);
+        Slot slot = slot(now);
+        for (int row = 0; row < depth; row++) {
+            slot.counts.incrementAndGet(index(hash, row));
+        }
+        return count(hash, now);
+    }
+
+    /**
+     * @return The key's count in the window (never lower than the real count).
+     */
+    public int count(String key) {
+        return count(hash(key), currentSlot());
+    }
+
+    /**
+     * @return Milliseconds until the oldest slot leaves the window.
+     */
+    public long millisUntilSlide() {
+        return slotMillis - clock.millis() % slotMillis;
+    }
+
+    private int count(long hash, long now) {
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(hash, row);
+            int sum = 0;
+            for (int i = 0; i < slots; i++) {
+                Slot slot = ring.get(i);
+                if (slot != null && slot.number > now - slots && slot.number <= now) {
+                    sum += slot.counts.get(index);
+                }
+            }
+            min = Math.min(min, sum);
+        }
+        return min;
+    }
+
+    /**
+     * The slot for {@code number}, replacing the stale slot in its place in the ring if needed.
+     */
+    private Slot slot(long number) {
+        int position = (int) (number % slots);
+        while (true) {
+            Slot current = ring.get(position);
+            if (current != null && current.number >= number) {
+                return current;
+            }
+            Slot fresh = new Slot(number, new AtomicIntegerArray(depth * (mask + 1)));
+            if (ring.compareAndSet(position, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int index(long hash, int row) {
+        // Kirsch-Mitzenmacher: row hashes derived from two halves of one 64-bit hash
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    private long currentSlot() {
+        return clock.millis() / slotMillis;
+    }
+
+    private long hash(String key) {
+        return SeededHash.hash(key, seed);
+    }
+
+    private record Slot(long number, AtomicIntegerArray counts) {
+    }
+}
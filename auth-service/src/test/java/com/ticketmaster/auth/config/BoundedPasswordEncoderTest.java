@@ -0,0 +1,88 @@
+package com.ticketmaster.auth.config;
+
+import com.ticketmaster.auth.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, 3, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void shouldHashOnPoolAndRecordLatency() {
+        when(delegate.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("secret", "hash")).thenReturn(true);
+
+        assertTrue(encoder.encode("secret").startsWith("password-hashing-"));
+        assertTrue(encoder.matches("secret", "hash"));
+
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hashing").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void shouldRejectWithRetryAfter_whenWorkersAndQueueAreFull() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.matches(any(), any())).thenAnswer(invocation -> {
+            hashing.countDown();
+            release.await();
+            return true;
+        });
+
+        // One call on the only worker, one waiting in the queue
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hash"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "hash"));
+        while (meterRegistry.get("auth.password.hashing.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        PasswordHashingBusyException ex = assertThrows(PasswordHashingBusyException.class,
+                () -> encoder.matches("c", "hash"));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("auth.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldPropagateDelegateFailure() {
+        when(delegate.encode("secret")).thenThrow(new IllegalArgumentException("bad input"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> encoder.encode("secret"));
+        assertEquals("bad input", ex.getMessage());
+    }
+}
@@ -2,12 +2,16 @@ package com.ticketmaster.auth.config;
 
 
 import com.ticketmaster.auth.service.JwtService;
+import com.ticketmaster.auth.service.TokenRevocationService;
+import com.ticketmaster.auth.util.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -20,6 +24,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,12 +39,23 @@ public class JwtAuthenticationFilterTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private UserCredentialCache userCredentialCache;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @Mock
     private FilterChain filterChain;
 
-    @InjectMocks
     private JwtAuthenticationFilter filter;
 
+    @BeforeEach
+    void setUp() {
+        // The tests below load the user per request; claims mode has its own tests at the end
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, userCredentialCache, tokenRevocationService, "database");
+    }
+
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
@@ -139,4 +155,129 @@ public class JwtAuthenticationFilterTest {
 
         assertSame(existing, SecurityContextHolder.getContext().getAuthentication());
     }
+
+    @Test
+    void claimsMode_shouldAuthenticateFromClaims_withoutLoadingUser() throws ServletException, IOException {
+        var claimsFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, userCredentialCache, tokenRevocationService, "claims");
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer jwt-token");
+        var response = new MockHttpServletResponse();
+
+        when(jwtService.parseClaims("jwt-token")).thenReturn(claims("user@email.com", 5L, "ADMIN", 3));
+        when(userCredentialCache.isCurrent(5L, 3)).thenReturn(true);
+
+        claimsFilter.doFilter(request, response, filterChain);
+
+        verify(jwtService, times(1)).parseClaims("jwt-token");
+        verifyNoInteractions(userDetailsService);
+        verify(userCredentialCache, never()).loadUser(any());
+        verify(filterChain).doFilter(request, response);
+
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(new JwtPrincipal(5L, "user@email.com", Role.ADMIN, 3), authentication.getPrincipal());
+        assertEquals("user@email.com", authentication.getName());
+        assertEquals("ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void claimsMode_shouldNotAuthenticate_whenCredentialVersionIsStale() throws ServletException, IOException {
+        var claimsFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, userCredentialCache, tokenRevocationService, "claims");
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer jwt-token");
+        var response = new MockHttpServletResponse();
+
+        when(jwtService.parseClaims("jwt-token")).thenReturn(claims("user@email.com", 5L, "USER", 2));
+        when(userCredentialCache.isCurrent(5L, 2)).thenReturn(false);
+
+        claimsFilter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void claimsMode_shouldNotAuthenticate_whenRoleIsUnknown() throws ServletException, IOException {
+        var claimsFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, userCredentialCache, tokenRevocationService, "claims");
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer jwt-token");
+        var response = new MockHttpServletResponse();
+
+        when(jwtService.parseClaims("jwt-token")).thenReturn(claims("user@email.com", 5L, "SUPERUSER", 2));
+
+        claimsFilter.doFilter(request, response, filterChain);
+
+        verifyNoInteractions(userCredentialCache, userDetailsService);
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void claimsMode_shouldNotAuthenticate_whenTokenIsRevoked() throws ServletException, IOException {
+        var claimsFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, userCredentialCache, tokenRevocationService, "claims");
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer jwt-token");
+        var response = new MockHttpServletResponse();
+
+        var revokedClaims = claims("user@email.com", 5L, "USER", 2).setId("revoked-jti");
+        when(jwtService.parseClaims("jwt-token")).thenReturn(revokedClaims);
+        when(tokenRevocationService.isRevoked("revoked-jti")).thenReturn(true);
+
+        claimsFilter.doFilter(request, response, filterChain);
+
+        verifyNoInteractions(userCredentialCache, userDetailsService);
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void claimsMode_shouldNotAuthenticate_whenTokenIsInvalid() throws ServletException, IOException {
+        var claimsFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, userCredentialCache, tokenRevocationService, "claims");
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer jwt-token");
+        var response = new MockHttpServletResponse();
+
+        when(jwtService.parseClaims("jwt-token")).thenReturn(null);
+
+        claimsFilter.doFilter(request, response, filterChain);
+
+        verifyNoInteractions(userCredentialCache, userDetailsService);
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void claimsMode_shouldFallBackToCachedUser_whenTokenHasNoUserClaims() throws ServletException, IOException {
+        var claimsFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, userCredentialCache, tokenRevocationService, "claims");
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer jwt-token");
+        var response = new MockHttpServletResponse();
+
+        var legacyClaims = Jwts.claims().setSubject("user@email.com");
+        var user = com.ticketmaster.auth.entity.User.builder().email("user@email.com").role(Role.USER).build();
+        var changedUser = com.ticketmaster.auth.entity.User.builder().email("user@email.com").role(Role.USER).credentialVersion(1).build();
+        when(jwtService.parseClaims("jwt-token")).thenReturn(legacyClaims);
+        when(userCredentialCache.loadUser("user@email.com")).thenReturn(user, changedUser);
+
+        claimsFilter.doFilter(request, response, filterChain);
+
+        assertSame(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verifyNoInteractions(userDetailsService);
+
+        // Once the password was changed, tokens without a cv claim are stale
+        SecurityContextHolder.clearContext();
+        var nextRequest = new MockHttpServletRequest();
+        nextRequest.addHeader("Authorization", "Bearer jwt-token");
+        claimsFilter.doFilter(nextRequest, new MockHttpServletResponse(), filterChain);
+        verify(userCredentialCache, times(2)).loadUser("user@email.com");
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static Claims claims(String subject, Long userId, String role, int credentialVersion) {
+        return Jwts.claims(Map.of(
+                        JwtService.USER_ID_CLAIM, userId,
+                        JwtService.ROLE_CLAIM, role,
+                        JwtService.CREDENTIAL_VERSION_CLAIM, credentialVersion))
+                .setSubject(subject);
+    }
 }
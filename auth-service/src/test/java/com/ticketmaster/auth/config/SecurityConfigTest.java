@@ -12,6 +12,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -58,4 +59,44 @@ class SecurityConfigTest {
                 .andExpect(status().isOk())
                 .andExpect(authenticated());
     }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"USER"})
+    void shouldRejectAdminEndpointsForNonAdmins() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/tokens/revoke")
+                        .contentType("application/json")
+                        .content("{\"jti\":\"some-token-id\"}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@example.com", authorities = {"ADMIN"})
+    void shouldAllowAdminToRevokeTokens() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/tokens/revoke")
+                        .contentType("application/json")
+                        .content("{\"jti\":\"some-token-id\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRejectRevocationListWithoutServiceKey() throws Exception {
+        mockMvc.perform(get("/api/v1/internal/revocations"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/internal/revocations").header(ServiceKeyAuthenticationFilter.SERVICE_KEY_HEADER, "wrong-key"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"USER"})
+    void shouldRejectRevocationListForUsers() throws Exception {
+        mockMvc.perform(get("/api/v1/internal/revocations"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldServeRevocationListToOtherServices() throws Exception {
+        mockMvc.perform(get("/api/v1/internal/revocations")
+                        .header(ServiceKeyAuthenticationFilter.SERVICE_KEY_HEADER, "test-service-key"))
+                .andExpect(status().isOk());
+    }
 }
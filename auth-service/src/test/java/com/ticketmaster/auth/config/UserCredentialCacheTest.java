@@ -0,0 +1,78 @@
+package com.ticketmaster.auth.config;
+
+import com.ticketmaster.auth.entity.User;
+import com.ticketmaster.auth.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCredentialCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private UserCredentialCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserCredentialCache(userRepository, userDetailsService, 100, 60);
+    }
+
+    @Test
+    void isCurrent_shouldQueryCredentialVersionOncePerUser() {
+        when(userRepository.findCredentialVersionById(1L)).thenReturn(Optional.of(2));
+
+        assertTrue(cache.isCurrent(1L, 2));
+        assertFalse(cache.isCurrent(1L, 1));
+        assertTrue(cache.isCurrent(1L, 2));
+
+        verify(userRepository, times(1)).findCredentialVersionById(1L);
+    }
+
+    @Test
+    void isCurrent_shouldRejectUnknownUser() {
+        when(userRepository.findCredentialVersionById(9L)).thenReturn(Optional.empty());
+
+        assertFalse(cache.isCurrent(9L, 0));
+    }
+
+    @Test
+    void credentialsChanged_shouldRejectOldVersionAndReloadUser() {
+        User before = User.builder().id(1L).email("user@email.com").credentialVersion(0).build();
+        User after = User.builder().id(1L).email("user@email.com").credentialVersion(1).build();
+        when(userRepository.findCredentialVersionById(1L)).thenReturn(Optional.of(0));
+        when(userDetailsService.loadUserByUsername("user@email.com")).thenReturn(before, after);
+        assertTrue(cache.isCurrent(1L, 0));
+        assertSame(before, cache.loadUser("user@email.com"));
+
+        cache.credentialsChanged(after);
+
+        assertFalse(cache.isCurrent(1L, 0));
+        assertTrue(cache.isCurrent(1L, 1));
+        assertSame(after, cache.loadUser("user@email.com"));
+        verify(userRepository, times(1)).findCredentialVersionById(1L);
+    }
+
+    @Test
+    void loadUser_shouldNotCacheMissingUser() {
+        when(userDetailsService.loadUserByUsername("ghost@email.com")).thenThrow(new UsernameNotFoundException("User not found"));
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.loadUser("ghost@email.com"));
+        assertThrows(UsernameNotFoundException.class, () -> cache.loadUser("ghost@email.com"));
+
+        verify(userDetailsService, times(2)).loadUserByUsername("ghost@email.com");
+    }
+}
@@ -0,0 +1,46 @@
+package com.ticketmaster.auth.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void handlePasswordHashingBusy_shouldReturn429WithRetryAfter() {
+        ResponseEntity<Map<String, Object>> response =
+                handler.handlePasswordHashingBusy(new PasswordHashingBusyException(2));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(429, response.getBody().get("status"));
+        assertEquals("Too Many Requests", response.getBody().get("error"));
+    }
+
+    @Test
+    void handleLoginThrottled_shouldReturn429WithRetryAfter() {
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleLoginThrottled(new LoginThrottledException(60));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("60", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Too many failed login attempts, please try again later", response.getBody().get("message"));
+    }
+
+    @Test
+    void handleEmailAlreadyRegistered_shouldReturn409() {
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleEmailAlreadyRegistered(new EmailAlreadyRegisteredException("taken@example.com"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("Conflict", response.getBody().get("error"));
+        assertEquals("An account already exists for taken@example.com", response.getBody().get("message"));
+    }
+}
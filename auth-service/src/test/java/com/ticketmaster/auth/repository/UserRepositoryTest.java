@@ -8,8 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
@@ -18,6 +21,9 @@ class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void findByEmail_returnsUser_whenUserExists() {
         // Arrange
@@ -48,4 +54,60 @@ class UserRepositoryTest {
         // Assert
         Assertions.assertThat(found).isEmpty();
     }
+
+    @Test
+    void streamAllEmails_returnsEveryRegisteredEmail() {
+        // Arrange
+        userRepository.save(User.builder().email("a@example.com").password("p").role(Role.USER).build());
+        userRepository.save(User.builder().email("b@example.com").password("p").role(Role.USER).build());
+
+        // Act
+        List<String> emails;
+        try (Stream<String> stream = userRepository.streamAllEmails()) {
+            emails = stream.toList();
+        }
+
+        // Assert
+        Assertions.assertThat(emails).containsExactlyInAnyOrder("a@example.com", "b@example.com");
+        Assertions.assertThat(userRepository.existsByEmail("a@example.com")).isTrue();
+        Assertions.assertThat(userRepository.existsByEmail("c@example.com")).isFalse();
+    }
+
+    @Test
+    void updatePasswordIfUnchanged_leavesPasswordChangedAfterTheLogin() {
+        // Arrange: the upgrader read "old-hash" at login, then the user changed their password
+        User user = userRepository.save(User.builder().email("a@example.com").password("old-hash").role(Role.USER).build());
+        User changed = userRepository.findById(user.getId()).orElseThrow();
+        changed.setPassword("new-hash");
+        changed.setCredentialVersion(changed.getCredentialVersion() + 1);
+        userRepository.saveAndFlush(changed);
+
+        // Act
+        int updated = userRepository.updatePasswordIfUnchanged(user.getId(), "old-hash", "rehashed-old-hash");
+        entityManager.clear();
+
+        // Assert
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        Assertions.assertThat(updated).isZero();
+        Assertions.assertThat(stored.getPassword()).isEqualTo("new-hash");
+        Assertions.assertThat(stored.getCredentialVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void updatePasswordIfUnchanged_replacesOnlyThePassword_whenUnchanged() {
+        // Arrange
+        User user = userRepository.saveAndFlush(User.builder().email("a@example.com").password("old-hash")
+                .firstName("Test").role(Role.USER).credentialVersion(2).build());
+
+        // Act
+        int updated = userRepository.updatePasswordIfUnchanged(user.getId(), "old-hash", "rehashed");
+        entityManager.clear();
+
+        // Assert
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        Assertions.assertThat(updated).isEqualTo(1);
+        Assertions.assertThat(stored.getPassword()).isEqualTo("rehashed");
+        Assertions.assertThat(stored.getFirstName()).isEqualTo("Test");
+        Assertions.assertThat(stored.getCredentialVersion()).isEqualTo(2);
+    }
 }
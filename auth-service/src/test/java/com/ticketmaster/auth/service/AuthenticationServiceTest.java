@@ -5,6 +5,8 @@ import com.ticketmaster.auth.dto.request.AuthenticationRequest;
 import com.ticketmaster.auth.dto.request.RegisterRequest;
 import com.ticketmaster.auth.dto.response.AuthenticationResponse;
 import com.ticketmaster.auth.entity.User;
+import com.ticketmaster.auth.exception.EmailAlreadyRegisteredException;
+import com.ticketmaster.auth.exception.LoginThrottledException;
 import com.ticketmaster.auth.repository.UserRepository;
 import com.ticketmaster.auth.util.Role;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -40,6 +43,15 @@ public class AuthenticationServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private PasswordHashUpgrader passwordHashUpgrader;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private RegisteredEmails registeredEmails;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -54,7 +66,7 @@ public class AuthenticationServiceTest {
                 .build();
 
         when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPassword");
-        when(jwtService.generateToken(anyMap(), any(User.class))).thenReturn("jwtToken");
+        when(jwtService.generateAccessToken(any(User.class))).thenReturn("jwtToken");
 
         // Act
         AuthenticationResponse response = authenticationService.register(request);
@@ -73,10 +85,75 @@ public class AuthenticationServiceTest {
         assertEquals("encodedPassword", saved.getPassword());
         assertEquals(Role.USER, saved.getRole());
 
-        verify(jwtService).generateToken(anyMap(), eq(saved));
+        verify(jwtService).generateAccessToken(saved);
         verifyNoInteractions(authenticationManager);
     }
 
+    @Test
+    void register_shouldSkipIndexProbe_whenEmailIsDefinitelyNew() {
+        // Arrange
+        RegisterRequest request = RegisterRequest.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("new@email.com")
+                .password("password")
+                .build();
+
+        when(registeredEmails.mightExist("new@email.com")).thenReturn(false);
+        when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPassword");
+
+        // Act
+        authenticationService.register(request);
+
+        // Assert
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository).save(any(User.class));
+        verify(registeredEmails).added("new@email.com");
+    }
+
+    @Test
+    void register_shouldThrowConflict_beforeHashing_whenEmailIsRegistered() {
+        // Arrange
+        RegisterRequest request = RegisterRequest.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("taken@email.com")
+                .password("password")
+                .build();
+
+        when(registeredEmails.mightExist("taken@email.com")).thenReturn(true);
+        when(userRepository.existsByEmail("taken@email.com")).thenReturn(true);
+
+        // Act + Assert
+        assertThrows(EmailAlreadyRegisteredException.class, () -> authenticationService.register(request));
+
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(passwordEncoder, jwtService);
+    }
+
+    @Test
+    void register_shouldThrowConflict_whenInsertHitsUniqueConstraint() {
+        // Arrange
+        RegisterRequest request = RegisterRequest.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("race@email.com")
+                .password("password")
+                .build();
+
+        when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPassword");
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(userRepository)
+                .save(any(User.class));
+        when(userRepository.existsByEmail("race@email.com")).thenReturn(true);
+
+        // Act + Assert
+        assertThrows(EmailAlreadyRegisteredException.class, () -> authenticationService.register(request));
+
+        verify(registeredEmails, never()).added(anyString());
+        verifyNoInteractions(jwtService);
+    }
+
     @Test
     void register_shouldThrowException_whenRepositoryFails() {
         // Arrange
@@ -118,22 +195,53 @@ public class AuthenticationServiceTest {
                 .role(Role.USER)
                 .build();
 
-        when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
-        when(jwtService.generateToken(anyMap(), any(User.class))).thenReturn("jwtToken");
+        // The provider returns the user it loaded to check the password
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        when(jwtService.generateAccessToken(any(User.class))).thenReturn("jwtToken");
 
         // Act
-        AuthenticationResponse response = authenticationService.authenticate(request);
+        AuthenticationResponse response = authenticationService.authenticate(request, "203.0.113.7");
 
         // Assert
         assertNotNull(response);
         assertEquals("jwtToken", response.getToken());
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userRepository).findByEmail("example@email.com");
-        verify(jwtService).generateToken(anyMap(), eq(user));
+        verify(jwtService).generateAccessToken(user);
+        verify(passwordHashUpgrader).loginSucceeded(user, "password");
 
-        verify(userRepository, never()).save(any(User.class));
-        verifyNoMoreInteractions(authenticationManager, userRepository, jwtService);
+        // No second lookup of the user
+        verifyNoInteractions(userRepository);
+        verifyNoMoreInteractions(authenticationManager, jwtService);
+    }
+
+    @Test
+    void authenticate_shouldLoadUser_whenPrincipalIsNotAUserEntity() {
+        // Arrange
+        AuthenticationRequest request = AuthenticationRequest.builder()
+                .email("example@email.com")
+                .password("password")
+                .build();
+
+        User user = User.builder()
+                .id(1L)
+                .email("example@email.com")
+                .role(Role.USER)
+                .build();
+
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken("example@email.com", null, user.getAuthorities()));
+        when(userRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(user));
+        when(jwtService.generateAccessToken(any(User.class))).thenReturn("jwtToken");
+
+        // Act
+        AuthenticationResponse response = authenticationService.authenticate(request, "203.0.113.7");
+
+        // Assert
+        assertEquals("jwtToken", response.getToken());
+        verify(userRepository).findByEmail("example@email.com");
+        verify(jwtService).generateAccessToken(user);
     }
 
     @Test
@@ -151,7 +259,7 @@ public class AuthenticationServiceTest {
                 .thenReturn(mock(Authentication.class));
 
         // Act + Assert
-        assertThrows(RuntimeException.class, () -> authenticationService.authenticate(request));
+        assertThrows(RuntimeException.class, () -> authenticationService.authenticate(request, "203.0.113.7"));
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         verify(userRepository).findByEmail("missing@email.com");
@@ -185,10 +293,28 @@ public class AuthenticationServiceTest {
                 .thenThrow(new BadCredentialsException("Bad credentials"));
 
         // Act + Assert
-        assertThrows(BadCredentialsException.class, () -> authenticationService.authenticate(request));
+        assertThrows(BadCredentialsException.class, () -> authenticationService.authenticate(request, "203.0.113.7"));
 
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(loginThrottle).recordFailure("found@email.com", "203.0.113.7");
         verifyNoInteractions(userRepository);
         verifyNoInteractions(jwtService);
     }
+
+    @Test
+    void authenticate_shouldRejectThrottledLogin_beforeCheckingPassword() {
+        // Arrange
+        AuthenticationRequest request = AuthenticationRequest.builder()
+                .email("stuffed@email.com")
+                .password("guess")
+                .build();
+
+        doThrow(new LoginThrottledException(60))
+                .when(loginThrottle).checkAllowed("stuffed@email.com", "203.0.113.7");
+
+        // Act + Assert
+        assertThrows(LoginThrottledException.class, () -> authenticationService.authenticate(request, "203.0.113.7"));
+
+        verifyNoInteractions(authenticationManager, passwordEncoder, userRepository, jwtService);
+    }
 }
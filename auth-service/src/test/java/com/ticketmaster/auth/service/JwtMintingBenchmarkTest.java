@@ -0,0 +1,123 @@
+package com.ticketmaster.auth.service;
+
+import com.ticketmaster.auth.entity.User;
+import com.ticketmaster.auth.util.Role;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of minting a login token on one thread:
+ * <ul>
+ * <li>{@code jjwtPerCall} - what login used to do: a fresh claims {@code HashMap}, the secret
+ * decoded into a new key, and the jjwt builder.</li>
+ * <li>{@code fastPath} - {@link JwtService#generateAccessToken}: cached key and header, claims
+ * written straight to JSON, per-thread {@code Mac}.</li>
+ * </ul>
+ * The JUnit test runs both in-process with short iterations and the GC profiler, logs tokens per
+ * second and bytes allocated per token, and checks the fast path wins on both.
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtMintingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtMintingBenchmarkTest.class);
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final long EXPIRATION = 86_400_000L;
+
+    private JwtService jwtService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", EXPIRATION);
+        user = User.builder()
+                .id(12_345L)
+                .email("alice@example.com")
+                .role(Role.USER)
+                .credentialVersion(2)
+                .build();
+    }
+
+    @Benchmark
+    public String jjwtPerCall() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(JwtService.ROLE_CLAIM, user.getRole().name());
+        claims.put(JwtService.USER_ID_CLAIM, user.getId());
+        claims.put(JwtService.CREDENTIAL_VERSION_CLAIM, user.getCredentialVersion());
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(user.getUsername())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public String fastPath() {
+        return jwtService.generateAccessToken(user);
+    }
+
+    @Test
+    void shouldCompareTokensPerSecondAndAllocation() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(JwtMintingBenchmarkTest.class.getName() + "\\.")
+                .forks(0)
+                .threads(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        Map<String, Double> tokensPerSecond = new HashMap<>();
+        Map<String, Double> bytesPerToken = new HashMap<>();
+        for (RunResult result : new Runner(options).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            String name = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            tokensPerSecond.put(name, result.getPrimaryResult().getScore());
+            bytesPerToken.put(name, result.getSecondaryResults().get("gc.alloc.rate.norm").getScore());
+        }
+
+        log.info("Token minting - jjwt per call: {} tokens/s, {} B/token; fast path: {} tokens/s, {} B/token",
+                Math.round(tokensPerSecond.get("jjwtPerCall")), Math.round(bytesPerToken.get("jjwtPerCall")),
+                Math.round(tokensPerSecond.get("fastPath")), Math.round(bytesPerToken.get("fastPath")));
+
+        assertThat(tokensPerSecond.get("fastPath")).isGreaterThan(tokensPerSecond.get("jjwtPerCall"));
+        assertThat(bytesPerToken.get("fastPath")).isLessThan(bytesPerToken.get("jjwtPerCall"));
+    }
+}
@@ -1,6 +1,8 @@
 package com.ticketmaster.auth.service;
 
 
+import com.ticketmaster.auth.entity.User;
+import com.ticketmaster.auth.util.Role;
 import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -169,6 +171,66 @@ class JwtServiceTest {
         assertFalse(jwtService.isTokenValid(tokenSignedWithDifferentKey, userDetails));
     }
 
+    @Test
+    void shouldInvalidateTokenIssuedForOlderCredentialVersion() {
+        User user = User.builder().email("cv@user.com").credentialVersion(1).build();
+        String token = jwtService.generateToken(Map.of(JwtService.CREDENTIAL_VERSION_CLAIM, 1), user);
+        String legacyToken = jwtService.generateToken(user);
+
+        assertTrue(jwtService.isTokenValid(token, user));
+        // Tokens without the claim count as version 0
+        assertFalse(jwtService.isTokenValid(legacyToken, user));
+
+        user.setCredentialVersion(2);
+        assertFalse(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void shouldParseClaimsOnce_OrReturnNullForInvalidToken() {
+        when(userDetails.getUsername()).thenReturn("claims@user.com");
+        String token = jwtService.generateToken(Map.of(JwtService.USER_ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "USER"), userDetails);
+
+        Claims claims = jwtService.parseClaims(token);
+
+        assertEquals("claims@user.com", claims.getSubject());
+        assertEquals(7L, claims.get(JwtService.USER_ID_CLAIM, Long.class));
+        assertEquals("USER", claims.get(JwtService.ROLE_CLAIM, String.class));
+        assertNull(jwtService.parseClaims(token.substring(0, token.length() - 10)));
+        assertNull(jwtService.parseClaims(""));
+    }
+
+    @Test
+    void shouldMintAccessTokenWithUserClaims() {
+        User user = User.builder()
+                .id(42L)
+                .email("o\"brien@example.com")
+                .role(Role.ADMIN)
+                .credentialVersion(3)
+                .build();
+
+        String token = jwtService.generateAccessToken(user);
+        Claims claims = jwtService.parseClaims(token);
+
+        assertNotNull(claims);
+        assertEquals("o\"brien@example.com", claims.getSubject());
+        assertEquals(42L, claims.get(JwtService.USER_ID_CLAIM, Long.class));
+        assertEquals("ADMIN", claims.get(JwtService.ROLE_CLAIM, String.class));
+        assertEquals(3, claims.get(JwtService.CREDENTIAL_VERSION_CLAIM, Integer.class));
+        assertEquals(TEST_EXPIRATION_TIME / 1000,
+                (claims.getExpiration().getTime() - claims.getIssuedAt().getTime()) / 1000);
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    void shouldMintAccessTokenWithSameHeaderAsJjwt() {
+        User user = User.builder().id(1L).email("header@user.com").role(Role.USER).build();
+
+        String fastPath = jwtService.generateAccessToken(user);
+        String jjwt = jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, "USER"), user);
+
+        assertEquals(jjwt.substring(0, jjwt.indexOf('.')), fastPath.substring(0, fastPath.indexOf('.')));
+    }
+
     @Test
     void shouldInvalidateEmptyToken() {
         assertFalse(jwtService.isTokenValid("", userDetails));
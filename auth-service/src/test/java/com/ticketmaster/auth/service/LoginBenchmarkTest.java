@@ -0,0 +1,125 @@
+package com.ticketmaster.auth.service;
+
+import com.ticketmaster.auth.dto.request.AuthenticationRequest;
+import com.ticketmaster.auth.dto.request.RegisterRequest;
+import com.ticketmaster.auth.entity.User;
+import com.ticketmaster.auth.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the login pipeline against the real security configuration and H2, counting the
+ * JDBC statements Hibernate prepares per login:
+ * <ul>
+ * <li><b>two lookups</b> - what login used to do: the manager loads the user to check the password,
+ * then {@code findByEmail} loads it again to mint the token.</li>
+ * <li><b>one lookup</b> - {@link AuthenticationService#authenticate}, which mints the token from
+ * the principal the manager returned.</li>
+ * </ul>
+ * BCrypt dominates the time of a single login, so the gain shows up as database load (queries per
+ * login) rather than in logins per second on an idle in-memory database.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // The test profile's secret is not Base64, and minting needs a real key
+        "jwt.secret=404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970",
+        // Keep the background revocation refresh out of the query counts
+        "jwt.revocation.refresh-interval-ms=3600000"
+})
+@Tag("benchmark")
+@ActiveProfiles("test")
+class LoginBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginBenchmarkTest.class);
+
+    private static final int LOGINS = 20;
+    private static final String EMAIL = "login-benchmark@example.com";
+    private static final String PASSWORD = "SecurePass123!";
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByEmail(EMAIL).isEmpty()) {
+            authenticationService.register(RegisterRequest.builder()
+                    .firstName("Login")
+                    .lastName("Benchmark")
+                    .email(EMAIL)
+                    .password(PASSWORD)
+                    .build());
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldLogInWithOneUserQuery() {
+        AuthenticationRequest request = AuthenticationRequest.builder().email(EMAIL).password(PASSWORD).build();
+
+        // Warm up both paths (class loading, JIT) before measuring
+        for (int i = 0; i < 3; i++) {
+            twoLookupLogin(request);
+            authenticationService.authenticate(request, "203.0.113.7");
+        }
+
+        Result twoLookups = measure(() -> twoLookupLogin(request));
+        Result oneLookup = measure(() -> authenticationService.authenticate(request, "203.0.113.7"));
+
+        log.info("Login - two lookups: {} logins/s, {} queries/login; one lookup: {} logins/s, {} queries/login",
+                Math.round(twoLookups.loginsPerSecond()), twoLookups.queriesPerLogin(),
+                Math.round(oneLookup.loginsPerSecond()), oneLookup.queriesPerLogin());
+
+        assertThat(twoLookups.queriesPerLogin()).isEqualTo(2.0);
+        assertThat(oneLookup.queriesPerLogin()).isEqualTo(1.0);
+    }
+
+    private void twoLookupLogin(AuthenticationRequest request) {
+        authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        User user = userRepository.findByEmail(request.getEmail()).orElseThrow();
+        jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, user.getRole().name()), user);
+    }
+
+    private Result measure(Runnable login) {
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < LOGINS; i++) {
+            login.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(LOGINS * 1_000_000_000.0 / elapsed,
+                (double) statistics.getPrepareStatementCount() / LOGINS);
+    }
+
+    private record Result(double loginsPerSecond, double queriesPerLogin) {
+    }
+}
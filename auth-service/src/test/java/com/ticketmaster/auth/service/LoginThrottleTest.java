@@ -0,0 +1,55 @@
+package com.ticketmaster.auth.service;
+
+import com.ticketmaster.auth.exception.LoginThrottledException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 3 failures per account, 5 per IP, over 15 minutes
+    private final LoginThrottle throttle = new LoginThrottle(900, 15, 1024, 3, 5, meterRegistry,
+            Clock.fixed(Instant.parse("2030-01-01T12:00:30Z"), ZoneOffset.UTC));
+
+    @Test
+    void shouldThrottleAccount_afterTooManyFailures() {
+        for (int i = 0; i < 2; i++) {
+            throttle.recordFailure("alice@example.com", "198.51.100.1");
+        }
+        assertDoesNotThrow(() -> throttle.checkAllowed("alice@example.com", "198.51.100.2"));
+
+        // Same account with different case and spacing, from another IP
+        throttle.recordFailure(" Alice@Example.com", "198.51.100.3");
+
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class,
+                () -> throttle.checkAllowed("alice@example.com", "198.51.100.4"));
+        assertEquals(30, ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("auth.login.throttled").tag("by", "email").counter().count());
+        assertDoesNotThrow(() -> throttle.checkAllowed("bob@example.com", "198.51.100.4"));
+    }
+
+    @Test
+    void shouldThrottleIp_spreadingFailuresOverManyAccounts() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "203.0.113.9");
+        }
+
+        assertThrows(LoginThrottledException.class, () -> throttle.checkAllowed("new@example.com", "203.0.113.9"));
+        assertEquals(1, meterRegistry.get("auth.login.throttled").tag("by", "ip").counter().count());
+        assertDoesNotThrow(() -> throttle.checkAllowed("new@example.com", "203.0.113.10"));
+    }
+
+    @Test
+    void shouldOnlyCheckAccount_whenClientIpIsUnknown() {
+        throttle.recordFailure("carol@example.com", null);
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("carol@example.com", null));
+    }
+}
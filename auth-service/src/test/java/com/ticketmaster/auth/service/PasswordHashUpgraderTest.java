@@ -0,0 +1,149 @@
+package com.ticketmaster.auth.service;
+
+import com.ticketmaster.auth.entity.User;
+import com.ticketmaster.auth.exception.PasswordHashingBusyException;
+import com.ticketmaster.auth.repository.UserRepository;
+import com.ticketmaster.auth.util.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordHashUpgraderTest {
+
+    // Low costs keep the test fast: 4 is "old", 5 is current
+    private static final BCryptPasswordEncoder OLD_COST = new BCryptPasswordEncoder(4);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PasswordEncoder passwordEncoder;
+
+    private PasswordHashUpgrader upgrader;
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder current = new BCryptPasswordEncoder(5);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", current));
+        delegating.setDefaultPasswordEncoderForMatches(current);
+        passwordEncoder = spy(delegating);
+        upgrader = new PasswordHashUpgrader(userRepository, passwordEncoder,
+                new TransactionTemplate(transactionManager), meterRegistry, 5, 50, 100);
+    }
+
+    @Test
+    void loginSucceeded_shouldIgnoreHashAtCurrentCost() {
+        User user = user(1L, passwordEncoder.encode("secret"));
+
+        upgrader.loginSucceeded(user, "secret");
+
+        assertEquals(0, upgrader.pendingUpgrades());
+    }
+
+    @Test
+    void loginSucceeded_shouldRehashRightAway() {
+        User user = user(1L, OLD_COST.encode("secret"));
+
+        upgrader.loginSucceeded(user, "secret");
+
+        verify(passwordEncoder).encode("secret");
+        assertEquals(1, upgrader.pendingUpgrades());
+    }
+
+    @Test
+    void loginSucceeded_shouldSkipUpgrade_whenHashingPoolIsBusy() {
+        doThrow(new PasswordHashingBusyException(1)).when(passwordEncoder).encode(any());
+
+        assertDoesNotThrow(() -> upgrader.loginSucceeded(user(1L, OLD_COST.encode("secret")), "secret"));
+
+        assertEquals(0, upgrader.pendingUpgrades());
+        upgrader.flush();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void flush_shouldRehashOldCostAndWriteBackInOneBatch() {
+        String firstHash = OLD_COST.encode("first-secret");
+        String secondHash = OLD_COST.encode("second-secret");
+        upgrader.loginSucceeded(user(1L, firstHash), "first-secret");
+        upgrader.loginSucceeded(user(2L, secondHash), "second-secret");
+        when(userRepository.updatePasswordIfUnchanged(anyLong(), anyString(), anyString())).thenReturn(1);
+
+        upgrader.flush();
+
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePasswordIfUnchanged(eq(1L), eq(firstHash), newHash.capture());
+        verify(userRepository).updatePasswordIfUnchanged(eq(2L), eq(secondHash), newHash.capture());
+        assertTrue(newHash.getAllValues().get(0).startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordEncoder.matches("first-secret", newHash.getAllValues().get(0)));
+        assertTrue(passwordEncoder.matches("second-secret", newHash.getAllValues().get(1)));
+        // Guarded updates only: the user rows are never loaded and saved back whole
+        verify(userRepository, never()).findAllById(anyIterable());
+        verify(userRepository, never()).saveAll(anyIterable());
+        assertEquals(0, upgrader.pendingUpgrades());
+    }
+
+    @Test
+    void flush_shouldOnlyAddEncoderId_whenCostIsAlreadyCurrent() {
+        String legacy = new BCryptPasswordEncoder(5).encode("secret");
+        upgrader.loginSucceeded(user(1L, legacy), "secret");
+
+        upgrader.flush();
+
+        verify(userRepository).updatePasswordIfUnchanged(1L, legacy, "{bcrypt}" + legacy);
+        verify(passwordEncoder, never()).encode(any());
+    }
+
+    @Test
+    void flush_shouldNotOverwritePasswordChangedSinceLogin() {
+        String oldHash = OLD_COST.encode("old-secret");
+        upgrader.loginSucceeded(user(1L, oldHash), "old-secret");
+        // The guard no longer matches: the password was changed after the login
+        when(userRepository.updatePasswordIfUnchanged(eq(1L), eq(oldHash), anyString())).thenReturn(0);
+
+        upgrader.flush();
+
+        verify(userRepository, never()).saveAll(anyIterable());
+        assertEquals(0, upgrader.pendingUpgrades());
+    }
+
+    @Test
+    void refreshOutdatedFraction_shouldReportShareOfUsersBelowCurrentCost() {
+        when(userRepository.count()).thenReturn(4L);
+        when(userRepository.countByPasswordNotLike("{bcrypt}$2a$05$%")).thenReturn(1L);
+
+        upgrader.refreshOutdatedFraction();
+
+        assertEquals(0.25, upgrader.outdatedFraction());
+        assertEquals(0.25, meterRegistry.get("auth.password.hash.outdated").gauge().value());
+    }
+
+    private static User user(Long id, String password) {
+        return User.builder()
+                .id(id)
+                .email("user" + id + "@example.com")
+                .password(password)
+                .role(Role.USER)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.ticketmaster.auth.service;
+
+import com.ticketmaster.auth.entity.RevokedToken;
+import com.ticketmaster.auth.repository.RevokedTokenRepository;
+import com.ticketmaster.common.dto.RevokedTokenResponse;
+import com.ticketmaster.common.util.RevocationList;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+    private static final long EXPIRATION = 86_400_000L;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TokenRevocationService(revokedTokenRepository, jwtService, EXPIRATION,
+                new RevocationList(1000, 0.01), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void logout_shouldRevokeToken_untilItExpires() {
+        Instant expiresAt = NOW.plusSeconds(3600);
+        when(jwtService.parseClaims("jwt-token")).thenReturn(Jwts.claims()
+                .setId("jti-1").setSubject("alice@example.com").setExpiration(Date.from(expiresAt)));
+        when(revokedTokenRepository.save(any(RevokedToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertTrue(service.logout("jwt-token"));
+
+        verify(revokedTokenRepository).save(new RevokedToken("jti-1", expiresAt, NOW));
+        assertTrue(service.isRevoked("jti-1"));
+        assertFalse(service.isRevoked("jti-2"));
+        assertFalse(service.isRevoked(null));
+    }
+
+    @Test
+    void logout_shouldRevokeNothing_whenTokenIsInvalid() {
+        when(jwtService.parseClaims("bad-token")).thenReturn(null);
+
+        assertFalse(service.logout("bad-token"));
+
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    @Test
+    void revoke_shouldKeepRevocationForLongestTokenLifetime_whenExpiryIsUnknown() {
+        when(revokedTokenRepository.save(any(RevokedToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RevokedTokenResponse response = service.revoke("jti-1", null);
+
+        assertEquals(NOW.plusMillis(EXPIRATION), response.getExpiresAt());
+        assertEquals(NOW, response.getRevokedAt());
+        assertTrue(service.isRevoked("jti-1"));
+    }
+
+    @Test
+    void refresh_shouldPickUpOtherNodesRevocations_andPurgeExpiredOnes() {
+        when(revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtAfterOrderByRevokedAt(Instant.EPOCH, NOW))
+                .thenReturn(List.of(
+                        new RevokedToken("other-node", NOW.plusSeconds(60), NOW.minusSeconds(1)),
+                        // Expires right now: loaded, then purged in the same refresh
+                        new RevokedToken("expiring", NOW, NOW.minusSeconds(2))));
+
+        service.refresh();
+
+        assertTrue(service.isRevoked("other-node"));
+        assertFalse(service.isRevoked("expiring"));
+        verify(revokedTokenRepository).deleteExpired(NOW);
+    }
+}
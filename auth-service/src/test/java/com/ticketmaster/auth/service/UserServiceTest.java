@@ -1,8 +1,11 @@
 package com.ticketmaster.auth.service;
 
 
+import com.ticketmaster.auth.config.JwtPrincipal;
+import com.ticketmaster.auth.config.UserCredentialCache;
 import com.ticketmaster.auth.entity.User;
 import com.ticketmaster.auth.repository.UserRepository;
+import com.ticketmaster.auth.util.Role;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,6 +14,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
@@ -24,6 +29,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserCredentialCache userCredentialCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -51,6 +59,25 @@ class UserServiceTest {
         verify(userRepository).save(user);
     }
 
+    @Test
+    void changePasswordShouldBumpCredentialVersion_AndLoadUser_WhenPrincipalIsFromClaims() {
+        User user = User.builder().id(5L).email("claims@user.com").password("encodedOldPassword").credentialVersion(2).build();
+        var connectedUser = new UsernamePasswordAuthenticationToken(
+                new JwtPrincipal(5L, "claims@user.com", Role.USER, 2), null, java.util.List.of());
+
+        when(userRepository.findById(5L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("oldPassword", "encodedOldPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword")).thenReturn("encodedNewPassword");
+
+        userService.changePassword(connectedUser, "oldPassword", "newPassword");
+
+        assertEquals(3, user.getCredentialVersion());
+        assertEquals("encodedNewPassword", user.getPassword());
+        verify(userRepository).save(user);
+        // Tokens issued for version 2 are rejected from now on
+        verify(userCredentialCache).credentialsChanged(user);
+    }
+
     @Test
     void throwExceptionWhenCurrentPasswordIsWrong() {
 
@@ -94,5 +121,6 @@ class UserServiceTest {
         // When passwords are identical, UserService intentionally does nothing
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any());
+        verifyNoInteractions(userCredentialCache);
     }
 }
@@ -0,0 +1,95 @@
+package com.ticketmaster.auth.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T12:00:00Z"));
+
+    // 60s window sliding every 10s
+    private final SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(60), 6, 4, 1024, clock);
+
+    @Test
+    void shouldCountPerKey() {
+        assertEquals(1, counter.increment("alice@example.com"));
+        assertEquals(2, counter.increment("alice@example.com"));
+        counter.increment("bob@example.com");
+
+        assertEquals(2, counter.count("alice@example.com"));
+        assertEquals(1, counter.count("bob@example.com"));
+        assertEquals(0, counter.count("carol@example.com"));
+    }
+
+    @Test
+    void shouldForgetEventsOnceTheyLeaveTheWindow() {
+        counter.increment("alice@example.com");
+        clock.advance(Duration.ofSeconds(30));
+        counter.increment("alice@example.com");
+
+        clock.advance(Duration.ofSeconds(25));
+        assertEquals(2, counter.count("alice@example.com"));
+
+        // The first event's slot leaves the window, the second's is still in it
+        clock.advance(Duration.ofSeconds(10));
+        assertEquals(1, counter.count("alice@example.com"));
+
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(0, counter.count("alice@example.com"));
+    }
+
+    @Test
+    void shouldNeverUndercount_WithManyMoreKeysThanCounters() {
+        SlidingWindowCounter small = new SlidingWindowCounter(Duration.ofSeconds(60), 6, 4, 64, clock);
+        for (int i = 0; i < 5_000; i++) {
+            small.increment("user" + i + "@example.com");
+        }
+        for (int i = 0; i < 3; i++) {
+            small.increment("target@example.com");
+        }
+
+        assertTrue(small.count("target@example.com") >= 3);
+    }
+
+    @Test
+    void shouldReportTimeUntilWindowSlides() {
+        clock.advance(Duration.ofSeconds(4));
+
+        assertEquals(6_000, counter.millisUntilSlide());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.ticketmaster.event.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ticketmaster.common.dto.EventResponse;
+import com.ticketmaster.event.exception.EventNotFoundException;
+import com.ticketmaster.event.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <h1>Event Cache</h1>
+ * <p>
+ * Bounded, per-node read-through cache of events by ID, in front of {@code EventRepository.findResponseById}.
+ * It holds {@link EventResponse} projections, not entities.
+ * </p>
+ * <h2>Eviction:</h2>
+ * <ul>
+ * <li>At most {@code event-cache.max-size} events. Caffeine's W-TinyLFU policy decides what stays:
+ * a new event only pushes out an old one if it was requested more often recently, so a burst of
+ * one-off lookups (crawlers, the export) cannot flush the hot on-sale events.</li>
+ * <li>Entries expire {@code event-cache.ttl-seconds} after they were loaded. Purchases do not
+ * invalidate, so {@code availableTickets} on a cached event can lag by up to that long.</li>
+ * <li>Updates and deletes call {@link #invalidate}. An invalidation waits for a load of the same
+ * ID that is in progress, so a value read before the write can never survive it.</li>
+ * </ul>
+ * <h2>Single flight:</h2>
+ * <p>
+ * Caffeine loads each ID at most once at a time: the first caller to miss an ID queries the
+ * database, and every caller that misses the same ID meanwhile blocks until that query is done and
+ * gets its event. A stampede on an expired hot event therefore costs one query. Failures are not
+ * cached: if the query fails, the callers that waited for it retry one at a time, so the database
+ * never sees two queries for the same ID at once.
+ * </p>
+ * <p>
+ * Hits, misses, evictions and load latency are published as the {@code cache.*} meters with
+ * {@code cache=events} (see {@code /actuator/metrics}).
+ * </p>
+ */
+@Component
+public class EventCache {
+
+    public static final String NAME = "events";
+
+    private final EventRepository eventRepository;
+    private final LoadingCache<Long, EventResponse> cache;
+
+    public EventCache(EventRepository eventRepository,
+                      @Value("${event-cache.max-size:10000}") long maxSize,
+                      @Value("${event-cache.ttl-seconds:30}") long ttlSeconds,
+                      MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    /**
+     * Returns the cached event, or loads, caches and returns it. Concurrent calls for the same ID
+     * share one load. Unknown IDs are not cached.
+     * @throws EventNotFoundException If the event does not exist.
+     */
+    public EventResponse get(Long id) {
+        return cache.get(id);
+    }
+
+    /**
+     * @return The cached event, or {@code null} without loading it.
+     */
+    public EventResponse getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Runs pending maintenance (evictions) now instead of on a later access. Tests only.
+     */
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private EventResponse load(Long id) {
+        return eventRepository.findResponseById(id).orElseThrow(() -> new EventNotFoundException(id));
+    }
+}
@@ -15,10 +15,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter for Event-Service.
  * Validates JWT tokens issued by Auth-Service and sets authentication context.
+ * Revoked tokens (see {@link TokenRevocations}) are not authenticated.
  */
 @Component
 @RequiredArgsConstructor
@@ -26,6 +28,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
 
+    private final TokenRevocations tokenRevocations;
+
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -42,41 +48,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        try {
-            // Extract JWT token (remove "Bearer " prefix)
-            final String jwt = authHeader.substring(7);
-
-            // Validate token
-            if (jwtService.validateToken(jwt)) {
-                // Extract username and role from token
-                String username = jwtService.extractUsername(jwt);
-                String role = jwtService.extractRole(jwt);
+        // Extract JWT token (remove "Bearer " prefix) and verify it once
+        final String jwt = authHeader.substring(7);
+        // The verified-token cache does not know about revocations: check them after it
+        Optional<JwtPrincipal> verified = jwtService.verify(jwt)
+                .filter(principal -> !tokenRevocations.isRevoked(principal.tokenId()));
 
-                logger.info("JWT Authentication - Username: " + username + ", Role: " + role);
+        if (verified.isPresent()) {
+            JwtPrincipal principal = verified.get();
 
-                // Create authentication object with role
-                // Note: Spring Security expects "ROLE_" prefix
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
+            // Create authentication object with role
+            // Note: Spring Security expects "ROLE_" prefix
+            SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + principal.role());
 
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        username,
-                        null,
-                        Collections.singletonList(authority)
-                );
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    principal,
+                    null,
+                    Collections.singletonList(authority)
+            );
 
-                // Set authentication details
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // Set authentication details
+            authToken.setDetails(detailsSource.buildDetails(request));
 
-                // Set authentication in security context
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            // Set authentication in security context
+            SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                logger.info("Authentication set successfully for user: " + username + " with role: ROLE_" + role);
-            } else {
-                logger.warn("JWT token validation failed - token is invalid or expired");
+            if (logger.isDebugEnabled()) {
+                logger.debug("Authentication set for user: " + principal.username() + " with role: ROLE_" + principal.role());
             }
-        } catch (Exception e) {
-            // Log error but don't fail the request - just don't authenticate
-            logger.error("JWT validation failed: " + e.getMessage(), e);
+        } else {
+            logger.warn("JWT token validation failed - token is invalid, expired or revoked");
         }
 
         // Continue filter chain
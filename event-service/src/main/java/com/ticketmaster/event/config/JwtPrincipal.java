@@ -0,0 +1,22 @@
+package com.ticketmaster.event.config;
+
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * The verified claims of an access token: who the caller is, their role, until when the token
+ * may be used and its ID ({@code jti}, {@code null} for tokens issued without one). Built once
+ * per token by {@link JwtService} and shared by every request that presents the same token, so
+ * it is immutable.
+ * <p>
+ * It is the principal of the request's {@code Authentication}, so {@code Principal.getName()} in
+ * controllers still returns the username.
+ * </p>
+ */
+public record JwtPrincipal(String username, String role, Instant expiresAt, String tokenId) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,93 +1,148 @@
 package com.ticketmaster.event.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
 
 /**
  * JWT Service for Event-Service.
  * This service VALIDATES tokens issued by Auth-Service.
  * It does NOT generate tokens - only auth-service does that.
+ * <p>
+ * A token is parsed and its signature checked once, into a {@link JwtPrincipal}. The key and the
+ * parser are built at startup. Verified tokens are kept in a bounded cache (at most
+ * {@code jwt.cache.max-size}) keyed by the SHA-256 digest of the token, so a client presenting the
+ * same token again costs one hash instead of a base64 decode, a JSON parse and an HMAC. An entry
+ * expires with its token ({@code exp}), and tokens that fail verification are never cached.
+ * </p>
  */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final JwtParser parser;
+    private final Clock clock;
+    private final MessageDigest sha256;
+    private final Cache<TokenDigest, JwtPrincipal> verified;
 
-    /**
-     * Extract username from JWT token
-     */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    @Autowired
+    public JwtService(@Value("${jwt.secret}") String jwtSecret,
+                      @Value("${jwt.cache.max-size:10000}") long cacheSize) {
+        this(jwtSecret, cacheSize, Clock.systemUTC());
     }
 
-    /**
-     * Extract user role from JWT token
-     */
-    public String extractRole(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("role", String.class);
+    JwtService(String jwtSecret, long cacheSize, Clock clock) {
+        this.clock = clock;
+        // This must match the key used by auth-service
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        this.sha256 = newSha256();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilTokenExpires())
+                .build();
     }
 
     /**
-     * Validate if token is expired
+     * Verifies the signature and expiry of a token.
+     * @return The token's claims, or empty if the token is malformed, forged or expired.
      */
-    public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Optional<JwtPrincipal> verify(String token) {
+        TokenDigest digest = digest(token);
+        JwtPrincipal principal = verified.getIfPresent(digest);
+        if (principal == null) {
+            principal = parse(token);
+            if (principal == null) {
+                return Optional.empty();
+            }
+            verified.put(digest, principal);
+        }
+        // The cache drops expired entries lazily, so check again
+        return principal.expiresAt().isAfter(clock.instant()) ? Optional.of(principal) : Optional.empty();
     }
 
     /**
-     * Validate token
+     * Full verification, without the cache.
+     * @return The token's claims, or {@code null} if the token is invalid.
      */
-    public boolean validateToken(String token) {
+    JwtPrincipal parse(String token) {
         try {
-            extractAllClaims(token); // Will throw exception if invalid
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            if (expiration == null || claims.getSubject() == null) {
+                return null;
+            }
+            return new JwtPrincipal(claims.getSubject(), claims.get("role", String.class), expiration.toInstant(),
+                    claims.getId());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 
-    /**
-     * Extract expiration date from token
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    long cachedTokens() {
+        verified.cleanUp();
+        return verified.estimatedSize();
     }
 
-    /**
-     * Extract specific claim from token
-     */
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private TokenDigest digest(String token) {
+        MessageDigest md;
+        try {
+            md = (MessageDigest) sha256.clone();
+        } catch (CloneNotSupportedException e) {
+            md = newSha256();
+        }
+        ByteBuffer hash = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
     }
 
-    /**
-     * Extract all claims from token
-     */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     /**
-     * Get signing key for JWT validation
-     * This must match the key used by auth-service
+     * SHA-256 of a token as four longs: the cache never holds the bearer token itself.
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+    }
+
+    private final class UntilTokenExpires implements Expiry<TokenDigest, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, JwtPrincipal principal, long currentTime) {
+            return Math.max(0, Duration.between(clock.instant(), principal.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
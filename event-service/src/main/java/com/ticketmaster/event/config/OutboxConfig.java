@@ -0,0 +1,54 @@
+package com.ticketmaster.event.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketmaster.event.outbox.HttpOutboxSink;
+import com.ticketmaster.event.outbox.LoggingOutboxSink;
+import com.ticketmaster.event.outbox.NotificationOutboxSink;
+import com.ticketmaster.event.outbox.OutboxSink;
+import com.ticketmaster.event.repository.TicketHoldRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Chooses where the outbox relay delivers event changes: notification-service if
+ * {@code outbox.sink.notification-url} is set, else the raw batches to {@code outbox.sink.url} if set,
+ * otherwise the log. HTTP sinks are called while the relay holds row locks, so both timeouts are bounded.
+ */
+@Slf4j
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxSink outboxSink(@Value("${outbox.sink.notification-url:}") String notificationUrl,
+                                 @Value("${outbox.sink.service-key:}") String serviceKey,
+                                 @Value("${outbox.sink.max-recipients-per-request:10000}") int maxRecipientsPerRequest,
+                                 @Value("${outbox.sink.url:}") String url,
+                                 @Value("${outbox.sink.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                                 @Value("${outbox.sink.read-timeout-ms:5000}") long readTimeoutMillis,
+                                 TicketHoldRepository ticketHoldRepository,
+                                 ObjectMapper objectMapper) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMillis));
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+
+        if (!notificationUrl.isBlank()) {
+            if (serviceKey.isBlank()) {
+                log.warn("outbox.sink.service-key is not set: notification-service will reject the cancellation mails");
+            }
+            RestClient restClient = NotificationOutboxSink.restClient(notificationUrl, serviceKey)
+                    .requestFactory(requestFactory)
+                    .build();
+            return new NotificationOutboxSink(restClient, ticketHoldRepository, objectMapper, maxRecipientsPerRequest);
+        }
+        if (!url.isBlank()) {
+            return new HttpOutboxSink(RestClient.builder().requestFactory(requestFactory).build(), url);
+        }
+        return new LoggingOutboxSink();
+    }
+}
@@ -0,0 +1,21 @@
+package com.ticketmaster.event.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+
+/**
+ * Enables {@code @Scheduled} background jobs (e.g. the inventory write-behind flush and hold expiry)
+ * and provides the {@link Clock} they use, so tests can control time.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -3,6 +3,7 @@ package com.ticketmaster.event.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -20,7 +21,7 @@ import java.util.List;
  * Security Configuration for Event Service.
  * Validates JWT tokens issued by Auth-Service.
  * Protects write operations (POST/PUT/DELETE) - only ADMIN role allowed.
- * Read operations (GET) are open to all authenticated users.
+ * Read operations (GET), ticket purchases and holds are open to all authenticated users.
  */
 @Configuration
 @EnableWebSecurity
@@ -41,6 +42,10 @@ public class SecurityConfig {
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 // Health/Status check - public
                 .requestMatchers("/actuator/health", "/api/v1/system/status").permitAll()
+                // Ticket purchases, holds and joining a waiting room - any authenticated user
+                // (must come before the ADMIN write rule)
+                .requestMatchers(HttpMethod.POST, "/api/v1/events/*/purchase", "/api/v1/events/*/holds",
+                        "/api/v1/events/*/waiting-room/join").authenticated()
                 // Write operations (POST/PUT/DELETE) - ADMIN only
                 .requestMatchers(request ->
                     ("POST".equals(request.getMethod()) ||
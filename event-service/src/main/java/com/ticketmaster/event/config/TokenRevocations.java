@@ -0,0 +1,120 @@
+package com.ticketmaster.event.config;
+
+import com.ticketmaster.common.dto.RevokedTokenResponse;
+import com.ticketmaster.common.util.RevocationList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Access tokens revoked in auth-service (logout, admin revoke) before they expire, checked by
+ * {@link JwtAuthenticationFilter} on every authenticated request.
+ * <p>
+ * The check is in memory: a {@link RevocationList} (Bloom filter in front of the exact set of
+ * revoked token IDs). Every {@code jwt.revocation.refresh-interval-ms} it polls auth-service's
+ * {@code GET /api/v1/internal/revocations?since=} at {@code jwt.revocation.source-url} for new
+ * revocations, and purges those whose token has expired. A blank URL turns polling off. The
+ * endpoint is internal: the poll authenticates with {@code jwt.revocation.service-key}, sent as
+ * {@value #SERVICE_KEY_HEADER} (auth-service's {@code internal.service-key}).
+ * </p>
+ * <p>
+ * A revocation takes effect here at the next poll. If auth-service cannot be reached, the list
+ * keeps what it has and the next poll asks again from the same point.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TokenRevocations {
+
+    static final String SERVICE_KEY_HEADER = "X-Service-Key";
+
+    private static final ParameterizedTypeReference<List<RevokedTokenResponse>> REVOCATIONS =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RevocationList revocationList;
+    private final RestClient restClient;
+    private final Clock clock;
+
+    /** Revocations made from here on have not been fetched yet. */
+    private volatile Instant syncedUpTo = Instant.EPOCH;
+
+    @Autowired
+    public TokenRevocations(@Value("${jwt.revocation.source-url:}") String sourceUrl,
+                            @Value("${jwt.revocation.service-key:}") String serviceKey,
+                            @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                            @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                            Clock clock) {
+        this(new RevocationList(expectedRevocations, falsePositiveRate),
+                sourceUrl.isBlank() ? null : restClient(sourceUrl, serviceKey).build(), clock);
+        if (sourceUrl.isBlank()) {
+            log.warn("jwt.revocation.source-url is not set: tokens revoked in auth-service are accepted until they expire");
+        }
+    }
+
+    TokenRevocations(RevocationList revocationList, RestClient restClient, Clock clock) {
+        this.revocationList = revocationList;
+        this.restClient = restClient;
+        this.clock = clock;
+    }
+
+    static RestClient.Builder restClient(String sourceUrl, String serviceKey) {
+        RestClient.Builder builder = RestClient.builder().baseUrl(sourceUrl);
+        return serviceKey.isBlank() ? builder : builder.defaultHeader(SERVICE_KEY_HEADER, serviceKey);
+    }
+
+    /**
+     * @param tokenId The token's {@code jti} claim, or {@code null} for tokens issued without one.
+     */
+    public boolean isRevoked(String tokenId) {
+        return revocationList.isRevoked(tokenId);
+    }
+
+    /**
+     * Adds a revocation. Used by the poll.
+     */
+    void revoke(String tokenId, Instant expiresAt) {
+        revocationList.revoke(tokenId, expiresAt);
+    }
+
+    /**
+     * Fetches new revocations from auth-service and purges expired ones.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (restClient != null) {
+            poll();
+        }
+        revocationList.purgeExpired(clock.instant());
+    }
+
+    private void poll() {
+        Instant now = clock.instant();
+        // Ask a little before the last poll: a revocation committed late may carry an earlier
+        // revokedAt. Revoking twice is harmless.
+        Instant since = Instant.EPOCH.equals(syncedUpTo) ? syncedUpTo : syncedUpTo.minusSeconds(60);
+        List<RevokedTokenResponse> revoked;
+        try {
+            revoked = restClient.get()
+                    .uri(uri -> uri.path("/api/v1/internal/revocations").queryParam("since", since).build())
+                    .retrieve()
+                    .body(REVOCATIONS);
+        } catch (RestClientException e) {
+            log.warn("Could not fetch revoked tokens: {}", e.getMessage());
+            return;
+        }
+        if (revoked != null) {
+            revoked.forEach(token -> revocationList.revoke(token.getJti(), token.getExpiresAt()));
+        }
+        syncedUpTo = now;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ticketmaster.event.config;
+
+import com.ticketmaster.event.waitingroom.WaitingRoomInterceptor;
+import com.ticketmaster.event.waitingroom.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration for Event Service.
+ * Puts the waiting room in front of the endpoints that take tickets.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new WaitingRoomInterceptor(waitingRoomService))
+                .addPathPatterns("/api/v1/events/*/purchase", "/api/v1/events/*/holds");
+    }
+}
@@ -1,22 +1,33 @@
 package com.ticketmaster.event.controller;
 
 
+import com.ticketmaster.common.dto.EventResponse;
+import com.ticketmaster.common.dto.EventSummaryResponse;
 import com.ticketmaster.common.enums.EventCategory;
 import com.ticketmaster.common.enums.EventStatus;
 import com.ticketmaster.event.dto.request.EventRequest;
 import com.ticketmaster.event.dto.request.EventUpdateRequest;
+import com.ticketmaster.event.dto.response.CursorPage;
+import com.ticketmaster.event.dto.response.PurchaseResponse;
+import com.ticketmaster.event.repository.EventVersion;
+import com.ticketmaster.event.service.EventExportService;
 import com.ticketmaster.event.service.EventService;
 import com.ticketmaster.event.entity.Event;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-
-import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * <h1>Event Management Controller</h1>
@@ -31,18 +42,74 @@ import java.util.List;
 @Tag(name = "Event Management", description = "APIs for managing events and ticket purchases")
 public class EventController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /** Tickets per purchase or hold at most. */
+    static final int MAX_QUANTITY = 100;
+
     private final EventService eventService;
 
+    private final EventExportService eventExportService;
+
+    private final EventHttpCaching httpCaching;
+
     @GetMapping
-    @Operation(summary = "Get all events", description = "Retrieves a list of all available events")
-    public ResponseEntity<List<Event>> getAllEvents() {
-        return ResponseEntity.ok(eventService.getAllEvents());
+    @Operation(summary = "Get all events", description = "Retrieves one page of events ordered by ID. Pass the returned nextCursor as cursor to get the next page")
+    public ResponseEntity<CursorPage<EventSummaryResponse>> getAllEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${pagination.default-size:20}")
+            @Min(value = 1, message = "Size must be at least 1")
+            @Max(value = MAX_PAGE_SIZE, message = "Size must be at most " + MAX_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(eventService.getAllEvents(cursor, size));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all events", description = "Streams every event as newline-delimited JSON, ordered by ID. Gzip-compressed when the client sends Accept-Encoding: gzip")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                eventExportService.exportEvents(compressed);
+                compressed.finish();
+            } else {
+                eventExportService.exportEvents(out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get event by ID", description = "Retrieves a specific event by its unique identifier")
-    public ResponseEntity<Event> getEventsById(@PathVariable Long id) {
-        return ResponseEntity.ok(eventService.getEventById(id));
+    @Operation(summary = "Get event by ID", description = "Retrieves a specific event by its unique identifier. " +
+            "Returns 304 if the If-None-Match header holds the event's current ETag")
+    public ResponseEntity<EventResponse> getEventsById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Revalidation only needs the version: from the cache, or a version-only query
+            EventVersion current = eventService.getEventVersion(id);
+            String etag = EventHttpCaching.etag(id, current.version());
+            if (EventHttpCaching.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(httpCaching.cacheControl(current.status()))
+                        .build();
+            }
+        }
+
+        EventResponse event = eventService.getEventById(id);
+        return ResponseEntity.ok()
+                .eTag(EventHttpCaching.etag(id, event.getVersion()))
+                .cacheControl(httpCaching.cacheControl(event.getStatus()))
+                .body(event);
     }
 
 
@@ -67,15 +134,34 @@ public class EventController {
     }
 
     @GetMapping("/status/{status}")
-    @Operation(summary = "Get events by status", description = "Retrieves all events with a specific status (UPCOMING, CANCELLED, COMPLETED)")
-    public ResponseEntity<List<Event>> getEventsByStatus(@PathVariable EventStatus status) {
-        return ResponseEntity.ok(eventService.getEventsByStatus(status));
+    @Operation(summary = "Get events by status", description = "Retrieves one page of events with a specific status (UPCOMING, CANCELLED, COMPLETED), soonest first")
+    public ResponseEntity<CursorPage<EventSummaryResponse>> getEventsByStatus(
+            @PathVariable EventStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${pagination.default-size:20}")
+            @Min(value = 1, message = "Size must be at least 1")
+            @Max(value = MAX_PAGE_SIZE, message = "Size must be at most " + MAX_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(eventService.getEventsByStatus(status, cursor, size));
     }
 
     @GetMapping("/category/{category}")
-    @Operation(summary = "Get events by category", description = "Retrieves all events in a specific category (MUSIC, SPORTS, THEATER, COMEDY, CONFERENCE)")
-    public ResponseEntity<List<Event>> getEventsByCategory(@PathVariable EventCategory category) {
-        return ResponseEntity.ok(eventService.getEventsByCategory(category));
+    @Operation(summary = "Get events by category", description = "Retrieves one page of events in a specific category (MUSIC, SPORTS, THEATER, COMEDY, CONFERENCE), soonest first")
+    public ResponseEntity<CursorPage<EventSummaryResponse>> getEventsByCategory(
+            @PathVariable EventCategory category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${pagination.default-size:20}")
+            @Min(value = 1, message = "Size must be at least 1")
+            @Max(value = MAX_PAGE_SIZE, message = "Size must be at most " + MAX_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(eventService.getEventsByCategory(category, cursor, size));
+    }
+
+    @PostMapping("/{id}/purchase")
+    @Operation(summary = "Purchase tickets", description = "Buys tickets for an event. Returns 409 if not enough tickets are left")
+    public ResponseEntity<PurchaseResponse> purchaseTickets(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") @Min(value = 1, message = "Quantity must be at least 1")
+            @Max(value = MAX_QUANTITY, message = "Quantity must be at most " + MAX_QUANTITY) int quantity) {
+        return ResponseEntity.ok(eventService.purchaseTickets(id, quantity));
     }
 
 
@@ -0,0 +1,65 @@
+package com.ticketmaster.event.controller;
+
+import com.ticketmaster.common.enums.EventStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * <h1>Event HTTP Caching</h1>
+ * <p>
+ * ETags and Cache-Control lifetimes for {@code GET /api/v1/events/{id}}.
+ * </p>
+ * <h2>Validators:</h2>
+ * <p>
+ * The ETag is the strong tag {@code "<id>-<version>"}. {@code Event.version} goes up with every
+ * update and every ticket sale or release, so the tag changes exactly when the JSON does.
+ * </p>
+ * <h2>Lifetimes:</h2>
+ * <ul>
+ * <li>COMPLETED and CANCELLED events are effectively immutable: {@code event-http-cache.final-max-age-seconds}
+ * (a day by default), marked {@code immutable} so browsers do not revalidate on reload.</li>
+ * <li>Everything else is still selling tickets: {@code event-http-cache.max-age-seconds} (5 seconds
+ * by default), then {@code must-revalidate}, which is cheap thanks to the ETag.</li>
+ * </ul>
+ * <p>
+ * Event data is the same for every user, so responses are {@code public} and a CDN may share them.
+ * </p>
+ */
+@Component
+public class EventHttpCaching {
+
+    private final CacheControl live;
+    private final CacheControl done;
+
+    public EventHttpCaching(@Value("${event-http-cache.max-age-seconds:5}") long maxAgeSeconds,
+                            @Value("${event-http-cache.final-max-age-seconds:86400}") long finalMaxAgeSeconds) {
+        this.live = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().mustRevalidate();
+        this.done = CacheControl.maxAge(Duration.ofSeconds(finalMaxAgeSeconds)).cachePublic().immutable();
+    }
+
+    public CacheControl cacheControl(EventStatus status) {
+        return status == EventStatus.COMPLETED || status == EventStatus.CANCELLED ? done : live;
+    }
+
+    public static String etag(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Weak comparison, as {@code If-None-Match} requires: {@code W/"1-3"} matches {@code "1-3"}.
+     * @param ifNoneMatch The header value: {@code *} or a comma-separated list of tags.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        String tag = etag.substring(1, etag.length() - 1);
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.tag().equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
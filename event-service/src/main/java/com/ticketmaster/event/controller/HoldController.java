@@ -0,0 +1,53 @@
+package com.ticketmaster.event.controller;
+
+import com.ticketmaster.event.dto.response.HoldResponse;
+import com.ticketmaster.event.service.HoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+/**
+ * <h1>Ticket Hold Controller</h1>
+ * <p>
+ * Lets users hold tickets while they pay, then confirm or cancel the hold.
+ * Holds that are not confirmed in time expire and their tickets go back on sale.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Tag(name = "Ticket Holds", description = "APIs for holding tickets before confirming a purchase")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @PostMapping("/events/{eventId}/holds")
+    @Operation(summary = "Hold tickets", description = "Holds tickets for a limited time. Returns 409 if not enough tickets are left")
+    public ResponseEntity<HoldResponse> createHold(
+            @PathVariable Long eventId,
+            @RequestParam(defaultValue = "1") @Min(value = 1, message = "Quantity must be at least 1")
+            @Max(value = EventController.MAX_QUANTITY, message = "Quantity must be at most " + EventController.MAX_QUANTITY) int quantity,
+            Principal principal) {
+        HoldResponse created = holdService.createHold(eventId, quantity, principal.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PostMapping("/holds/{id}/confirm")
+    @Operation(summary = "Confirm hold", description = "Confirms a pending hold. Returns 409 if it already expired or was resolved")
+    public ResponseEntity<HoldResponse> confirmHold(@PathVariable Long id, Principal principal) {
+        return ResponseEntity.ok(holdService.confirmHold(id, principal.getName()));
+    }
+
+    @PostMapping("/holds/{id}/cancel")
+    @Operation(summary = "Cancel hold", description = "Cancels a pending hold and releases its tickets. Returns 409 if it already expired or was resolved")
+    public ResponseEntity<HoldResponse> cancelHold(@PathVariable Long id, Principal principal) {
+        return ResponseEntity.ok(holdService.cancelHold(id, principal.getName()));
+    }
+}
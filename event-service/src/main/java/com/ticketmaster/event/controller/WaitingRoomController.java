@@ -0,0 +1,68 @@
+package com.ticketmaster.event.controller;
+
+import com.ticketmaster.event.dto.response.QueuePositionResponse;
+import com.ticketmaster.event.dto.response.WaitingRoomResponse;
+import com.ticketmaster.event.waitingroom.WaitingRoomInterceptor;
+import com.ticketmaster.event.waitingroom.WaitingRoomService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+
+/**
+ * <h1>Waiting Room Controller</h1>
+ * <p>
+ * Admins open a waiting room in front of a big on-sale; users join it, poll their position and
+ * buy once admitted. None of these endpoints touch the database except opening a room.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/events/{eventId}/waiting-room")
+@RequiredArgsConstructor
+@Tag(name = "Waiting Room", description = "APIs for queueing users in front of an on-sale")
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PostMapping
+    @Operation(summary = "Open waiting room", description = "Opens or restarts the waiting room of an event (Admin only)")
+    public ResponseEntity<WaitingRoomResponse> openRoom(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) @Min(value = 1, message = "Rate must be at least 1") Integer ratePerSecond,
+            @RequestParam(required = false) @Min(value = 1, message = "Burst must be at least 1") Integer burst) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitingRoomService.openRoom(eventId, ratePerSecond, burst));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get waiting room", description = "Retrieves the settings and progress of a waiting room")
+    public ResponseEntity<WaitingRoomResponse> getRoom(@PathVariable Long eventId) {
+        return ResponseEntity.ok(waitingRoomService.getRoom(eventId));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Close waiting room", description = "Closes the waiting room; purchases are no longer gated (Admin only)")
+    public ResponseEntity<Void> closeRoom(@PathVariable Long eventId) {
+        waitingRoomService.closeRoom(eventId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/join")
+    @Operation(summary = "Join waiting room", description = "Returns a signed queue position to send as X-Queue-Token")
+    public ResponseEntity<QueuePositionResponse> join(@PathVariable Long eventId, Principal principal) {
+        return ResponseEntity.ok(waitingRoomService.join(eventId, principal.getName()));
+    }
+
+    @GetMapping("/position")
+    @Operation(summary = "Get queue position", description = "Reports position, people ahead and ETA for a queue token and renews it")
+    public ResponseEntity<QueuePositionResponse> getPosition(
+            @PathVariable Long eventId,
+            @RequestHeader(name = WaitingRoomInterceptor.TOKEN_HEADER, required = false) String token,
+            Principal principal) {
+        return ResponseEntity.ok(waitingRoomService.getPosition(eventId, token, principal.getName()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.ticketmaster.event.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * <h1>Cursor Page DTO</h1>
+ * <p>
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as the {@code cursor}
+ * parameter to get the following page; it is {@code null} on the last page.
+ * The cursor is opaque: clients must not build or modify it.
+ * </p>
+ * @param <T> The item type.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    @Schema(description = "Items of this page")
+    private List<T> items;
+
+    @Schema(description = "Cursor for the next page, absent on the last page", example = "aXw0Mg")
+    private String nextCursor;
+
+    @Schema(description = "Whether another page follows", example = "true")
+    private boolean hasMore;
+}
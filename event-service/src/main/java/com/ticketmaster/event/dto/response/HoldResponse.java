@@ -0,0 +1,49 @@
+package com.ticketmaster.event.dto.response;
+
+import com.ticketmaster.common.enums.BookingStatus;
+import com.ticketmaster.event.entity.TicketHold;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * <h1>Hold Response DTO</h1>
+ * <p>
+ * The state of a ticket hold as seen by its holder.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldResponse {
+
+    @Schema(description = "Unique Hold ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Event the tickets are held for", example = "1")
+    private Long eventId;
+
+    @Schema(description = "Number of tickets held", example = "2")
+    private int quantity;
+
+    @Schema(description = "Status of the hold", example = "PENDING")
+    private BookingStatus status;
+
+    @Schema(description = "When the hold expires unless confirmed", example = "2026-06-01T10:10:00")
+    private LocalDateTime expiresAt;
+
+    public static HoldResponse from(TicketHold hold) {
+        return HoldResponse.builder()
+                .id(hold.getId())
+                .eventId(hold.getEventId())
+                .quantity(hold.getQuantity())
+                .status(hold.getStatus())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
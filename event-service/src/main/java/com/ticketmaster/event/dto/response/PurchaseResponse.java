@@ -0,0 +1,31 @@
+package com.ticketmaster.event.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * <h1>Purchase Response DTO</h1>
+ * <p>
+ * Returned after tickets were successfully taken from an event's inventory.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseResponse {
+
+    @Schema(description = "Event the tickets were bought for", example = "1")
+    private Long eventId;
+
+    @Schema(description = "Number of tickets bought", example = "2")
+    private int quantity;
+
+    @Schema(description = "When the purchase was recorded", example = "2026-06-01T10:00:00")
+    private LocalDateTime purchasedAt;
+}
@@ -0,0 +1,41 @@
+package com.ticketmaster.event.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * <h1>Queue Position Response DTO</h1>
+ * <p>
+ * Where a user stands in an event's waiting room. Joining and polling return a token bound to the
+ * caller; the latest one must be sent back in the {@code X-Queue-Token} header when polling and when buying.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QueuePositionResponse {
+
+    @Schema(description = "Event the queue is for", example = "1")
+    private long eventId;
+
+    @Schema(description = "Position in the queue (1-based)", example = "5000")
+    private long position;
+
+    @Schema(description = "Whether this position may buy now", example = "false")
+    private boolean admitted;
+
+    @Schema(description = "Users still let in before this position", example = "3800")
+    private long waitingAhead;
+
+    @Schema(description = "Estimated seconds until admission", example = "38")
+    private long etaSeconds;
+
+    @Schema(description = "Signed queue token for the caller, renewed on every poll")
+    private String token;
+}
@@ -0,0 +1,35 @@
+package com.ticketmaster.event.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * <h1>Waiting Room Response DTO</h1>
+ * <p>
+ * The settings and progress of an event's waiting room.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomResponse {
+
+    @Schema(description = "Event the waiting room is for", example = "1")
+    private long eventId;
+
+    @Schema(description = "Users admitted per second", example = "100")
+    private int ratePerSecond;
+
+    @Schema(description = "Users admitted at once when nobody is waiting", example = "100")
+    private int burst;
+
+    @Schema(description = "Number of users who joined the queue", example = "25000")
+    private long joined;
+
+    @Schema(description = "Highest admitted queue position", example = "1200")
+    private long admittedThrough;
+}
@@ -17,13 +17,17 @@ import java.time.LocalDateTime;
  * </p>
  * <h2>Concurrency Control:</h2>
  * <p>
- * This entity uses <b>Optimistic Locking</b> (via the {@code @Version} field).
- * This ensures that if 10,000 users try to buy the last ticket simultaneously,
- * the database will only allow one transaction to succeed, preventing overbooking.
+ * This entity uses <b>Optimistic Locking</b> (via the {@code @Version} field) for entity saves.
+ * Ticket purchases do not go through entity saves: they use a conditional decrement
+ * ({@code available_tickets >= n}) that also bumps the version, so if 10,000 users try to buy
+ * the last ticket simultaneously, exactly one succeeds and nobody gets a locking failure.
  * </p>
  */
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_status_date_id", columnList = "status, date, id"),
+        @Index(name = "idx_events_category_date_id", columnList = "category, date, id")
+})
 @Getter
 @Setter
 @ToString
@@ -95,8 +99,9 @@ public class Event {
     /**
      * The number of tickets currently remaining.
      * <p>
-     * This decreases every time a user calls the {@code /buy} endpoint.
-     * Logic: {@code availableTickets = availableTickets - 1}
+     * This decreases every time a user calls the {@code /purchase} endpoint.
+     * Logic: {@code availableTickets = availableTickets - quantity}, applied by a single
+     * guarded {@code UPDATE} that never lets the value drop below zero.
      * </p>
      */
     @Schema(description = "Tickets currently left to sell", example = "450")
@@ -0,0 +1,74 @@
+package com.ticketmaster.event.entity;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.ticketmaster.event.outbox.OutboxEventType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * <h1>Outbox Message Entity</h1>
+ * <p>
+ * A change to an event that other services must hear about. This class maps to the {@code outbox}
+ * table.
+ * </p>
+ * <h2>Lifecycle:</h2>
+ * <p>
+ * Inserted in the same transaction as the {@code events} change it describes, so it exists if and
+ * only if that change committed. {@link com.ticketmaster.event.outbox.OutboxRelay} delivers it and
+ * then deletes it. The ID is unique per message and doubles as its idempotency key downstream.
+ * A message the sink keeps rejecting on its own is parked ({@code parkedAt} set) and no longer
+ * relayed; clearing {@code parkedAt} and {@code attempts} puts it back in line.
+ * </p>
+ */
+@Entity
+@Table(name = "outbox")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Schema(description = "Unique message ID", example = "1")
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Schema(description = "Event the change is about", example = "1")
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Schema(description = "Kind of change", example = "EVENT_CANCELLED")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OutboxEventType type;
+
+    /**
+     * The event as it was right after the change, as JSON.
+     */
+    @Schema(description = "The event after the change, as JSON")
+    @JsonRawValue
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Schema(description = "Failed deliveries of this message on its own", example = "0")
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int attempts;
+
+    @Schema(description = "When the relay gave up on the message; null while it is still relayed")
+    @Column(name = "parked_at")
+    private LocalDateTime parkedAt;
+
+    @Schema(description = "When the change was made", example = "2026-06-01T10:00:00")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
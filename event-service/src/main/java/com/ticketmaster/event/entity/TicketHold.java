@@ -0,0 +1,81 @@
+package com.ticketmaster.event.entity;
+
+import com.ticketmaster.common.enums.BookingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * <h1>Ticket Hold Entity</h1>
+ * <p>
+ * Tickets taken from an event's inventory for a limited time, e.g. while the buyer pays.
+ * This class maps to the {@code ticket_holds} table.
+ * </p>
+ * <h2>Lifecycle:</h2>
+ * <p>
+ * A hold starts as {@code PENDING}. The holder either confirms it ({@code CONFIRMED}) or cancels it
+ * ({@code CANCELLED}); if neither happens before {@code expiresAt} it becomes {@code EXPIRED}.
+ * Cancelled and expired holds give their tickets back to the event. Every transition is a guarded
+ * {@code UPDATE ... WHERE status = 'PENDING'}, so exactly one of confirm, cancel and expire wins.
+ * </p>
+ */
+@Entity
+@Table(name = "ticket_holds", indexes = @Index(name = "idx_ticket_holds_status", columnList = "status"))
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketHold {
+
+    @Schema(description = "Unique Hold ID", example = "1")
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Schema(description = "Event the tickets are held for", example = "1")
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Schema(description = "Number of tickets held", example = "2")
+    @Column(nullable = false)
+    private int quantity;
+
+    /**
+     * Username of the user who created the hold. Only they can confirm or cancel it.
+     */
+    @Schema(description = "User who owns the hold", example = "fan@example.com")
+    @Column(nullable = false)
+    private String holder;
+
+    @Schema(description = "Status of the hold", example = "PENDING")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+
+    @Schema(description = "When the hold expires unless confirmed", example = "2026-06-01T10:10:00")
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Schema(description = "When the hold was created", example = "2026-06-01T10:00:00")
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Schema(description = "When the hold last changed status", example = "2026-06-01T10:05:00")
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,14 @@
+package com.ticketmaster.event.exception;
+
+/**
+ * Exception thrown when a hold does not exist or belongs to another user
+ */
+public class HoldNotFoundException extends RuntimeException {
+    public HoldNotFoundException(String message) {
+        super(message);
+    }
+
+    public HoldNotFoundException(Long id) {
+        super("Hold not found with ID: " + id);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ticketmaster.event.exception;
+
+/**
+ * Exception thrown when a hold can no longer be confirmed or cancelled
+ */
+public class HoldNotPendingException extends RuntimeException {
+    public HoldNotPendingException(String message) {
+        super(message);
+    }
+}
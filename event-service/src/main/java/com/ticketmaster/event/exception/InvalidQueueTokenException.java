@@ -0,0 +1,10 @@
+package com.ticketmaster.event.exception;
+
+/**
+ * Exception thrown when a waiting room token is missing, forged or from another queue
+ */
+public class InvalidQueueTokenException extends RuntimeException {
+    public InvalidQueueTokenException() {
+        super("A valid waiting room token is required for this event");
+    }
+}
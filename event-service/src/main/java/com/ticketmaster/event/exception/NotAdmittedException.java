@@ -0,0 +1,17 @@
+package com.ticketmaster.event.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a waiting room position has not been admitted yet
+ */
+@Getter
+public class NotAdmittedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public NotAdmittedException(long retryAfterSeconds) {
+        super("Your place in the waiting room has not been admitted yet");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,14 @@
+package com.ticketmaster.event.exception;
+
+/**
+ * Exception thrown when an event does not have enough tickets left for a purchase
+ */
+public class TicketsSoldOutException extends RuntimeException {
+    public TicketsSoldOutException(String message) {
+        super(message);
+    }
+
+    public TicketsSoldOutException(Long eventId, int quantity) {
+        super("Not enough tickets left for event " + eventId + " (requested: " + quantity + ")");
+    }
+}
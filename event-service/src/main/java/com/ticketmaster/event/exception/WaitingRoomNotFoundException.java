@@ -0,0 +1,14 @@
+package com.ticketmaster.event.exception;
+
+/**
+ * Exception thrown when an event has no open waiting room
+ */
+public class WaitingRoomNotFoundException extends RuntimeException {
+    public WaitingRoomNotFoundException(String message) {
+        super(message);
+    }
+
+    public WaitingRoomNotFoundException(Long eventId) {
+        super("No waiting room is open for event " + eventId);
+    }
+}
@@ -0,0 +1,206 @@
+package com.ticketmaster.event.hold;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * <h1>Hierarchical Timing Wheel</h1>
+ * <p>
+ * Fires timeouts at (roughly) their deadline without scanning or sorting all pending ones.
+ * Time is cut into ticks of {@code tickMillis}. There are {@link #LEVELS} wheels of
+ * {@link #SLOTS} slots each: level 0 covers the next 256 ticks one tick per slot, level 1 the next
+ * 65,536 ticks 256 per slot, and so on. With a 100 ms tick the four levels cover about 13 years.
+ * </p>
+ * <h2>Cost:</h2>
+ * <ul>
+ * <li>{@link #schedule} is O(1) and lock-free: it only appends to a queue.</li>
+ * <li>Each tick touches one level-0 slot. Every 256 ticks one slot of the next level is
+ * "cascaded", i.e. its timeouts are re-placed one level down. A timeout therefore moves at most
+ * {@code LEVELS - 1} times in its life, however many others are pending.</li>
+ * <li>{@link Timeout#cancel()} is O(1): the timeout is only flagged and dropped when its slot is
+ * reached.</li>
+ * </ul>
+ * <p>
+ * {@link #advance} must only be called by one thread at a time (the ticker).
+ * </p>
+ * @param <T> The payload handed to the expiry callback.
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    static final int LEVELS = 4;
+    private static final int SLOT_BITS = 8;
+    static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Timeout<T>[][] wheels;
+    private final Queue<Timeout<T>> incoming = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+
+    /** The next tick to process. Only touched by the ticker. */
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.wheels = new Timeout[LEVELS][SLOTS];
+    }
+
+    /**
+     * Schedules {@code payload} to be handed to the expiry callback once {@code deadlineMillis} passed.
+     * Safe to call from any thread.
+     * @return A handle that can cancel the timeout.
+     */
+    public Timeout<T> schedule(T payload, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(this, payload, deadlineMillis);
+        pending.incrementAndGet();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Processes every tick up to {@code nowMillis} and hands each expired, non-cancelled payload to
+     * {@code onExpiry}. A timeout never fires before its deadline; it fires at most one tick late
+     * plus however late the ticker calls this method.
+     */
+    public void advance(long nowMillis, Consumer<T> onExpiry) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        transferIncoming();
+        while (currentTick <= targetTick) {
+            if ((currentTick & MASK) == 0) {
+                cascade(1);
+            }
+            int slot = (int) (currentTick & MASK);
+            Timeout<T> timeout = wheels[0][slot];
+            wheels[0][slot] = null;
+            currentTick++;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                if (timeout.expire()) {
+                    pending.decrementAndGet();
+                    onExpiry.accept(timeout.payload);
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * @return The number of timeouts that are neither expired nor cancelled.
+     */
+    public long pending() {
+        return pending.get();
+    }
+
+    private void transferIncoming() {
+        Timeout<T> timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (!timeout.isCancelled()) {
+                place(timeout);
+            }
+        }
+    }
+
+    /**
+     * Re-places the timeouts of the current slot of {@code level} one or more levels down.
+     * When that slot is 0 the level itself just wrapped, so the next level is cascaded first.
+     */
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & MASK);
+        if (slot == 0) {
+            cascade(level + 1);
+        }
+        Timeout<T> timeout = wheels[level][slot];
+        wheels[level][slot] = null;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.next = null;
+            if (!timeout.isCancelled()) {
+                place(timeout);
+            }
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        // Round up so a timeout never fires before its deadline
+        long expiryTick = Math.max(currentTick,
+                Math.floorDiv(timeout.deadlineMillis - startMillis + tickMillis - 1, tickMillis));
+        long delta = Math.min(expiryTick - currentTick, MAX_DELTA);
+        expiryTick = currentTick + delta;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >>> (SLOT_BITS * (level + 1)) != 0) {
+            level++;
+        }
+        int slot = (int) ((expiryTick >>> (SLOT_BITS * level)) & MASK);
+        timeout.next = wheels[level][slot];
+        wheels[level][slot] = timeout;
+    }
+
+    /**
+     * A scheduled payload. Cancelling is cheap and safe from any thread.
+     */
+    public static final class Timeout<T> {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T payload;
+        private final long deadlineMillis;
+        private volatile int state;
+        private Timeout<T> next;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T payload, long deadlineMillis) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        /**
+         * @return {@code true} if the timeout was still waiting and will now never fire.
+         */
+        public boolean cancel() {
+            if (STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                wheel.pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public long deadlineMillis() {
+            return deadlineMillis;
+        }
+
+        private boolean expire() {
+            return STATE.compareAndSet(this, WAITING, EXPIRED);
+        }
+    }
+}
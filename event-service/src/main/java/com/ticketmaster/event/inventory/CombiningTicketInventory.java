@@ -0,0 +1,214 @@
+package com.ticketmaster.event.inventory;
+
+import com.ticketmaster.event.entity.Event;
+import com.ticketmaster.event.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h1>Combining Ticket Inventory</h1>
+ * <p>
+ * Flat combining in front of {@link EventRepository}: concurrent reservations for the same event
+ * are queued, and whichever buyer gets the event's combiner lock runs them all as one transaction
+ * with one guarded decrement of their total. The other buyers just wait for their own result.
+ * One round trip and one row lock then serve a whole batch instead of one buyer each.
+ * </p>
+ * <h2>Batching:</h2>
+ * <ul>
+ * <li>A batch is whatever queued up while the previous batch was in the database, plus anything that
+ * arrives within {@code inventory.combining.window-micros}, capped at {@code inventory.combining.batch-size}.</li>
+ * <li>If the total does not fit (near sell-out, or more than an {@code int} can hold), the batch locks the row, reads what is left and
+ * serves requests first come, first served, skipping those that are too large. Still one transaction.</li>
+ * </ul>
+ * <p>
+ * The database stays authoritative, so unlike {@link StripedTicketInventory} this works with several nodes.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.mode", havingValue = "combining")
+public class CombiningTicketInventory implements TicketInventory {
+
+    /**
+     * Safety net only: waiting buyers are unparked when their batch completes or when they are next
+     * in line to combine (every combiner wakes the queue head when it lets go of the lock).
+     */
+    private static final long WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long windowNanos;
+    private final Map<Long, Combiner> combiners = new ConcurrentHashMap<>();
+
+    public CombiningTicketInventory(EventRepository eventRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${inventory.combining.batch-size:256}") int batchSize,
+                                    @Value("${inventory.combining.window-micros:100}") long windowMicros) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, windowMicros));
+    }
+
+    @Override
+    public boolean reserve(Long eventId, int quantity) {
+        Combiner combiner = combiners.computeIfAbsent(eventId, Combiner::new);
+        Request request = new Request(quantity, Thread.currentThread());
+        combiner.queue.add(request);
+        combiner.queued.incrementAndGet();
+
+        while (request.state == Request.PENDING) {
+            if (combiner.lock.compareAndSet(false, true)) {
+                try {
+                    combiner.combine();
+                } finally {
+                    combiner.lock.set(false);
+                }
+                combiner.wakeNext();
+            } else {
+                LockSupport.parkNanos(this, WAIT_NANOS);
+            }
+        }
+
+        if (request.state == Request.FAILED) {
+            throw request.failure;
+        }
+        return request.state == Request.ACQUIRED;
+    }
+
+    @Override
+    public void release(Long eventId, int quantity) {
+        transactionTemplate.executeWithoutResult(status -> eventRepository.releaseTickets(eventId, quantity));
+    }
+
+    @Override
+    public void evict(Long eventId) {
+        combiners.remove(eventId);
+    }
+
+    /**
+     * The queue and combiner lock of one event.
+     */
+    private final class Combiner {
+
+        private final Long eventId;
+        private final Queue<Request> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean lock = new AtomicBoolean();
+
+        private Combiner(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        /**
+         * Runs one batch. Only called while holding {@link #lock}.
+         */
+        private void combine() {
+            if (windowNanos > 0 && queued.get() < batchSize) {
+                LockSupport.parkNanos(this, windowNanos);
+            }
+
+            List<Request> batch = new ArrayList<>(Math.min(batchSize, Math.max(1, queued.get())));
+            Request next;
+            while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                queued.decrementAndGet();
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> commit(batch));
+            } catch (RuntimeException ex) {
+                for (Request request : batch) {
+                    request.failure = ex;
+                    request.outcome = Request.FAILED;
+                }
+            }
+            // Results are only published once the transaction has committed (or failed)
+            for (Request request : batch) {
+                request.state = request.outcome;
+                LockSupport.unpark(request.waiter);
+            }
+        }
+
+        private void commit(List<Request> batch) {
+            // A long: a few huge requests must not wrap around to a negative total
+            long total = 0;
+            for (Request request : batch) {
+                total += request.quantity;
+            }
+            if (total <= Integer.MAX_VALUE && eventRepository.purchaseTickets(eventId, (int) total) == 1) {
+                for (Request request : batch) {
+                    request.outcome = Request.ACQUIRED;
+                }
+                return;
+            }
+
+            // Not enough for everyone: serve in arrival order from what is left
+            int available = eventRepository.findByIdForUpdate(eventId)
+                    .map(Event::getAvailableTickets)
+                    .orElse(0);
+            int granted = 0;
+            for (Request request : batch) {
+                if (request.quantity <= available - granted) {
+                    granted += request.quantity;
+                    request.outcome = Request.ACQUIRED;
+                } else {
+                    request.outcome = Request.REJECTED;
+                }
+            }
+            if (granted > 0 && eventRepository.purchaseTickets(eventId, granted) != 1) {
+                throw new IllegalStateException("Locked row for event " + eventId + " changed during a batch");
+            }
+        }
+
+        /**
+         * Lets the oldest waiting buyer take over combining right away instead of after its park times out.
+         */
+        private void wakeNext() {
+            Request head = queue.peek();
+            if (head != null) {
+                LockSupport.unpark(head.waiter);
+            }
+        }
+    }
+
+    /**
+     * One buyer's reservation, completed by whichever thread combines its batch.
+     */
+    private static final class Request {
+
+        private static final int PENDING = 0;
+        private static final int ACQUIRED = 1;
+        private static final int REJECTED = 2;
+        private static final int FAILED = 3;
+
+        private final int quantity;
+        private final Thread waiter;
+        private volatile int state = PENDING;
+        /** Written by the combiner, published through {@link #state}. */
+        private int outcome;
+        private RuntimeException failure;
+
+        private Request(int quantity, Thread waiter) {
+            this.quantity = quantity;
+            this.waiter = waiter;
+        }
+    }
+}
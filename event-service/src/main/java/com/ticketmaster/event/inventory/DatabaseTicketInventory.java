@@ -0,0 +1,35 @@
+package com.ticketmaster.event.inventory;
+
+import com.ticketmaster.event.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * <h1>Database Ticket Inventory</h1>
+ * <p>
+ * The default inventory: every reservation is one guarded {@code UPDATE} on the {@code events} row
+ * (see {@link EventRepository#purchaseTickets(Long, int)}). Simple and always consistent, but all
+ * buyers of one event queue up on the same row lock.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseTicketInventory implements TicketInventory {
+
+    private final EventRepository eventRepository;
+
+    @Override
+    @Transactional
+    public boolean reserve(Long eventId, int quantity) {
+        return eventRepository.purchaseTickets(eventId, quantity) == 1;
+    }
+
+    @Override
+    @Transactional
+    public void release(Long eventId, int quantity) {
+        eventRepository.releaseTickets(eventId, quantity);
+    }
+}
@@ -0,0 +1,223 @@
+package com.ticketmaster.event.inventory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h1>Striped Counter</h1>
+ * <p>
+ * A non-negative ticket count split across several sub-counters ("stripes") so that concurrent
+ * buyers mostly update different cache lines instead of all fighting over one value.
+ * </p>
+ * <h2>Invariants:</h2>
+ * <ul>
+ * <li>No stripe ever goes below zero: a stripe is only decremented by a CAS that checks it still
+ * holds enough tickets. The sum of all stripes therefore can never go below zero (no oversell).</li>
+ * <li>When no single stripe holds enough tickets (typically the last few tickets, spread over
+ * several stripes), a slow path takes a lock, drains every stripe into one total, serves the
+ * request from it and puts the remainder back. This is how the last tickets drain correctly.</li>
+ * </ul>
+ * <p>
+ * Each stripe also counts how many tickets it handed out since the last {@link #drainSold()}, so the
+ * write-behind flush can collect sold tickets without a shared counter on the hot path.
+ * </p>
+ * <p>
+ * Once {@link #close() closed}, the counter hands out nothing more. Sales that raced with the close
+ * still show up in {@link #drainSold()}, so the owner must drain a closed counter once more.
+ * </p>
+ */
+final class StripedCounter {
+
+    /**
+     * Longs per stripe. 16 x 8 bytes = 128 bytes, so two stripes never share a cache line
+     * (or an adjacent-line prefetch pair).
+     */
+    private static final int PADDING = 16;
+    private static final int SOLD_OFFSET = 1;
+
+    /** {@link #tryAcquire} results. */
+    static final int REJECTED = 0;
+    static final int ACQUIRED = 1;
+    static final int ACQUIRED_FLUSH = 2;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+    private final int mask;
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    StripedCounter(long initial, int stripes) {
+        if (initial < 0) {
+            throw new IllegalArgumentException("Initial count must not be negative");
+        }
+        this.stripes = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.mask = this.stripes - 1;
+        this.cells = new AtomicLongArray(this.stripes * PADDING);
+        spread(initial);
+    }
+
+    /**
+     * Takes {@code n} from the counter if available.
+     * @param n The amount to take (at least 1).
+     * @param soldThreshold Per-stripe sold count at which the caller should be told to flush.
+     * @return {@code ACQUIRED}, {@code ACQUIRED_FLUSH} or {@code REJECTED}.
+     */
+    int tryAcquire(int n, long soldThreshold) {
+        if (closed) {
+            return REJECTED;
+        }
+        int home = homeStripe();
+        for (int i = 0; i < stripes; i++) {
+            int base = ((home + i) & mask) * PADDING;
+            if (tryTake(base, n)) {
+                return recordSold(base, n, soldThreshold);
+            }
+        }
+        return drainAndAcquire(n, soldThreshold);
+    }
+
+    /**
+     * Gives {@code n} previously acquired tickets back to the counter.
+     * The sold count goes down by the same amount, so the next {@link #drainSold()} may be negative.
+     */
+    void release(long n) {
+        int base = homeStripe() * PADDING;
+        cells.addAndGet(base, n);
+        cells.addAndGet(base + SOLD_OFFSET, -n);
+    }
+
+    /**
+     * Collects and resets the number of tickets sold (minus released) since the previous call.
+     * Each stripe is reset atomically, so no concurrent sale is lost.
+     */
+    long drainSold() {
+        long sold = 0;
+        for (int i = 0; i < stripes; i++) {
+            sold += cells.getAndSet(i * PADDING + SOLD_OFFSET, 0);
+        }
+        return sold;
+    }
+
+    /**
+     * Puts back sold tickets that could not be flushed, so the next flush retries them.
+     */
+    void restoreSold(long n) {
+        cells.addAndGet(SOLD_OFFSET, n);
+    }
+
+    /**
+     * Stops handing out tickets: every later {@link #tryAcquire} is rejected and the remaining
+     * count is dropped. Sold counts are kept for the next {@link #drainSold()}.
+     */
+    void close() {
+        closed = true;
+        drainLock.lock();
+        try {
+            for (int i = 0; i < stripes; i++) {
+                cells.set(i * PADDING, 0);
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * Takes {@code n} tickets out of the count without recording them as sold, for tickets another
+     * counter already sold; a negative {@code n} puts tickets back.
+     *
+     * @return How many of the {@code n} tickets the count no longer had (0 unless it ran out).
+     */
+    long withdraw(long n) {
+        if (n <= 0) {
+            cells.addAndGet(homeStripe() * PADDING, -n);
+            return 0;
+        }
+        drainLock.lock();
+        try {
+            long total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += cells.getAndSet(i * PADDING, 0);
+            }
+            long taken = Math.min(total, n);
+            spread(total - taken);
+            return n - taken;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return The remaining count. Only a snapshot while buyers are active.
+     */
+    long available() {
+        long total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += cells.get(i * PADDING);
+        }
+        return total;
+    }
+
+    int stripes() {
+        return stripes;
+    }
+
+    private boolean tryTake(int base, int n) {
+        long current;
+        while ((current = cells.get(base)) >= n) {
+            if (cells.compareAndSet(base, current, current - n)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int recordSold(int base, int n, long soldThreshold) {
+        return cells.addAndGet(base + SOLD_OFFSET, n) >= soldThreshold ? ACQUIRED_FLUSH : ACQUIRED;
+    }
+
+    private int drainAndAcquire(int n, long soldThreshold) {
+        drainLock.lock();
+        try {
+            if (closed) {
+                return REJECTED;
+            }
+            // Another thread may have rebalanced while we were waiting for the lock.
+            for (int i = 0; i < stripes; i++) {
+                if (tryTake(i * PADDING, n)) {
+                    return recordSold(i * PADDING, n, soldThreshold);
+                }
+            }
+
+            long total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += cells.getAndSet(i * PADDING, 0);
+            }
+            if (total < n) {
+                spread(total);
+                return REJECTED;
+            }
+            spread(total - n);
+            return recordSold(0, n, soldThreshold);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void spread(long total) {
+        long share = total / stripes;
+        long remainder = total % stripes;
+        for (int i = 0; i < stripes; i++) {
+            cells.addAndGet(i * PADDING, share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    private int homeStripe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
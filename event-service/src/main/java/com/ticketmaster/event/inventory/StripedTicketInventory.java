@@ -0,0 +1,282 @@
+package com.ticketmaster.event.inventory;
+
+import com.ticketmaster.event.entity.Event;
+import com.ticketmaster.event.repository.EventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <h1>Striped Ticket Inventory</h1>
+ * <p>
+ * In-memory inventory for big on-sales. Each event's remaining tickets are loaded once from
+ * {@code Event.availableTickets} and kept in a {@link StripedCounter}, so reservations are lock-free
+ * CAS operations spread over several cache lines instead of row locks on one {@code events} row.
+ * </p>
+ * <h2>Write-behind:</h2>
+ * <p>
+ * Sold tickets (minus released ones) are aggregated per event and written back with one guarded
+ * decrement (or increment) per event, either every {@code inventory.striped.flush-interval-ms} or
+ * as soon as roughly {@code inventory.striped.flush-batch-size} tickets were sold, whichever comes first.
+ * A failed flush keeps the sold count and retries on the next run.
+ * </p>
+ * <p>
+ * If the guarded write matches no row, another writer changed {@code availableTickets} under us.
+ * The counter is closed (later reservations are rejected and reload from the database) and the sold
+ * tickets are reconciled under {@code findByIdForUpdate}. The closed counter stays in place until
+ * that commits, and loading takes the same monitor, so a fresh counter is only ever built from a row
+ * that already has every ticket sold from the old one. Sales not written yet (kept in
+ * {@code unsettled}) are subtracted when loading, and sales that land on a closed counter after a
+ * fresh one was loaded are taken out of the fresh one.
+ * </p>
+ * <p>
+ * A row that cannot absorb the tickets sold from memory means another writer sold the same tickets,
+ * which the single-owner rule below forbids: the excess is logged as an error for compensation.
+ * Sold tickets are never dropped.
+ * </p>
+ * <p>
+ * <b>Note:</b> The in-memory count is authoritative while the event is loaded, so one node must
+ * own an event's on-sale. {@code availableTickets} in the database lags by at most one flush.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.mode", havingValue = "striped")
+public class StripedTicketInventory implements TicketInventory {
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int stripes;
+    private final long soldThresholdPerStripe;
+
+    private final Map<Long, StripedCounter> counters = new ConcurrentHashMap<>();
+    /** Sold tickets (negative: released) of retired counters that still have to be written back. */
+    private final Map<Long, Long> unsettled = new ConcurrentHashMap<>();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+
+    public StripedTicketInventory(EventRepository eventRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${inventory.striped.stripes:0}") int stripes,
+                                  @Value("${inventory.striped.flush-batch-size:500}") int flushBatchSize) {
+        this.eventRepository = eventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.soldThresholdPerStripe = Math.max(1, flushBatchSize / this.stripes);
+    }
+
+    @Override
+    public boolean reserve(Long eventId, int quantity) {
+        int result = StripedCounter.REJECTED;
+        // A second round only happens when the counter was retired while we held it
+        for (int round = 0; round < 2; round++) {
+            StripedCounter counter = counters.get(eventId);
+            if (counter == null || counter.isClosed()) {
+                counter = load(eventId);
+                if (counter == null) {
+                    return false;
+                }
+            }
+
+            result = counter.tryAcquire(quantity, soldThresholdPerStripe);
+            if (result == StripedCounter.ACQUIRED_FLUSH) {
+                requestFlush();
+            }
+            settleIfClosed(eventId, counter);
+            if (result != StripedCounter.REJECTED || !counter.isClosed()) {
+                break;
+            }
+        }
+        return result != StripedCounter.REJECTED;
+    }
+
+    @Override
+    public void release(Long eventId, int quantity) {
+        StripedCounter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.release(quantity);
+            settleIfClosed(eventId, counter);
+            return;
+        }
+        // Not loaded (yet or any more): the database is authoritative
+        transactionTemplate.executeWithoutResult(status -> eventRepository.releaseTickets(eventId, quantity));
+    }
+
+    @Override
+    public synchronized void evict(Long eventId) {
+        StripedCounter counter = counters.get(eventId);
+        if (counter != null) {
+            counter.close();
+            flush(eventId, counter);
+            counters.remove(eventId, counter);
+        }
+    }
+
+    /**
+     * @return The in-memory remaining tickets of an event, or {@code -1} if it is not loaded.
+     */
+    public long available(Long eventId) {
+        StripedCounter counter = counters.get(eventId);
+        return counter != null ? counter.available() : -1;
+    }
+
+    /**
+     * Writes the tickets sold since the last flush back to the {@code events} table.
+     */
+    @Scheduled(fixedDelayString = "${inventory.striped.flush-interval-ms:100}")
+    public synchronized void flush() {
+        flushPending.set(false);
+        for (Long eventId : unsettled.keySet()) {
+            Long sold = unsettled.remove(eventId);
+            if (sold != null && sold != 0) {
+                writeBack(eventId, counters.get(eventId), sold);
+            }
+        }
+        counters.forEach(this::flush);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushExecutor.shutdown();
+        flush();
+    }
+
+    private synchronized void flush(Long eventId, StripedCounter counter) {
+        long sold = counter.drainSold();
+        if (sold != 0) {
+            writeBack(eventId, counter, sold);
+        }
+    }
+
+    /**
+     * Writes {@code sold} tickets back with the guarded update, reconciling under a row lock if the
+     * row no longer matches. Whatever could not be written is kept for the next flush.
+     * Callers hold the monitor, so no counter can be loaded while this runs.
+     */
+    private void writeBack(Long eventId, StripedCounter counter, long sold) {
+        long pending = sold;
+        try {
+            Integer updated = transactionTemplate.execute(status -> sold > 0
+                    ? eventRepository.purchaseTickets(eventId, Math.toIntExact(sold))
+                    : eventRepository.releaseTickets(eventId, Math.toIntExact(-sold)));
+            if (updated != null && updated > 0) {
+                return;
+            }
+            // The row no longer has the tickets we sold from memory: another writer touched it.
+            // Stop selling from the stale counter first, then pick up sales that raced with the close.
+            if (counter != null) {
+                counter.close();
+                pending += counter.drainSold();
+            }
+            reconcile(eventId, pending);
+        } catch (RuntimeException ex) {
+            if (counter != null && !counter.isClosed()) {
+                counter.restoreSold(pending);
+            } else {
+                unsettled.merge(eventId, pending, Long::sum);
+            }
+            log.warn("Inventory flush for event {} failed, will retry: {}", eventId, ex.getMessage());
+        } finally {
+            // Only now that its sales are in the row (or in unsettled) may a fresh counter replace it
+            if (counter != null && counter.isClosed()) {
+                counters.remove(eventId, counter);
+            }
+        }
+    }
+
+    /**
+     * Applies sold tickets to the locked row, clamped to {@code [0, totalTickets]}.
+     * The part the row cannot absorb was already sold (or released) and is logged for compensation.
+     */
+    private void reconcile(Long eventId, long sold) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Event event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+            if (event == null) {
+                log.error("Inventory flush of {} tickets for deleted event {} cannot be reconciled", sold, eventId);
+                return;
+            }
+            long target = event.getAvailableTickets() - sold;
+            long absorbed = Math.max(0, Math.min(event.getTotalTickets(), target));
+            event.setAvailableTickets((int) absorbed);
+            if (absorbed != target) {
+                log.error("Inventory flush for event {} did not match the database: {} of {} tickets " +
+                        "could not be absorbed and need compensation", eventId, absorbed - target, sold);
+            } else {
+                log.warn("Inventory flush of {} tickets for event {} reconciled after a concurrent change", sold, eventId);
+            }
+        });
+    }
+
+    /**
+     * Hands sales made on a counter that was retired meanwhile over to the next flush.
+     */
+    private void settleIfClosed(Long eventId, StripedCounter counter) {
+        if (counter.isClosed()) {
+            settle(eventId, counter);
+        }
+    }
+
+    /**
+     * Under the monitor, so a concurrent {@link #load} either sees these sales in {@code unsettled}
+     * or has already built the fresh counter they are taken out of.
+     */
+    private synchronized void settle(Long eventId, StripedCounter counter) {
+        long late = counter.drainSold();
+        if (late == 0) {
+            return;
+        }
+        unsettled.merge(eventId, late, Long::sum);
+        StripedCounter live = counters.get(eventId);
+        if (live != null && live != counter && !live.isClosed()) {
+            long missing = live.withdraw(late);
+            if (missing > 0) {
+                log.error("Event {} oversold by {} tickets after a counter reload and needs compensation", eventId, missing);
+            }
+        }
+        requestFlush();
+    }
+
+    /**
+     * Builds a counter from the row, minus sales not written back yet. Under the monitor, so it
+     * waits for a write-back or reconcile in progress instead of reading a row that lacks its sales.
+     */
+    private synchronized StripedCounter load(Long eventId) {
+        StripedCounter current = counters.get(eventId);
+        if (current != null) {
+            if (!current.isClosed()) {
+                return current;
+            }
+            settle(eventId, current);
+            counters.remove(eventId, current);
+        }
+        Integer available = eventRepository.findAvailableTicketsById(eventId).orElse(null);
+        if (available == null) {
+            return null;
+        }
+        long remaining = Math.max(0, available - unsettled.getOrDefault(eventId, 0L));
+        StripedCounter loaded = new StripedCounter(remaining, stripes);
+        counters.put(eventId, loaded);
+        return loaded;
+    }
+
+    private void requestFlush() {
+        if (flushPending.compareAndSet(false, true) && !flushExecutor.isShutdown()) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+}
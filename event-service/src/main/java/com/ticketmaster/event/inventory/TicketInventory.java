@@ -0,0 +1,40 @@
+package com.ticketmaster.event.inventory;
+
+/**
+ * <h1>Ticket Inventory</h1>
+ * <p>
+ * Decides whether tickets can be taken from an event. {@code EventService} only talks to this
+ * interface, so the purchase path can switch between implementations with the
+ * {@code inventory.mode} property:
+ * </p>
+ * <ul>
+ * <li>{@code database} (default) - {@link DatabaseTicketInventory}, one guarded {@code UPDATE} per purchase.</li>
+ * <li>{@code striped} - {@link StripedTicketInventory}, in-memory striped counters with write-behind.</li>
+ * <li>{@code combining} - {@link CombiningTicketInventory}, concurrent reservations merged into one guarded {@code UPDATE}.</li>
+ * </ul>
+ */
+public interface TicketInventory {
+
+    /**
+     * Takes tickets from an event if enough are left.
+     * @param eventId The event ID.
+     * @param quantity The number of tickets to take (at least 1).
+     * @return {@code true} if the tickets were taken, {@code false} if the event does not exist
+     *         or does not have enough tickets left.
+     */
+    boolean reserve(Long eventId, int quantity);
+
+    /**
+     * Gives previously reserved tickets back to an event (e.g. an expired or cancelled hold).
+     * @param eventId The event ID.
+     * @param quantity The number of tickets to give back.
+     */
+    void release(Long eventId, int quantity);
+
+    /**
+     * Drops any state kept for an event (e.g. after it was deleted).
+     * @param eventId The event ID.
+     */
+    default void evict(Long eventId) {
+    }
+}
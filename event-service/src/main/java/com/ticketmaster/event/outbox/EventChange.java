@@ -0,0 +1,14 @@
+package com.ticketmaster.event.outbox;
+
+import com.ticketmaster.common.enums.EventStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The payload of an outbox message: the event right after the change.
+ *
+ * @param previousStatus The status before the change.
+ */
+public record EventChange(Long eventId, String name, LocalDateTime date, Long venueId,
+                          EventStatus status, EventStatus previousStatus) {
+}
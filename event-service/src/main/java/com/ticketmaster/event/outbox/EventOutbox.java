@@ -0,0 +1,64 @@
+package com.ticketmaster.event.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketmaster.common.enums.EventStatus;
+import com.ticketmaster.event.entity.Event;
+import com.ticketmaster.event.entity.OutboxMessage;
+import com.ticketmaster.event.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * <h1>Event Outbox</h1>
+ * <p>
+ * Records event changes in the {@code outbox} table for {@link OutboxRelay} to deliver. Must be
+ * called inside the transaction that makes the change: the message then commits or rolls back with
+ * it, and the request path never talks to another service.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class EventOutbox {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Records an update, as {@link OutboxEventType#EVENT_CANCELLED} if it cancelled the event.
+     * @param event The event after the update.
+     * @param previousStatus The status before it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventUpdated(Event event, EventStatus previousStatus) {
+        boolean cancelled = event.getStatus() == EventStatus.CANCELLED && previousStatus != EventStatus.CANCELLED;
+        append(cancelled ? OutboxEventType.EVENT_CANCELLED : OutboxEventType.EVENT_UPDATED, event, previousStatus);
+    }
+
+    /**
+     * Records a deletion.
+     * @param event The event being deleted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventDeleted(Event event) {
+        append(OutboxEventType.EVENT_DELETED, event, event.getStatus());
+    }
+
+    private void append(OutboxEventType type, Event event, EventStatus previousStatus) {
+        EventChange change = new EventChange(event.getId(), event.getName(), event.getDate(), event.getVenueId(),
+                event.getStatus(), previousStatus);
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize the change to event " + event.getId(), ex);
+        }
+        outboxRepository.save(OutboxMessage.builder()
+                .eventId(event.getId())
+                .type(type)
+                .payload(payload)
+                .build());
+    }
+}
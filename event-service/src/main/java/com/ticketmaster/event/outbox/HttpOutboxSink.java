@@ -0,0 +1,34 @@
+package com.ticketmaster.event.outbox;
+
+import com.ticketmaster.event.entity.OutboxMessage;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Posts each batch as a JSON array of {@link OutboxMessage} to one URL, for a receiver outside this
+ * repository (e.g. a webhook or a bridge into a message broker). Notification-service is fed by
+ * {@link NotificationOutboxSink} instead. Any non-2xx answer or timeout fails the batch. The call runs while the relay holds the rows'
+ * locks, so the {@link org.springframework.web.client.RestClient} must have connect and read timeouts.
+ */
+public class HttpOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+    private final String url;
+
+    public HttpOutboxSink(RestClient restClient, String url) {
+        this.restClient = restClient;
+        this.url = url;
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(messages)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
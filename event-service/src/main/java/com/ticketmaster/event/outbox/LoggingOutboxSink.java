@@ -0,0 +1,22 @@
+package com.ticketmaster.event.outbox;
+
+import com.ticketmaster.event.entity.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Logs each change instead of sending it. Used when neither {@code outbox.sink.notification-url} nor
+ * {@code outbox.sink.url} is set, e.g. when running event-service on its own.
+ */
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            log.info("Outbox message {}: {} for event {}: {}",
+                    message.getId(), message.getType(), message.getEventId(), message.getPayload());
+        }
+    }
+}
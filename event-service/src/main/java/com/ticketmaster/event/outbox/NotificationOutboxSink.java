@@ -0,0 +1,98 @@
+package com.ticketmaster.event.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketmaster.event.entity.OutboxMessage;
+import com.ticketmaster.event.repository.TicketHoldRepository;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * <h1>Notification Outbox Sink</h1>
+ * <p>
+ * Turns cancellations into emails through notification-service's mail API
+ * ({@code POST /api/v1/notifications/mail}, authenticated with {@value #SERVICE_KEY_HEADER}). Every
+ * holder of confirmed tickets for a cancelled event gets one mail, in requests of at most
+ * {@code maxRecipientsPerRequest} recipients. Updates and deletions send no mail.
+ * </p>
+ * <p>
+ * The outbox message ID is the idempotency key of its mails, so a batch the relay delivers again
+ * sends nothing twice within notification-service's dedup window. Any non-2xx answer or timeout
+ * fails the batch.
+ * </p>
+ */
+public class NotificationOutboxSink implements OutboxSink {
+
+    public static final String SERVICE_KEY_HEADER = "X-Service-Key";
+
+    static final String MAIL_PATH = "/api/v1/notifications/mail";
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final RestClient restClient;
+    private final TicketHoldRepository holdRepository;
+    private final ObjectMapper objectMapper;
+    private final int maxRecipientsPerRequest;
+
+    public NotificationOutboxSink(RestClient restClient, TicketHoldRepository holdRepository,
+                                  ObjectMapper objectMapper, int maxRecipientsPerRequest) {
+        this.restClient = restClient;
+        this.holdRepository = holdRepository;
+        this.objectMapper = objectMapper;
+        this.maxRecipientsPerRequest = maxRecipientsPerRequest;
+    }
+
+    public static RestClient.Builder restClient(String notificationUrl, String serviceKey) {
+        RestClient.Builder builder = RestClient.builder().baseUrl(notificationUrl);
+        return serviceKey.isBlank() ? builder : builder.defaultHeader(SERVICE_KEY_HEADER, serviceKey);
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            if (message.getType() == OutboxEventType.EVENT_CANCELLED) {
+                mailHolders(message);
+            }
+        }
+    }
+
+    private void mailHolders(OutboxMessage message) {
+        List<String> holders = holdRepository.findConfirmedHolders(message.getEventId());
+        if (holders.isEmpty()) {
+            return;
+        }
+        EventChange change = readChange(message);
+        String subject = "Event cancelled: " + change.name();
+        String body = "We are sorry: " + change.name()
+                + (change.date() != null ? " on " + DATE.format(change.date()) : "")
+                + " has been cancelled, and your tickets for it are no longer valid.";
+        String idempotencyKey = "outbox-" + message.getId();
+
+        for (int from = 0; from < holders.size(); from += maxRecipientsPerRequest) {
+            List<String> recipients = holders.subList(from, Math.min(holders.size(), from + maxRecipientsPerRequest));
+            restClient.post()
+                    .uri(MAIL_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new MailRequest(recipients, subject, body, idempotencyKey))
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+    }
+
+    private EventChange readChange(OutboxMessage message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), EventChange.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not read outbox message " + message.getId(), ex);
+        }
+    }
+
+    /**
+     * The body of notification-service's {@code MailDispatchRequest}.
+     */
+    record MailRequest(List<String> recipients, String subject, String body, String idempotencyKey) {
+    }
+}
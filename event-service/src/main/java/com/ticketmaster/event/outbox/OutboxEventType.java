@@ -0,0 +1,13 @@
+package com.ticketmaster.event.outbox;
+
+/**
+ * Kinds of event changes published through the outbox.
+ */
+public enum OutboxEventType {
+    /** Any change to an event's details, other than a cancellation. */
+    EVENT_UPDATED,
+    /** The event's status changed to {@code CANCELLED}. */
+    EVENT_CANCELLED,
+    /** The event was deleted. */
+    EVENT_DELETED
+}
@@ -0,0 +1,209 @@
+package com.ticketmaster.event.outbox;
+
+import com.ticketmaster.event.entity.OutboxMessage;
+import com.ticketmaster.event.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>Outbox Relay</h1>
+ * <p>
+ * Moves event changes from the {@code outbox} table to the {@link OutboxSink}. Every
+ * {@code outbox.relay.interval-ms} it drains the table in batches of {@code outbox.relay.batch-size},
+ * each batch in one transaction:
+ * </p>
+ * <ol>
+ * <li>claim the oldest rows with {@code FOR UPDATE SKIP LOCKED} (relays on other nodes skip them),</li>
+ * <li>deliver them to the sink in one call,</li>
+ * <li>delete them with one {@code DELETE ... WHERE id IN (...)}.</li>
+ * </ol>
+ * <p>
+ * If the sink fails the transaction rolls back, the rows are unlocked untouched and the relay waits
+ * ({@code outbox.relay.initial-backoff-ms}, doubling up to {@code outbox.relay.max-backoff-ms}) before
+ * trying again. With several relays, batches may arrive out of ID order.
+ * </p>
+ * <h2>Poison messages:</h2>
+ * <p>
+ * After a failed batch the relay delivers the oldest message on its own until that works. Only
+ * such single-message failures count against a message, so one bad message cannot use up the
+ * attempts of its neighbours. After {@code outbox.relay.max-attempts} of them it is parked:
+ * left in the table with {@code parked_at} set, skipped by every relay, and logged, so the
+ * messages behind it flow again.
+ * </p>
+ * <h2>Metrics:</h2>
+ * <ul>
+ * <li>{@code outbox.relayed} - messages delivered (throughput),</li>
+ * <li>{@code outbox.lag} - time from a change being made to its delivery, per message,</li>
+ * <li>{@code outbox.oldest.age} - age in seconds of the oldest undelivered message at the last
+ * claim (0 once the table is drained),</li>
+ * <li>{@code outbox.relay.failures} - batches the sink rejected,</li>
+ * <li>{@code outbox.parked} - messages given up on.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final Counter relayed;
+    private final Counter failures;
+    private final Counter parked;
+    private final Timer lag;
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+
+    // Only touched by relay(), which the scheduler never runs concurrently with itself
+    private boolean isolateNext;
+    private int consecutiveFailures;
+    private long retryAtMillis;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       Clock clock,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.relay.initial-backoff-ms:500}") long initialBackoffMillis,
+                       @Value("${outbox.relay.max-backoff-ms:60000}") long maxBackoffMillis,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.relayed = Counter.builder("outbox.relayed").register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures").register(meterRegistry);
+        this.parked = Counter.builder("outbox.parked").register(meterRegistry);
+        this.lag = Timer.builder("outbox.lag").register(meterRegistry);
+        Gauge.builder("outbox.oldest.age", oldestAgeMillis, age -> age.get() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers pending messages until the table is drained, the sink fails, or
+     * {@code outbox.relay.max-batches-per-run} batches were sent. Does nothing while backing off.
+     * @return The number of messages delivered.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public int relay() {
+        if (clock.millis() < retryAtMillis) {
+            return 0;
+        }
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int limit = isolateNext ? 1 : batchSize;
+            int delivered = relayBatch(limit);
+            if (delivered < 0) {
+                break;
+            }
+            total += delivered;
+            if (delivered < limit) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return The number of messages delivered, or {@code -1} if the batch failed.
+     */
+    private int relayBatch(int limit) {
+        List<Long> claimedIds = new ArrayList<>();
+        List<OutboxMessage> batch;
+        try {
+            batch = transactionTemplate.execute(status -> {
+                List<OutboxMessage> claimed = outboxRepository.lockNextBatch(limit);
+                if (!claimed.isEmpty()) {
+                    claimed.forEach(message -> claimedIds.add(message.getId()));
+                    sink.deliver(claimed);
+                    outboxRepository.deleteAllByIdInBatch(claimedIds);
+                }
+                return claimed;
+            });
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("Outbox delivery of {} messages failed, will retry: {}", claimedIds.size(), ex.getMessage());
+            onFailure(claimedIds, ex);
+            return -1;
+        }
+        isolateNext = false;
+        consecutiveFailures = 0;
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (batch == null || batch.isEmpty()) {
+            oldestAgeMillis.set(0);
+            return 0;
+        }
+        oldestAgeMillis.set(Math.max(0, Duration.between(batch.get(0).getCreatedAt(), now).toMillis()));
+        for (OutboxMessage message : batch) {
+            lag.record(Duration.between(message.getCreatedAt(), now));
+        }
+        relayed.increment(batch.size());
+        return batch.size();
+    }
+
+    private void onFailure(List<Long> claimedIds, RuntimeException cause) {
+        isolateNext = true;
+        if (claimedIds.size() == 1 && charge(claimedIds.get(0), cause)) {
+            // The culprit is out of the way: let the messages behind it through right away
+            consecutiveFailures = 0;
+            retryAtMillis = 0;
+            return;
+        }
+        consecutiveFailures++;
+        long backoff = initialBackoffMillis << Math.min(consecutiveFailures - 1, 20);
+        retryAtMillis = clock.millis() + Math.min(backoff, maxBackoffMillis);
+    }
+
+    /**
+     * Counts a failed delivery against a message that was sent on its own.
+     * @return Whether the message was parked.
+     */
+    private boolean charge(Long id, RuntimeException cause) {
+        try {
+            Integer parkedNow = transactionTemplate.execute(status -> {
+                outboxRepository.incrementAttempts(id);
+                return outboxRepository.parkIfExhausted(id, maxAttempts, LocalDateTime.now(clock));
+            });
+            if (parkedNow != null && parkedNow > 0) {
+                parked.increment();
+                log.error("Parked outbox message {} after {} failed deliveries: {}", id, maxAttempts, cause.getMessage());
+                return true;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not record failed delivery of outbox message {}: {}", id, ex.getMessage());
+        }
+        return false;
+    }
+}
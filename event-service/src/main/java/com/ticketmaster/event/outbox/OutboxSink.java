@@ -0,0 +1,21 @@
+package com.ticketmaster.event.outbox;
+
+import com.ticketmaster.event.entity.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Where {@link OutboxRelay} delivers event changes.
+ * <p>
+ * Delivery is at least once: a batch is delivered again if the relay fails before deleting it, so
+ * receivers should drop messages whose ID they have already seen.
+ * </p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch, in ID order. Returns once the receiver has it.
+     * @throws RuntimeException If the batch was not delivered; the relay tries it again later.
+     */
+    void deliver(List<OutboxMessage> messages);
+}
@@ -1,11 +1,25 @@
 package com.ticketmaster.event.repository;
 
+import com.ticketmaster.common.dto.EventResponse;
+import com.ticketmaster.common.dto.EventSummaryResponse;
 import com.ticketmaster.common.enums.EventCategory;
 import com.ticketmaster.common.enums.EventStatus;
 import com.ticketmaster.event.entity.Event;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * <h1>Event Repository</h1>
@@ -30,4 +44,127 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findEventByStatus(EventStatus status);
 
     List<Event> findEventByCategory(EventCategory category);
+
+    /*
+     * Read path: the queries below select straight into DTOs with constructor expressions.
+     * Hibernate creates no entities, keeps nothing in the persistence context and has nothing to
+     * dirty-check; list views additionally never read the description column.
+     */
+
+    String RESPONSE = "SELECT new com.ticketmaster.common.dto.EventResponse(e.id, e.name, e.description, e.date, " +
+            "e.performerId, e.venueId, e.ticketPrice, e.totalTickets, e.availableTickets, e.status, e.category, " +
+            "e.createdAt, e.updatedAt, e.version) FROM Event e ";
+
+    String SUMMARY = "SELECT new com.ticketmaster.common.dto.EventSummaryResponse(e.id, e.name, e.date, " +
+            "e.performerId, e.venueId, e.ticketPrice, e.availableTickets, e.status, e.category) FROM Event e ";
+
+    @Query(RESPONSE + "WHERE e.id = :id")
+    Optional<EventResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Version and status only, for answering {@code If-None-Match} without fetching the event.
+     */
+    @Query("SELECT new com.ticketmaster.event.repository.EventVersion(e.version, e.status) FROM Event e WHERE e.id = :id")
+    Optional<EventVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * All events in ID order, read through a database cursor in batches of 500 rows instead of
+     * being loaded into a list.
+     * Must be consumed and closed inside a transaction (PostgreSQL only uses a cursor when
+     * auto-commit is off).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(RESPONSE + "ORDER BY e.id")
+    Stream<EventResponse> streamAllResponses();
+
+    /*
+     * Keyset pagination: every page seeks straight to the row after the previous page's last one
+     * through an index, so page 10,000 costs the same as page 1 (unlike OFFSET, which reads and
+     * discards every skipped row). The first page of each listing has its own method.
+     */
+
+    @Query(SUMMARY + "ORDER BY e.id")
+    List<EventSummaryResponse> findSummaries(Limit limit);
+
+    @Query(SUMMARY + "WHERE e.id > :id ORDER BY e.id")
+    List<EventSummaryResponse> findSummariesAfter(@Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "WHERE e.status = :status ORDER BY e.date, e.id")
+    List<EventSummaryResponse> findSummariesByStatus(@Param("status") EventStatus status, Limit limit);
+
+    /**
+     * Events with {@code status} that come after {@code (date, id)} in {@code (date, id)} order.
+     * Served by the {@code (status, date, id)} index.
+     */
+    @Query(SUMMARY + "WHERE e.status = :status " +
+            "AND (e.date > :date OR (e.date = :date AND e.id > :id)) ORDER BY e.date, e.id")
+    List<EventSummaryResponse> findSummariesByStatusAfter(@Param("status") EventStatus status,
+                                                          @Param("date") LocalDateTime date,
+                                                          @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "WHERE e.category = :category ORDER BY e.date, e.id")
+    List<EventSummaryResponse> findSummariesByCategory(@Param("category") EventCategory category, Limit limit);
+
+    /**
+     * Events in {@code category} that come after {@code (date, id)} in {@code (date, id)} order.
+     * Served by the {@code (category, date, id)} index.
+     */
+    @Query(SUMMARY + "WHERE e.category = :category " +
+            "AND (e.date > :date OR (e.date = :date AND e.id > :id)) ORDER BY e.date, e.id")
+    List<EventSummaryResponse> findSummariesByCategoryAfter(@Param("category") EventCategory category,
+                                                            @Param("date") LocalDateTime date,
+                                                            @Param("id") Long id, Limit limit);
+
+    /**
+     * Reads only the remaining ticket count of an event, without loading the entity.
+     * @param id The event ID.
+     * @return The remaining tickets, or empty if the event does not exist.
+     */
+    @Query("SELECT e.availableTickets FROM Event e WHERE e.id = :id")
+    Optional<Integer> findAvailableTicketsById(@Param("id") Long id);
+
+    /**
+     * Loads an event and locks its row until the end of the transaction ({@code SELECT ... FOR UPDATE}).
+     * Only used when a batch of purchases has to be split up near sell-out.
+     * @param id The event ID.
+     * @return The locked event, or empty if it does not exist.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Takes {@code quantity} tickets from an event in a single guarded {@code UPDATE}.
+     * <p>
+     * The {@code availableTickets >= :quantity} predicate is evaluated by the database while it
+     * holds the row lock, so concurrent buyers are serialized on the row instead of racing a
+     * read-modify-write and failing with {@code ObjectOptimisticLockingFailureException}.
+     * The version is bumped so that a concurrent entity save (e.g. an admin update) still
+     * detects the change and cannot overwrite the new ticket count.
+     * </p>
+     * @param id The event ID.
+     * @param quantity The number of tickets to take.
+     * @return {@code 1} if the tickets were taken, {@code 0} if the event does not exist or has too few tickets left.
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.availableTickets = e.availableTickets - :quantity, " +
+            "e.version = e.version + 1, e.updatedAt = LOCAL_DATETIME " +
+            "WHERE e.id = :id AND e.availableTickets >= :quantity")
+    int purchaseTickets(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Gives {@code quantity} tickets back to an event (e.g. when a hold expires or is cancelled).
+     * <p>
+     * Guarded so that {@code availableTickets} can never grow past {@code totalTickets}.
+     * </p>
+     * @param id The event ID.
+     * @param quantity The number of tickets to give back.
+     * @return {@code 1} if the tickets were returned, {@code 0} if the event does not exist or the
+     *         result would exceed its capacity.
+     */
+    @Modifying
+    @Query("UPDATE Event e SET e.availableTickets = e.availableTickets + :quantity, " +
+            "e.version = e.version + 1, e.updatedAt = LOCAL_DATETIME " +
+            "WHERE e.id = :id AND e.availableTickets + :quantity <= e.totalTickets")
+    int releaseTickets(@Param("id") Long id, @Param("quantity") int quantity);
 }
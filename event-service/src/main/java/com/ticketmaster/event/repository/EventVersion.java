@@ -0,0 +1,10 @@
+package com.ticketmaster.event.repository;
+
+import com.ticketmaster.common.enums.EventStatus;
+
+/**
+ * The version and status of an event: everything a conditional GET needs to build the event's
+ * ETag and Cache-Control headers, without reading the rest of the row.
+ */
+public record EventVersion(Long version, EventStatus status) {
+}
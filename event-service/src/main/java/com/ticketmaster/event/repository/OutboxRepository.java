@@ -0,0 +1,49 @@
+package com.ticketmaster.event.repository;
+
+import com.ticketmaster.event.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * <h1>Outbox Repository</h1>
+ * <p>
+ * Data access for the {@code outbox} table. Relays claim batches with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}: rows another relay has claimed are skipped instead of
+ * waited for, so several nodes can drain the table side by side without handing out a row twice.
+ * </p>
+ * <p>
+ * The claim is a native query: Hibernate's H2 dialect ignores the JPA skip-locked hint and would
+ * block instead. PostgreSQL and H2 both accept the statement as written.
+ * </p>
+ */
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest unclaimed messages until the end of the current transaction.
+     * @param limit The batch size.
+     * @return The messages, by ID; parked ones and those locked by other transactions are left out.
+     */
+    @Query(value = "SELECT * FROM outbox WHERE parked_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("limit") int limit);
+
+    /**
+     * Records that delivering the message on its own failed.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.attempts = m.attempts + 1 WHERE m.id = :id")
+    int incrementAttempts(@Param("id") Long id);
+
+    /**
+     * Takes the message out of the relay once it has used up its attempts.
+     * @return {@code 1} if the message was parked, {@code 0} if it still has attempts left.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.parkedAt = :now WHERE m.id = :id AND m.attempts >= :maxAttempts")
+    int parkIfExhausted(@Param("id") Long id, @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,63 @@
+package com.ticketmaster.event.repository;
+
+import com.ticketmaster.common.enums.BookingStatus;
+import com.ticketmaster.event.entity.TicketHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * <h1>Ticket Hold Repository</h1>
+ * <p>
+ * Data access for the {@code ticket_holds} table. Status changes never load the entity: they are
+ * single guarded {@code UPDATE}s that only match a {@code PENDING} hold, so a confirm racing an
+ * expiry (or a double click on cancel) resolves to exactly one winner.
+ * </p>
+ */
+public interface TicketHoldRepository extends JpaRepository<TicketHold, Long> {
+
+    List<TicketHold> findByStatus(BookingStatus status);
+
+    /**
+     * Usernames (emails) holding confirmed tickets for an event, each once.
+     */
+    @Query("SELECT DISTINCT h.holder FROM TicketHold h WHERE h.eventId = :eventId " +
+            "AND h.status = com.ticketmaster.common.enums.BookingStatus.CONFIRMED ORDER BY h.holder")
+    List<String> findConfirmedHolders(@Param("eventId") Long eventId);
+
+    /**
+     * Confirms a hold if it is still pending, not yet expired and owned by {@code holder}.
+     * @return {@code 1} if the hold was confirmed, {@code 0} otherwise.
+     */
+    @Modifying
+    @Query("UPDATE TicketHold h SET h.status = com.ticketmaster.common.enums.BookingStatus.CONFIRMED, " +
+            "h.updatedAt = :now " +
+            "WHERE h.id = :id AND h.holder = :holder " +
+            "AND h.status = com.ticketmaster.common.enums.BookingStatus.PENDING AND h.expiresAt > :now")
+    int confirm(@Param("id") Long id, @Param("holder") String holder, @Param("now") LocalDateTime now);
+
+    /**
+     * Cancels a hold if it is still pending and owned by {@code holder}.
+     * @return {@code 1} if the hold was cancelled, {@code 0} otherwise.
+     */
+    @Modifying
+    @Query("UPDATE TicketHold h SET h.status = com.ticketmaster.common.enums.BookingStatus.CANCELLED, " +
+            "h.updatedAt = LOCAL_DATETIME " +
+            "WHERE h.id = :id AND h.holder = :holder " +
+            "AND h.status = com.ticketmaster.common.enums.BookingStatus.PENDING")
+    int cancel(@Param("id") Long id, @Param("holder") String holder);
+
+    /**
+     * Expires a hold if it is still pending.
+     * @return {@code 1} if the hold was expired, {@code 0} if it was already resolved.
+     */
+    @Modifying
+    @Query("UPDATE TicketHold h SET h.status = com.ticketmaster.common.enums.BookingStatus.EXPIRED, " +
+            "h.updatedAt = LOCAL_DATETIME " +
+            "WHERE h.id = :id AND h.status = com.ticketmaster.common.enums.BookingStatus.PENDING")
+    int expire(@Param("id") Long id);
+}
@@ -0,0 +1,81 @@
+package com.ticketmaster.event.service;
+
+import com.ticketmaster.common.dto.EventSummaryResponse;
+import com.ticketmaster.event.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * The position after the last event of a page, encoded as an opaque, URL-safe string.
+ * <p>
+ * Listings ordered by {@code id} only need the id ({@code i|42}); listings ordered by
+ * {@code (date, id)} carry both ({@code d|2026-06-15T20:00|42}). The kind prefix stops a cursor
+ * from one listing being replayed against a listing with a different order.
+ * </p>
+ */
+record EventCursor(LocalDateTime date, long id) {
+
+    private static final String BY_ID = "i";
+    private static final String BY_DATE = "d";
+
+    static String afterId(EventSummaryResponse event) {
+        return encode(BY_ID + "|" + event.getId());
+    }
+
+    static String afterDate(EventSummaryResponse event) {
+        return encode(BY_DATE + "|" + event.getDate() + "|" + event.getId());
+    }
+
+    /**
+     * @throws InvalidCursorException If the cursor is malformed or from a {@code (date, id)} listing.
+     */
+    static long decodeId(String cursor) {
+        String[] parts = decode(cursor);
+        if (parts.length != 2 || !BY_ID.equals(parts[0])) {
+            throw invalid();
+        }
+        return parseId(parts[1]);
+    }
+
+    /**
+     * @throws InvalidCursorException If the cursor is malformed or from an {@code id} listing.
+     */
+    static EventCursor decodeDate(String cursor) {
+        String[] parts = decode(cursor);
+        if (parts.length != 3 || !BY_DATE.equals(parts[0])) {
+            throw invalid();
+        }
+        try {
+            return new EventCursor(LocalDateTime.parse(parts[1]), parseId(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw invalid();
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw invalid();
+        }
+    }
+
+    private static InvalidCursorException invalid() {
+        return new InvalidCursorException("Invalid pagination cursor");
+    }
+}
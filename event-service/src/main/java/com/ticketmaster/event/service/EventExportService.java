@@ -0,0 +1,69 @@
+package com.ticketmaster.event.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ticketmaster.common.dto.EventResponse;
+import com.ticketmaster.event.repository.EventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * <h1>Event Export Service</h1>
+ * <p>
+ * Writes the whole catalog as newline-delimited JSON (one event per line) for partners' nightly pulls.
+ * </p>
+ * <p>
+ * <b>Note:</b> Rows are read through a database cursor ({@link EventRepository#streamAllResponses()})
+ * straight into {@link EventResponse} projections, and each one is serialized before the next is read.
+ * No entity enters the persistence context, so only one fetch batch is ever on the heap and memory
+ * stays flat however many events there are.
+ * </p>
+ */
+@Service
+public class EventExportService {
+
+    private final EventRepository eventRepository;
+    private final JsonFactory jsonFactory;
+    private final ObjectWriter lineWriter;
+
+    public EventExportService(EventRepository eventRepository, ObjectMapper objectMapper) {
+        this.eventRepository = eventRepository;
+        this.jsonFactory = objectMapper.getFactory();
+        // Let the servlet container decide when to send a chunk instead of flushing every line
+        this.lineWriter = objectMapper.writerFor(EventResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    /**
+     * Streams every event, ordered by ID, to {@code out} as NDJSON.
+     * Must run in its own transaction: the cursor behind the stream lives as long as the transaction.
+     * @param out Where to write; flushed but not closed.
+     * @return The number of exported events.
+     */
+    @Transactional(readOnly = true)
+    public long exportEvents(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<EventResponse> events = eventRepository.streamAllResponses();
+             JsonGenerator generator = jsonFactory.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+             SequenceWriter writer = lineWriter.writeValues(generator)) {
+            for (EventResponse event : (Iterable<EventResponse>) events::iterator) {
+                writer.write(event);
+                count++;
+            }
+            if (count > 0) {
+                // The separator only goes between lines; NDJSON also ends the last one
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+}
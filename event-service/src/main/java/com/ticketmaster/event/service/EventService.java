@@ -1,17 +1,33 @@
 package com.ticketmaster.event.service;
 
 
+import com.ticketmaster.common.dto.EventResponse;
+import com.ticketmaster.common.dto.EventSummaryResponse;
 import com.ticketmaster.common.enums.EventCategory;
 import com.ticketmaster.common.enums.EventStatus;
+import com.ticketmaster.event.cache.EventCache;
 import com.ticketmaster.event.dto.request.EventRequest;
 import com.ticketmaster.event.dto.request.EventUpdateRequest;
+import com.ticketmaster.event.dto.response.CursorPage;
+import com.ticketmaster.event.dto.response.PurchaseResponse;
 import com.ticketmaster.event.entity.Event;
 import com.ticketmaster.event.exception.EventNotFoundException;
+import com.ticketmaster.event.exception.InvalidCursorException;
+import com.ticketmaster.event.exception.TicketsSoldOutException;
+import com.ticketmaster.event.inventory.TicketInventory;
+import com.ticketmaster.event.outbox.EventOutbox;
 import com.ticketmaster.event.repository.EventRepository;
+import com.ticketmaster.event.repository.EventVersion;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * <h1>Event Business Logic Service</h1>
@@ -20,11 +36,16 @@ import java.util.List;
  * </p>
  * <h2>Current Implementation Status:</h2>
  * <p>
- * This service currently implements standard <b>CRUD</b> (Create, Read, Update, Delete) operations.
+ * This service implements standard <b>CRUD</b> (Create, Read, Update, Delete) operations
+ * and the ticket purchase path.
  * <br>
- * <b>Note:</b> The {@code buyTicket} method is currently using a naive implementation.
- * It will be upgraded to support <b>Optimistic Locking</b> and high concurrency in the
- * {@code feature/concurrency} branch.
+ * <b>Note:</b> Purchases never load the entity. They go through the configured
+ * {@link TicketInventory} (a single guarded {@code UPDATE} by default), so concurrent buyers cannot
+ * oversell and do not fail with optimistic locking conflicts during on-sale spikes.
+ * </p>
+ * <p>
+ * Updates and deletions also record the change in the outbox ({@link EventOutbox}) in the same
+ * transaction, for other services to be told about it.
  * </p>
  */
 @Service
@@ -33,23 +54,52 @@ public class EventService {
 
     private final EventRepository eventRepository;
 
+    private final TicketInventory ticketInventory;
+
+    private final EventCache eventCache;
+
+    private final EventOutbox eventOutbox;
+
     /**
-     * Retrieves all events from the database.
-     * @return A list of all stored events.
+     * Retrieves one page of all events, ordered by ID.
+     * @param cursor The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size The maximum number of events on the page.
+     * @return The page and the cursor of the next one.
+     * @throws InvalidCursorException If the cursor is malformed or from another listing (400).
      */
-    public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+    public CursorPage<EventSummaryResponse> getAllEvents(String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<EventSummaryResponse> events = cursor == null
+                ? eventRepository.findSummaries(limit)
+                : eventRepository.findSummariesAfter(EventCursor.decodeId(cursor), limit);
+        return toPage(events, size, EventCursor::afterId);
     }
 
     /**
-     * Finds a specific event by ID.
+     * Finds a specific event by ID, from the {@link EventCache} when possible.
+     * <p>
+     * The returned event may be shared with other readers: do not modify it.
+     * </p>
      * @param id The unique event ID.
-     * @return The Event entity.
+     * @return The event, projected straight from the row (no entity is loaded).
      * @throws EventNotFoundException If the event is not found (404).
      */
-    public Event getEventById(Long id) {
-        return eventRepository.findById(id)
-                .orElseThrow(() -> new EventNotFoundException(id));
+    public EventResponse getEventById(Long id) {
+        return eventCache.get(id);
+    }
+
+    /**
+     * The version and status of the event that {@link #getEventById} would return right now: taken
+     * from the cached event if there is one, otherwise from a version-only query.
+     * @param id The unique event ID.
+     * @throws EventNotFoundException If the event is not found (404).
+     */
+    public EventVersion getEventVersion(Long id) {
+        EventResponse cached = eventCache.getIfPresent(id);
+        if (cached != null) {
+            return new EventVersion(cached.getVersion(), cached.getStatus());
+        }
+        return eventRepository.findVersionById(id).orElseThrow(() -> new EventNotFoundException(id));
     }
 
     /**
@@ -89,8 +139,10 @@ public class EventService {
      * @param updateRequest The update request containing only the fields to change.
      * @return The updated entity.
      */
+    @Transactional
     public Event updateEvent(Long id, EventUpdateRequest updateRequest) {
-        Event existingEvent = getEventById(id);
+        Event existingEvent = loadEvent(id);
+        EventStatus previousStatus = existingEvent.getStatus();
 
         // Only update fields that are provided (not null)
         if (updateRequest.getName() != null) {
@@ -121,34 +173,131 @@ public class EventService {
         // Note: We intentionally do NOT update totalTickets or availableTickets
         // to prevent accidental ticket count corruption after sales have started
 
-        return eventRepository.save(existingEvent);
+        Event saved = eventRepository.save(existingEvent);
+        eventOutbox.eventUpdated(saved, previousStatus);
+        invalidateAfterCommit(id);
+        return saved;
     }
 
     /**
      * Deletes an event permanently.
      * @param id The ID of the event to remove.
      */
+    @Transactional
     public void deleteEvent(Long id) {
-        Event eventToDelete = getEventById(id);
+        Event eventToDelete = loadEvent(id);
+        ticketInventory.evict(id);
         eventRepository.delete(eventToDelete);
+        eventOutbox.eventDeleted(eventToDelete);
+        invalidateAfterCommit(id);
     }
 
     /**
-     * Retrieves all events with a specific status.
+     * Retrieves one page of events with a specific status, soonest first.
      * @param status The status to filter by (e.g., UPCOMING, CANCELLED, COMPLETED).
-     * @return A list of events with the specified status.
+     * @param cursor The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size The maximum number of events on the page.
+     * @return The page and the cursor of the next one.
+     * @throws InvalidCursorException If the cursor is malformed or from another listing (400).
+     */
+    public CursorPage<EventSummaryResponse> getEventsByStatus(EventStatus status, String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<EventSummaryResponse> events;
+        if (cursor == null) {
+            events = eventRepository.findSummariesByStatus(status, limit);
+        } else {
+            EventCursor after = EventCursor.decodeDate(cursor);
+            events = eventRepository.findSummariesByStatusAfter(status, after.date(), after.id(), limit);
+        }
+        return toPage(events, size, EventCursor::afterDate);
+    }
+
+    /**
+     * Retrieves one page of events in a specific category, soonest first.
+     * @param category The category to filter by (e.g., MUSIC, SPORTS, THEATER).
+     * @param cursor The {@code nextCursor} of the previous page, or {@code null} for the first page.
+     * @param size The maximum number of events on the page.
+     * @return The page and the cursor of the next one.
+     * @throws InvalidCursorException If the cursor is malformed or from another listing (400).
+     */
+    public CursorPage<EventSummaryResponse> getEventsByCategory(EventCategory category, String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<EventSummaryResponse> events;
+        if (cursor == null) {
+            events = eventRepository.findSummariesByCategory(category, limit);
+        } else {
+            EventCursor after = EventCursor.decodeDate(cursor);
+            events = eventRepository.findSummariesByCategoryAfter(category, after.date(), after.id(), limit);
+        }
+        return toPage(events, size, EventCursor::afterDate);
+    }
+
+    /**
+     * Cuts the one extra row fetched beyond {@code size} off again; its presence is what tells us
+     * there is another page, without a {@code COUNT} query.
+     */
+    private static CursorPage<EventSummaryResponse> toPage(List<EventSummaryResponse> events, int size,
+                                                           Function<EventSummaryResponse, String> cursorAfter) {
+        boolean hasMore = events.size() > size;
+        List<EventSummaryResponse> items = hasMore ? events.subList(0, size) : events;
+        return CursorPage.<EventSummaryResponse>builder()
+                .items(items)
+                .nextCursor(hasMore ? cursorAfter.apply(items.get(size - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Drops the cached event once the change is visible to readers: invalidating before the commit
+     * would let a concurrent read cache the old row again.
+     */
+    private void invalidateAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventCache.invalidate(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventCache.invalidate(id);
+            }
+        });
+    }
+
+    /**
+     * Reads an event from the database, bypassing the cache (writes must not modify a shared cached instance).
      */
-    public List<Event> getEventsByStatus(EventStatus status) {
-        return eventRepository.findEventByStatus(status);
+    private Event loadEvent(Long id) {
+        return eventRepository.findById(id)
+                .orElseThrow(() -> new EventNotFoundException(id));
     }
 
     /**
-     * Retrieves all events with a specific category.
-     * @param category The category to filter by (e.g., UPCOMING, CANCELLED, COMPLETED).
-     * @return A list of events with the specified category.
+     * Buys tickets for an event.
+     * <p>
+     * The decrement and the availability check happen atomically in the {@link TicketInventory},
+     * so there is no read-modify-write window. Only when the reservation fails do we look at the
+     * event again, to tell a missing event apart from a sold-out one.
+     * </p>
+     * @param id The ID of the event.
+     * @param quantity The number of tickets to buy (at least 1).
+     * @return The purchase confirmation.
+     * @throws EventNotFoundException If the event is not found (404).
+     * @throws TicketsSoldOutException If fewer than {@code quantity} tickets are left (409).
      */
-    public List<Event> getEventsByCategory(EventCategory category) {
-        return eventRepository.findEventByCategory(category);
+    public PurchaseResponse purchaseTickets(Long id, int quantity) {
+        if (!ticketInventory.reserve(id, quantity)) {
+            if (!eventRepository.existsById(id)) {
+                throw new EventNotFoundException(id);
+            }
+            throw new TicketsSoldOutException(id, quantity);
+        }
+
+        return PurchaseResponse.builder()
+                .eventId(id)
+                .quantity(quantity)
+                .purchasedAt(LocalDateTime.now())
+                .build();
     }
 
 
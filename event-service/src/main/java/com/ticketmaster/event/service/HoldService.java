@@ -0,0 +1,244 @@
+package com.ticketmaster.event.service;
+
+import com.ticketmaster.common.enums.BookingStatus;
+import com.ticketmaster.event.dto.response.HoldResponse;
+import com.ticketmaster.event.entity.TicketHold;
+import com.ticketmaster.event.exception.EventNotFoundException;
+import com.ticketmaster.event.exception.HoldNotFoundException;
+import com.ticketmaster.event.exception.HoldNotPendingException;
+import com.ticketmaster.event.exception.TicketsSoldOutException;
+import com.ticketmaster.event.hold.HierarchicalTimingWheel;
+import com.ticketmaster.event.inventory.TicketInventory;
+import com.ticketmaster.event.repository.EventRepository;
+import com.ticketmaster.event.repository.TicketHoldRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * <h1>Ticket Hold Service</h1>
+ * <p>
+ * Takes tickets from an event's {@link TicketInventory} for {@code holds.ttl-ms} and resolves the
+ * hold by confirm, cancel or expiry. Cancelled and expired holds give their tickets back.
+ * </p>
+ * <h2>Expiry:</h2>
+ * <p>
+ * Every pending hold has one timeout in a {@link HierarchicalTimingWheel}; there are no periodic
+ * scans of the {@code ticket_holds} table. Scheduling a timeout is O(1) and each tick only touches
+ * the holds that are due, so a million concurrent holds cost a small object each and nothing per tick.
+ * Confirming or cancelling a hold does not remove its timeout: when it fires, the guarded
+ * {@code PENDING -> EXPIRED} update simply matches nothing.
+ * </p>
+ * <p>
+ * <b>Note:</b> The wheel lives in memory. Pending holds are put back on it at startup, so a restart
+ * only delays expiry, it never loses it.
+ * </p>
+ */
+@Slf4j
+@Service
+public class HoldService {
+
+    private final TicketHoldRepository holdRepository;
+    private final EventRepository eventRepository;
+    private final TicketInventory ticketInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate releaseTemplate;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long tickMillis;
+    private final HierarchicalTimingWheel<ExpiringHold> expiryWheel;
+
+    public HoldService(TicketHoldRepository holdRepository,
+                       EventRepository eventRepository,
+                       TicketInventory ticketInventory,
+                       PlatformTransactionManager transactionManager,
+                       Clock clock,
+                       @Value("${holds.ttl-ms:600000}") long ttlMillis,
+                       @Value("${holds.tick-ms:100}") long tickMillis) {
+        this.holdRepository = holdRepository;
+        this.eventRepository = eventRepository;
+        this.ticketInventory = ticketInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.releaseTemplate = new TransactionTemplate(transactionManager);
+        this.releaseTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.ttlMillis = ttlMillis;
+        this.tickMillis = tickMillis;
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMillis, clock.millis());
+    }
+
+    /**
+     * Holds tickets for an event.
+     * @param eventId The ID of the event.
+     * @param quantity The number of tickets to hold (at least 1).
+     * @param holder The username of the buyer.
+     * @return The new pending hold.
+     * @throws EventNotFoundException If the event is not found (404).
+     * @throws TicketsSoldOutException If fewer than {@code quantity} tickets are left (409).
+     */
+    public HoldResponse createHold(Long eventId, int quantity, String holder) {
+        if (!ticketInventory.reserve(eventId, quantity)) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new EventNotFoundException(eventId);
+            }
+            throw new TicketsSoldOutException(eventId, quantity);
+        }
+
+        long deadline = clock.millis() + ttlMillis;
+        TicketHold hold;
+        try {
+            hold = holdRepository.save(TicketHold.builder()
+                    .eventId(eventId)
+                    .quantity(quantity)
+                    .holder(holder)
+                    .status(BookingStatus.PENDING)
+                    .expiresAt(LocalDateTime.now(clock).plusNanos(ttlMillis * 1_000_000))
+                    .build());
+        } catch (RuntimeException ex) {
+            ticketInventory.release(eventId, quantity);
+            throw ex;
+        }
+
+        expiryWheel.schedule(new ExpiringHold(hold.getId(), eventId, quantity), deadline);
+        return HoldResponse.from(hold);
+    }
+
+    /**
+     * Confirms a pending hold. The tickets stay taken.
+     * @param holdId The ID of the hold.
+     * @param holder The username of the caller; must own the hold.
+     * @return The confirmed hold.
+     * @throws HoldNotFoundException If the hold does not exist or belongs to someone else (404).
+     * @throws HoldNotPendingException If the hold already expired or was resolved (409).
+     */
+    @Transactional
+    public HoldResponse confirmHold(Long holdId, String holder) {
+        if (holdRepository.confirm(holdId, holder, LocalDateTime.now(clock)) == 0) {
+            throw notPending(holdId, holder);
+        }
+        return HoldResponse.from(findOwnedHold(holdId, holder));
+    }
+
+    /**
+     * Cancels a pending hold and gives its tickets back.
+     * @param holdId The ID of the hold.
+     * @param holder The username of the caller; must own the hold.
+     * @return The cancelled hold.
+     * @throws HoldNotFoundException If the hold does not exist or belongs to someone else (404).
+     * @throws HoldNotPendingException If the hold already expired or was resolved (409).
+     */
+    @Transactional
+    public HoldResponse cancelHold(Long holdId, String holder) {
+        if (holdRepository.cancel(holdId, holder) == 0) {
+            throw notPending(holdId, holder);
+        }
+        TicketHold hold = findOwnedHold(holdId, holder);
+        releaseAfterCommit(hold.getEventId(), hold.getQuantity());
+        return HoldResponse.from(hold);
+    }
+
+    /**
+     * Expires the holds whose deadline passed. Runs every {@code holds.tick-ms}.
+     */
+    @Scheduled(fixedDelayString = "${holds.tick-ms:100}")
+    public void expireDueHolds() {
+        expiryWheel.advance(clock.millis(), this::expire);
+    }
+
+    /**
+     * Puts every pending hold back on the expiry wheel after a restart.
+     * Holds whose deadline already passed expire on the next tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reschedulePendingHolds() {
+        List<TicketHold> pending = holdRepository.findByStatus(BookingStatus.PENDING);
+        for (TicketHold hold : pending) {
+            long deadline = hold.getExpiresAt().atZone(clock.getZone()).toInstant().toEpochMilli();
+            expiryWheel.schedule(new ExpiringHold(hold.getId(), hold.getEventId(), hold.getQuantity()), deadline);
+        }
+        if (!pending.isEmpty()) {
+            log.info("Rescheduled expiry of {} pending holds", pending.size());
+        }
+    }
+
+    /**
+     * @return The number of hold timeouts waiting on the wheel.
+     */
+    public long pendingExpiries() {
+        return expiryWheel.pending();
+    }
+
+    private void expire(ExpiringHold hold) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (holdRepository.expire(hold.holdId()) == 1) {
+                    releaseAfterCommit(hold.eventId(), hold.quantity());
+                }
+            });
+        } catch (RuntimeException ex) {
+            // Try again on a later tick rather than leaving the hold pending forever
+            log.warn("Expiring hold {} failed, will retry: {}", hold.holdId(), ex.getMessage());
+            expiryWheel.schedule(hold, clock.millis() + tickMillis);
+        }
+    }
+
+    /**
+     * Gives tickets back once the hold's new status is committed. Releasing inside the transaction
+     * is not undone by a rollback for in-memory inventories, so a retried expiry would release twice.
+     * The release runs in its own transaction because the committed one can no longer write.
+     */
+    private void releaseAfterCommit(Long eventId, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(eventId, quantity);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(eventId, quantity);
+            }
+        });
+    }
+
+    private void release(Long eventId, int quantity) {
+        try {
+            releaseTemplate.executeWithoutResult(status -> ticketInventory.release(eventId, quantity));
+        } catch (RuntimeException ex) {
+            // The hold is already resolved, so nothing retries this: leave a trail for compensation
+            log.error("Releasing {} tickets of event {} failed: {}", quantity, eventId, ex.getMessage());
+        }
+    }
+
+    private TicketHold findOwnedHold(Long holdId, String holder) {
+        return holdRepository.findById(holdId)
+                .filter(hold -> hold.getHolder().equals(holder))
+                .orElseThrow(() -> new HoldNotFoundException(holdId));
+    }
+
+    private RuntimeException notPending(Long holdId, String holder) {
+        TicketHold hold = findOwnedHold(holdId, holder);
+        if (hold.getStatus() == BookingStatus.PENDING) {
+            return new HoldNotPendingException("Hold " + holdId + " has expired");
+        }
+        return new HoldNotPendingException("Hold " + holdId + " is already " + hold.getStatus());
+    }
+
+    /**
+     * What the expiry wheel needs to expire a hold without loading it.
+     */
+    private record ExpiringHold(Long holdId, Long eventId, int quantity) {
+    }
+}
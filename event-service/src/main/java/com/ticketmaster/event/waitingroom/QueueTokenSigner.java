@@ -0,0 +1,155 @@
+package com.ticketmaster.event.waitingroom;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * <h1>Queue Token Signer</h1>
+ * <p>
+ * Signs waiting room positions so users cannot pick their own place in the queue.
+ * A token is the base64url form of {@code position | expiresAt | tag} (three big-endian longs,
+ * 32 characters, {@code expiresAt} in epoch seconds). The tag is a keyed SipHash-2-4 over the event,
+ * the position, the room's epoch, the expiry and the username of the user who joined.
+ * The event, epoch and username are never sent: closing and reopening a room invalidates all of its
+ * old tokens, and a token handed to another user or presented for another event does not verify.
+ * </p>
+ * <p>
+ * SipHash is a keyed pseudo-random function built for short inputs: verifying a token is a few
+ * dozen arithmetic operations on longs decoded straight from the characters. It allocates
+ * nothing, which an HMAC through {@code javax.crypto.Mac} cannot promise.
+ * </p>
+ */
+final class QueueTokenSigner {
+
+    static final int TOKEN_LENGTH = 32; // 24 bytes, base64url without padding
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            DECODE[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private final long k0;
+    private final long k1;
+
+    QueueTokenSigner(String secret) {
+        byte[] key = new byte[16];
+        if (secret == null || secret.isBlank()) {
+            new SecureRandom().nextBytes(key);
+        } else {
+            System.arraycopy(sha256(secret), 0, key, 0, 16);
+        }
+        this.k0 = getLongLE(key, 0);
+        this.k1 = getLongLE(key, 8);
+    }
+
+    String sign(long eventId, long position, long epoch, CharSequence username, long expiresAt) {
+        byte[] token = ByteBuffer.allocate(24)
+                .putLong(position)
+                .putLong(expiresAt)
+                .putLong(tag(eventId, position, epoch, expiresAt, username))
+                .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * @param now The current time in epoch seconds.
+     * @return The signed position, or {@code -1} if the token is malformed, forged, expired or for
+     *         another event, epoch or user.
+     */
+    long verify(CharSequence token, long eventId, long epoch, CharSequence username, long now) {
+        if (token == null || token.length() != TOKEN_LENGTH || username == null) {
+            return -1;
+        }
+        // 32 characters x 6 bits = exactly 192 bits, shifted through three longs
+        long position = 0;
+        long expiresAt = 0;
+        long tag = 0;
+        for (int i = 0; i < TOKEN_LENGTH; i++) {
+            char c = token.charAt(i);
+            int sextet = c < 128 ? DECODE[c] : -1;
+            if (sextet < 0) {
+                return -1;
+            }
+            position = (position << 6) | (expiresAt >>> 58);
+            expiresAt = (expiresAt << 6) | (tag >>> 58);
+            tag = (tag << 6) | sextet;
+        }
+        if (position <= 0 || expiresAt < now || tag != tag(eventId, position, epoch, expiresAt, username)) {
+            return -1;
+        }
+        return position;
+    }
+
+    /**
+     * SipHash-2-4 of four 64-bit words followed by the UTF-16LE code units of {@code username}.
+     */
+    private long tag(long eventId, long position, long epoch, long expiresAt, CharSequence username) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+        int chars = username.length();
+        long length = 32 + 2L * chars;
+        int words = 4 + chars / 4;
+        for (int i = 0; i <= words; i++) {
+            long m;
+            if (i < 4) {
+                m = i == 0 ? eventId : i == 1 ? position : i == 2 ? epoch : expiresAt;
+            } else if (i < words) {
+                m = pack(username, (i - 4) * 4, 4);
+            } else {
+                // Last word: the remaining code units and the message length in the top byte
+                m = pack(username, (i - 4) * 4, chars % 4) | (length << 56);
+            }
+            v3 ^= m;
+            for (int round = 0; round < 2; round++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+        v2 ^= 0xff;
+        for (int round = 0; round < 4; round++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    private static long pack(CharSequence chars, int from, int count) {
+        long word = 0;
+        for (int i = 0; i < count; i++) {
+            word |= (long) chars.charAt(from + i) << (16 * i);
+        }
+        return word;
+    }
+
+    private static long getLongLE(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ticketmaster.event.waitingroom;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h1>Waiting Room</h1>
+ * <p>
+ * The queue in front of one event's on-sale. Users join and get the next position; positions up to
+ * {@code admittedThrough} may buy. A token bucket moves {@code admittedThrough} forward by
+ * {@code ratePerSecond}, letting at most {@code burst} users in at once when the queue is empty.
+ * </p>
+ * <h2>Cost:</h2>
+ * <p>
+ * The bucket is refilled lazily by whoever checks admission, so there is no background job.
+ * {@link #isAdmitted} is one volatile read for admitted users and a non-blocking
+ * {@code tryLock} refill otherwise: constant time and no allocation, so it can be hit by polls
+ * and purchases at very high rates.
+ * </p>
+ */
+public final class WaitingRoom {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long eventId;
+    private final long epoch;
+    private final int ratePerSecond;
+    private final int burst;
+    private final long nanosPerToken;
+
+    private final AtomicLong lastPosition = new AtomicLong();
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile long admittedThrough;
+    private volatile long lastRefillNanos;
+
+    WaitingRoom(long eventId, long epoch, int ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond < 1 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be at least 1");
+        }
+        this.eventId = eventId;
+        this.epoch = epoch;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.nanosPerToken = Math.max(1, NANOS_PER_SECOND / ratePerSecond);
+        this.admittedThrough = burst;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /**
+     * @return The next queue position (1-based).
+     */
+    long join() {
+        return lastPosition.incrementAndGet();
+    }
+
+    /**
+     * @return {@code true} if {@code position} may buy now.
+     */
+    boolean isAdmitted(long position, long nowNanos) {
+        if (position <= admittedThrough) {
+            return true;
+        }
+        refill(nowNanos);
+        return position <= admittedThrough;
+    }
+
+    /**
+     * @return How many users are still let in before {@code position}, {@code 0} once admitted.
+     */
+    long waitingAhead(long position, long nowNanos) {
+        refill(nowNanos);
+        return Math.max(0, position - admittedThrough);
+    }
+
+    /**
+     * @return Seconds until {@code position} is admitted at the configured rate, {@code 0} once admitted.
+     */
+    long etaSeconds(long position, long nowNanos) {
+        long ahead = waitingAhead(position, nowNanos);
+        return (ahead + ratePerSecond - 1) / ratePerSecond;
+    }
+
+    long eventId() {
+        return eventId;
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    int ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    int burst() {
+        return burst;
+    }
+
+    long lastPosition() {
+        return lastPosition.get();
+    }
+
+    long admittedThrough() {
+        return admittedThrough;
+    }
+
+    private void refill(long nowNanos) {
+        // Someone else refilling already moves the frontier for us
+        if (nowNanos - lastRefillNanos < nanosPerToken || !refillLock.tryLock()) {
+            return;
+        }
+        try {
+            long tokens = (nowNanos - lastRefillNanos) / nanosPerToken;
+            if (tokens <= 0) {
+                return;
+            }
+            // Tokens that nobody is waiting for only pile up to the burst size
+            long cap = lastPosition.get() + burst;
+            long next = admittedThrough + tokens;
+            if (next >= cap) {
+                admittedThrough = Math.max(admittedThrough, cap);
+                lastRefillNanos = nowNanos;
+            } else {
+                admittedThrough = next;
+                lastRefillNanos += tokens * nanosPerToken;
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ticketmaster.event.waitingroom;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Rejects purchases and holds for events with an open waiting room unless the
+ * {@value #TOKEN_HEADER} header carries an admitted queue position issued to the calling user.
+ * Rejections are exceptions, so they are rendered by {@code GlobalExceptionHandler} like any other error.
+ */
+@RequiredArgsConstructor
+public class WaitingRoomInterceptor implements HandlerInterceptor {
+
+    public static final String TOKEN_HEADER = "X-Queue-Token";
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> pathVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (pathVariables == null) {
+            return true;
+        }
+        String eventId = pathVariables.containsKey("eventId") ? pathVariables.get("eventId") : pathVariables.get("id");
+        if (eventId == null) {
+            return true;
+        }
+        long id;
+        try {
+            id = Long.parseLong(eventId);
+        } catch (NumberFormatException e) {
+            // Let the handler report the bad path variable
+            return true;
+        }
+        Principal principal = request.getUserPrincipal();
+        waitingRoomService.checkAdmission(id, request.getHeader(TOKEN_HEADER),
+                principal != null ? principal.getName() : null);
+        return true;
+    }
+}
@@ -0,0 +1,186 @@
+package com.ticketmaster.event.waitingroom;
+
+import com.ticketmaster.event.dto.response.QueuePositionResponse;
+import com.ticketmaster.event.dto.response.WaitingRoomResponse;
+import com.ticketmaster.event.exception.EventNotFoundException;
+import com.ticketmaster.event.exception.InvalidQueueTokenException;
+import com.ticketmaster.event.exception.NotAdmittedException;
+import com.ticketmaster.event.exception.WaitingRoomNotFoundException;
+import com.ticketmaster.event.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h1>Waiting Room Service</h1>
+ * <p>
+ * Admission control for big on-sales. An admin opens a {@link WaitingRoom} for an event; from then
+ * on buyers must join the queue, and purchases and holds for that event are only accepted with a
+ * queue token whose position has been admitted. Events without an open room are not gated.
+ * </p>
+ * <p>
+ * Everything here is in memory. Joining, polling and the admission check never touch the database,
+ * so a flood of queued users does not reach Postgres. Rooms are per node: with several nodes,
+ * route an event's on-sale to one of them and set {@code waiting-room.secret} on all of them.
+ * </p>
+ * <p>
+ * Tokens belong to the user who joined and expire {@code waiting-room.token-ttl-seconds} after they
+ * were issued. Polling the position hands out a fresh token, so a user who keeps waiting keeps a
+ * valid one; once admitted, a token stops working one TTL after the last poll.
+ * </p>
+ */
+@Service
+public class WaitingRoomService {
+
+    private final EventRepository eventRepository;
+    private final QueueTokenSigner signer;
+    private final Clock clock;
+    private final long tokenTtlSeconds;
+    private final int defaultRatePerSecond;
+    private final int defaultBurst;
+    private final Map<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+
+    public WaitingRoomService(EventRepository eventRepository,
+                              @Value("${waiting-room.secret:}") String secret,
+                              @Value("${waiting-room.default-rate-per-second:100}") int defaultRatePerSecond,
+                              @Value("${waiting-room.default-burst:100}") int defaultBurst,
+                              @Value("${waiting-room.token-ttl-seconds:900}") long tokenTtlSeconds,
+                              Clock clock) {
+        this.eventRepository = eventRepository;
+        this.signer = new QueueTokenSigner(secret);
+        this.clock = clock;
+        this.tokenTtlSeconds = tokenTtlSeconds;
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.defaultBurst = defaultBurst;
+    }
+
+    /**
+     * Opens (or reopens with new settings) the waiting room of an event.
+     * Reopening starts a new queue: tokens of the previous one stop working.
+     * @param eventId The ID of the event.
+     * @param ratePerSecond Users let in per second, or {@code null} for the default.
+     * @param burst Users let in at once when nobody is waiting, or {@code null} for the default.
+     * @throws EventNotFoundException If the event is not found (404).
+     */
+    public WaitingRoomResponse openRoom(Long eventId, Integer ratePerSecond, Integer burst) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+        WaitingRoom room = new WaitingRoom(eventId, random.nextLong(),
+                ratePerSecond != null ? ratePerSecond : defaultRatePerSecond,
+                burst != null ? burst : defaultBurst,
+                System.nanoTime());
+        rooms.put(eventId, room);
+        return toResponse(room);
+    }
+
+    /**
+     * Closes the waiting room of an event; purchases are no longer gated.
+     * @throws WaitingRoomNotFoundException If no room is open for the event (404).
+     */
+    public void closeRoom(Long eventId) {
+        if (rooms.remove(eventId) == null) {
+            throw new WaitingRoomNotFoundException(eventId);
+        }
+    }
+
+    /**
+     * @throws WaitingRoomNotFoundException If no room is open for the event (404).
+     */
+    public WaitingRoomResponse getRoom(Long eventId) {
+        return toResponse(findRoom(eventId));
+    }
+
+    /**
+     * Puts the caller at the end of the queue.
+     * @param username The user joining; only they can use the returned token.
+     * @return The signed position and the current estimate.
+     * @throws WaitingRoomNotFoundException If no room is open for the event (404).
+     */
+    public QueuePositionResponse join(Long eventId, String username) {
+        WaitingRoom room = findRoom(eventId);
+        long position = room.join();
+        return toPosition(room, position, sign(room, position, username));
+    }
+
+    /**
+     * Reports where a token stands in the queue and renews it.
+     * @param username The caller; must be the user the token was issued to.
+     * @throws WaitingRoomNotFoundException If no room is open for the event (404).
+     * @throws InvalidQueueTokenException If the token is missing, forged, expired, from another
+     *         queue or issued to another user (403).
+     */
+    public QueuePositionResponse getPosition(Long eventId, String token, String username) {
+        WaitingRoom room = findRoom(eventId);
+        long position = verify(room, token, username);
+        return toPosition(room, position, sign(room, position, username));
+    }
+
+    /**
+     * Gate for purchases and holds. Passes when the event has no open room or the token's position
+     * has been admitted.
+     * @param username The caller, or {@code null} if unauthenticated.
+     * @throws InvalidQueueTokenException If a room is open and the token is missing, invalid,
+     *         expired or issued to another user (403).
+     * @throws NotAdmittedException If the position has not been admitted yet (429).
+     */
+    public void checkAdmission(long eventId, CharSequence token, String username) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            return;
+        }
+        long position = verify(room, token, username);
+        long now = System.nanoTime();
+        if (!room.isAdmitted(position, now)) {
+            throw new NotAdmittedException(Math.max(1, room.etaSeconds(position, now)));
+        }
+    }
+
+    private String sign(WaitingRoom room, long position, String username) {
+        long expiresAt = clock.millis() / 1000 + tokenTtlSeconds;
+        return signer.sign(room.eventId(), position, room.epoch(), username, expiresAt);
+    }
+
+    private long verify(WaitingRoom room, CharSequence token, String username) {
+        long position = signer.verify(token, room.eventId(), room.epoch(), username, clock.millis() / 1000);
+        if (position < 0) {
+            throw new InvalidQueueTokenException();
+        }
+        return position;
+    }
+
+    private WaitingRoom findRoom(Long eventId) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            throw new WaitingRoomNotFoundException(eventId);
+        }
+        return room;
+    }
+
+    private WaitingRoomResponse toResponse(WaitingRoom room) {
+        return WaitingRoomResponse.builder()
+                .eventId(room.eventId())
+                .ratePerSecond(room.ratePerSecond())
+                .burst(room.burst())
+                .joined(room.lastPosition())
+                .admittedThrough(room.admittedThrough())
+                .build();
+    }
+
+    private QueuePositionResponse toPosition(WaitingRoom room, long position, String token) {
+        long now = System.nanoTime();
+        return QueuePositionResponse.builder()
+                .eventId(room.eventId())
+                .position(position)
+                .admitted(room.isAdmitted(position, now))
+                .waitingAhead(room.waitingAhead(position, now))
+                .etaSeconds(room.etaSeconds(position, now))
+                .token(token)
+                .build();
+    }
+}
@@ -0,0 +1,210 @@
+package com.ticketmaster.event.cache;
+
+import com.ticketmaster.common.dto.EventResponse;
+import com.ticketmaster.event.exception.EventNotFoundException;
+import com.ticketmaster.event.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventCacheTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EventCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(eventRepository.findResponseById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return id < 0 ? Optional.empty() : Optional.of(EventResponse.builder().id(id).name("Event " + id).build());
+        });
+        cache = new EventCache(eventRepository, 10, 60, meterRegistry);
+    }
+
+    @Test
+    void shouldPublishHitMissAndLoadMeters() {
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", EventCache.NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", EventCache.NAME).tag("result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.load.duration").tag("cache", EventCache.NAME)
+                .timeGauge().value()).isPositive();
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", EventCache.NAME).functionCounter()).isNotNull();
+    }
+
+    @Test
+    void shouldReloadAfterInvalidate() {
+        cache.get(1L);
+        cache.invalidate(1L);
+        cache.get(1L);
+
+        verify(eventRepository, times(2)).findResponseById(1L);
+    }
+
+    @Test
+    void shouldNotCacheUnknownEvent() {
+        assertThatThrownBy(() -> cache.get(-1L)).isInstanceOf(EventNotFoundException.class);
+        assertThatThrownBy(() -> cache.get(-1L)).isInstanceOf(EventNotFoundException.class);
+
+        verify(eventRepository, times(2)).findResponseById(-1L);
+    }
+
+    @Test
+    void shouldKeepFrequentlyReadEventThroughScan() {
+        // Fill the cache and let maintenance run (the frequency sketch only starts once the cache is
+        // half full), then make event 0 hot
+        for (long id = 0; id < 10; id++) {
+            cache.get(id);
+        }
+        cache.cleanUp();
+        for (int i = 0; i < 20; i++) {
+            cache.get(0L);
+        }
+        cache.cleanUp();
+
+        // A scan of one-off lookups, ten times the cache size
+        for (long id = 100; id < 200; id++) {
+            cache.get(id);
+            cache.cleanUp();
+        }
+
+        cache.get(0L);
+        verify(eventRepository, times(1)).findResponseById(0L);
+        assertThat(cache.stats().evictionCount()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void shouldQueryOncePerIdUnderStampede() throws Exception {
+        int threads = 1000;
+        long ids = 4;
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        when(eventRepository.findResponseById(anyLong())).thenAnswer(invocation -> {
+            queries.incrementAndGet();
+            release.await();
+            return Optional.of(EventResponse.builder().id(invocation.<Long>getArgument(0)).build());
+        });
+
+        List<Future<EventResponse>> results = stampede(threads, ids, release);
+
+        for (int i = 0; i < threads; i++) {
+            EventResponse event = results.get(i).get(30, TimeUnit.SECONDS);
+            assertThat(event.getId()).isEqualTo(i % ids);
+            // Everyone got the instance of their id's one load
+            assertThat(event).isSameAs(results.get((int) (i % ids)).get());
+        }
+        assertThat(queries).hasValue((int) ids);
+        for (long id = 0; id < ids; id++) {
+            verify(eventRepository, times(1)).findResponseById(id);
+        }
+    }
+
+    @Test
+    void shouldNeverRunConcurrentQueriesForAnIdWhileLoadsFail() throws Exception {
+        int threads = 100;
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException outage = new IllegalStateException("database unavailable");
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(eventRepository.findResponseById(7L)).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                release.await();
+                throw outage;
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+
+        List<Future<EventResponse>> results = stampede(threads, 1, id -> 7L, release);
+
+        // A failed load is not handed to the waiters: each retries in turn, never side by side
+        for (Future<EventResponse> result : results) {
+            assertThatThrownBy(() -> result.get(30, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(outage);
+        }
+        assertThat(maxRunning).hasValue(1);
+
+        // The failure was not cached: the next read queries again
+        doReturn(Optional.of(EventResponse.builder().id(7L).build())).when(eventRepository).findResponseById(7L);
+        assertThat(cache.get(7L).getId()).isEqualTo(7L);
+    }
+
+    private List<Future<EventResponse>> stampede(int threads, long ids, CountDownLatch release) throws InterruptedException {
+        return stampede(threads, ids, i -> (long) i % ids, release);
+    }
+
+    /**
+     * Starts {@code threads} concurrent reads and opens {@code release} (which the stubbed query
+     * waits on) only once every reader is parked: the leaders inside the query, everyone else
+     * blocked on the load in progress for their id.
+     */
+    private List<Future<EventResponse>> stampede(int threads, long ids, IntFunction<Long> idOf, CountDownLatch release)
+            throws InterruptedException {
+        List<Thread> readers = new CopyOnWriteArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task);
+            readers.add(thread);
+            return thread;
+        });
+        List<Future<EventResponse>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Long id = idOf.apply(i);
+                results.add(pool.submit(() -> cache.get(id)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (parked(readers) < threads && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(parked(readers)).isEqualTo(threads);
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    private static long parked(List<Thread> readers) {
+        return readers.stream()
+                .map(Thread::getState)
+                .filter(state -> state == Thread.State.BLOCKED || state == Thread.State.WAITING)
+                .count();
+    }
+}
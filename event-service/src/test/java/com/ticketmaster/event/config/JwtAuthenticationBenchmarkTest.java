@@ -0,0 +1,115 @@
+package com.ticketmaster.event.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of the token verification done for every authenticated request, on one thread
+ * (authenticated requests per second per core):
+ * <ul>
+ * <li>{@code fourParsesPerRequest} - what the filter used to do: {@code validateToken} (two parses),
+ * {@code extractUsername} and {@code extractRole}, each decoding the secret and building a new parser.</li>
+ * <li>{@code singleParse} - one parse with the prebuilt parser (a token the cache has not seen).</li>
+ * <li>{@code cachedVerify} - a token presented again: one SHA-256 and a cache lookup.</li>
+ * </ul>
+ * The JUnit test runs the three in-process with short iterations, logs the scores and checks
+ * their order.
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtAuthenticationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationBenchmarkTest.class);
+
+    private String token;
+    private JwtService jwtService;
+
+    @Setup
+    public void setUp() {
+        token = JwtServiceTest.token(JwtServiceTest.SECRET, "alice@example.com", "USER", Instant.now().plusSeconds(3600));
+        jwtService = new JwtService(JwtServiceTest.SECRET, 10_000, Clock.systemUTC());
+    }
+
+    @Benchmark
+    public void fourParsesPerRequest(Blackhole blackhole) {
+        blackhole.consume(legacyParse(token));
+        blackhole.consume(legacyParse(token).getExpiration().before(new Date()));
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).get("role", String.class));
+    }
+
+    @Benchmark
+    public JwtPrincipal singleParse() {
+        return jwtService.parse(token);
+    }
+
+    @Benchmark
+    public Optional<JwtPrincipal> cachedVerify() {
+        return jwtService.verify(token);
+    }
+
+    @Test
+    void shouldCompareAuthenticatedRequestsPerCore() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(JwtAuthenticationBenchmarkTest.class.getName() + "\\.")
+                .forks(0)
+                .threads(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : new Runner(options).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            scores.put(benchmark.substring(benchmark.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+
+        log.info("Authenticated requests/s per core - four parses: {}, single parse: {}, cached: {}",
+                Math.round(scores.get("fourParsesPerRequest")), Math.round(scores.get("singleParse")),
+                Math.round(scores.get("cachedVerify")));
+
+        assertThat(scores.get("singleParse")).isGreaterThan(scores.get("fourParsesPerRequest"));
+        assertThat(scores.get("cachedVerify")).isGreaterThan(scores.get("singleParse"));
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtServiceTest.SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
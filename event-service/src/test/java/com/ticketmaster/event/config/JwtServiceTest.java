@@ -0,0 +1,136 @@
+package com.ticketmaster.event.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String OTHER_SECRET = "5A7134743777217A25432A462D4A614E645267556B58703273357638792F423F";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2030-01-01T12:00:00Z"));
+    private final JwtService jwtService = new JwtService(SECRET, 100, clock);
+
+    @Test
+    void shouldVerifyTokenIntoPrincipal() {
+        String token = token(SECRET, "alice@example.com", "ADMIN", clock.instant().plusSeconds(60));
+
+        Optional<JwtPrincipal> principal = jwtService.verify(token);
+
+        assertThat(principal).isPresent();
+        assertThat(principal.get().getName()).isEqualTo("alice@example.com");
+        assertThat(principal.get().role()).isEqualTo("ADMIN");
+        assertThat(principal.get().expiresAt()).isEqualTo(clock.instant().plusSeconds(60));
+        assertThat(principal.get().tokenId()).isNull();
+    }
+
+    @Test
+    void shouldCarryTokenId_ForRevocationChecks() {
+        String token = Jwts.builder()
+                .setId("3f2b8c1e-7a4d-4e0b-9c55-1d2f6a8b9e70")
+                .setSubject("alice@example.com")
+                .claim("role", "USER")
+                .setExpiration(Date.from(clock.instant().plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtService.verify(token).orElseThrow().tokenId()).isEqualTo("3f2b8c1e-7a4d-4e0b-9c55-1d2f6a8b9e70");
+    }
+
+    @Test
+    void shouldReturnSamePrincipal_WhenTokenIsPresentedAgain() {
+        String token = token(SECRET, "alice@example.com", "USER", clock.instant().plusSeconds(60));
+
+        JwtPrincipal first = jwtService.verify(token).orElseThrow();
+        JwtPrincipal second = jwtService.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtService.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectCachedToken_OnceItExpires() {
+        String token = token(SECRET, "alice@example.com", "USER", clock.instant().plusSeconds(60));
+        assertThat(jwtService.verify(token)).isPresent();
+
+        clock.advance(Duration.ofSeconds(61));
+
+        assertThat(jwtService.verify(token)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectAndNotCache_ForgedExpiredOrMalformedTokens() {
+        String forged = token(OTHER_SECRET, "alice@example.com", "ADMIN", clock.instant().plusSeconds(60));
+        String expired = token(SECRET, "alice@example.com", "ADMIN", clock.instant().minusSeconds(1));
+        String valid = token(SECRET, "alice@example.com", "USER", clock.instant().plusSeconds(60));
+        String tampered = valid.substring(0, valid.indexOf('.') + 1) + "e30" + valid.substring(valid.lastIndexOf('.'));
+
+        assertThat(jwtService.verify(forged)).isEmpty();
+        assertThat(jwtService.verify(expired)).isEmpty();
+        assertThat(jwtService.verify(tampered)).isEmpty();
+        assertThat(jwtService.verify("not-a-jwt")).isEmpty();
+        assertThat(jwtService.verify("")).isEmpty();
+        assertThat(jwtService.cachedTokens()).isZero();
+    }
+
+    @Test
+    void shouldRejectToken_WithoutExpiry() {
+        String token = Jwts.builder()
+                .setSubject("alice@example.com")
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(jwtService.verify(token)).isEmpty();
+    }
+
+    static String token(String secret, String subject, String role, Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim("role", role)
+                .setIssuedAt(Date.from(expiresAt.minusSeconds(3600)))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ticketmaster.event.config;
+
+import com.ticketmaster.common.util.RevocationList;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of the revocation check the filter adds to every authenticated request, with
+ * 100,000 revoked tokens, on one thread (nanoseconds per check):
+ * <ul>
+ * <li>{@code notRevoked} - the common case: a token that was never revoked, answered by the
+ * Bloom filter alone (or, for a false positive, the exact set).</li>
+ * <li>{@code revoked} - a revoked token: the filter says "maybe", the exact set confirms.</li>
+ * </ul>
+ * Token IDs rotate through 4,096 distinct values so the checks do not all hit the same cache
+ * lines. The JUnit test runs both in-process with short iterations, logs the scores and checks
+ * each stays under 1 microsecond. Wall-clock bounds only hold on a quiet machine, so this is
+ * opt-in ({@code -Pbenchmark}); {@link TokenRevocationsTest} covers the behaviour.
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenRevocationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationBenchmarkTest.class);
+
+    private static final int REVOKED_TOKENS = 100_000;
+    private static final int PROBES = 4096;
+
+    private TokenRevocations revocations;
+    private String[] revokedIds;
+    private String[] liveIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        revocations = new TokenRevocations(new RevocationList(REVOKED_TOKENS, 0.01), null, Clock.systemUTC());
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        revokedIds = new String[PROBES];
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            String id = UUID.randomUUID().toString();
+            revocations.revoke(id, expiresAt);
+            if (i < PROBES) {
+                revokedIds[i] = id;
+            }
+        }
+        liveIds = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            liveIds[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return revocations.isRevoked(liveIds[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return revocations.isRevoked(revokedIds[next++ & (PROBES - 1)]);
+    }
+
+    @Test
+    void shouldCheckRevocationWithinOneMicrosecond() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(TokenRevocationBenchmarkTest.class.getName() + "\\.")
+                .forks(0)
+                .threads(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        Map<String, Double> nanosPerCheck = new HashMap<>();
+        for (RunResult result : new Runner(options).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            nanosPerCheck.put(benchmark.substring(benchmark.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+
+        log.info("Revocation check with {} revoked tokens - not revoked: {} ns, revoked: {} ns",
+                REVOKED_TOKENS, Math.round(nanosPerCheck.get("notRevoked")), Math.round(nanosPerCheck.get("revoked")));
+
+        assertThat(nanosPerCheck.get("notRevoked")).isLessThan(1000.0);
+        assertThat(nanosPerCheck.get("revoked")).isLessThan(1000.0);
+    }
+}
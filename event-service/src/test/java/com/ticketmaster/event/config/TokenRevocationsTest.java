@@ -0,0 +1,76 @@
+package com.ticketmaster.event.config;
+
+import com.ticketmaster.common.util.RevocationList;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class TokenRevocationsTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    private final TokenRevocations revocations = new TokenRevocations(new RevocationList(1000, 0.01), null,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void shouldReportRevokedTokensOnly() {
+        revocations.revoke("revoked-jti", NOW.plusSeconds(60));
+
+        assertThat(revocations.isRevoked("revoked-jti")).isTrue();
+        assertThat(revocations.isRevoked("other-jti")).isFalse();
+        // Tokens issued without a jti cannot be revoked
+        assertThat(revocations.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void shouldAnswerExactly_WithManyRevocations() {
+        // Enough revocations that the Bloom filter gives false positives; the exact set must catch them
+        TokenRevocations many = new TokenRevocations(new RevocationList(100, 0.01), null, Clock.fixed(NOW, ZoneOffset.UTC));
+        for (int i = 0; i < 10_000; i++) {
+            many.revoke("revoked-" + i, NOW.plusSeconds(60));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(many.isRevoked("revoked-" + i)).isTrue();
+            assertThat(many.isRevoked("live-" + i)).isFalse();
+        }
+    }
+
+    @Test
+    void shouldPurgeRevocations_OnceTheirTokenExpired() {
+        revocations.revoke("expired-jti", NOW.minusSeconds(1));
+        revocations.revoke("live-jti", NOW.plusSeconds(60));
+
+        revocations.refresh();
+
+        assertThat(revocations.isRevoked("expired-jti")).isFalse();
+        assertThat(revocations.isRevoked("live-jti")).isTrue();
+    }
+
+    @Test
+    void shouldPollInternalEndpointWithServiceKey() {
+        RestClient.Builder builder = TokenRevocations.restClient("http://auth", "service-key");
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        server.expect(requestTo("http://auth/api/v1/internal/revocations?since=1970-01-01T00:00:00Z"))
+                .andExpect(header(TokenRevocations.SERVICE_KEY_HEADER, "service-key"))
+                .andRespond(withSuccess("[{\"jti\":\"polled-jti\",\"expiresAt\":\"2030-01-01T13:00:00Z\"}]",
+                        MediaType.APPLICATION_JSON));
+        TokenRevocations polling = new TokenRevocations(new RevocationList(1000, 0.01), builder.build(),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        polling.refresh();
+
+        server.verify();
+        assertThat(polling.isRevoked("polled-jti")).isTrue();
+    }
+}
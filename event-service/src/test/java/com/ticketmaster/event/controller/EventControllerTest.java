@@ -2,12 +2,20 @@ package com.ticketmaster.event.controller;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketmaster.common.dto.EventResponse;
+import com.ticketmaster.common.dto.EventSummaryResponse;
 import com.ticketmaster.common.enums.EventCategory;
 import com.ticketmaster.common.enums.EventStatus;
 import com.ticketmaster.event.dto.request.EventRequest;
 import com.ticketmaster.event.dto.request.EventUpdateRequest;
+import com.ticketmaster.event.dto.response.CursorPage;
+import com.ticketmaster.event.dto.response.PurchaseResponse;
 import com.ticketmaster.event.entity.Event;
 import com.ticketmaster.event.exception.EventNotFoundException;
+import com.ticketmaster.event.exception.InvalidCursorException;
+import com.ticketmaster.event.exception.TicketsSoldOutException;
+import com.ticketmaster.event.repository.EventVersion;
+import com.ticketmaster.event.service.EventExportService;
 import com.ticketmaster.event.service.EventService;
 
 import org.junit.jupiter.api.Test;
@@ -18,15 +26,32 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(
@@ -37,9 +62,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 pattern = "com\\.ticketmaster\\.event\\.config\\..*"
         )
 )
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, EventHttpCaching.class})
 public class EventControllerTest {
 
+    private static final long STREAM_TIMEOUT_MILLIS = 5_000;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -49,37 +76,106 @@ public class EventControllerTest {
     @MockBean
     private EventService eventService;
 
+    @MockBean
+    private EventExportService eventExportService;
+
 
     @Test
     void getAllEvents_ShouldReturnListOfEvents() throws Exception {
 
-        when(eventService.getAllEvents()).thenReturn(List.of(
-                Event.builder().id(1L).name("Concert A").build(),
-                Event.builder().id(2L).name("Concert B").build()
-        ));
+        when(eventService.getAllEvents(null, 20)).thenReturn(page(List.of(
+                EventSummaryResponse.builder().id(1L).name("Concert A").build(),
+                EventSummaryResponse.builder().id(2L).name("Concert B").build()
+        ), null));
 
         mockMvc.perform(get("/api/v1/events"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].name").value("Concert A"))
-                .andExpect(jsonPath("$[1].name").value("Concert B"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].name").value("Concert A"))
+                .andExpect(jsonPath("$.items[1].name").value("Concert B"))
+                .andExpect(jsonPath("$.hasMore").value(false));
 
     }
 
     @Test
     void getAllEvents_ShouldReturnEmptyList_WhenNoEventsExist() throws Exception {
 
-        when(eventService.getAllEvents()).thenReturn(List.of());
+        when(eventService.getAllEvents(null, 20)).thenReturn(page(List.of(), null));
 
         mockMvc.perform(get("/api/v1/events"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void getAllEvents_ShouldPassCursorAndSize_AndReturnNextCursor() throws Exception {
+
+        when(eventService.getAllEvents("aXwy", 1)).thenReturn(page(List.of(
+                EventSummaryResponse.builder().id(3L).name("Concert C").build()
+        ), "aXwz"));
+
+        mockMvc.perform(get("/api/v1/events").param("cursor", "aXwy").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.nextCursor").value("aXwz"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void getAllEvents_ShouldReturnBadRequest_WhenSizeTooLarge() throws Exception {
+
+        mockMvc.perform(get("/api/v1/events").param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllEvents_ShouldReturnBadRequest_WhenCursorInvalid() throws Exception {
+
+        when(eventService.getAllEvents("garbage", 20)).thenThrow(new InvalidCursorException("Invalid pagination cursor"));
+
+        mockMvc.perform(get("/api/v1/events").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid pagination cursor"));
+    }
+
+    @Test
+    void exportEvents_ShouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(eventExportService).exportEvents(any());
+
+        MvcResult result = awaitStreamed(get("/api/v1/events/export"));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void exportEvents_ShouldGzip_WhenClientAcceptsIt() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(eventExportService).exportEvents(any());
+
+        MvcResult result = awaitStreamed(get("/api/v1/events/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+
+        byte[] compressed = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n");
+        }
     }
 
     @Test
     void getEventById_ShouldReturnEvent() throws Exception {
         Long eventId = 1L;
-        Event mockEvent = Event.builder().id(eventId).name("Concert A").build();
+        EventResponse mockEvent = EventResponse.builder().id(eventId).name("Concert A").build();
 
         when(eventService.getEventById(eventId)).thenReturn(mockEvent);
 
@@ -91,6 +187,52 @@ public class EventControllerTest {
 
     }
 
+    @Test
+    void getEventById_ShouldSendETagAndShortCacheControl_WhenEventIsOnSale() throws Exception {
+        EventResponse mockEvent = EventResponse.builder().id(1L).version(7L).status(EventStatus.UPCOMING).build();
+        when(eventService.getEventById(1L)).thenReturn(mockEvent);
+
+        mockMvc.perform(get("/api/v1/events/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-7\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, must-revalidate, public"));
+    }
+
+    @Test
+    void getEventById_ShouldSendLongCacheControl_WhenEventIsCompleted() throws Exception {
+        EventResponse mockEvent = EventResponse.builder().id(1L).version(9L).status(EventStatus.COMPLETED).build();
+        when(eventService.getEventById(1L)).thenReturn(mockEvent);
+
+        mockMvc.perform(get("/api/v1/events/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public, immutable"));
+    }
+
+    @Test
+    void getEventById_ShouldReturnNotModified_WithoutLoadingEvent_WhenETagMatches() throws Exception {
+        when(eventService.getEventVersion(1L)).thenReturn(new EventVersion(7L, EventStatus.CANCELLED));
+
+        mockMvc.perform(get("/api/v1/events/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"1-6\", W/\"1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-7\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public, immutable"))
+                .andExpect(content().string(""));
+
+        verify(eventService, never()).getEventById(any());
+    }
+
+    @Test
+    void getEventById_ShouldReturnEvent_WhenETagIsStale() throws Exception {
+        when(eventService.getEventVersion(1L)).thenReturn(new EventVersion(8L, EventStatus.UPCOMING));
+        when(eventService.getEventById(1L)).thenReturn(
+                EventResponse.builder().id(1L).name("Concert A").version(8L).status(EventStatus.UPCOMING).build());
+
+        mockMvc.perform(get("/api/v1/events/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"1-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-8\""))
+                .andExpect(jsonPath("$.name").value("Concert A"));
+    }
+
     @Test
     void getEventById_ShouldReturnNotFound_WhenEventDoesNotExist() throws Exception {
         Long eventId = 99L;
@@ -232,29 +374,95 @@ public class EventControllerTest {
 
     @Test
     void getEventsByStatus_ShouldReturnFilteredEvents() throws Exception {
-        when(eventService.getEventsByStatus(EventStatus.UPCOMING)).thenReturn(List.of(
-                Event.builder().id(1L).name("Concert A").status(EventStatus.UPCOMING).build(),
-                Event.builder().id(2L).name("Concert B").status(EventStatus.UPCOMING).build()
-        ));
+        when(eventService.getEventsByStatus(EventStatus.UPCOMING, null, 20)).thenReturn(page(List.of(
+                EventSummaryResponse.builder().id(1L).name("Concert A").status(EventStatus.UPCOMING).build(),
+                EventSummaryResponse.builder().id(2L).name("Concert B").status(EventStatus.UPCOMING).build()
+        ), null));
 
         mockMvc.perform(get("/api/v1/events/status/{status}", "UPCOMING"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].status").value("UPCOMING"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].status").value("UPCOMING"));
     }
 
     @Test
     void getEventsByCategory_ShouldReturnFilteredEvents() throws Exception {
-        when(eventService.getEventsByCategory(EventCategory.MUSIC)).thenReturn(List.of(
-                Event.builder().id(1L).name("Concert A").category(EventCategory.MUSIC).build(),
-                Event.builder().id(3L).name("Concert C").category(EventCategory.MUSIC).build()
-        ));
+        when(eventService.getEventsByCategory(EventCategory.MUSIC, null, 20)).thenReturn(page(List.of(
+                EventSummaryResponse.builder().id(1L).name("Concert A").category(EventCategory.MUSIC).build(),
+                EventSummaryResponse.builder().id(3L).name("Concert C").category(EventCategory.MUSIC).build()
+        ), null));
 
         mockMvc.perform(get("/api/v1/events/category/{category}", "MUSIC"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].category").value("MUSIC"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].category").value("MUSIC"));
+    }
+
+    @Test
+    void purchaseTickets_ShouldReturnPurchase() throws Exception {
+        Long eventId = 1L;
+        when(eventService.purchaseTickets(eventId, 2)).thenReturn(
+                PurchaseResponse.builder().eventId(eventId).quantity(2).purchasedAt(LocalDateTime.now()).build()
+        );
+
+        mockMvc.perform(post("/api/v1/events/{id}/purchase", eventId).param("quantity", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.eventId").value(eventId))
+                .andExpect(jsonPath("$.quantity").value(2));
+    }
+
+    @Test
+    void purchaseTickets_ShouldDefaultToOneTicket() throws Exception {
+        Long eventId = 1L;
+        when(eventService.purchaseTickets(eventId, 1)).thenReturn(
+                PurchaseResponse.builder().eventId(eventId).quantity(1).purchasedAt(LocalDateTime.now()).build()
+        );
+
+        mockMvc.perform(post("/api/v1/events/{id}/purchase", eventId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(1));
+    }
+
+    @Test
+    void purchaseTickets_ShouldReturnConflict_WhenSoldOut() throws Exception {
+        Long eventId = 1L;
+        when(eventService.purchaseTickets(eventId, 3)).thenThrow(new TicketsSoldOutException(eventId, 3));
+
+        mockMvc.perform(post("/api/v1/events/{id}/purchase", eventId).param("quantity", "3"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflict"));
+    }
+
+    @Test
+    void purchaseTickets_ShouldReturnBadRequest_WhenQuantityIsNotPositive() throws Exception {
+        mockMvc.perform(post("/api/v1/events/{id}/purchase", 1L).param("quantity", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.quantity").value("Quantity must be at least 1"));
+    }
+
+    @Test
+    void purchaseTickets_ShouldReturnBadRequest_WhenQuantityIsTooLarge() throws Exception {
+        mockMvc.perform(post("/api/v1/events/{id}/purchase", 1L).param("quantity", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.quantity").value("Quantity must be at most 100"));
+
+        verifyNoInteractions(eventService);
     }
 
+    private static CursorPage<EventSummaryResponse> page(List<EventSummaryResponse> items, String nextCursor) {
+        return CursorPage.<EventSummaryResponse>builder().items(items).nextCursor(nextCursor).hasMore(nextCursor != null).build();
+    }
 
+    /**
+     * Starts a streamed request and blocks until its body is fully written. The export has no async
+     * timeout in the application, so the wait is bounded here: a stuck stream fails the test instead
+     * of hanging it.
+     */
+    private MvcResult awaitStreamed(MockHttpServletRequestBuilder export) throws Exception {
+        MvcResult result = mockMvc.perform(export)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(STREAM_TIMEOUT_MILLIS);
+        return result;
+    }
 }
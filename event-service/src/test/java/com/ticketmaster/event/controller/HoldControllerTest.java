@@ -0,0 +1,104 @@
+package com.ticketmaster.event.controller;
+
+import com.ticketmaster.common.enums.BookingStatus;
+import com.ticketmaster.event.dto.response.HoldResponse;
+import com.ticketmaster.event.exception.HoldNotFoundException;
+import com.ticketmaster.event.exception.HoldNotPendingException;
+import com.ticketmaster.event.exception.TicketsSoldOutException;
+import com.ticketmaster.event.service.HoldService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = HoldController.class,
+        excludeAutoConfiguration = SecurityAutoConfiguration.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.REGEX,
+                pattern = "com\\.ticketmaster\\.event\\.config\\..*"
+        )
+)
+@Import(TestSecurityConfig.class)
+public class HoldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HoldService holdService;
+
+    @Test
+    void createHold_ShouldReturnCreatedHoldForCurrentUser() throws Exception {
+        when(holdService.createHold(1L, 2, "fan")).thenReturn(hold(BookingStatus.PENDING));
+
+        mockMvc.perform(post("/api/v1/events/{eventId}/holds", 1L).param("quantity", "2").with(user("fan")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void createHold_ShouldReturnConflict_WhenSoldOut() throws Exception {
+        when(holdService.createHold(1L, 1, "fan")).thenThrow(new TicketsSoldOutException(1L, 1));
+
+        mockMvc.perform(post("/api/v1/events/{eventId}/holds", 1L).with(user("fan")))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createHold_ShouldReturnBadRequest_WhenQuantityIsNotPositive() throws Exception {
+        mockMvc.perform(post("/api/v1/events/{eventId}/holds", 1L).param("quantity", "0").with(user("fan")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.quantity").value("Quantity must be at least 1"));
+    }
+
+    @Test
+    void confirmHold_ShouldReturnConfirmedHold() throws Exception {
+        when(holdService.confirmHold(10L, "fan")).thenReturn(hold(BookingStatus.CONFIRMED));
+
+        mockMvc.perform(post("/api/v1/holds/{id}/confirm", 10L).with(user("fan")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+    }
+
+    @Test
+    void confirmHold_ShouldReturnConflict_WhenHoldExpired() throws Exception {
+        when(holdService.confirmHold(10L, "fan")).thenThrow(new HoldNotPendingException("Hold 10 is already EXPIRED"));
+
+        mockMvc.perform(post("/api/v1/holds/{id}/confirm", 10L).with(user("fan")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Hold 10 is already EXPIRED"));
+    }
+
+    @Test
+    void cancelHold_ShouldReturnNotFound_WhenHoldBelongsToSomeoneElse() throws Exception {
+        when(holdService.cancelHold(10L, "fan")).thenThrow(new HoldNotFoundException(10L));
+
+        mockMvc.perform(post("/api/v1/holds/{id}/cancel", 10L).with(user("fan")))
+                .andExpect(status().isNotFound());
+    }
+
+    private HoldResponse hold(BookingStatus status) {
+        return HoldResponse.builder()
+                .id(10L)
+                .eventId(1L)
+                .quantity(2)
+                .status(status)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ticketmaster.event.controller;
+
+import com.ticketmaster.event.dto.response.QueuePositionResponse;
+import com.ticketmaster.event.dto.response.WaitingRoomResponse;
+import com.ticketmaster.event.exception.InvalidQueueTokenException;
+import com.ticketmaster.event.exception.WaitingRoomNotFoundException;
+import com.ticketmaster.event.waitingroom.WaitingRoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = WaitingRoomController.class,
+        excludeAutoConfiguration = SecurityAutoConfiguration.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.REGEX,
+                pattern = "com\\.ticketmaster\\.event\\.config\\..*"
+        )
+)
+@Import(TestSecurityConfig.class)
+public class WaitingRoomControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private WaitingRoomService waitingRoomService;
+
+    @Test
+    void openRoom_ShouldReturnCreatedRoom() throws Exception {
+        when(waitingRoomService.openRoom(1L, 50, 20)).thenReturn(
+                WaitingRoomResponse.builder().eventId(1L).ratePerSecond(50).burst(20).admittedThrough(20).build());
+
+        mockMvc.perform(post("/api/v1/events/{eventId}/waiting-room", 1L)
+                        .param("ratePerSecond", "50").param("burst", "20"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.ratePerSecond").value(50))
+                .andExpect(jsonPath("$.admittedThrough").value(20));
+    }
+
+    @Test
+    void openRoom_ShouldReturnBadRequest_WhenRateIsNotPositive() throws Exception {
+        mockMvc.perform(post("/api/v1/events/{eventId}/waiting-room", 1L).param("ratePerSecond", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.ratePerSecond").value("Rate must be at least 1"));
+    }
+
+    @Test
+    void join_ShouldReturnSignedPosition() throws Exception {
+        when(waitingRoomService.join(1L, "fan")).thenReturn(
+                QueuePositionResponse.builder().eventId(1L).position(7).etaSeconds(3).token("signed").build());
+
+        mockMvc.perform(post("/api/v1/events/{eventId}/waiting-room/join", 1L).with(user("fan")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").value(7))
+                .andExpect(jsonPath("$.token").value("signed"));
+    }
+
+    @Test
+    void getPosition_ShouldReadTokenFromHeader() throws Exception {
+        when(waitingRoomService.getPosition(1L, "signed", "fan")).thenReturn(
+                QueuePositionResponse.builder().eventId(1L).position(7).admitted(true).token("renewed").build());
+
+        mockMvc.perform(get("/api/v1/events/{eventId}/waiting-room/position", 1L)
+                        .header("X-Queue-Token", "signed").with(user("fan")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.admitted").value(true))
+                .andExpect(jsonPath("$.token").value("renewed"));
+    }
+
+    @Test
+    void getPosition_ShouldReturnForbidden_WhenTokenIsInvalid() throws Exception {
+        when(waitingRoomService.getPosition(1L, null, "fan")).thenThrow(new InvalidQueueTokenException());
+
+        mockMvc.perform(get("/api/v1/events/{eventId}/waiting-room/position", 1L).with(user("fan")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void closeRoom_ShouldReturnNotFound_WhenNoRoomIsOpen() throws Exception {
+        doThrow(new WaitingRoomNotFoundException(1L)).when(waitingRoomService).closeRoom(1L);
+
+        mockMvc.perform(delete("/api/v1/events/{eventId}/waiting-room", 1L))
+                .andExpect(status().isNotFound());
+    }
+}
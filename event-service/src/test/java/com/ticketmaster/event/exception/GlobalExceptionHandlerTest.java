@@ -1,6 +1,7 @@
 package com.ticketmaster.event.exception;
 
 import com.ticketmaster.event.controller.EventController;
+import com.ticketmaster.event.service.EventExportService;
 import com.ticketmaster.event.service.EventService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -29,7 +31,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
                 pattern = "com\\.ticketmaster\\.event\\.config\\..*"
         )
 )
-@Import({GlobalExceptionHandler.class, com.ticketmaster.event.controller.TestSecurityConfig.class})
+@Import({GlobalExceptionHandler.class, com.ticketmaster.event.controller.TestSecurityConfig.class,
+        com.ticketmaster.event.controller.EventHttpCaching.class})
 public class GlobalExceptionHandlerTest {
 
     @Autowired
@@ -38,6 +41,9 @@ public class GlobalExceptionHandlerTest {
     @MockBean
     private EventService eventService;
 
+    @MockBean
+    private EventExportService eventExportService;
+
     @Test
     void shouldHandleEventNotFoundException() throws Exception {
         // Given
@@ -99,4 +105,18 @@ public class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.error").value("Internal Server Error"))
                 .andExpect(jsonPath("$.timestamp").exists());
     }
+
+    @Test
+    void shouldHandleNotAdmittedExceptionWithRetryAfter() throws Exception {
+        // Given - the waiting room has not admitted the caller yet
+        when(eventService.purchaseTickets(1L, 1)).thenThrow(new NotAdmittedException(12));
+
+        // When & Then
+        mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                        .post("/api/v1/events/{id}/purchase", 1L))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+    }
 }
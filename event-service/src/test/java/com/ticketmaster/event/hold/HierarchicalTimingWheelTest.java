@@ -0,0 +1,114 @@
+package com.ticketmaster.event.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final long START = 1_000_000;
+
+    private final HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, START);
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void shouldRejectNonPositiveTick() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(0, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldFireOnlyOnceDeadlinePassed() {
+        wheel.schedule("a", START + 250);
+
+        wheel.advance(START + 200, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(START + 300, fired::add);
+        assertThat(fired).containsExactly("a");
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void shouldFirePastDeadlinesOnNextTick() {
+        wheel.advance(START + 10_000, fired::add);
+        wheel.schedule("late", START + 500);
+
+        wheel.advance(START + 10_000, fired::add);
+        assertThat(fired).isEmpty();
+
+        wheel.advance(START + 10_000 + TICK, fired::add);
+        assertThat(fired).containsExactly("late");
+    }
+
+    @Test
+    void shouldCascadeTimeoutsFromHigherLevels() {
+        long level1 = START + 300 * TICK;            // beyond the 256 level-0 slots
+        long level2 = START + 70_000 * TICK;         // beyond 256 * 256 ticks
+        long level3 = START + 20_000_000 * TICK;     // beyond 256^3 ticks
+        wheel.schedule("level1", level1);
+        wheel.schedule("level2", level2);
+        wheel.schedule("level3", level3);
+
+        wheel.advance(level1 - 1, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(level1, fired::add);
+        assertThat(fired).containsExactly("level1");
+
+        wheel.advance(level2 - 1, fired::add);
+        assertThat(fired).containsExactly("level1");
+        wheel.advance(level2, fired::add);
+        assertThat(fired).containsExactly("level1", "level2");
+
+        wheel.advance(level3 - 1, fired::add);
+        assertThat(fired).containsExactly("level1", "level2");
+        wheel.advance(level3, fired::add);
+        assertThat(fired).containsExactly("level1", "level2", "level3");
+    }
+
+    @Test
+    void shouldNotFireCancelledTimeouts() {
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("cancelled", START + 1_000);
+        wheel.schedule("kept", START + 1_000);
+
+        assertThat(timeout.cancel()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(wheel.pending()).isEqualTo(1);
+
+        wheel.advance(START + 1_000, fired::add);
+
+        assertThat(fired).containsExactly("kept");
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    void shouldFireEveryTimeoutWithinOneTickOfItsDeadline() {
+        Random random = new Random(42);
+        int count = 20_000;
+        long horizon = 400_000 * TICK; // spans levels 0, 1 and 2
+        long[] deadlines = new long[count];
+        for (int i = 0; i < count; i++) {
+            deadlines[i] = START + (long) (random.nextDouble() * horizon);
+            wheel.schedule(String.valueOf(i), deadlines[i]);
+        }
+
+        long[] firedAt = new long[count];
+        for (long now = START; now <= START + horizon + TICK; now += 7 * TICK) {
+            long current = now;
+            wheel.advance(now, id -> firedAt[Integer.parseInt(id)] = current);
+        }
+
+        assertThat(wheel.pending()).isZero();
+        for (int i = 0; i < count; i++) {
+            assertThat(firedAt[i]).isGreaterThanOrEqualTo(deadlines[i]);
+            // advanced in steps of 7 ticks, plus at most one tick of rounding
+            assertThat(firedAt[i] - deadlines[i]).isLessThan(8 * TICK);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.ticketmaster.event.inventory;
+
+import com.ticketmaster.event.entity.Event;
+import com.ticketmaster.event.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CombiningTicketInventoryTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldReserveAloneWithOneStatement() {
+        CombiningTicketInventory inventory = new CombiningTicketInventory(eventRepository, transactionManager, 16, 0);
+        when(eventRepository.purchaseTickets(1L, 2)).thenReturn(1);
+
+        assertThat(inventory.reserve(1L, 2)).isTrue();
+        verify(eventRepository, never()).findByIdForUpdate(anyLong());
+    }
+
+    @Test
+    void shouldMergeConcurrentReservationsIntoOneDecrement() throws Exception {
+        // A long window and a batch size equal to the number of buyers: all of them land in one batch
+        CombiningTicketInventory inventory = new CombiningTicketInventory(eventRepository, transactionManager, 4, 2_000_000);
+        when(eventRepository.purchaseTickets(1L, 8)).thenReturn(1);
+
+        List<Boolean> results = runConcurrently(4, () -> inventory.reserve(1L, 2));
+
+        assertThat(results).containsOnly(true);
+        verify(eventRepository, times(1)).purchaseTickets(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldServeInArrivalOrder_WhenBatchDoesNotFit() throws Exception {
+        CombiningTicketInventory inventory = new CombiningTicketInventory(eventRepository, transactionManager, 4, 2_000_000);
+        when(eventRepository.purchaseTickets(1L, 8)).thenReturn(0);
+        when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(Event.builder().id(1L).availableTickets(5).build()));
+        when(eventRepository.purchaseTickets(1L, 4)).thenReturn(1);
+
+        List<Boolean> results = runConcurrently(4, () -> inventory.reserve(1L, 2));
+
+        assertThat(results).filteredOn(Boolean::booleanValue).hasSize(2);
+        verify(eventRepository).purchaseTickets(1L, 4);
+    }
+
+    @Test
+    void shouldNotOverflowBatchTotal_WithHugeRequests() throws Exception {
+        // Two requests whose int sum wraps around to a negative number
+        int huge = Integer.MAX_VALUE / 2 + 1;
+        CombiningTicketInventory inventory = new CombiningTicketInventory(eventRepository, transactionManager, 2, 2_000_000);
+        when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(Event.builder().id(1L).availableTickets(10).build()));
+
+        List<Boolean> results = runConcurrently(2, () -> inventory.reserve(1L, huge));
+
+        assertThat(results).containsOnly(false);
+        verify(eventRepository, never()).purchaseTickets(anyLong(), intThat(quantity -> quantity <= 0));
+    }
+
+    @Test
+    void shouldRejectEveryone_WhenEventDoesNotExist() {
+        CombiningTicketInventory inventory = new CombiningTicketInventory(eventRepository, transactionManager, 16, 0);
+        when(eventRepository.purchaseTickets(99L, 1)).thenReturn(0);
+        when(eventRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
+
+        assertThat(inventory.reserve(99L, 1)).isFalse();
+        verify(eventRepository, never()).purchaseTickets(eq(99L), eq(0));
+    }
+
+    @Test
+    void shouldPropagateDatabaseFailureToEveryBuyerInBatch() {
+        CombiningTicketInventory inventory = new CombiningTicketInventory(eventRepository, transactionManager, 16, 0);
+        when(eventRepository.purchaseTickets(1L, 1)).thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        assertThatThrownBy(() -> inventory.reserve(1L, 1))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    private List<Boolean> runConcurrently(int buyers, Callable<Boolean> purchase) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                futures.add(pool.submit(purchase));
+            }
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
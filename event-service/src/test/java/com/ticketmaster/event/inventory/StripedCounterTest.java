@@ -0,0 +1,143 @@
+package com.ticketmaster.event.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedCounterTest {
+
+    private static final long NO_FLUSH = Long.MAX_VALUE;
+
+    @Test
+    void shouldRoundStripesUpToPowerOfTwo() {
+        assertThat(new StripedCounter(10, 1).stripes()).isEqualTo(1);
+        assertThat(new StripedCounter(10, 5).stripes()).isEqualTo(8);
+        assertThat(new StripedCounter(10, 16).stripes()).isEqualTo(16);
+    }
+
+    @Test
+    void shouldRejectNegativeInitialCount() {
+        assertThatThrownBy(() -> new StripedCounter(-1, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldDrainLastTicketsSpreadAcrossStripes() {
+        // 3 tickets over 8 stripes: no stripe holds more than one ticket
+        StripedCounter counter = new StripedCounter(3, 8);
+
+        assertThat(counter.tryAcquire(3, NO_FLUSH)).isEqualTo(StripedCounter.ACQUIRED);
+        assertThat(counter.available()).isZero();
+        assertThat(counter.tryAcquire(1, NO_FLUSH)).isEqualTo(StripedCounter.REJECTED);
+    }
+
+    @Test
+    void shouldRejectWithoutLosingTicketsWhenNotEnoughLeft() {
+        StripedCounter counter = new StripedCounter(5, 4);
+
+        assertThat(counter.tryAcquire(6, NO_FLUSH)).isEqualTo(StripedCounter.REJECTED);
+        assertThat(counter.available()).isEqualTo(5);
+        assertThat(counter.tryAcquire(5, NO_FLUSH)).isEqualTo(StripedCounter.ACQUIRED);
+        assertThat(counter.available()).isZero();
+    }
+
+    @Test
+    void shouldTrackSoldTicketsUntilDrained() {
+        StripedCounter counter = new StripedCounter(100, 4);
+
+        counter.tryAcquire(2, NO_FLUSH);
+        counter.tryAcquire(3, NO_FLUSH);
+
+        assertThat(counter.drainSold()).isEqualTo(5);
+        assertThat(counter.drainSold()).isZero();
+
+        counter.restoreSold(5);
+        assertThat(counter.drainSold()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRejectEveryAcquireOnceClosedButKeepSoldCount() {
+        StripedCounter counter = new StripedCounter(100, 4);
+        counter.tryAcquire(3, NO_FLUSH);
+
+        counter.close();
+
+        assertThat(counter.isClosed()).isTrue();
+        assertThat(counter.tryAcquire(1, NO_FLUSH)).isEqualTo(StripedCounter.REJECTED);
+        assertThat(counter.available()).isZero();
+        assertThat(counter.drainSold()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldWithdrawWithoutCountingAsSold_AndReportWhatIsMissing() {
+        StripedCounter counter = new StripedCounter(10, 4);
+
+        assertThat(counter.withdraw(7)).isZero();
+        assertThat(counter.available()).isEqualTo(3);
+        assertThat(counter.withdraw(-2)).isZero();
+        assertThat(counter.available()).isEqualTo(5);
+        assertThat(counter.withdraw(8)).isEqualTo(3);
+        assertThat(counter.available()).isZero();
+        assertThat(counter.drainSold()).isZero();
+    }
+
+    @Test
+    void shouldSignalFlushOnceStripeReachesThreshold() {
+        StripedCounter counter = new StripedCounter(100, 1);
+
+        assertThat(counter.tryAcquire(2, 3)).isEqualTo(StripedCounter.ACQUIRED);
+        assertThat(counter.tryAcquire(1, 3)).isEqualTo(StripedCounter.ACQUIRED_FLUSH);
+    }
+
+    @Test
+    void shouldNeverOversellUnderContention() throws Exception {
+        int tickets = 10_001;
+        int threads = 16;
+        StripedCounter counter = new StripedCounter(tickets, 8);
+        AtomicLong sold = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int quantity = 1 + t % 3;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    int rejectedInARow = 0;
+                    // Keep buying until the counter is empty for our quantity
+                    while (rejectedInARow < 3) {
+                        if (counter.tryAcquire(quantity, NO_FLUSH) == StripedCounter.REJECTED) {
+                            rejectedInARow++;
+                        } else {
+                            sold.addAndGet(quantity);
+                            rejectedInARow = 0;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Single-ticket buyers only give up once the drain slow path found nothing left
+        assertThat(sold.get()).isEqualTo(tickets);
+        assertThat(counter.available()).isZero();
+        assertThat(counter.drainSold()).isEqualTo(tickets);
+    }
+}
@@ -0,0 +1,229 @@
+package com.ticketmaster.event.inventory;
+
+import com.ticketmaster.event.entity.Event;
+import com.ticketmaster.event.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StripedTicketInventoryTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StripedTicketInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        // Large batch size so only explicit flush() calls write to the repository
+        inventory = new StripedTicketInventory(eventRepository, transactionManager, 4, 1_000_000);
+    }
+
+    @Test
+    void shouldLoadEventOnceAndServeFromMemory() {
+        when(eventRepository.findAvailableTicketsById(1L)).thenReturn(Optional.of(10));
+
+        assertThat(inventory.reserve(1L, 4)).isTrue();
+        assertThat(inventory.reserve(1L, 6)).isTrue();
+        assertThat(inventory.reserve(1L, 1)).isFalse();
+
+        assertThat(inventory.available(1L)).isZero();
+        verify(eventRepository, times(1)).findAvailableTicketsById(1L);
+        verify(eventRepository, never()).purchaseTickets(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldReturnFalseForUnknownEvent() {
+        when(eventRepository.findAvailableTicketsById(99L)).thenReturn(Optional.empty());
+
+        assertThat(inventory.reserve(99L, 1)).isFalse();
+        assertThat(inventory.available(99L)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldFlushSoldTicketsAsOneDecrement() {
+        when(eventRepository.findAvailableTicketsById(1L)).thenReturn(Optional.of(100));
+        when(eventRepository.purchaseTickets(1L, 6)).thenReturn(1);
+
+        inventory.reserve(1L, 1);
+        inventory.reserve(1L, 2);
+        inventory.reserve(1L, 3);
+        inventory.flush();
+        inventory.flush(); // nothing sold since, no second write
+
+        verify(eventRepository, times(1)).purchaseTickets(1L, 6);
+        assertThat(inventory.available(1L)).isEqualTo(94);
+    }
+
+    @Test
+    void shouldRetryFailedFlushOnNextRun() {
+        when(eventRepository.findAvailableTicketsById(1L)).thenReturn(Optional.of(100));
+        when(eventRepository.purchaseTickets(1L, 5))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenReturn(1);
+
+        inventory.reserve(1L, 5);
+        inventory.flush();
+        inventory.flush();
+
+        verify(eventRepository, times(2)).purchaseTickets(1L, 5);
+    }
+
+    @Test
+    void shouldReconcileAndReloadWhenAnotherWriterChangedTheRow() {
+        // Another writer took 80 tickets after we loaded 100: the guarded decrement no longer matches
+        Event row = Event.builder().id(1L).totalTickets(100).availableTickets(20).build();
+        when(eventRepository.findAvailableTicketsById(1L)).thenReturn(Optional.of(100), Optional.of(15));
+        when(eventRepository.purchaseTickets(1L, 5)).thenReturn(0);
+        when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(row));
+
+        inventory.reserve(1L, 5);
+        inventory.flush();
+
+        assertThat(row.getAvailableTickets()).isEqualTo(15);
+        assertThat(inventory.available(1L)).isEqualTo(-1);
+        assertThat(inventory.reserve(1L, 1)).isTrue();
+        assertThat(inventory.available(1L)).isEqualTo(14);
+    }
+
+    @Test
+    void shouldKeepSoldTicketsTheRowCannotAbsorb() {
+        Event row = Event.builder().id(1L).totalTickets(100).availableTickets(3).build();
+        when(eventRepository.findAvailableTicketsById(1L)).thenReturn(Optional.of(100));
+        when(eventRepository.purchaseTickets(1L, 5)).thenReturn(0);
+        when(eventRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(row));
+
+        inventory.reserve(1L, 5);
+        inventory.flush();
+
+        // Clamped at zero, the two oversold tickets are logged rather than silently lost
+        assertThat(row.getAvailableTickets()).isZero();
+        verify(eventRepository, times(1)).purchaseTickets(1L, 5);
+    }
+
+    @Test
+    void shouldRetryReconciliation_WhenItFails() {
+        Event row = Event.builder().id(1L).totalTickets(100).availableTickets(20).build();
+        when(eventRepository.findAvailableTicketsById(1L)).thenReturn(Optional.of(100));
+        when(eventRepository.purchaseTickets(1L, 5)).thenReturn(0);
+        when(eventRepository.findByIdForUpdate(1L))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenReturn(Optional.of(row));
+
+        inventory.reserve(1L, 5);
+        inventory.flush();
+        inventory.flush();
+
+        assertThat(row.getAvailableTickets()).isEqualTo(15);
+    }
+
+    @Test
+    void shouldNeverOversell_WhenReservingWhileAFlushReconciles() throws Exception {
+        // An in-memory events row behind the repository, with a slow row lock to widen the window
+        Event row = Event.builder().id(1L).totalTickets(100).availableTickets(100).build();
+        AtomicBoolean firstWrite = new AtomicBoolean(true);
+        when(eventRepository.findAvailableTicketsById(1L)).thenAnswer(invocation -> {
+            synchronized (row) {
+                return Optional.of(row.getAvailableTickets());
+            }
+        });
+        when(eventRepository.purchaseTickets(eq(1L), anyInt())).thenAnswer(invocation -> {
+            int quantity = invocation.getArgument(1);
+            synchronized (row) {
+                // The first write misses as if another writer had touched the row
+                if (firstWrite.getAndSet(false) || row.getAvailableTickets() < quantity) {
+                    return 0;
+                }
+                row.setAvailableTickets(row.getAvailableTickets() - quantity);
+                return 1;
+            }
+        });
+        when(eventRepository.findByIdForUpdate(1L)).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return Optional.of(row);
+        });
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService buyers = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            buyers.execute(() -> {
+                while (running.get()) {
+                    if (inventory.reserve(1L, 1)) {
+                        sold.incrementAndGet();
+                    }
+                }
+            });
+        }
+        while (sold.get() < 50) {
+            Thread.onSpinWait();
+        }
+        inventory.flush();
+        inventory.flush();
+        running.set(false);
+        buyers.shutdown();
+        assertThat(buyers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        inventory.flush();
+
+        assertThat(sold.get()).isLessThanOrEqualTo(100);
+        synchronized (row) {
+            assertThat(row.getAvailableTickets()).isEqualTo(100 - sold.get());
+        }
+    }
+
+    @Test
+    void shouldFlushRemainingTicketsOnEvict() {
+        when(eventRepository.findAvailableTicketsById(1L)).thenReturn(Optional.of(100));
+        when(eventRepository.purchaseTickets(1L, 2)).thenReturn(1);
+
+        inventory.reserve(1L, 2);
+        inventory.evict(1L);
+
+        verify(eventRepository).purchaseTickets(1L, 2);
+        assertThat(inventory.available(1L)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldNetReleasedTicketsAgainstSoldOnFlush() {
+        when(eventRepository.findAvailableTicketsById(1L)).thenReturn(Optional.of(100));
+        when(eventRepository.purchaseTickets(1L, 3)).thenReturn(1);
+
+        inventory.reserve(1L, 5);
+        inventory.release(1L, 2);
+        inventory.flush();
+
+        verify(eventRepository).purchaseTickets(1L, 3);
+        assertThat(inventory.available(1L)).isEqualTo(97);
+    }
+
+    @Test
+    void shouldWriteReleaseToDatabase_WhenEventIsNotLoaded() {
+        inventory.release(1L, 2);
+
+        verify(eventRepository).releaseTickets(1L, 2);
+    }
+}
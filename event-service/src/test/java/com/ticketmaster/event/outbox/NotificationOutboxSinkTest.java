@@ -0,0 +1,90 @@
+package com.ticketmaster.event.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketmaster.event.entity.OutboxMessage;
+import com.ticketmaster.event.repository.TicketHoldRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxSinkTest {
+
+    private static final String CANCELLED = """
+            {"eventId":5,"name":"Concert A","date":"2030-06-01T20:00:00","venueId":1,
+             "status":"CANCELLED","previousStatus":"UPCOMING"}""";
+
+    @Mock
+    private TicketHoldRepository holdRepository;
+
+    private MockRestServiceServer server;
+    private NotificationOutboxSink sink;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = NotificationOutboxSink.restClient("http://notification", "service-key");
+        server = MockRestServiceServer.bindTo(builder).build();
+        // Two recipients per request, so three holders take two requests
+        sink = new NotificationOutboxSink(builder.build(), holdRepository, new ObjectMapper().findAndRegisterModules(), 2);
+    }
+
+    @Test
+    void shouldMailConfirmedHoldersOfCancelledEvent_KeyedByMessageId() {
+        when(holdRepository.findConfirmedHolders(5L)).thenReturn(List.of("a@example.com", "b@example.com", "c@example.com"));
+        server.expect(requestTo("http://notification/api/v1/notifications/mail"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header(NotificationOutboxSink.SERVICE_KEY_HEADER, "service-key"))
+                .andExpect(jsonPath("$.recipients.length()").value(2))
+                .andExpect(jsonPath("$.subject").value("Event cancelled: Concert A"))
+                .andExpect(jsonPath("$.idempotencyKey").value("outbox-7"))
+                .andRespond(withStatus(HttpStatus.ACCEPTED));
+        server.expect(requestTo("http://notification/api/v1/notifications/mail"))
+                .andExpect(jsonPath("$.recipients[0]").value("c@example.com"))
+                .andExpect(jsonPath("$.idempotencyKey").value("outbox-7"))
+                .andRespond(withStatus(HttpStatus.ACCEPTED));
+
+        sink.deliver(List.of(message(7L, OutboxEventType.EVENT_CANCELLED)));
+
+        server.verify();
+    }
+
+    @Test
+    void shouldSendNoMail_ForUpdatesAndDeletions() {
+        sink.deliver(List.of(message(8L, OutboxEventType.EVENT_UPDATED), message(9L, OutboxEventType.EVENT_DELETED)));
+
+        server.verify();
+        verifyNoInteractions(holdRepository);
+    }
+
+    @Test
+    void shouldFailTheBatch_WhenNotificationServiceRejectsIt() {
+        when(holdRepository.findConfirmedHolders(5L)).thenReturn(List.of("a@example.com"));
+        server.expect(requestTo("http://notification/api/v1/notifications/mail"))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN));
+
+        assertThatThrownBy(() -> sink.deliver(List.of(message(7L, OutboxEventType.EVENT_CANCELLED))))
+                .isInstanceOf(HttpClientErrorException.Forbidden.class);
+    }
+
+    private static OutboxMessage message(Long id, OutboxEventType type) {
+        return OutboxMessage.builder().id(id).eventId(5L).type(type).payload(CANCELLED).build();
+    }
+}
@@ -0,0 +1,237 @@
+package com.ticketmaster.event.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketmaster.common.enums.EventStatus;
+import com.ticketmaster.event.entity.Event;
+import com.ticketmaster.event.entity.OutboxMessage;
+import com.ticketmaster.event.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Relay integration tests: batches, bulk delete, retry after a failed delivery, backoff, parking
+ * of poison messages, and rows claimed by another relay being skipped. Runs without a test
+ * transaction so relays commit for real.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OutboxRelayTest {
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private EventOutbox eventOutbox;
+    private RecordingSink sink;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        eventOutbox = new EventOutbox(outboxRepository, new ObjectMapper().findAndRegisterModules());
+        sink = new RecordingSink();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldDeliverInBatchesByIdAndDeleteDeliveredMessages() {
+        // Given
+        List<Long> ids = record(5);
+
+        // When
+        int delivered = relay(2).relay();
+
+        // Then
+        assertThat(delivered).isEqualTo(5);
+        assertThat(sink.batches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(sink.batches.stream().flatMap(List::stream).map(OutboxMessage::getId)).containsExactlyElementsOf(ids);
+        assertThat(outboxRepository.count()).isZero();
+        assertThat(meterRegistry.get("outbox.relayed").counter().count()).isEqualTo(5.0);
+        assertThat(meterRegistry.get("outbox.lag").timer().count()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldKeepMessages_WhenSinkFails_AndDeliverThemOnNextRun() {
+        // Given
+        record(3);
+        sink.failuresLeft = 1;
+        OutboxRelay relay = relay(10);
+
+        // When
+        int firstRun = relay.relay();
+
+        // Then
+        assertThat(firstRun).isZero();
+        assertThat(outboxRepository.count()).isEqualTo(3);
+        assertThat(meterRegistry.get("outbox.relay.failures").counter().count()).isEqualTo(1.0);
+
+        assertThat(relay.relay()).isEqualTo(3);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void shouldBackOff_AfterFailedBatch() {
+        // Given
+        record(3);
+        sink.failuresLeft = 1;
+        OutboxRelay relay = new OutboxRelay(outboxRepository, sink, transactionManager, Clock.systemDefaultZone(),
+                10, 20, 3, 60_000, 60_000, meterRegistry);
+
+        // When
+        relay.relay();
+
+        // Then: the next run waits instead of hammering the receiver
+        assertThat(relay.relay()).isZero();
+        assertThat(sink.batches).isEmpty();
+        assertThat(outboxRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldParkMessageTheSinkKeepsRejecting_AndDeliverTheRest() {
+        // Given
+        List<Long> ids = record(3);
+        sink.rejectedIds.add(ids.get(0));
+        OutboxRelay relay = relay(10);
+
+        // When: the batch fails, then the oldest message fails alone until it has no attempts left
+        for (int run = 0; run < 4; run++) {
+            relay.relay();
+        }
+
+        // Then
+        assertThat(sink.batches.stream().flatMap(List::stream).map(OutboxMessage::getId))
+                .containsExactlyElementsOf(ids.subList(1, 3));
+        OutboxMessage poison = outboxRepository.findAll().get(0);
+        assertThat(outboxRepository.count()).isEqualTo(1);
+        assertThat(poison.getId()).isEqualTo(ids.get(0));
+        assertThat(poison.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(poison.getParkedAt()).isNotNull();
+        assertThat(meterRegistry.get("outbox.parked").counter().count()).isEqualTo(1.0);
+        assertThat(relay.relay()).isZero();
+    }
+
+    @Test
+    void shouldNotChargeAttempts_WhenWholeBatchFails() {
+        // Given
+        record(3);
+        sink.failuresLeft = 1;
+
+        // When
+        relay(10).relay();
+
+        // Then
+        assertThat(outboxRepository.findAll()).extracting(OutboxMessage::getAttempts).containsOnly(0);
+    }
+
+    @Test
+    void shouldSkipMessagesClaimedByAnotherRelay() throws Exception {
+        // Given: another relay holds the two oldest messages
+        List<Long> ids = record(5);
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Long>> other = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<Long> locked = outboxRepository.lockNextBatch(2).stream().map(OutboxMessage::getId).toList();
+            claimed.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return locked;
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        int delivered = relay(10).relay();
+        release.countDown();
+
+        // Then: only the unclaimed ones, without waiting for the other transaction
+        assertThat(other.get(10, TimeUnit.SECONDS)).isEqualTo(ids.subList(0, 2));
+        assertThat(delivered).isEqualTo(3);
+        assertThat(sink.batches.get(0)).extracting(OutboxMessage::getId).isEqualTo(ids.subList(2, 5));
+        assertThat(outboxRepository.findAll()).extracting(OutboxMessage::getId).containsExactlyElementsOf(ids.subList(0, 2));
+    }
+
+    @Test
+    void shouldRecordCancellationWithEventSnapshot() {
+        // Given
+        Event event = Event.builder().id(7L).name("Rock Night").venueId(3L)
+                .date(LocalDateTime.of(2026, 11, 1, 20, 0)).status(EventStatus.CANCELLED).build();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> eventOutbox.eventUpdated(event, EventStatus.UPCOMING));
+
+        // Then
+        OutboxMessage message = outboxRepository.findAll().get(0);
+        assertThat(message.getEventId()).isEqualTo(7L);
+        assertThat(message.getType()).isEqualTo(OutboxEventType.EVENT_CANCELLED);
+        assertThat(message.getPayload())
+                .contains("\"name\":\"Rock Night\"")
+                .contains("\"status\":\"CANCELLED\"")
+                .contains("\"previousStatus\":\"UPCOMING\"");
+        assertThat(message.getCreatedAt()).isNotNull();
+    }
+
+    private OutboxRelay relay(int batchSize) {
+        return new OutboxRelay(outboxRepository, sink, transactionManager, Clock.systemDefaultZone(), batchSize, 20,
+                MAX_ATTEMPTS, 0, 0, meterRegistry);
+    }
+
+    private List<Long> record(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = Event.builder().id((long) i + 1).name("Event " + i).status(EventStatus.UPCOMING).build();
+            transactionTemplate.executeWithoutResult(status -> eventOutbox.eventUpdated(event, EventStatus.UPCOMING));
+        }
+        outboxRepository.findAll().stream().map(OutboxMessage::getId).sorted().forEach(ids::add);
+        return ids;
+    }
+
+    /**
+     * Local stand-in for the real sink: keeps the batches, and can fail on demand or reject
+     * every batch containing certain messages.
+     */
+    private static class RecordingSink implements OutboxSink {
+
+        private final List<List<OutboxMessage>> batches = new ArrayList<>();
+        private final Set<Long> rejectedIds = new HashSet<>();
+        private int failuresLeft;
+
+        @Override
+        public void deliver(List<OutboxMessage> messages) {
+            if (messages.stream().anyMatch(message -> rejectedIds.contains(message.getId()))) {
+                throw new IllegalArgumentException("Receiver rejected the batch");
+            }
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IllegalStateException("Receiver unavailable");
+            }
+            batches.add(List.copyOf(messages));
+        }
+    }
+}
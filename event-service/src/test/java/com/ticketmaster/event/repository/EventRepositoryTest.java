@@ -1,15 +1,19 @@
 package com.ticketmaster.event.repository;
 
+import com.ticketmaster.common.dto.EventResponse;
+import com.ticketmaster.common.dto.EventSummaryResponse;
 import com.ticketmaster.common.enums.EventCategory;
 import com.ticketmaster.common.enums.EventStatus;
 import com.ticketmaster.event.entity.Event;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -211,4 +215,163 @@ public class EventRepositoryTest {
         // Then
         assertThat(allEvents).hasSize(3);
     }
+
+    @Test
+    void shouldPurchaseTickets_WhenEnoughTicketsLeft() {
+        // Given
+        Event event = eventRepository.findEventByCategory(EventCategory.SPORTS).get(0);
+        Long version = event.getVersion();
+
+        // When
+        int updated = eventRepository.purchaseTickets(event.getId(), 3);
+        entityManager.clear();
+
+        // Then
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        assertThat(updated).isEqualTo(1);
+        assertThat(reloaded.getAvailableTickets()).isEqualTo(997);
+        assertThat(reloaded.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void shouldNotPurchaseTickets_WhenNotEnoughTicketsLeft() {
+        // Given - the completed event has no tickets left
+        Event event = eventRepository.findEventByStatus(EventStatus.COMPLETED).get(0);
+
+        // When
+        int updated = eventRepository.purchaseTickets(event.getId(), 1);
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isZero();
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getAvailableTickets()).isZero();
+    }
+
+    @Test
+    void shouldNotPurchaseTickets_WhenEventDoesNotExist() {
+        assertThat(eventRepository.purchaseTickets(Long.MAX_VALUE, 1)).isZero();
+    }
+
+    @Test
+    void shouldReleaseTickets_WithinCapacity() {
+        // Given
+        Event event = eventRepository.findEventByCategory(EventCategory.SPORTS).get(0);
+        eventRepository.purchaseTickets(event.getId(), 5);
+
+        // When
+        int updated = eventRepository.releaseTickets(event.getId(), 5);
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getAvailableTickets()).isEqualTo(1000);
+    }
+
+    @Test
+    void shouldNotReleaseTickets_BeyondTotalTickets() {
+        // Given - nothing was sold yet
+        Event event = eventRepository.findEventByCategory(EventCategory.SPORTS).get(0);
+
+        // When
+        int updated = eventRepository.releaseTickets(event.getId(), 1);
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isZero();
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getAvailableTickets()).isEqualTo(1000);
+    }
+
+    @Test
+    void shouldPageThroughAllEventsById() {
+        // When
+        List<EventSummaryResponse> firstPage = eventRepository.findSummaries(Limit.of(2));
+        List<EventSummaryResponse> secondPage = eventRepository.findSummariesAfter(firstPage.get(1).getId(), Limit.of(2));
+
+        // Then
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0).getId()).isLessThan(firstPage.get(1).getId());
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getId()).isGreaterThan(firstPage.get(1).getId());
+    }
+
+    @Test
+    void shouldPageEventsByStatus_InDateThenIdOrder() {
+        // Given - a second upcoming event on the same date as the rock concert
+        Event rockConcert = eventRepository.findEventByCategory(EventCategory.MUSIC).stream()
+                .filter(e -> e.getStatus() == EventStatus.UPCOMING).findFirst().orElseThrow();
+        Event sameDay = Event.builder()
+                .name("Jazz Night")
+                .description("Same day as the rock concert")
+                .date(rockConcert.getDate())
+                .venueId(4L)
+                .performerId(4L)
+                .ticketPrice(40.0)
+                .totalTickets(100)
+                .availableTickets(100)
+                .status(EventStatus.UPCOMING)
+                .category(EventCategory.MUSIC)
+                .build();
+        entityManager.persist(sameDay);
+        entityManager.flush();
+
+        // When
+        List<EventSummaryResponse> firstPage = eventRepository.findSummariesByStatus(EventStatus.UPCOMING, Limit.of(2));
+        EventSummaryResponse last = firstPage.get(1);
+        List<EventSummaryResponse> secondPage =
+                eventRepository.findSummariesByStatusAfter(EventStatus.UPCOMING, last.getDate(), last.getId(), Limit.of(2));
+
+        // Then - football (15 days) first, then the two same-day events split across pages by id
+        assertThat(firstPage).extracting(EventSummaryResponse::getName).containsExactly("Football Match", "Rock Concert");
+        assertThat(secondPage).extracting(EventSummaryResponse::getName).containsExactly("Jazz Night");
+    }
+
+    @Test
+    void shouldPageEventsByCategory_AfterCursor() {
+        // When
+        List<EventSummaryResponse> firstPage = eventRepository.findSummariesByCategory(EventCategory.MUSIC, Limit.of(1));
+        EventSummaryResponse last = firstPage.get(0);
+        List<EventSummaryResponse> secondPage =
+                eventRepository.findSummariesByCategoryAfter(EventCategory.MUSIC, last.getDate(), last.getId(), Limit.of(5));
+
+        // Then - the completed concert (5 days) comes before the rock concert (30 days)
+        assertThat(firstPage).extracting(EventSummaryResponse::getName).containsExactly("Past Concert");
+        assertThat(secondPage).extracting(EventSummaryResponse::getName).containsExactly("Rock Concert");
+    }
+
+    @Test
+    void shouldProjectEventResponse_WithoutLoadingEntity() {
+        // Given
+        Long eventId = eventRepository.findEventByCategory(EventCategory.SPORTS).get(0).getId();
+        entityManager.clear();
+
+        // When
+        EventResponse response = eventRepository.findResponseById(eventId).orElseThrow();
+
+        // Then
+        assertThat(response.getName()).isEqualTo("Football Match");
+        assertThat(response.getDescription()).isEqualTo("Championship final");
+        assertThat(response.getAvailableTickets()).isEqualTo(1000);
+        assertThat(response.getCreatedAt()).isNotNull();
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void shouldFindVersionAndStatusOnly() {
+        // Given
+        Event event = eventRepository.findEventByCategory(EventCategory.SPORTS).get(0);
+        eventRepository.purchaseTickets(event.getId(), 1);
+
+        // When
+        EventVersion version = eventRepository.findVersionById(event.getId()).orElseThrow();
+
+        // Then - the guarded purchase bumped the version, so the ETag changes with availableTickets
+        assertThat(version.version()).isEqualTo(event.getVersion() + 1);
+        assertThat(version.status()).isEqualTo(EventStatus.UPCOMING);
+        assertThat(eventRepository.findVersionById(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void shouldNotFindResponse_WhenEventDoesNotExist() {
+        assertThat(eventRepository.findResponseById(Long.MAX_VALUE)).isEmpty();
+    }
 }
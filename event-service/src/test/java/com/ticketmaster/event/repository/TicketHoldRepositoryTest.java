@@ -0,0 +1,119 @@
+package com.ticketmaster.event.repository;
+
+import com.ticketmaster.common.enums.BookingStatus;
+import com.ticketmaster.event.entity.TicketHold;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repository integration tests for the guarded hold status transitions
+ */
+@DataJpaTest
+public class TicketHoldRepositoryTest {
+
+    @Autowired
+    private TicketHoldRepository holdRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void shouldConfirmPendingHoldOnlyOnce() {
+        // Given
+        TicketHold hold = pendingHold(LocalDateTime.now().plusMinutes(10));
+
+        // When
+        int first = holdRepository.confirm(hold.getId(), "fan", LocalDateTime.now());
+        int second = holdRepository.confirm(hold.getId(), "fan", LocalDateTime.now());
+        entityManager.clear();
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(holdRepository.findById(hold.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+    }
+
+    @Test
+    void shouldNotConfirmHold_AfterExpiresAt() {
+        // Given
+        TicketHold hold = pendingHold(LocalDateTime.now().minusSeconds(1));
+
+        // When / Then
+        assertThat(holdRepository.confirm(hold.getId(), "fan", LocalDateTime.now())).isZero();
+    }
+
+    @Test
+    void shouldNotConfirmOrCancelHoldOfAnotherUser() {
+        // Given
+        TicketHold hold = pendingHold(LocalDateTime.now().plusMinutes(10));
+
+        // When / Then
+        assertThat(holdRepository.confirm(hold.getId(), "someone-else", LocalDateTime.now())).isZero();
+        assertThat(holdRepository.cancel(hold.getId(), "someone-else")).isZero();
+    }
+
+    @Test
+    void shouldNotExpireCancelledHold() {
+        // Given
+        TicketHold hold = pendingHold(LocalDateTime.now().plusMinutes(10));
+        holdRepository.cancel(hold.getId(), "fan");
+
+        // When
+        int expired = holdRepository.expire(hold.getId());
+        entityManager.clear();
+
+        // Then
+        assertThat(expired).isZero();
+        assertThat(holdRepository.findById(hold.getId()).orElseThrow().getStatus()).isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void shouldFindPendingHolds() {
+        // Given
+        pendingHold(LocalDateTime.now().plusMinutes(10));
+        TicketHold expired = pendingHold(LocalDateTime.now().plusMinutes(10));
+        holdRepository.expire(expired.getId());
+
+        // When / Then
+        assertThat(holdRepository.findByStatus(BookingStatus.PENDING)).hasSize(1);
+    }
+
+    @Test
+    void shouldFindEachConfirmedHolderOfAnEventOnce() {
+        // Given
+        confirmedHold(1L, "b@example.com");
+        confirmedHold(1L, "a@example.com");
+        confirmedHold(1L, "a@example.com");
+        confirmedHold(2L, "other-event@example.com");
+        pendingHold(LocalDateTime.now().plusMinutes(10));
+
+        // When / Then
+        assertThat(holdRepository.findConfirmedHolders(1L)).containsExactly("a@example.com", "b@example.com");
+    }
+
+    private void confirmedHold(Long eventId, String holder) {
+        entityManager.persistAndFlush(TicketHold.builder()
+                .eventId(eventId)
+                .quantity(1)
+                .holder(holder)
+                .status(BookingStatus.CONFIRMED)
+                .expiresAt(LocalDateTime.now().plusMinutes(10))
+                .build());
+    }
+
+    private TicketHold pendingHold(LocalDateTime expiresAt) {
+        return entityManager.persistAndFlush(TicketHold.builder()
+                .eventId(1L)
+                .quantity(2)
+                .holder("fan")
+                .status(BookingStatus.PENDING)
+                .expiresAt(expiresAt)
+                .build());
+    }
+}
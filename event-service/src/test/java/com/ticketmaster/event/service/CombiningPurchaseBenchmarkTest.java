@@ -0,0 +1,161 @@
+package com.ticketmaster.event.service;
+
+import com.ticketmaster.common.enums.EventCategory;
+import com.ticketmaster.common.enums.EventStatus;
+import com.ticketmaster.event.config.JwtService;
+import com.ticketmaster.event.entity.Event;
+import com.ticketmaster.event.inventory.CombiningTicketInventory;
+import com.ticketmaster.event.inventory.DatabaseTicketInventory;
+import com.ticketmaster.event.inventory.TicketInventory;
+import com.ticketmaster.event.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the purchase path with one guarded {@code UPDATE} per purchase versus the
+ * flat-combining inventory, at 1, 8, 64 and 512 concurrent buyers on a single event.
+ * <p>
+ * Every buyer keeps buying one ticket until the event is sold out. For each run the test logs
+ * committed purchases per second and the p99 latency of a purchase, and checks that exactly the
+ * available tickets were sold.
+ * </p>
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:combiningdb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Tag("benchmark")
+class CombiningPurchaseBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CombiningPurchaseBenchmarkTest.class);
+
+    private static final int TICKETS = 1_000;
+    private static final int[] BUYERS = {1, 8, 64, 512};
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private DatabaseTicketInventory databaseInventory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCompareCommitThroughputAndTailLatency() throws Exception {
+        CombiningTicketInventory combiningInventory =
+                new CombiningTicketInventory(eventRepository, transactionManager, 256, 100);
+
+        // Warm up both paths so the first measured run is not paying for JIT compilation
+        run(databaseInventory, 8);
+        run(combiningInventory, 8);
+
+        for (int buyers : BUYERS) {
+            Result single = run(databaseInventory, buyers);
+            Result combined = run(combiningInventory, buyers);
+
+            log.info("{} buyers - one UPDATE per purchase: {} purchases/s, p99 {} ms | combining: {} purchases/s, p99 {} ms",
+                    buyers, single.purchasesPerSecond(), single.p99Millis(),
+                    combined.purchasesPerSecond(), combined.p99Millis());
+        }
+    }
+
+    private Result run(TicketInventory inventory, int buyers) throws Exception {
+        Long eventId = createEvent();
+        AtomicInteger sold = new AtomicInteger();
+        List<long[]> latencies = new ArrayList<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < buyers; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    long[] samples = new long[TICKETS + 1];
+                    int count = 0;
+                    while (true) {
+                        long begin = System.nanoTime();
+                        boolean bought = inventory.reserve(eventId, 1);
+                        samples[count++] = System.nanoTime() - begin;
+                        if (!bought) {
+                            return Arrays.copyOf(samples, count);
+                        }
+                        sold.incrementAndGet();
+                    }
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<long[]> future : futures) {
+                latencies.add(future.get(120, TimeUnit.SECONDS));
+            }
+            long elapsed = System.nanoTime() - startedAt;
+
+            assertThat(sold.get()).isEqualTo(TICKETS);
+            assertThat(eventRepository.findAvailableTicketsById(eventId)).contains(0);
+            return new Result(TICKETS, elapsed, latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Long createEvent() {
+        return eventRepository.save(Event.builder()
+                .name("On-sale Concert")
+                .description("Combining benchmark")
+                .date(LocalDateTime.now().plusDays(30))
+                .venueId(1L)
+                .performerId(1L)
+                .ticketPrice(100.0)
+                .totalTickets(TICKETS)
+                .availableTickets(TICKETS)
+                .status(EventStatus.UPCOMING)
+                .category(EventCategory.MUSIC)
+                .build()).getId();
+    }
+
+    private record Result(int purchases, long elapsedNanos, long[] sortedLatencies) {
+
+        long purchasesPerSecond() {
+            return purchases * 1_000_000_000L / Math.max(1, elapsedNanos);
+        }
+
+        double p99Millis() {
+            long p99 = sortedLatencies[(int) Math.ceil(sortedLatencies.length * 0.99) - 1];
+            return Math.round(p99 / 10_000.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.ticketmaster.event.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketmaster.common.enums.EventCategory;
+import com.ticketmaster.common.enums.EventStatus;
+import com.ticketmaster.event.entity.Event;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports against the in-memory H2 database, through the real streaming query.
+ */
+@DataJpaTest
+@Import(EventExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class EventExportServiceTest {
+
+    @Autowired
+    private EventExportService eventExportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Event> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Event event = Event.builder()
+                    .name("Concert " + i)
+                    .description("Export test")
+                    .date(LocalDateTime.now().plusDays(10 + i))
+                    .venueId(1L)
+                    .performerId(1L)
+                    .ticketPrice(50.0)
+                    .totalTickets(100)
+                    .availableTickets(100)
+                    .status(EventStatus.UPCOMING)
+                    .category(EventCategory.MUSIC)
+                    .build();
+            events.add(entityManager.persist(event));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void shouldWriteOneJsonLinePerEventInIdOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = eventExportService.exportEvents(out);
+
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        String[] lines = ndjson.split("\n");
+        assertThat(count).isEqualTo(3);
+        assertThat(ndjson).endsWith("\n");
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < 3; i++) {
+            JsonNode line = objectMapper.readTree(lines[i]);
+            assertThat(line.get("id").asLong()).isEqualTo(events.get(i).getId());
+            assertThat(line.get("name").asText()).isEqualTo("Concert " + i);
+        }
+    }
+
+    @Test
+    void shouldExportWithoutLoadingEntities() throws Exception {
+        entityManager.clear();
+
+        eventExportService.exportEvents(new ByteArrayOutputStream());
+
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void shouldWriteNothingWhenThereAreNoEvents() throws Exception {
+        events.forEach(entityManager::remove);
+        entityManager.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(eventExportService.exportEvents(out)).isZero();
+        assertThat(out.size()).isZero();
+    }
+}
@@ -0,0 +1,149 @@
+package com.ticketmaster.event.service;
+
+import com.ticketmaster.common.dto.EventSummaryResponse;
+import com.ticketmaster.common.enums.EventCategory;
+import com.ticketmaster.common.enums.EventStatus;
+import com.ticketmaster.event.config.JwtService;
+import com.ticketmaster.event.entity.Event;
+import com.ticketmaster.event.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of a 100-event list page loaded as managed {@link Event} entities versus the
+ * {@link EventSummaryResponse} projection, over events with near-maximum (234-character) descriptions.
+ * <p>
+ * Each page runs in its own read-only transaction, as a request would. For both paths the test
+ * logs the bytes allocated per page and the rows read per second, and checks that the
+ * projection allocates less.
+ * </p>
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:readbenchdb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@Tag("benchmark")
+class EventReadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventReadBenchmarkTest.class);
+
+    private static final int EVENTS = 2_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int PAGES = 500;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private JwtService jwtService;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String description = "A long event description. ".repeat(9);
+        List<Event> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(Event.builder()
+                    .name("Concert " + i)
+                    .description(description)
+                    .date(LocalDateTime.now().plusDays(1 + i % 365))
+                    .venueId(1L)
+                    .performerId(1L)
+                    .ticketPrice(100.0)
+                    .totalTickets(500)
+                    .availableTickets(500)
+                    .status(EventStatus.UPCOMING)
+                    .category(EventCategory.MUSIC)
+                    .build());
+        }
+        eventRepository.saveAll(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldCompareAllocationAndThroughputOfListPages() {
+        Supplier<List<?>> entities = () -> entityManager
+                .createQuery("SELECT e FROM Event e ORDER BY e.id", Event.class)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+        Supplier<List<?>> summaries = () -> eventRepository.findSummaries(Limit.of(PAGE_SIZE));
+
+        // Warm up both paths so the measured runs are not paying for JIT compilation
+        run(entities, PAGES);
+        run(summaries, PAGES);
+
+        Result entity = run(entities, PAGES);
+        Result summary = run(summaries, PAGES);
+
+        log.info("{}-event page - entities: {} KB allocated/page, {} rows/s | summaries: {} KB allocated/page, {} rows/s",
+                PAGE_SIZE, entity.kilobytesPerPage(), entity.rowsPerSecond(),
+                summary.kilobytesPerPage(), summary.rowsPerSecond());
+
+        assertThat(entity.rows()).isEqualTo((long) PAGE_SIZE * PAGES);
+        assertThat(summary.rows()).isEqualTo((long) PAGE_SIZE * PAGES);
+        assertThat(summary.bytesAllocated()).isLessThan(entity.bytesAllocated());
+    }
+
+    private Result run(Supplier<List<?>> page, int pages) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long rows = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < pages; i++) {
+            rows += readOnly.execute(status -> page.get().size());
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(pages, rows, elapsed, allocated);
+    }
+
+    private record Result(int pages, long rows, long elapsedNanos, long bytesAllocated) {
+
+        long rowsPerSecond() {
+            return rows * 1_000_000_000L / Math.max(1, elapsedNanos);
+        }
+
+        long kilobytesPerPage() {
+            return bytesAllocated / pages / 1024;
+        }
+    }
+}
@@ -1,24 +1,42 @@
 package com.ticketmaster.event.service;
 
+import com.ticketmaster.common.dto.EventResponse;
+import com.ticketmaster.common.dto.EventSummaryResponse;
 import com.ticketmaster.common.enums.EventCategory;
 import com.ticketmaster.common.enums.EventStatus;
+import com.ticketmaster.event.cache.EventCache;
 import com.ticketmaster.event.dto.request.EventRequest;
 import com.ticketmaster.event.dto.request.EventUpdateRequest;
+import com.ticketmaster.event.dto.response.CursorPage;
+import com.ticketmaster.event.dto.response.PurchaseResponse;
 import com.ticketmaster.event.entity.Event;
 import com.ticketmaster.event.exception.EventNotFoundException;
+import com.ticketmaster.event.exception.InvalidCursorException;
+import com.ticketmaster.event.exception.TicketsSoldOutException;
+import com.ticketmaster.event.inventory.TicketInventory;
+import com.ticketmaster.event.outbox.EventOutbox;
 import com.ticketmaster.event.repository.EventRepository;
+import com.ticketmaster.event.repository.EventVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 
 import static java.util.Optional.empty;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,42 +46,157 @@ public class EventServiceTest {
     @Mock
     private EventRepository eventRepository;
 
-    @InjectMocks
+    @Mock
+    private TicketInventory ticketInventory;
+
+    @Mock
+    private EventOutbox eventOutbox;
+
+    private EventCache eventCache;
+
     private EventService eventService;
 
     @BeforeEach
     void setUp() {
-
+        eventCache = spy(new EventCache(eventRepository, 100, 60, new SimpleMeterRegistry()));
+        eventService = new EventService(eventRepository, ticketInventory, eventCache, eventOutbox);
     }
 
     @Test
     void shouldReturnAllEvents() {
-        when(eventRepository.findAll()).thenReturn(List.of(
-                Event.builder().id(1L).name("Concert A").build(),
-                Event.builder().id(2L).name("Concert B").build()
+        when(eventRepository.findSummaries(Limit.of(21))).thenReturn(List.of(
+                EventSummaryResponse.builder().id(1L).name("Concert A").build(),
+                EventSummaryResponse.builder().id(2L).name("Concert B").build()
         ));
 
-        List<Event> events = eventService.getAllEvents();
+        CursorPage<EventSummaryResponse> page = eventService.getAllEvents(null, 20);
 
-        assert (events.size() == 2);
+        assert (page.getItems().size() == 2);
+        assert (!page.isHasMore());
+        assert (page.getNextCursor() == null);
+    }
+
+    @Test
+    void shouldReturnCursorThatContinuesAfterLastEventOfPage() {
+        when(eventRepository.findSummaries(Limit.of(3))).thenReturn(List.of(
+                EventSummaryResponse.builder().id(1L).build(),
+                EventSummaryResponse.builder().id(2L).build(),
+                EventSummaryResponse.builder().id(3L).build()
+        ));
+        when(eventRepository.findSummariesAfter(2L, Limit.of(3))).thenReturn(List.of(
+                EventSummaryResponse.builder().id(3L).build()
+        ));
+
+        CursorPage<EventSummaryResponse> first = eventService.getAllEvents(null, 2);
+        CursorPage<EventSummaryResponse> second = eventService.getAllEvents(first.getNextCursor(), 2);
+
+        assert (first.getItems().size() == 2);
+        assert (first.isHasMore());
+        assert (second.getItems().size() == 1);
+        assert (second.getItems().get(0).getId() == 3L);
+        assert (!second.isHasMore());
+    }
+
+    @Test
+    void shouldRejectMalformedOrForeignCursor() {
+        EventSummaryResponse event = EventSummaryResponse.builder().id(7L).date(LocalDateTime.of(2030, 1, 1, 20, 0)).build();
+        when(eventRepository.findSummariesByStatus(EventStatus.UPCOMING, Limit.of(2)))
+                .thenReturn(List.of(event, event));
+        String statusCursor = eventService.getEventsByStatus(EventStatus.UPCOMING, null, 1).getNextCursor();
+
+        assertThatThrownBy(() -> eventService.getAllEvents("not a cursor!", 20))
+                .isInstanceOf(InvalidCursorException.class);
+        // A (date, id) cursor cannot be replayed against the id-ordered listing
+        assertThatThrownBy(() -> eventService.getAllEvents(statusCursor, 20))
+                .isInstanceOf(InvalidCursorException.class);
     }
 
     @Test
     void shouldReturnEventById() {
         Long eventId = 1L;
-        Event mockEvent = Event.builder().id(eventId).name("Concert A").build();
-        when(eventRepository.findById(eventId)).thenReturn(java.util.Optional.of(mockEvent));
+        EventResponse mockEvent = EventResponse.builder().id(eventId).name("Concert A").build();
+        when(eventRepository.findResponseById(eventId)).thenReturn(java.util.Optional.of(mockEvent));
 
-        Event event = eventService.getEventById(eventId);
+        EventResponse event = eventService.getEventById(eventId);
 
         assert (event.getId().equals(eventId));
         assert (event.getName().equals("Concert A"));
     }
 
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        Long eventId = 1L;
+        when(eventRepository.findResponseById(eventId)).thenReturn(Optional.of(EventResponse.builder().id(eventId).build()));
+
+        eventService.getEventById(eventId);
+        eventService.getEventById(eventId);
+
+        verify(eventRepository, times(1)).findResponseById(eventId);
+        assert (eventCache.stats().hitCount() == 1);
+        assert (eventCache.stats().missCount() == 1);
+    }
+
+    @Test
+    void shouldTakeEventVersionFromCache_WhenEventIsCached() {
+        Long eventId = 1L;
+        when(eventRepository.findResponseById(eventId)).thenReturn(Optional.of(
+                EventResponse.builder().id(eventId).version(4L).status(EventStatus.UPCOMING).build()));
+        eventService.getEventById(eventId);
+
+        EventVersion version = eventService.getEventVersion(eventId);
+
+        assert (version.version() == 4L);
+        assert (version.status() == EventStatus.UPCOMING);
+        verify(eventRepository, never()).findVersionById(any());
+    }
+
+    @Test
+    void shouldQueryOnlyEventVersion_WhenEventIsNotCached() {
+        Long eventId = 1L;
+        when(eventRepository.findVersionById(eventId)).thenReturn(Optional.of(new EventVersion(4L, EventStatus.COMPLETED)));
+
+        EventVersion version = eventService.getEventVersion(eventId);
+
+        assert (version.version() == 4L);
+        verify(eventRepository, never()).findResponseById(any());
+        assertThatThrownBy(() -> eventService.getEventVersion(99L)).isInstanceOf(EventNotFoundException.class);
+    }
+
+    @Test
+    void shouldNotCacheMissingEvent() {
+        Long eventId = 99L;
+        when(eventRepository.findResponseById(eventId)).thenReturn(empty());
+
+        assertThatThrownBy(() -> eventService.getEventById(eventId)).isInstanceOf(EventNotFoundException.class);
+        assertThatThrownBy(() -> eventService.getEventById(eventId)).isInstanceOf(EventNotFoundException.class);
+
+        verify(eventRepository, times(2)).findResponseById(eventId);
+    }
+
+    @Test
+    void shouldInvalidateCachedEventOnUpdate() {
+        Long eventId = 1L;
+        EventResponse stored = EventResponse.builder().id(eventId).name("Concert A").build();
+        when(eventRepository.findResponseById(eventId)).thenReturn(Optional.of(stored));
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(Event.builder().id(eventId).name("Concert A").build()));
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        EventResponse cached = eventService.getEventById(eventId);
+
+        EventUpdateRequest updateRequest = new EventUpdateRequest();
+        updateRequest.setName("Concert B");
+        eventService.updateEvent(eventId, updateRequest);
+
+        verify(eventCache).invalidate(eventId);
+        // The next read goes back to the database
+        eventService.getEventById(eventId);
+        verify(eventRepository, times(2)).findResponseById(eventId);
+        assert (cached == stored);
+    }
+
     @Test
     void shouldthrowEventNotFoundExceptionWhenEventDoesNotExist() {
         Long eventId = 99L;
-        when(eventRepository.findById(eventId)).thenReturn(empty());
+        when(eventRepository.findResponseById(eventId)).thenReturn(empty());
 
         try {
             eventService.getEventById(eventId);
@@ -119,13 +252,16 @@ public class EventServiceTest {
     void shouldReturnEventsByStatus() {
 
         EventStatus status = EventStatus.UPCOMING;
-        when(eventRepository.findEventByStatus(status)).thenReturn(List.of(
-                Event.builder().id(1L).name("Concert A").status(status).build(),
-                Event.builder().id(3L).name("Concert C").status(status).build()
+        LocalDateTime date = LocalDateTime.of(2030, 6, 15, 20, 0);
+        when(eventRepository.findSummariesByStatusAfter(status, date, 1L, Limit.of(21))).thenReturn(List.of(
+                EventSummaryResponse.builder().id(1L).name("Concert A").status(status).build(),
+                EventSummaryResponse.builder().id(3L).name("Concert C").status(status).build()
         ));
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("d|" + date + "|1").getBytes(StandardCharsets.UTF_8));
 
 
-        List<Event> events = eventService.getEventsByStatus(status);
+        List<EventSummaryResponse> events = eventService.getEventsByStatus(status, cursor, 20).getItems();
 
         assert (events.size() == 2);
         assert (events.get(0).getStatus() == EventStatus.UPCOMING);
@@ -136,12 +272,12 @@ public class EventServiceTest {
     void shouldReturnEventsByCategory() {
 
         EventCategory category = EventCategory.MUSIC;
-        when(eventRepository.findEventByCategory(category)).thenReturn(List.of(
-                Event.builder().id(1L).name("Concert A").category(category).build(),
-                Event.builder().id(4L).name("Concert D").category(category).build()
+        when(eventRepository.findSummariesByCategory(category, Limit.of(21))).thenReturn(List.of(
+                EventSummaryResponse.builder().id(1L).name("Concert A").category(category).build(),
+                EventSummaryResponse.builder().id(4L).name("Concert D").category(category).build()
         ));
 
-        List<Event> events = eventService.getEventsByCategory(category);
+        List<EventSummaryResponse> events = eventService.getEventsByCategory(category, null, 20).getItems();
 
         assert (events.size() == 2);
         assert (events.get(0).getCategory() == EventCategory.MUSIC);
@@ -232,6 +368,23 @@ public class EventServiceTest {
 
         // Assert - Verify that delete was called with the correct event
         verify(eventRepository).delete(existingEvent);
+        verify(ticketInventory).evict(eventId);
+        verify(eventCache).invalidate(eventId);
+        verify(eventOutbox).eventDeleted(existingEvent);
+    }
+
+    @Test
+    void shouldRecordUpdateInOutbox_WithPreviousStatus() {
+        Long eventId = 1L;
+        Event existingEvent = Event.builder().id(eventId).name("Concert A").status(EventStatus.UPCOMING).build();
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(existingEvent));
+        when(eventRepository.save(any(Event.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        EventUpdateRequest updateRequest = new EventUpdateRequest();
+        updateRequest.setStatus(EventStatus.CANCELLED);
+        Event saved = eventService.updateEvent(eventId, updateRequest);
+
+        verify(eventOutbox).eventUpdated(saved, EventStatus.UPCOMING);
     }
 
     @Test
@@ -248,4 +401,46 @@ public class EventServiceTest {
             assert (e instanceof EventNotFoundException);
         }
     }
+
+    @Test
+    void shouldPurchaseTickets() {
+        Long eventId = 1L;
+        when(ticketInventory.reserve(eventId, 2)).thenReturn(true);
+
+        PurchaseResponse response = eventService.purchaseTickets(eventId, 2);
+
+        assert (response.getEventId().equals(eventId));
+        assert (response.getQuantity() == 2);
+        assert (response.getPurchasedAt() != null);
+        verify(eventRepository, never()).findById(any());
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    void shouldThrowTicketsSoldOutExceptionWhenNotEnoughTicketsLeft() {
+        Long eventId = 1L;
+        when(ticketInventory.reserve(eventId, 5)).thenReturn(false);
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+
+        try {
+            eventService.purchaseTickets(eventId, 5);
+            assert (false); // Should not reach here
+        } catch (Exception e) {
+            assert (e instanceof TicketsSoldOutException);
+        }
+    }
+
+    @Test
+    void shouldThrowEventNotFoundExceptionWhenPurchasingForNonExistentEvent() {
+        Long eventId = 99L;
+        when(ticketInventory.reserve(eventId, 1)).thenReturn(false);
+        when(eventRepository.existsById(eventId)).thenReturn(false);
+
+        try {
+            eventService.purchaseTickets(eventId, 1);
+            assert (false); // Should not reach here
+        } catch (Exception e) {
+            assert (e instanceof EventNotFoundException);
+        }
+    }
 }
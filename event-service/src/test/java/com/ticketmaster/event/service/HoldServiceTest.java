@@ -0,0 +1,309 @@
+package com.ticketmaster.event.service;
+
+import com.ticketmaster.common.enums.BookingStatus;
+import com.ticketmaster.event.dto.response.HoldResponse;
+import com.ticketmaster.event.entity.TicketHold;
+import com.ticketmaster.event.exception.EventNotFoundException;
+import com.ticketmaster.event.exception.HoldNotFoundException;
+import com.ticketmaster.event.exception.HoldNotPendingException;
+import com.ticketmaster.event.exception.TicketsSoldOutException;
+import com.ticketmaster.event.inventory.TicketInventory;
+import com.ticketmaster.event.repository.EventRepository;
+import com.ticketmaster.event.repository.TicketHoldRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class HoldServiceTest {
+
+    private static final long TTL_MILLIS = 60_000;
+
+    @Mock
+    private TicketHoldRepository holdRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private TicketInventory ticketInventory;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+
+    private HoldService holdService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-06-01T10:00:00Z"));
+        holdService = new HoldService(holdRepository, eventRepository, ticketInventory,
+                transactionManager, clock, TTL_MILLIS, 100);
+    }
+
+    @Test
+    void shouldCreatePendingHold() {
+        when(ticketInventory.reserve(1L, 2)).thenReturn(true);
+        when(holdRepository.save(any(TicketHold.class))).thenAnswer(invocation -> {
+            TicketHold hold = invocation.getArgument(0);
+            hold.setId(10L);
+            return hold;
+        });
+
+        HoldResponse response = holdService.createHold(1L, 2, "fan");
+
+        assertThat(response.getId()).isEqualTo(10L);
+        assertThat(response.getStatus()).isEqualTo(BookingStatus.PENDING);
+        assertThat(response.getExpiresAt()).isEqualTo(LocalDateTime.of(2026, 6, 1, 10, 1));
+        assertThat(holdService.pendingExpiries()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldThrowTicketsSoldOut_WhenInventoryRejectsHold() {
+        when(ticketInventory.reserve(1L, 2)).thenReturn(false);
+        when(eventRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> holdService.createHold(1L, 2, "fan"))
+                .isInstanceOf(TicketsSoldOutException.class);
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldThrowEventNotFound_WhenHoldingUnknownEvent() {
+        when(ticketInventory.reserve(99L, 1)).thenReturn(false);
+        when(eventRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> holdService.createHold(99L, 1, "fan"))
+                .isInstanceOf(EventNotFoundException.class);
+    }
+
+    @Test
+    void shouldReleaseTickets_WhenSavingHoldFails() {
+        when(ticketInventory.reserve(1L, 2)).thenReturn(true);
+        when(holdRepository.save(any(TicketHold.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        assertThatThrownBy(() -> holdService.createHold(1L, 2, "fan"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verify(ticketInventory).release(1L, 2);
+    }
+
+    @Test
+    void shouldExpireHoldAndReleaseTickets_OnceTtlPassed() {
+        createHold(10L, 1L, 2);
+        when(holdRepository.expire(10L)).thenReturn(1);
+
+        clock.advance(TTL_MILLIS - 1_000);
+        holdService.expireDueHolds();
+        verify(holdRepository, never()).expire(anyLong());
+
+        clock.advance(1_000);
+        holdService.expireDueHolds();
+        verify(holdRepository).expire(10L);
+        verify(ticketInventory).release(1L, 2);
+        assertThat(holdService.pendingExpiries()).isZero();
+    }
+
+    @Test
+    void shouldNotReleaseTickets_WhenExpiringAlreadyResolvedHold() {
+        createHold(10L, 1L, 2);
+        when(holdRepository.expire(10L)).thenReturn(0);
+
+        clock.advance(TTL_MILLIS);
+        holdService.expireDueHolds();
+
+        verify(ticketInventory, never()).release(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldRetryExpiry_WhenDatabaseFails() {
+        createHold(10L, 1L, 2);
+        when(holdRepository.expire(10L))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenReturn(1);
+
+        clock.advance(TTL_MILLIS);
+        holdService.expireDueHolds();
+        clock.advance(200);
+        holdService.expireDueHolds();
+
+        verify(holdRepository, times(2)).expire(10L);
+        verify(ticketInventory).release(1L, 2);
+    }
+
+    @Test
+    void shouldRescheduleAndExpirePendingHoldsAfterRestart() {
+        TicketHold overdue = TicketHold.builder().id(7L).eventId(1L).quantity(3)
+                .holder("fan").status(BookingStatus.PENDING)
+                .expiresAt(LocalDateTime.of(2026, 6, 1, 9, 59)).build();
+        when(holdRepository.findByStatus(BookingStatus.PENDING)).thenReturn(List.of(overdue));
+        when(holdRepository.expire(7L)).thenReturn(1);
+
+        holdService.reschedulePendingHolds();
+        holdService.expireDueHolds();
+
+        verify(ticketInventory).release(1L, 3);
+    }
+
+    @Test
+    void shouldConfirmPendingHold() {
+        TicketHold hold = hold(10L, BookingStatus.CONFIRMED);
+        when(holdRepository.confirm(10L, "fan", LocalDateTime.of(2026, 6, 1, 10, 0))).thenReturn(1);
+        when(holdRepository.findById(10L)).thenReturn(Optional.of(hold));
+
+        HoldResponse response = holdService.confirmHold(10L, "fan");
+
+        assertThat(response.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        verify(ticketInventory, never()).release(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldRejectConfirm_WhenHoldExpired() {
+        when(holdRepository.confirm(any(), any(), any())).thenReturn(0);
+        when(holdRepository.findById(10L)).thenReturn(Optional.of(hold(10L, BookingStatus.EXPIRED)));
+
+        assertThatThrownBy(() -> holdService.confirmHold(10L, "fan"))
+                .isInstanceOf(HoldNotPendingException.class)
+                .hasMessageContaining("EXPIRED");
+    }
+
+    @Test
+    void shouldHideHoldsOfOtherUsers() {
+        when(holdRepository.confirm(any(), any(), any())).thenReturn(0);
+        when(holdRepository.findById(10L)).thenReturn(Optional.of(hold(10L, BookingStatus.PENDING)));
+
+        assertThatThrownBy(() -> holdService.confirmHold(10L, "someone-else"))
+                .isInstanceOf(HoldNotFoundException.class);
+    }
+
+    @Test
+    void shouldCancelHoldAndReleaseTickets() {
+        when(holdRepository.cancel(10L, "fan")).thenReturn(1);
+        when(holdRepository.findById(10L)).thenReturn(Optional.of(hold(10L, BookingStatus.CANCELLED)));
+
+        HoldResponse response = holdService.cancelHold(10L, "fan");
+
+        assertThat(response.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        verify(ticketInventory).release(1L, 2);
+    }
+
+    @Test
+    void shouldNotReleaseTicketsTwice_WhenCancelledHoldIsCancelledAgain() {
+        when(holdRepository.cancel(10L, "fan")).thenReturn(0);
+        when(holdRepository.findById(10L)).thenReturn(Optional.of(hold(10L, BookingStatus.CANCELLED)));
+
+        assertThatThrownBy(() -> holdService.cancelHold(10L, "fan"))
+                .isInstanceOf(HoldNotPendingException.class);
+        verify(ticketInventory, never()).release(anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldReleaseCancelledTickets_OnlyAfterCommit() {
+        when(holdRepository.cancel(10L, "fan")).thenReturn(1);
+        when(holdRepository.findById(10L)).thenReturn(Optional.of(hold(10L, BookingStatus.CANCELLED)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            holdService.cancelHold(10L, "fan");
+            verify(ticketInventory, never()).release(anyLong(), anyInt());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(ticketInventory).release(1L, 2);
+    }
+
+    @Test
+    void shouldNotReleaseTickets_WhenCancelRollsBack() {
+        when(holdRepository.cancel(10L, "fan")).thenReturn(1);
+        when(holdRepository.findById(10L)).thenReturn(Optional.of(hold(10L, BookingStatus.CANCELLED)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            holdService.cancelHold(10L, "fan");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(ticketInventory, never()).release(anyLong(), anyInt());
+    }
+
+    private void createHold(Long holdId, Long eventId, int quantity) {
+        when(ticketInventory.reserve(eventId, quantity)).thenReturn(true);
+        when(holdRepository.save(any(TicketHold.class))).thenAnswer(invocation -> {
+            TicketHold hold = invocation.getArgument(0);
+            hold.setId(holdId);
+            return hold;
+        });
+        holdService.createHold(eventId, quantity, "fan");
+    }
+
+    private TicketHold hold(Long id, BookingStatus status) {
+        return TicketHold.builder()
+                .id(id)
+                .eventId(1L)
+                .quantity(2)
+                .holder("fan")
+                .status(status)
+                .expiresAt(LocalDateTime.of(2026, 6, 1, 10, 1))
+                .build();
+    }
+
+    /**
+     * A clock the test can move forward.
+     */
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
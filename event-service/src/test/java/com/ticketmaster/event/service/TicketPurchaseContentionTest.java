@@ -0,0 +1,220 @@
+package com.ticketmaster.event.service;
+
+import com.ticketmaster.common.enums.EventCategory;
+import com.ticketmaster.common.enums.EventStatus;
+import com.ticketmaster.event.config.JwtService;
+import com.ticketmaster.event.entity.Event;
+import com.ticketmaster.event.exception.TicketsSoldOutException;
+import com.ticketmaster.event.repository.EventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Multi-threaded contention test for the purchase path.
+ * <p>
+ * Many buyers race for the same event row. The guarded {@code UPDATE} must sell exactly the
+ * available tickets and never oversell. The same race is run against the previous
+ * read-modify-write entity save (with {@code @Version}) so the two approaches can be compared
+ * in purchases per second and optimistic locking conflicts.
+ * </p>
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:contentiondb",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class TicketPurchaseContentionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketPurchaseContentionTest.class);
+
+    private static final int TICKETS = 400;
+    private static final int BUYERS = 16;
+    private static final int ATTEMPTS_PER_BUYER = 40; // 640 attempts for 400 tickets
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    void guardedUpdateShouldNeverOversell() throws Exception {
+        Long eventId = createEvent(TICKETS);
+
+        RaceResult result = race(() -> {
+            try {
+                eventService.purchaseTickets(eventId, 1);
+                return true;
+            } catch (TicketsSoldOutException e) {
+                return false;
+            }
+        });
+
+        assertThat(result.successes).isEqualTo(TICKETS);
+        assertThat(result.failures).isEqualTo(BUYERS * ATTEMPTS_PER_BUYER - TICKETS);
+        assertThat(availableTickets(eventId)).isZero();
+        log.info("Guarded UPDATE: {} purchases in {} ms ({} purchases/s)",
+                result.successes, result.elapsedMillis(), result.purchasesPerSecond());
+    }
+
+    @Test
+    void guardedUpdateShouldSellMultiTicketOrdersWithoutOverselling() throws Exception {
+        Long eventId = createEvent(TICKETS + 1); // does not divide evenly by 3
+
+        RaceResult result = race(() -> {
+            try {
+                eventService.purchaseTickets(eventId, 3);
+                return true;
+            } catch (TicketsSoldOutException e) {
+                return false;
+            }
+        });
+
+        assertThat(result.successes).isEqualTo((TICKETS + 1) / 3);
+        assertThat(availableTickets(eventId)).isEqualTo((TICKETS + 1) % 3);
+    }
+
+    @Test
+    void shouldCompareGuardedUpdateWithEntitySave() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        AtomicInteger conflicts = new AtomicInteger();
+
+        Long entitySaveEventId = createEvent(TICKETS);
+        RaceResult entitySave = race(() -> {
+            // The previous approach: load the entity, check, decrement and save,
+            // retrying whenever @Version detects a concurrent write.
+            while (true) {
+                try {
+                    Boolean bought = tx.execute(status -> {
+                        Event event = eventRepository.findById(entitySaveEventId).orElseThrow();
+                        if (event.getAvailableTickets() < 1) {
+                            return false;
+                        }
+                        event.setAvailableTickets(event.getAvailableTickets() - 1);
+                        eventRepository.save(event);
+                        return true;
+                    });
+                    return Boolean.TRUE.equals(bought);
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                }
+            }
+        });
+
+        Long guardedEventId = createEvent(TICKETS);
+        RaceResult guarded = race(() -> {
+            try {
+                eventService.purchaseTickets(guardedEventId, 1);
+                return true;
+            } catch (TicketsSoldOutException e) {
+                return false;
+            }
+        });
+
+        assertThat(entitySave.successes).isEqualTo(TICKETS);
+        assertThat(guarded.successes).isEqualTo(TICKETS);
+        assertThat(availableTickets(entitySaveEventId)).isZero();
+        assertThat(availableTickets(guardedEventId)).isZero();
+
+        log.info("Entity save:    {} purchases/s, {} optimistic locking conflicts",
+                entitySave.purchasesPerSecond(), conflicts.get());
+        log.info("Guarded UPDATE: {} purchases/s, 0 optimistic locking conflicts",
+                guarded.purchasesPerSecond());
+    }
+
+    private RaceResult race(BooleanSupplier purchase) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < BUYERS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < ATTEMPTS_PER_BUYER; attempt++) {
+                        if (purchase.getAsBoolean()) {
+                            successes.incrementAndGet();
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            return new RaceResult(successes.get(), failures.get(), System.nanoTime() - startedAt);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Long createEvent(int tickets) {
+        return eventRepository.save(Event.builder()
+                .name("On-sale Concert")
+                .description("Contention test")
+                .date(LocalDateTime.now().plusDays(30))
+                .venueId(1L)
+                .performerId(1L)
+                .ticketPrice(100.0)
+                .totalTickets(tickets)
+                .availableTickets(tickets)
+                .status(EventStatus.UPCOMING)
+                .category(EventCategory.MUSIC)
+                .build()).getId();
+    }
+
+    private int availableTickets(Long eventId) {
+        return eventRepository.findById(eventId).orElseThrow().getAvailableTickets();
+    }
+
+    private record RaceResult(int successes, int failures, long elapsedNanos) {
+
+        long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+
+        long purchasesPerSecond() {
+            return successes * 1_000_000_000L / Math.max(1, elapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.ticketmaster.event.waitingroom;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueueTokenSignerTest {
+
+    private static final long EPOCH = 42L;
+    private static final long NOW = 1_780_000_000L;
+    private static final long EXPIRES = NOW + 900;
+
+    private final QueueTokenSigner signer = new QueueTokenSigner("test-secret");
+
+    @Test
+    void shouldVerifyOwnToken() {
+        String token = signer.sign(7L, 1234L, EPOCH, "fan", EXPIRES);
+
+        assertThat(token).hasSize(QueueTokenSigner.TOKEN_LENGTH);
+        assertThat(signer.verify(token, 7L, EPOCH, "fan", NOW)).isEqualTo(1234L);
+    }
+
+    @Test
+    void shouldRejectTokenForAnotherEventOrEpoch() {
+        String token = signer.sign(7L, 1234L, EPOCH, "fan", EXPIRES);
+
+        assertThat(signer.verify(token, 8L, EPOCH, "fan", NOW)).isEqualTo(-1);
+        assertThat(signer.verify(token, 7L, EPOCH + 1, "fan", NOW)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldRejectTokenOfAnotherUser() {
+        String token = signer.sign(7L, 1234L, EPOCH, "fan", EXPIRES);
+
+        assertThat(signer.verify(token, 7L, EPOCH, "fan2", NOW)).isEqualTo(-1);
+        assertThat(signer.verify(token, 7L, EPOCH, "fa", NOW)).isEqualTo(-1);
+        assertThat(signer.verify(token, 7L, EPOCH, null, NOW)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        String token = signer.sign(7L, 1234L, EPOCH, "fan", EXPIRES);
+
+        assertThat(signer.verify(token, 7L, EPOCH, "fan", EXPIRES)).isEqualTo(1234L);
+        assertThat(signer.verify(token, 7L, EPOCH, "fan", EXPIRES + 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldRejectTamperedOrMalformedTokens() {
+        String token = signer.sign(7L, 1234L, EPOCH, "fan", EXPIRES);
+        char[] tampered = token.toCharArray();
+        tampered[15] = tampered[15] == 'A' ? 'B' : 'A'; // inside the expiry
+
+        assertThat(signer.verify(new String(tampered), 7L, EPOCH, "fan", NOW)).isEqualTo(-1);
+        assertThat(signer.verify(token.substring(1), 7L, EPOCH, "fan", NOW)).isEqualTo(-1);
+        assertThat(signer.verify(token.replace(token.charAt(3), '='), 7L, EPOCH, "fan", NOW)).isEqualTo(-1);
+        assertThat(signer.verify(null, 7L, EPOCH, "fan", NOW)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldShareTokensBetweenNodesWithSameSecret() {
+        String token = signer.sign(7L, 99L, EPOCH, "fan", EXPIRES);
+
+        assertThat(new QueueTokenSigner("test-secret").verify(token, 7L, EPOCH, "fan", NOW)).isEqualTo(99L);
+        assertThat(new QueueTokenSigner("other-secret").verify(token, 7L, EPOCH, "fan", NOW)).isEqualTo(-1);
+        assertThat(new QueueTokenSigner("").verify(token, 7L, EPOCH, "fan", NOW)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldVerifyWithoutAllocating() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String token = signer.sign(7L, 1234L, EPOCH, "fan", EXPIRES);
+        long threadId = Thread.currentThread().getId();
+
+        long sum = 0;
+        for (int i = 0; i < 200_000; i++) { // warm up so the JIT compiles verify()
+            sum += signer.verify(token, 7L, EPOCH, "fan", NOW);
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1_000_000; i++) {
+            sum += signer.verify(token, 7L, EPOCH, "fan", NOW);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(sum).isPositive();
+        // A single allocation per call would be at least 16 MB here
+        assertThat(allocated).isLessThan(64 * 1024);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ticketmaster.event.waitingroom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomInterceptorTest {
+
+    @Mock
+    private WaitingRoomService waitingRoomService;
+
+    @InjectMocks
+    private WaitingRoomInterceptor interceptor;
+
+    @Test
+    void shouldCheckAdmissionForEventFromPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/events/5/purchase");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "5"));
+        request.addHeader(WaitingRoomInterceptor.TOKEN_HEADER, "token");
+        request.setUserPrincipal(new TestingAuthenticationToken("fan", null));
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+
+        verify(waitingRoomService).checkAdmission(5L, "token", "fan");
+    }
+
+    @Test
+    void shouldUseEventIdVariableForHolds() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/events/6/holds");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("eventId", "6"));
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        verify(waitingRoomService).checkAdmission(6L, null, null);
+    }
+
+    @Test
+    void shouldLeaveInvalidIdsToTheHandler() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/events/abc/purchase");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "abc"));
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+
+        verify(waitingRoomService, never()).checkAdmission(anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,177 @@
+package com.ticketmaster.event.waitingroom;
+
+import com.ticketmaster.event.dto.response.QueuePositionResponse;
+import com.ticketmaster.event.exception.EventNotFoundException;
+import com.ticketmaster.event.exception.InvalidQueueTokenException;
+import com.ticketmaster.event.exception.NotAdmittedException;
+import com.ticketmaster.event.exception.WaitingRoomNotFoundException;
+import com.ticketmaster.event.repository.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WaitingRoomServiceTest {
+
+    private static final long TOKEN_TTL_SECONDS = 900;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private MutableClock clock;
+    private WaitingRoomService waitingRoomService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-06-01T10:00:00Z"));
+        waitingRoomService = new WaitingRoomService(eventRepository, "", 100, 100, TOKEN_TTL_SECONDS, clock);
+    }
+
+    @Test
+    void shouldNotGateEventsWithoutRoom() {
+        assertThatCode(() -> waitingRoomService.checkAdmission(1L, null, "fan")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldNotOpenRoomForUnknownEvent() {
+        when(eventRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> waitingRoomService.openRoom(99L, null, null))
+                .isInstanceOf(EventNotFoundException.class);
+    }
+
+    @Test
+    void shouldAdmitBurstAndQueueTheRest() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        // One per second keeps the rest of the queue waiting for the length of the test
+        waitingRoomService.openRoom(1L, 1, 2);
+
+        QueuePositionResponse first = waitingRoomService.join(1L, "fan");
+        QueuePositionResponse second = waitingRoomService.join(1L, "fan");
+        QueuePositionResponse fifth = join(1L, 3);
+
+        assertThat(first.isAdmitted()).isTrue();
+        assertThatCode(() -> waitingRoomService.checkAdmission(1L, second.getToken(), "fan")).doesNotThrowAnyException();
+        assertThat(fifth.getPosition()).isEqualTo(5);
+        assertThat(fifth.isAdmitted()).isFalse();
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(1L, fifth.getToken(), "fan"))
+                .isInstanceOf(NotAdmittedException.class)
+                .satisfies(ex -> assertThat(((NotAdmittedException) ex).getRetryAfterSeconds()).isPositive());
+    }
+
+    @Test
+    void shouldRequireValidTokenWhileRoomIsOpen() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        waitingRoomService.openRoom(1L, null, null);
+
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(1L, null, "fan"))
+                .isInstanceOf(InvalidQueueTokenException.class);
+        assertThatThrownBy(() -> waitingRoomService.getPosition(1L, "not-a-token", "fan"))
+                .isInstanceOf(InvalidQueueTokenException.class);
+    }
+
+    @Test
+    void shouldInvalidateTokensWhenRoomIsReopened() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        waitingRoomService.openRoom(1L, null, null);
+        String token = waitingRoomService.join(1L, "fan").getToken();
+
+        waitingRoomService.openRoom(1L, null, null);
+
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(1L, token, "fan"))
+                .isInstanceOf(InvalidQueueTokenException.class);
+    }
+
+    @Test
+    void shouldRejectTokenOfAnotherUser() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        waitingRoomService.openRoom(1L, null, null);
+        String token = waitingRoomService.join(1L, "fan").getToken();
+
+        assertThatCode(() -> waitingRoomService.checkAdmission(1L, token, "fan")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(1L, token, "scalper"))
+                .isInstanceOf(InvalidQueueTokenException.class);
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(1L, token, null))
+                .isInstanceOf(InvalidQueueTokenException.class);
+        assertThatThrownBy(() -> waitingRoomService.getPosition(1L, token, "scalper"))
+                .isInstanceOf(InvalidQueueTokenException.class);
+    }
+
+    @Test
+    void shouldExpireTokensUnlessRenewedByPolling() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        waitingRoomService.openRoom(1L, null, null);
+        String joined = waitingRoomService.join(1L, "fan").getToken();
+
+        clock.advance((TOKEN_TTL_SECONDS - 1) * 1000);
+        String renewed = waitingRoomService.getPosition(1L, joined, "fan").getToken();
+        clock.advance(2000);
+
+        assertThatThrownBy(() -> waitingRoomService.checkAdmission(1L, joined, "fan"))
+                .isInstanceOf(InvalidQueueTokenException.class);
+        assertThatCode(() -> waitingRoomService.checkAdmission(1L, renewed, "fan")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldStopGatingOnceRoomIsClosed() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        waitingRoomService.openRoom(1L, null, null);
+
+        waitingRoomService.closeRoom(1L);
+
+        assertThatCode(() -> waitingRoomService.checkAdmission(1L, null, "fan")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> waitingRoomService.join(1L, "fan")).isInstanceOf(WaitingRoomNotFoundException.class);
+        assertThatThrownBy(() -> waitingRoomService.closeRoom(1L)).isInstanceOf(WaitingRoomNotFoundException.class);
+    }
+
+    private QueuePositionResponse join(Long eventId, int times) {
+        QueuePositionResponse last = null;
+        for (int i = 0; i < times; i++) {
+            last = waitingRoomService.join(eventId, "fan");
+        }
+        return last;
+    }
+
+    /**
+     * A clock the test can move forward.
+     */
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
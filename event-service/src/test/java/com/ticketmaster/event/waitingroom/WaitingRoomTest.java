@@ -0,0 +1,58 @@
+package com.ticketmaster.event.waitingroom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WaitingRoomTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long T0 = 5 * SECOND;
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> new WaitingRoom(1L, 0L, 0, 10, T0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new WaitingRoom(1L, 0L, 10, 0, T0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldAdmitBurstImmediately() {
+        WaitingRoom room = new WaitingRoom(1L, 0L, 10, 3, T0);
+
+        assertThat(room.isAdmitted(room.join(), T0)).isTrue();
+        assertThat(room.isAdmitted(room.join(), T0)).isTrue();
+        assertThat(room.isAdmitted(room.join(), T0)).isTrue();
+        assertThat(room.isAdmitted(room.join(), T0)).isFalse();
+    }
+
+    @Test
+    void shouldAdmitAtConfiguredRate() {
+        WaitingRoom room = new WaitingRoom(1L, 0L, 10, 1, T0);
+        for (int i = 0; i < 100; i++) {
+            room.join();
+        }
+
+        assertThat(room.isAdmitted(11, T0 + SECOND - 1)).isFalse();
+        assertThat(room.isAdmitted(11, T0 + SECOND)).isTrue();
+        assertThat(room.isAdmitted(12, T0 + SECOND)).isFalse();
+        assertThat(room.waitingAhead(51, T0 + SECOND)).isEqualTo(40);
+        assertThat(room.etaSeconds(51, T0 + SECOND)).isEqualTo(4);
+        assertThat(room.etaSeconds(5, T0 + SECOND)).isZero();
+    }
+
+    @Test
+    void shouldCapIdleTokensAtBurst() {
+        WaitingRoom room = new WaitingRoom(1L, 0L, 10, 5, T0);
+
+        // An hour with nobody waiting must not let the next 36,000 joiners straight in
+        long later = T0 + 3600 * SECOND;
+        room.isAdmitted(Long.MAX_VALUE, later);
+        for (int i = 0; i < 5; i++) {
+            assertThat(room.isAdmitted(room.join(), later)).isTrue();
+        }
+        assertThat(room.isAdmitted(room.join(), later)).isFalse();
+    }
+}
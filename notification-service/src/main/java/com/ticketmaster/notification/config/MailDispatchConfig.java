@@ -0,0 +1,99 @@
+package com.ticketmaster.notification.config;
+
+import com.ticketmaster.notification.dedup.DedupWindow;
+import com.ticketmaster.notification.journal.MappedJournal;
+import com.ticketmaster.notification.mail.MailDispatcher;
+import com.ticketmaster.notification.mail.SmtpTransportPool;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.AddressException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Wires the mail dispatch engine from {@code spring.mail.*} (SMTP server),
+ * {@code notification.mail.*} (queue, workers, retries), {@code notification.journal.*}
+ * (durable queue) and {@code notification.dedup.*} (idempotency keys) properties.
+ */
+@Configuration
+public class MailDispatchConfig {
+
+    @Bean
+    public Session mailSession(@Value("${spring.mail.username:}") String username,
+                               @Value("${notification.mail.starttls:false}") boolean startTls,
+                               @Value("${notification.mail.connect-timeout-ms:5000}") int connectTimeout,
+                               @Value("${notification.mail.read-timeout-ms:10000}") int readTimeout) {
+        Properties properties = new Properties();
+        properties.put("mail.transport.protocol", "smtp");
+        properties.put("mail.smtp.auth", String.valueOf(!username.isBlank()));
+        properties.put("mail.smtp.starttls.enable", String.valueOf(startTls));
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(connectTimeout));
+        properties.put("mail.smtp.timeout", String.valueOf(readTimeout));
+        properties.put("mail.smtp.writetimeout", String.valueOf(readTimeout));
+        return Session.getInstance(properties);
+    }
+
+    @Bean
+    public SmtpTransportPool smtpTransportPool(Session mailSession,
+                                               @Value("${spring.mail.host:localhost}") String host,
+                                               @Value("${spring.mail.port:25}") int port,
+                                               @Value("${spring.mail.username:}") String username,
+                                               @Value("${spring.mail.password:}") String password,
+                                               @Value("${notification.mail.workers:4}") int workers,
+                                               @Value("${notification.mail.max-messages-per-connection:100}") int maxMessagesPerConnection) {
+        return new SmtpTransportPool(mailSession, host, port,
+                username.isBlank() ? null : username, password.isBlank() ? null : password,
+                workers, maxMessagesPerConnection);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "notification.journal.enabled", havingValue = "true", matchIfMissing = true)
+    public MappedJournal mailJournal(@Value("${notification.journal.directory}") Path directory,
+                                     @Value("${notification.journal.segment-size-mb:16}") int segmentSizeMb,
+                                     @Value("${notification.journal.sync-interval-ms:1000}") long syncIntervalMillis) throws IOException {
+        return new MappedJournal(directory, segmentSizeMb * 1024 * 1024, syncIntervalMillis);
+    }
+
+    /**
+     * The dedup snapshot is kept in the journal directory, next to the queue it goes with.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "notification.dedup.enabled", havingValue = "true", matchIfMissing = true)
+    public DedupWindow dedupWindow(@Value("${notification.dedup.window-minutes:60}") long windowMinutes,
+                                   @Value("${notification.dedup.buckets:13}") int buckets,
+                                   @Value("${notification.dedup.keys-per-bucket:65536}") int keysPerBucket,
+                                   @Value("${notification.dedup.snapshot-interval-ms:5000}") long snapshotIntervalMillis,
+                                   @Value("${notification.journal.enabled:true}") boolean journalEnabled,
+                                   @Value("${notification.journal.directory}") Path journalDirectory) {
+        return new DedupWindow(Duration.ofMinutes(windowMinutes), buckets, keysPerBucket, Clock.systemUTC(),
+                journalEnabled ? journalDirectory.resolve("dedup.snapshot") : null, snapshotIntervalMillis);
+    }
+
+    @Bean
+    public MailDispatcher mailDispatcher(Session mailSession,
+                                         SmtpTransportPool smtpTransportPool,
+                                         ObjectProvider<MappedJournal> mailJournal,
+                                         ObjectProvider<DedupWindow> dedupWindow,
+                                         @Value("${notification.mail.from}") String from,
+                                         @Value("${notification.mail.workers:4}") int workers,
+                                         @Value("${notification.mail.queue-capacity:100000}") int queueCapacity,
+                                         @Value("${notification.mail.batch-size:50}") int batchSize,
+                                         @Value("${notification.mail.max-attempts:5}") int maxAttempts,
+                                         @Value("${notification.mail.initial-backoff-ms:1000}") long initialBackoffMillis,
+                                         @Value("${notification.mail.max-backoff-ms:60000}") long maxBackoffMillis,
+                                         @Value("${notification.mail.retry-after-seconds:5}") long retryAfterSeconds,
+                                         MeterRegistry meterRegistry) throws AddressException {
+        return new MailDispatcher(mailSession, smtpTransportPool, mailJournal.getIfAvailable(),
+                dedupWindow.getIfAvailable(), from, workers, queueCapacity, batchSize,
+                maxAttempts, initialBackoffMillis, maxBackoffMillis, retryAfterSeconds, meterRegistry);
+    }
+}
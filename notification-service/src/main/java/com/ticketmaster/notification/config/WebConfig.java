@@ -0,0 +1,32 @@
+package com.ticketmaster.notification.config;
+
+import com.ticketmaster.notification.security.ServiceKeyInterceptor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration for Notification Service.
+ * Puts the service key check in front of the whole notification API.
+ */
+@Slf4j
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final String serviceKey;
+
+    public WebConfig(@Value("${internal.service-key:}") String serviceKey) {
+        this.serviceKey = serviceKey;
+        if (serviceKey.isBlank()) {
+            log.warn("internal.service-key is not set: every call to /api/v1/notifications is rejected");
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServiceKeyInterceptor(serviceKey))
+                .addPathPatterns("/api/v1/notifications/**");
+    }
+}
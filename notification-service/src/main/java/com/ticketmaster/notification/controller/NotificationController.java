@@ -0,0 +1,120 @@
+package com.ticketmaster.notification.controller;
+
+import com.ticketmaster.notification.dto.request.MailDispatchRequest;
+import com.ticketmaster.notification.dto.request.TemplateRequest;
+import com.ticketmaster.notification.dto.request.TemplatedMailRequest;
+import com.ticketmaster.notification.dto.response.MailDispatchResponse;
+import com.ticketmaster.notification.dto.response.TemplateResponse;
+import com.ticketmaster.notification.mail.MailDispatchStats;
+import com.ticketmaster.notification.mail.MailDispatcher;
+import com.ticketmaster.notification.mail.OutgoingMail;
+import com.ticketmaster.notification.template.NotificationTemplate;
+import com.ticketmaster.notification.template.TemplateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h1>Notification Controller</h1>
+ * <p>
+ * Accept-and-queue API for emails: a request returns {@code 202 Accepted} as soon as its
+ * messages are queued, and {@link MailDispatcher} sends them in the background. Only the other
+ * services may call it: every request needs the shared service key
+ * (see {@link com.ticketmaster.notification.security.ServiceKeyInterceptor}).
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/v1/notifications")
+@RequiredArgsConstructor
+public class NotificationController {
+
+    private final MailDispatcher mailDispatcher;
+    private final TemplateService templateService;
+
+    /**
+     * Queues one message per recipient, except those already sent with the same idempotency key.
+     *
+     * @param request The recipients, subject and body.
+     * @return 202 Accepted with the number of messages queued and of duplicates dropped.
+     * @throws com.ticketmaster.notification.exception.MailQueueFullException If the queue has no room (429).
+     */
+    @PostMapping(value = "/mail", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MailDispatchResponse> dispatchMail(@Valid @RequestBody MailDispatchRequest request) {
+        List<OutgoingMail> mails = request.getRecipients().stream()
+                .map(recipient -> new OutgoingMail(recipient, request.getSubject(), request.getBody(),
+                        request.getIdempotencyKey()))
+                .toList();
+        return accepted(mails, mailDispatcher.submit(mails));
+    }
+
+    /**
+     * Renders a stored template once per recipient and queues the results. The template is looked
+     * up and compiled once for the whole request.
+     *
+     * @param request The template, its optional version, and each recipient's values.
+     * @return 202 Accepted with the number of messages queued and of duplicates dropped.
+     * @throws com.ticketmaster.notification.exception.TemplateNotFoundException If the template does not exist (404).
+     * @throws com.ticketmaster.notification.exception.TemplateRenderException If a recipient lacks a value (400).
+     */
+    @PostMapping(value = "/mail/templated", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MailDispatchResponse> dispatchTemplatedMail(@Valid @RequestBody TemplatedMailRequest request) {
+        NotificationTemplate template = templateService.get(request.getTemplateId(), request.getVersion());
+        List<OutgoingMail> mails = new ArrayList<>(request.getRecipients().size());
+        for (TemplatedMailRequest.Recipient recipient : request.getRecipients()) {
+            Map<String, String> values = recipient.getVariables() != null ? recipient.getVariables() : Map.of();
+            OutgoingMail mail = templateService.render(template, recipient.getEmail(), values);
+            mails.add(request.getIdempotencyKey() != null
+                    ? new OutgoingMail(mail.to(), mail.subject(), mail.body(), request.getIdempotencyKey())
+                    : mail);
+        }
+        return accepted(mails, mailDispatcher.submit(mails));
+    }
+
+    /**
+     * Publishes a new version of a template.
+     *
+     * @param id      The template ID.
+     * @param request The subject and body, with {@code {{name}}} placeholders.
+     * @return 201 Created with the new version and its placeholders.
+     * @throws com.ticketmaster.notification.exception.TemplateRenderException If the template is malformed (400).
+     */
+    @PutMapping(value = "/templates/{id}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TemplateResponse> publishTemplate(@PathVariable String id,
+                                                            @Valid @RequestBody TemplateRequest request) {
+        NotificationTemplate template = templateService.publish(id, request.getSubject(), request.getBody());
+        return ResponseEntity.status(HttpStatus.CREATED).body(TemplateResponse.builder()
+                .id(template.id())
+                .version(template.version())
+                .variables(template.variables())
+                .build());
+    }
+
+    /**
+     * @return Queue depth, totals and messages sent per second.
+     */
+    @GetMapping(value = "/mail/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MailDispatchStats> mailStats() {
+        return ResponseEntity.ok(mailDispatcher.stats());
+    }
+
+    private ResponseEntity<MailDispatchResponse> accepted(List<OutgoingMail> mails, int queued) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(MailDispatchResponse.builder()
+                .accepted(queued)
+                .duplicates(mails.size() - queued)
+                .pending(mailDispatcher.pending())
+                .build());
+    }
+}
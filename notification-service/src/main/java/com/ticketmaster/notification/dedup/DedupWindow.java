@@ -0,0 +1,323 @@
+package com.ticketmaster.notification.dedup;
+
+import com.ticketmaster.common.util.SeededHash;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>Dedup Window</h1>
+ * <p>
+ * Remembers idempotency keys for a sliding time window in a fixed amount of memory, so a message
+ * submitted again by a retrying producer can be dropped.
+ * </p>
+ * <h2>Structure:</h2>
+ * <ul>
+ * <li>The window is cut into {@code buckets - 1} slots. Each bucket is an open-addressing hash set
+ * of 64-bit key hashes (linear probing, at most half full) holding the keys seen during one slot.
+ * When the clock enters a new slot, the oldest bucket is cleared and reused, so a key is remembered
+ * for at least {@code window} and at most one slot longer.</li>
+ * <li>A key is stored as its seeded 64-bit hash, never as a string: checking and marking are a
+ * few array probes per live bucket, with no allocation. Two different keys share a hash with odds
+ * of about one in 2<sup>64</sup> per pair.</li>
+ * <li>A bucket takes at most {@code keysPerBucket} keys. Keys beyond that in one slot are
+ * accepted but not remembered, and counted in {@link #overflowed()}.</li>
+ * </ul>
+ * <h2>Persistence:</h2>
+ * <p>
+ * With a snapshot file, the whole table is written to it every {@code snapshotIntervalMillis} (if
+ * it changed) and on {@link #close()}, and read back when the next instance opens it. Buckets are
+ * numbered by wall-clock slot, so those that went out of the window while the node was down are
+ * ignored. Keys marked after the last snapshot are lost by a crash; the dispatcher marks again the
+ * keys of the messages it recovers from its journal, so only keys of messages already sent are at
+ * risk.
+ * </p>
+ * <p>
+ * Memory is {@code buckets * 2 * keysPerBucket} longs (rounded up to a power of two per bucket),
+ * twice that with a snapshot file: e.g. 13 x 131072 x 8 B = 13 MB for 65 536 keys per slot.
+ * </p>
+ */
+@Slf4j
+public class DedupWindow implements AutoCloseable {
+
+    private static final int MAGIC = 0x44445550;
+    private static final int FORMAT = 1;
+    private static final long EMPTY = 0;
+
+    private final long slotMillis;
+    private final int buckets;
+    private final int keysPerBucket;
+    private final int capacity;
+    private final int mask;
+    private final long[] table;
+    private final long[] slots;
+    private final int[] sizes;
+    private final Clock clock;
+    private final Path snapshotFile;
+    private final ScheduledExecutorService snapshotter;
+
+    private long seed;
+    private long overflowed;
+    private boolean dirty;
+    private long[] snapshotCopy;
+
+    /**
+     * @param window                 How long a key is remembered at least.
+     * @param buckets                Buckets in the ring (at least 2); the window slides in {@code buckets - 1} steps.
+     * @param keysPerBucket          Keys remembered per slot at most.
+     * @param clock                  The time source.
+     * @param snapshotFile           Where the table is saved and restored from, or {@code null} to keep it in memory only.
+     * @param snapshotIntervalMillis How often to save it (0 = only on close).
+     */
+    public DedupWindow(Duration window, int buckets, int keysPerBucket, Clock clock,
+                       Path snapshotFile, long snapshotIntervalMillis) {
+        if (buckets < 2 || keysPerBucket < 1 || window.toMillis() < buckets - 1) {
+            throw new IllegalArgumentException("Window, buckets (at least 2) and keys per bucket must be positive");
+        }
+        this.slotMillis = window.toMillis() / (buckets - 1);
+        this.buckets = buckets;
+        this.keysPerBucket = keysPerBucket;
+        // The smallest power of two with room for twice the keys: probe runs stay short
+        this.capacity = Integer.highestOneBit(2 * keysPerBucket - 1) << 1;
+        this.mask = capacity - 1;
+        this.table = new long[buckets * capacity];
+        this.slots = new long[buckets];
+        Arrays.fill(slots, Long.MIN_VALUE);
+        this.sizes = new int[buckets];
+        this.clock = clock;
+        this.snapshotFile = snapshotFile;
+        this.seed = new SecureRandom().nextLong();
+
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            restore();
+        }
+        if (snapshotFile != null && snapshotIntervalMillis > 0) {
+            snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dedup-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotter.scheduleWithFixedDelay(this::snapshot, snapshotIntervalMillis, snapshotIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            snapshotter = null;
+        }
+    }
+
+    /**
+     * Marks {@code key} as seen for {@code scope} (e.g. the recipient), unless it already is.
+     *
+     * @return {@code true} if it was not seen within the window (the message is new).
+     */
+    public synchronized boolean markIfAbsent(String key, String scope) {
+        long hash = hash(key, scope);
+        long now = currentSlot();
+        int current = bucket(now);
+        for (int i = 0; i < buckets; i++) {
+            if (isLive(i, now) && indexOf(i, hash) >= 0) {
+                return false;
+            }
+        }
+        if (sizes[current] >= keysPerBucket) {
+            overflowed++;
+            return true;
+        }
+        insert(current, hash);
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Forgets a key marked by {@link #markIfAbsent}, e.g. because its message was not accepted
+     * after all.
+     */
+    public synchronized void unmark(String key, String scope) {
+        long hash = hash(key, scope);
+        long now = currentSlot();
+        for (int i = 0; i < buckets; i++) {
+            if (isLive(i, now)) {
+                int index = indexOf(i, hash);
+                if (index >= 0) {
+                    delete(i, index);
+                    dirty = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Keys accepted without being remembered because their bucket was full.
+     */
+    public synchronized long overflowed() {
+        return overflowed;
+    }
+
+    /**
+     * Saves the table to the snapshot file if it changed since the last save. The table is copied
+     * under the lock and written outside it, so marking does not wait for the disk.
+     */
+    public void snapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        long[] slotsCopy;
+        int[] sizesCopy;
+        long seedCopy;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            if (snapshotCopy == null) {
+                snapshotCopy = new long[table.length];
+            }
+            System.arraycopy(table, 0, snapshotCopy, 0, table.length);
+            slotsCopy = slots.clone();
+            sizesCopy = sizes.clone();
+            seedCopy = seed;
+            dirty = false;
+        }
+        Path temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(slotMillis);
+                out.writeInt(buckets);
+                out.writeInt(capacity);
+                out.writeLong(seedCopy);
+                for (int i = 0; i < buckets; i++) {
+                    out.writeLong(slotsCopy[i]);
+                    out.writeInt(sizesCopy[i]);
+                }
+                for (long hash : snapshotCopy) {
+                    out.writeLong(hash);
+                }
+            }
+            Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.warn("Could not save the dedup snapshot to {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+        snapshot();
+    }
+
+    private void restore() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT || in.readLong() != slotMillis
+                    || in.readInt() != buckets || in.readInt() != capacity) {
+                log.warn("Ignoring dedup snapshot {}: written with another window or size", snapshotFile);
+                return;
+            }
+            long savedSeed = in.readLong();
+            long[] savedSlots = new long[buckets];
+            int[] savedSizes = new int[buckets];
+            for (int i = 0; i < buckets; i++) {
+                savedSlots[i] = in.readLong();
+                savedSizes[i] = in.readInt();
+            }
+            for (int i = 0; i < table.length; i++) {
+                table[i] = in.readLong();
+            }
+            seed = savedSeed;
+            System.arraycopy(savedSlots, 0, slots, 0, buckets);
+            System.arraycopy(savedSizes, 0, sizes, 0, buckets);
+            log.info("Restored {} idempotency keys from {}", Arrays.stream(sizes).asLongStream().sum(), snapshotFile);
+        } catch (IOException e) {
+            Arrays.fill(table, EMPTY);
+            log.warn("Ignoring unreadable dedup snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * The bucket for slot {@code now}, cleared first if it still holds an older slot.
+     */
+    private int bucket(long now) {
+        int bucket = (int) (now % buckets);
+        if (slots[bucket] != now) {
+            Arrays.fill(table, bucket * capacity, (bucket + 1) * capacity, EMPTY);
+            sizes[bucket] = 0;
+            slots[bucket] = now;
+        }
+        return bucket;
+    }
+
+    private boolean isLive(int bucket, long now) {
+        return slots[bucket] > now - buckets && slots[bucket] <= now;
+    }
+
+    private int indexOf(int bucket, long hash) {
+        int base = bucket * capacity;
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+            long stored = table[base + i];
+            if (stored == hash) {
+                return i;
+            }
+            if (stored == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    private void insert(int bucket, long hash) {
+        int base = bucket * capacity;
+        int i = (int) hash & mask;
+        while (table[base + i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table[base + i] = hash;
+        sizes[bucket]++;
+    }
+
+    /**
+     * Removes the entry at {@code index}, moving later entries of the probe run back into the gap
+     * so lookups never stop early at it.
+     */
+    private void delete(int bucket, int index) {
+        int base = bucket * capacity;
+        int gap = index;
+        for (int i = (gap + 1) & mask; table[base + i] != EMPTY; i = (i + 1) & mask) {
+            int home = (int) table[base + i] & mask;
+            // The entry may move into the gap unless its home lies cyclically in (gap, i]
+            boolean homeAfterGap = gap <= i ? home > gap && home <= i : home > gap || home <= i;
+            if (!homeAfterGap) {
+                table[base + gap] = table[base + i];
+                gap = i;
+            }
+        }
+        table[base + gap] = EMPTY;
+        sizes[bucket]--;
+    }
+
+    private long currentSlot() {
+        return clock.millis() / slotMillis;
+    }
+
+    private long hash(String key, String scope) {
+        long hash = SeededHash.hash(key, SeededHash.hash(scope, seed));
+        return hash == EMPTY ? 1 : hash;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ticketmaster.notification.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One email (same subject and body) for a list of recipients, e.g. every holder of a cancelled
+ * event. Larger audiences are sent in several requests.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailDispatchRequest {
+
+    @NotEmpty(message = "At least one recipient is required")
+    @Size(max = 10000, message = "At most 10000 recipients per request")
+    private List<@NotBlank @Email(message = "Recipient must be a valid email address") String> recipients;
+
+    @NotBlank(message = "Subject is required")
+    @Size(max = 255, message = "Subject cannot exceed 255 characters")
+    private String subject;
+
+    @NotBlank(message = "Body is required")
+    @Size(max = 100000, message = "Body cannot exceed 100000 characters")
+    private String body;
+
+    /**
+     * Optional. Sending the request again with the same key within the dedup window sends nothing
+     * new to the recipients that already got it.
+     */
+    @Size(max = 255, message = "Idempotency key cannot exceed 255 characters")
+    private String idempotencyKey;
+}
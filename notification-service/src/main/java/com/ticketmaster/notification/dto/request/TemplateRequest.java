@@ -0,0 +1,26 @@
+package com.ticketmaster.notification.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A new version of an email template. Placeholders are written {@code {{name}}}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateRequest {
+
+    @NotBlank(message = "Subject is required")
+    @Size(max = 255, message = "Subject cannot exceed 255 characters")
+    private String subject;
+
+    @NotBlank(message = "Body is required")
+    @Size(max = 100000, message = "Body cannot exceed 100000 characters")
+    private String body;
+}
@@ -0,0 +1,55 @@
+package com.ticketmaster.notification.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A templated blast: one personalised message per recipient, rendered from a stored template.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplatedMailRequest {
+
+    @NotBlank(message = "Template ID is required")
+    private String templateId;
+
+    /** The template version; the latest if omitted. */
+    private Integer version;
+
+    /**
+     * Optional. Sending the request again with the same key within the dedup window sends nothing
+     * new to the recipients that already got it.
+     */
+    @Size(max = 255, message = "Idempotency key cannot exceed 255 characters")
+    private String idempotencyKey;
+
+    @NotEmpty(message = "At least one recipient is required")
+    @Size(max = 10000, message = "At most 10000 recipients per request")
+    private List<@Valid Recipient> recipients;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Recipient {
+
+        @NotBlank(message = "Email is required")
+        @Email(message = "Email must be a valid email address")
+        private String email;
+
+        /** Values for the template's placeholders. */
+        private Map<String, String> variables;
+    }
+}
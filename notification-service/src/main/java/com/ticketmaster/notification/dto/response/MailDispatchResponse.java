@@ -0,0 +1,25 @@
+package com.ticketmaster.notification.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Confirms a dispatch request was queued; the messages are sent in the background.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailDispatchResponse {
+
+    /** Messages queued by this request (one per recipient). */
+    private int accepted;
+
+    /** Messages dropped because the same idempotency key was already used for their recipient. */
+    private int duplicates;
+
+    /** Messages waiting to be sent, including these. */
+    private int pending;
+}
@@ -0,0 +1,24 @@
+package com.ticketmaster.notification.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * A stored template version and the placeholders its recipients must fill.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateResponse {
+
+    private String id;
+
+    private int version;
+
+    private Set<String> variables;
+}
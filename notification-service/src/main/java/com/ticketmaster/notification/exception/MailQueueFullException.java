@@ -0,0 +1,17 @@
+package com.ticketmaster.notification.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when the mail queue has no room for a dispatch request
+ */
+@Getter
+public class MailQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public MailQueueFullException(long retryAfterSeconds) {
+        super("The mail queue is full, please try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ticketmaster.notification.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a call to the notification API does not carry a valid service key
+ */
+@Getter
+public class ServiceKeyRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public ServiceKeyRejectedException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
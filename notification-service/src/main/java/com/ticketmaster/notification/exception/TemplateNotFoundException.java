@@ -0,0 +1,13 @@
+package com.ticketmaster.notification.exception;
+
+/**
+ * Exception thrown when a template (or the requested version of it) does not exist
+ */
+public class TemplateNotFoundException extends RuntimeException {
+
+    public TemplateNotFoundException(String id, Integer version) {
+        super(version == null
+                ? "Template not found: " + id
+                : "Template not found: " + id + " version " + version);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ticketmaster.notification.exception;
+
+/**
+ * Exception thrown when a template cannot be compiled or a recipient cannot be rendered
+ */
+public class TemplateRenderException extends RuntimeException {
+
+    public TemplateRenderException(String message) {
+        super(message);
+    }
+}
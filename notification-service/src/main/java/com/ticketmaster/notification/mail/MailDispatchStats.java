@@ -0,0 +1,13 @@
+package com.ticketmaster.notification.mail;
+
+/**
+ * A snapshot of {@link MailDispatcher}'s counters.
+ *
+ * @param pending           Messages accepted and not yet sent or dropped.
+ * @param sent              Messages sent since startup.
+ * @param retried           Failed attempts that were scheduled for a retry.
+ * @param failed            Messages dropped after a permanent error or their last attempt.
+ * @param messagesPerSecond Messages sent per second over the last few seconds.
+ */
+public record MailDispatchStats(int pending, long sent, long retried, long failed, double messagesPerSecond) {
+}
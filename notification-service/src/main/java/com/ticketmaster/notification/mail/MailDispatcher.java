@@ -0,0 +1,421 @@
+package com.ticketmaster.notification.mail;
+
+import com.ticketmaster.notification.dedup.DedupWindow;
+import com.ticketmaster.notification.exception.MailQueueFullException;
+import com.ticketmaster.notification.journal.MappedJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h1>Mail Dispatcher</h1>
+ * <p>
+ * Accepts emails into a bounded in-memory queue and sends them in the background, so a caller
+ * (e.g. an event cancellation mailing every ticket holder) returns as soon as the mail is queued.
+ * </p>
+ * <h2>How it works:</h2>
+ * <ol>
+ * <li>{@link #submit} reserves room for the whole request or rejects it with
+ * {@link MailQueueFullException} (429). At most {@code queueCapacity} messages are held, counting
+ * those waiting for a retry.</li>
+ * <li>Each of the {@code workers} threads takes up to {@code batchSize} queued messages, borrows a
+ * connection from the {@link SmtpTransportPool} and sends the whole batch over it.</li>
+ * <li>A message that fails with a temporary error (4xx reply, lost connection) is queued again
+ * after an exponential backoff: {@code initialBackoffMillis}, doubled per attempt, capped at
+ * {@code maxBackoffMillis}. After {@code maxAttempts}, or on a permanent error (5xx reply,
+ * malformed address), it is dropped and counted as failed.</li>
+ * </ol>
+ * <h2>Duplicates:</h2>
+ * <p>
+ * With a {@link DedupWindow}, a message with an idempotency key is dropped if the same key was
+ * accepted for the same recipient within the window. Keys are marked before the capacity check and
+ * unmarked if the request is rejected, so two concurrent retries of one request cannot both get
+ * through, and a retry after a 429 is not mistaken for a duplicate.
+ * </p>
+ * <h2>Durability:</h2>
+ * <p>
+ * With a {@link MappedJournal}, every accepted message is appended to it before {@link #submit}
+ * returns, and acknowledged once it is sent or dropped. Messages still unacknowledged when the node
+ * stops (queued, in flight, waiting for a retry) are queued again when it starts. A message that was
+ * sent just before a crash, but not yet acknowledged, is sent twice. Without a journal the queue
+ * only lives in memory.
+ * </p>
+ * <h2>Reporting:</h2>
+ * <p>
+ * Counter {@code notification.mail.dispatched} (tag {@code outcome}: sent, retried, failed), gauge
+ * {@code notification.mail.queue}, and {@link #stats()}, which includes messages sent per second
+ * over the last {@value #RATE_WINDOW_SECONDS} seconds.
+ * </p>
+ */
+@Slf4j
+public class MailDispatcher implements AutoCloseable {
+
+    static final int RATE_WINDOW_SECONDS = 10;
+    private static final long NOT_JOURNALED = -1;
+
+    private final Session session;
+    private final SmtpTransportPool transports;
+    private final MappedJournal journal;
+    private final DedupWindow dedup;
+    private final InternetAddress from;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long retryAfterSeconds;
+
+    private final BlockingQueue<Queued> queue = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean running = true;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+    private final Counter duplicateCounter;
+
+    /** Total sent at each of the last seconds, written by the scheduler thread only. */
+    private final long[] sentPerSecond = new long[RATE_WINDOW_SECONDS + 1];
+    private int rateTicks;
+    private volatile double messagesPerSecond;
+
+    /**
+     * @param journal Where accepted messages are kept until sent, or {@code null} to keep them in memory only.
+     * @param dedup   The idempotency keys seen recently, or {@code null} to accept every message.
+     */
+    public MailDispatcher(Session session, SmtpTransportPool transports, MappedJournal journal, DedupWindow dedup,
+                          String from,
+                          int workers, int queueCapacity, int batchSize, int maxAttempts,
+                          long initialBackoffMillis, long maxBackoffMillis, long retryAfterSeconds,
+                          MeterRegistry meterRegistry) throws AddressException {
+        this.session = session;
+        this.transports = transports;
+        this.journal = journal;
+        this.dedup = dedup;
+        this.from = new InternetAddress(from, true);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        List<Queued> recovered = recover(journal);
+        if (dedup != null) {
+            // Keys marked after the last dedup snapshot are lost with a crash: mark those of unsent messages again
+            recovered.forEach(queued -> markIfNew(queued.mail()));
+        }
+        queue.addAll(recovered);
+        // Recovered messages are queued even beyond the capacity: new ones wait until they are sent
+        this.capacity = new Semaphore(queueCapacity - recovered.size());
+
+        this.sentCounter = Counter.builder("notification.mail.dispatched").tag("outcome", "sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.mail.dispatched").tag("outcome", "failed").register(meterRegistry);
+        this.retriedCounter = Counter.builder("notification.mail.dispatched").tag("outcome", "retried").register(meterRegistry);
+        this.duplicateCounter = Counter.builder("notification.mail.duplicates")
+                .description("Messages dropped because their idempotency key was already used for the recipient")
+                .register(meterRegistry);
+        Gauge.builder("notification.mail.queue", this, MailDispatcher::pending)
+                .description("Messages accepted and not yet sent or dropped")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("mail-retry", new AtomicInteger()));
+        this.scheduler.scheduleAtFixedRate(this::sampleRate, 1, 1, TimeUnit.SECONDS);
+        AtomicInteger workerNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers, daemon("mail-dispatch", workerNumber));
+        for (int i = 0; i < workers; i++) {
+            this.workers.execute(this::work);
+        }
+    }
+
+    /**
+     * Queues the messages that are not duplicates, all or none.
+     *
+     * @return The number of messages queued; the others were duplicates.
+     * @throws MailQueueFullException If the queue has no room for all of them.
+     */
+    public int submit(List<OutgoingMail> mails) {
+        if (!running) {
+            throw new MailQueueFullException(retryAfterSeconds);
+        }
+        List<OutgoingMail> fresh = dropDuplicates(mails);
+        if (!capacity.tryAcquire(fresh.size())) {
+            unmark(fresh);
+            throw new MailQueueFullException(retryAfterSeconds);
+        }
+        List<Queued> accepted = new ArrayList<>(fresh.size());
+        try {
+            for (OutgoingMail mail : fresh) {
+                accepted.add(new Queued(mail, journal != null ? journal.append(mail.toBytes()) : NOT_JOURNALED));
+            }
+        } catch (RuntimeException e) {
+            // All or none: forget what was journaled
+            accepted.forEach(this::acknowledge);
+            capacity.release(fresh.size());
+            unmark(fresh);
+            throw e;
+        }
+        queue.addAll(accepted);
+        return fresh.size();
+    }
+
+    /**
+     * @return Messages accepted and not yet sent or dropped (queued, in flight or awaiting a retry).
+     */
+    public int pending() {
+        return queueCapacity - capacity.availablePermits();
+    }
+
+    public MailDispatchStats stats() {
+        return new MailDispatchStats(pending(), sent.sum(), retried.sum(), failed.sum(), messagesPerSecond);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        workers.shutdownNow();
+        scheduler.shutdownNow();
+        try {
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        transports.close();
+        if (!queue.isEmpty()) {
+            log.warn("Stopped with {} messages not sent ({})", queue.size(),
+                    journal != null ? "kept in the journal" : "lost");
+        }
+    }
+
+    private void work() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            sendBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Sends the batch over one pooled connection, replacing it if it breaks. A failure only fails
+     * its own message, so the worker keeps going.
+     */
+    private void sendBatch(List<Queued> batch) {
+        SmtpTransportPool.PooledTransport transport = null;
+        for (Queued mail : batch) {
+            try {
+                MimeMessage message = toMessage(mail.mail());
+                if (transport == null) {
+                    transport = transports.borrow();
+                }
+                transport.send(message);
+                done(mail, true);
+            } catch (MessagingException e) {
+                if (transport != null && !transport.isConnected()) {
+                    transports.discard(transport);
+                    transport = null;
+                }
+                attemptFailed(mail, e);
+            } catch (RuntimeException e) {
+                // e.g. IllegalStateException("Not connected"): the connection is in an unknown state
+                if (transport != null) {
+                    transports.discard(transport);
+                    transport = null;
+                }
+                attemptFailed(mail, e);
+            }
+        }
+        if (transport != null) {
+            transports.release(transport);
+        }
+    }
+
+    private MimeMessage toMessage(OutgoingMail mail) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(from);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(mail.to(), true));
+        message.setSubject(mail.subject(), StandardCharsets.UTF_8.name());
+        message.setText(mail.body(), StandardCharsets.UTF_8.name());
+        message.setSentDate(new Date());
+        message.saveChanges();
+        return message;
+    }
+
+    private void attemptFailed(Queued mail, Exception e) {
+        if (!running) {
+            // Stopping: leave it in the journal for the next start
+            return;
+        }
+        Queued next = new Queued(mail.mail().nextAttempt(), mail.journalOffset());
+        int attempts = next.mail().attempt();
+        if ((e instanceof MessagingException m && isPermanent(m)) || attempts >= maxAttempts) {
+            log.warn("Giving up on mail to {} after {} attempt(s): {}", mail.mail().to(), attempts, e.getMessage());
+            done(mail, false);
+            return;
+        }
+        retried.increment();
+        retriedCounter.increment();
+        scheduler.schedule(() -> queue.add(next), backoffMillis(attempts), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param attempt The number of attempts made so far (1 after the first failure).
+     */
+    long backoffMillis(int attempt) {
+        return Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+    }
+
+    private void done(Queued mail, boolean delivered) {
+        if (delivered) {
+            sent.increment();
+            sentCounter.increment();
+        } else {
+            failed.increment();
+            failedCounter.increment();
+        }
+        try {
+            acknowledge(mail);
+        } catch (RuntimeException e) {
+            // Not retried: it would be sent twice. The journal resends it after a restart at worst.
+            log.warn("Could not acknowledge mail to {} in the journal: {}", mail.mail().to(), e.getMessage());
+        }
+        capacity.release();
+    }
+
+    private void acknowledge(Queued mail) {
+        if (journal != null && mail.journalOffset() != NOT_JOURNALED) {
+            journal.ack(mail.journalOffset());
+        }
+    }
+
+    /**
+     * Marks the keys of the messages, and returns those that were new. Copies the list only once
+     * a duplicate turns up.
+     */
+    private List<OutgoingMail> dropDuplicates(List<OutgoingMail> mails) {
+        if (dedup == null) {
+            return mails;
+        }
+        List<OutgoingMail> fresh = null;
+        for (int i = 0; i < mails.size(); i++) {
+            OutgoingMail mail = mails.get(i);
+            if (markIfNew(mail)) {
+                if (fresh != null) {
+                    fresh.add(mail);
+                }
+            } else {
+                duplicateCounter.increment();
+                if (fresh == null) {
+                    fresh = new ArrayList<>(mails.subList(0, i));
+                }
+            }
+        }
+        return fresh != null ? fresh : mails;
+    }
+
+    private boolean markIfNew(OutgoingMail mail) {
+        return mail.idempotencyKey() == null || dedup.markIfAbsent(mail.idempotencyKey(), mail.to());
+    }
+
+    private void unmark(List<OutgoingMail> mails) {
+        if (dedup == null) {
+            return;
+        }
+        for (OutgoingMail mail : mails) {
+            if (mail.idempotencyKey() != null) {
+                dedup.unmark(mail.idempotencyKey(), mail.to());
+            }
+        }
+    }
+
+    private static List<Queued> recover(MappedJournal journal) {
+        if (journal == null) {
+            return List.of();
+        }
+        List<Queued> recovered = journal.recover().stream()
+                .map(entry -> new Queued(OutgoingMail.fromBytes(entry.payload()), entry.offset()))
+                .toList();
+        if (!recovered.isEmpty()) {
+            log.info("Requeued {} messages from the journal", recovered.size());
+        }
+        return recovered;
+    }
+
+    /**
+     * 5xx replies and malformed addresses will fail the same way again; anything else may not.
+     */
+    private static boolean isPermanent(MessagingException e) {
+        if (e instanceof AddressException) {
+            return true;
+        }
+        for (Exception current = e; current != null;
+             current = current instanceof MessagingException m ? m.getNextException() : null) {
+            if (current instanceof SMTPAddressFailedException failed && failed.getReturnCode() >= 500) {
+                return true;
+            }
+            if (current instanceof SMTPSendFailedException failed && failed.getReturnCode() >= 500) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void sampleRate() {
+        long total = sent.sum();
+        int slot = rateTicks % sentPerSecond.length;
+        sentPerSecond[slot] = total;
+        int seconds = Math.min(rateTicks, RATE_WINDOW_SECONDS);
+        if (seconds > 0) {
+            long before = sentPerSecond[(rateTicks - seconds) % sentPerSecond.length];
+            messagesPerSecond = (double) (total - before) / seconds;
+        }
+        rateTicks++;
+    }
+
+    private static ThreadFactory daemon(String prefix, AtomicInteger number) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A message and its journal record.
+     */
+    private record Queued(OutgoingMail mail, long journalOffset) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.ticketmaster.notification.mail;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One plain-text email to one recipient, as queued by {@link MailDispatcher}.
+ *
+ * @param to             The recipient's address.
+ * @param subject        The subject line.
+ * @param body           The plain-text body.
+ * @param idempotencyKey The producer's key for this message, or {@code null}. The same key for the
+ *                       same recipient within the dedup window is a duplicate.
+ * @param attempt        How many times sending was tried already (0 for a new message).
+ */
+public record OutgoingMail(String to, String subject, String body, String idempotencyKey, int attempt) {
+
+    public OutgoingMail(String to, String subject, String body) {
+        this(to, subject, body, null, 0);
+    }
+
+    public OutgoingMail(String to, String subject, String body, String idempotencyKey) {
+        this(to, subject, body, idempotencyKey, 0);
+    }
+
+    OutgoingMail nextAttempt() {
+        return new OutgoingMail(to, subject, body, idempotencyKey, attempt + 1);
+    }
+
+    /**
+     * The journal record: recipient, subject, body and idempotency key as length-prefixed UTF-8
+     * (length -1 for no key). The attempt count is not kept, so a replayed message starts its
+     * retries again.
+     */
+    byte[] toBytes() {
+        byte[] toBytes = to.getBytes(StandardCharsets.UTF_8);
+        byte[] subjectBytes = subject.getBytes(StandardCharsets.UTF_8);
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = idempotencyKey != null ? idempotencyKey.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return ByteBuffer.allocate(16 + toBytes.length + subjectBytes.length + bodyBytes.length + keyBytes.length)
+                .putInt(toBytes.length).put(toBytes)
+                .putInt(subjectBytes.length).put(subjectBytes)
+                .putInt(bodyBytes.length).put(bodyBytes)
+                .putInt(idempotencyKey != null ? keyBytes.length : -1).put(keyBytes)
+                .array();
+    }
+
+    static OutgoingMail fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        String to = readString(buffer);
+        String subject = readString(buffer);
+        String body = readString(buffer);
+        // Records journaled before idempotency keys end after the body
+        String idempotencyKey = buffer.hasRemaining() && buffer.getInt(buffer.position()) >= 0 ? readString(buffer) : null;
+        return new OutgoingMail(to, subject, body, idempotencyKey);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,143 @@
+package com.ticketmaster.notification.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>SMTP Transport Pool</h1>
+ * <p>
+ * Keeps authenticated SMTP connections open between batches, so a dispatch worker pays the
+ * connect, {@code EHLO}, {@code STARTTLS} and {@code AUTH} round trips once per connection
+ * instead of once per message.
+ * </p>
+ * <h2>Rules:</h2>
+ * <ul>
+ * <li>{@link #borrow()} hands out the most recently used idle connection that still answers
+ * (a {@code NOOP}), or opens a new one.</li>
+ * <li>{@link #release} keeps at most {@code maxIdle} connections; extra ones are closed.</li>
+ * <li>A connection is closed after {@code maxMessagesPerConnection} messages, as many servers
+ * limit messages per session.</li>
+ * <li>A connection that failed mid-send is {@link #discard discarded}, never reused.</li>
+ * </ul>
+ */
+@Slf4j
+public class SmtpTransportPool implements AutoCloseable {
+
+    private final Session session;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final int maxMessagesPerConnection;
+    private final BlockingDeque<PooledTransport> idle;
+    private final AtomicLong opened = new AtomicLong();
+
+    /**
+     * @param session                  The mail session (SMTP properties, timeouts).
+     * @param username                 SMTP user, or {@code null} for no authentication.
+     * @param maxIdle                  Connections kept open between batches.
+     * @param maxMessagesPerConnection Messages sent over one connection before it is replaced.
+     */
+    public SmtpTransportPool(Session session, String host, int port, String username, String password,
+                             int maxIdle, int maxMessagesPerConnection) {
+        this.session = session;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idle = new LinkedBlockingDeque<>(Math.max(1, maxIdle));
+    }
+
+    /**
+     * @return An open connection; give it back with {@link #release} or {@link #discard}.
+     * @throws MessagingException If no connection can be opened.
+     */
+    public PooledTransport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (pooled.transport.isConnected()) {
+                return pooled;
+            }
+            closeQuietly(pooled);
+        }
+        Transport transport = session.getTransport("smtp");
+        transport.connect(host, port, username, password);
+        opened.incrementAndGet();
+        return new PooledTransport(transport);
+    }
+
+    /**
+     * Returns a healthy connection for reuse.
+     */
+    public void release(PooledTransport pooled) {
+        if (pooled.sent >= maxMessagesPerConnection || !idle.offerFirst(pooled)) {
+            closeQuietly(pooled);
+        }
+    }
+
+    /**
+     * Closes a connection that failed.
+     */
+    public void discard(PooledTransport pooled) {
+        closeQuietly(pooled);
+    }
+
+    /**
+     * @return How many connections were opened so far.
+     */
+    public long connectionsOpened() {
+        return opened.get();
+    }
+
+    @Override
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private static void closeQuietly(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Could not close SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * An SMTP connection borrowed from the pool. Used by one thread at a time.
+     */
+    public static final class PooledTransport {
+
+        private final Transport transport;
+        private int sent;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        /**
+         * Sends a message over this connection.
+         */
+        public void send(MimeMessage message) throws MessagingException {
+            transport.sendMessage(message, message.getAllRecipients());
+            sent++;
+        }
+
+        /**
+         * @return {@code true} if the connection can still be used (asks the server).
+         */
+        public boolean isConnected() {
+            return transport.isConnected();
+        }
+    }
+}
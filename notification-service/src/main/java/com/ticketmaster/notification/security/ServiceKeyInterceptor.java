@@ -0,0 +1,48 @@
+package com.ticketmaster.notification.security;
+
+import com.ticketmaster.notification.exception.ServiceKeyRejectedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Only lets the other services call the notification API: the {@value #SERVICE_KEY_HEADER} header
+ * must match {@code internal.service-key}, compared in constant time. Without a configured key every
+ * call is rejected. Rejections are exceptions, so they are rendered by {@code GlobalExceptionHandler}
+ * like any other error.
+ */
+public class ServiceKeyInterceptor implements HandlerInterceptor {
+
+    public static final String SERVICE_KEY_HEADER = "X-Service-Key";
+
+    private final byte[] serviceKey;
+
+    public ServiceKeyInterceptor(String serviceKey) {
+        this.serviceKey = serviceKey == null || serviceKey.isBlank()
+                ? null
+                : serviceKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (serviceKey == null) {
+            throw new ServiceKeyRejectedException(HttpStatus.FORBIDDEN,
+                    "No service key is configured for the notification API");
+        }
+        String presented = request.getHeader(SERVICE_KEY_HEADER);
+        if (presented == null) {
+            throw new ServiceKeyRejectedException(HttpStatus.UNAUTHORIZED, "Missing " + SERVICE_KEY_HEADER + " header");
+        }
+        if (!MessageDigest.isEqual(serviceKey, presented.getBytes(StandardCharsets.UTF_8))) {
+            throw new ServiceKeyRejectedException(HttpStatus.FORBIDDEN, "Invalid service key");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,24 @@
+package com.ticketmaster.notification.template;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * One version of a compiled email template.
+ *
+ * @param id      The template's name, e.g. {@code event-cancelled}.
+ * @param version The version, starting at 1.
+ * @param subject The compiled subject line.
+ * @param body    The compiled plain-text body.
+ */
+public record NotificationTemplate(String id, int version, TemplatePlan subject, TemplatePlan body) {
+
+    /**
+     * @return Every placeholder used by the subject or the body.
+     */
+    public Set<String> variables() {
+        Set<String> variables = new LinkedHashSet<>(subject.variables());
+        variables.addAll(body.variables());
+        return variables;
+    }
+}
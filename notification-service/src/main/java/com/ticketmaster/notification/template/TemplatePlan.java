@@ -0,0 +1,113 @@
+package com.ticketmaster.notification.template;
+
+import com.ticketmaster.notification.exception.TemplateRenderException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h1>Template Plan</h1>
+ * <p>
+ * A template compiled once into the steps that render it: literal text and {@code {{variable}}}
+ * placeholders, in order. Rendering a recipient walks the steps and appends each one to a
+ * caller-supplied buffer: no parsing, no intermediate strings, one lookup per placeholder.
+ * </p>
+ * <p>
+ * Syntax: {@code {{name}}}, with optional spaces inside the braces; names are letters, digits,
+ * {@code _}, {@code -} and {@code .}. Anything else is literal text. Immutable and thread-safe.
+ * </p>
+ */
+public final class TemplatePlan {
+
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private TemplatePlan(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @throws TemplateRenderException If a placeholder is not closed or has an invalid name.
+     */
+    public static TemplatePlan compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new TemplateRenderException("Unclosed placeholder at " + open);
+            }
+            String name = source.substring(open + 2, close).strip();
+            if (!isValidName(name)) {
+                throw new TemplateRenderException("Invalid placeholder {{" + name + "}}");
+            }
+            literals.add(source.substring(position, open));
+            variables.add(name);
+            position = close + 2;
+        }
+        // literals[i] comes before variables[i]; the last literal comes after the last variable
+        return new TemplatePlan(literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    /**
+     * Appends the template rendered with {@code values} to {@code out}.
+     *
+     * @throws TemplateRenderException If a placeholder has no value.
+     */
+    public void renderTo(Map<String, String> values, StringBuilder out) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value == null) {
+                throw new TemplateRenderException("Missing value for {{" + variables[i] + "}}");
+            }
+            out.append(value);
+        }
+        out.append(literals[variables.length]);
+    }
+
+    /**
+     * @return The placeholder names, in order of first use.
+     */
+    public Set<String> variables() {
+        return new LinkedHashSet<>(List.of(variables));
+    }
+
+    /**
+     * @return Length of the literal text: the least a rendering can take, to size buffers.
+     */
+    public int literalLength() {
+        return literalLength;
+    }
+
+    private static boolean isValidName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
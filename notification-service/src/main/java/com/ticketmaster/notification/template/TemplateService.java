@@ -0,0 +1,140 @@
+package com.ticketmaster.notification.template;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ticketmaster.notification.exception.TemplateNotFoundException;
+import com.ticketmaster.notification.mail.OutgoingMail;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h1>Template Service</h1>
+ * <p>
+ * Keeps email templates by id and version, and renders them per recipient for templated blasts.
+ * </p>
+ * <h2>How it works:</h2>
+ * <ul>
+ * <li>{@link #publish} stores a new version of a template; versions never change afterwards. Only
+ * the latest {@code notification.templates.max-versions} versions of each template are kept; older
+ * ones are dropped and can no longer be fetched.</li>
+ * <li>A version is compiled into a {@link TemplatePlan} once and cached by id and version (at most
+ * {@code notification.templates.cache-size}), so a blast looks the template up once and never
+ * parses it per recipient. A miss compiles under that key's lock only, so it does not hold up
+ * blasts of other templates.</li>
+ * <li>{@link #render} writes each recipient's subject and body into per-thread buffers that are
+ * reused across recipients; only the final strings are allocated.</li>
+ * </ul>
+ * <p>
+ * Templates are kept in memory on this node. The number of template ids is not capped.
+ * </p>
+ */
+@Service
+public class TemplateService {
+
+    /** Buffers that grew past this are not kept for the next recipient. */
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final Map<String, TemplateHistory> sources = new ConcurrentHashMap<>();
+    private final Cache<TemplateKey, NotificationTemplate> compiled;
+    private final int maxVersions;
+
+    public TemplateService(@Value("${notification.templates.cache-size:256}") int cacheSize,
+                           @Value("${notification.templates.max-versions:20}") int maxVersions) {
+        this.compiled = Caffeine.newBuilder().maximumSize(cacheSize).build();
+        this.maxVersions = maxVersions;
+    }
+
+    /**
+     * Stores a new version of a template.
+     *
+     * @return The compiled template, with its new version number.
+     * @throws com.ticketmaster.notification.exception.TemplateRenderException If the template is malformed.
+     */
+    public NotificationTemplate publish(String id, String subject, String body) {
+        // Compiling first rejects a malformed template before it gets a version
+        TemplatePlan subjectPlan = TemplatePlan.compile(subject);
+        TemplatePlan bodyPlan = TemplatePlan.compile(body);
+        TemplateHistory history = sources.computeIfAbsent(id, key -> new TemplateHistory());
+        NotificationTemplate template;
+        int dropped = 0;
+        synchronized (history) {
+            history.versions.add(new TemplateSource(subject, body));
+            history.latest++;
+            if (history.versions.size() > maxVersions) {
+                history.versions.remove(0);
+                dropped = history.latest - maxVersions;
+            }
+            template = new NotificationTemplate(id, history.latest, subjectPlan, bodyPlan);
+        }
+        compiled.put(new TemplateKey(id, template.version()), template);
+        if (dropped > 0) {
+            compiled.invalidate(new TemplateKey(id, dropped));
+        }
+        return template;
+    }
+
+    /**
+     * @param version The version, or {@code null} for the latest.
+     * @return The compiled template, from the cache or compiled now.
+     * @throws TemplateNotFoundException If there is no such template or version, or the version was dropped.
+     */
+    public NotificationTemplate get(String id, Integer version) {
+        TemplateHistory history = sources.get(id);
+        TemplateSource source;
+        int resolved;
+        if (history == null) {
+            throw new TemplateNotFoundException(id, version);
+        }
+        synchronized (history) {
+            resolved = version != null ? version : history.latest;
+            int oldest = history.latest - history.versions.size() + 1;
+            if (resolved < oldest || resolved > history.latest) {
+                throw new TemplateNotFoundException(id, version);
+            }
+            source = history.versions.get(resolved - oldest);
+        }
+        return compiled.get(new TemplateKey(id, resolved), key -> new NotificationTemplate(id, resolved,
+                TemplatePlan.compile(source.subject()), TemplatePlan.compile(source.body())));
+    }
+
+    /**
+     * Renders one recipient's message.
+     *
+     * @throws com.ticketmaster.notification.exception.TemplateRenderException If a placeholder has no value.
+     */
+    public OutgoingMail render(NotificationTemplate template, String to, Map<String, String> values) {
+        StringBuilder buffer = BUFFER.get();
+        try {
+            buffer.setLength(0);
+            template.subject().renderTo(values, buffer);
+            String subject = buffer.toString();
+            buffer.setLength(0);
+            buffer.ensureCapacity(template.body().literalLength());
+            template.body().renderTo(values, buffer);
+            return new OutgoingMail(to, subject, buffer.toString());
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private record TemplateKey(String id, int version) {
+    }
+
+    private record TemplateSource(String subject, String body) {
+    }
+
+    /** The retained versions of one template, oldest first; guarded by its own monitor. */
+    private static final class TemplateHistory {
+        private final List<TemplateSource> versions = new ArrayList<>();
+        private int latest;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ticketmaster.notification;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+/**
+ * Integration test to verify the application context loads successfully
+ */
+@SpringBootTest
+public class NotificationApplicationTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) {
+        registry.add("notification.journal.directory", journalDirectory::toString);
+    }
+
+    @Test
+    void contextLoads() {
+        // Connections are only opened when mail is sent, so no SMTP server is needed here
+    }
+}
@@ -0,0 +1,208 @@
+package com.ticketmaster.notification.controller;
+
+import com.ticketmaster.notification.config.WebConfig;
+import com.ticketmaster.notification.exception.MailQueueFullException;
+import com.ticketmaster.notification.exception.TemplateNotFoundException;
+import com.ticketmaster.notification.mail.MailDispatchStats;
+import com.ticketmaster.notification.mail.MailDispatcher;
+import com.ticketmaster.notification.mail.OutgoingMail;
+import com.ticketmaster.notification.template.NotificationTemplate;
+import com.ticketmaster.notification.template.TemplatePlan;
+import com.ticketmaster.notification.template.TemplateService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.ticketmaster.notification.security.ServiceKeyInterceptor.SERVICE_KEY_HEADER;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+        controllers = NotificationController.class,
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.REGEX,
+                pattern = "com\\.ticketmaster\\.notification\\.config\\..*"
+        )
+)
+@Import(WebConfig.class)
+@TestPropertySource(properties = "internal.service-key=" + NotificationControllerTest.SERVICE_KEY)
+public class NotificationControllerTest {
+
+    static final String SERVICE_KEY = "test-service-key";
+
+    private static final String REQUEST = """
+            {"recipients": ["alice@example.com", "bob@example.com"],
+             "subject": "Event cancelled",
+             "body": "Your event was cancelled. You will be refunded."}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private MailDispatcher mailDispatcher;
+
+    @MockBean
+    private TemplateService templateService;
+
+    @Test
+    void dispatchMail_ShouldQueueOneMessagePerRecipient_AndReturnAccepted() throws Exception {
+        when(mailDispatcher.submit(anyList())).thenReturn(2);
+        when(mailDispatcher.pending()).thenReturn(2);
+
+        mockMvc.perform(post("/api/v1/notifications/mail").header(SERVICE_KEY_HEADER, SERVICE_KEY)
+                        .contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.duplicates").value(0))
+                .andExpect(jsonPath("$.pending").value(2));
+
+        verify(mailDispatcher).submit(List.of(
+                new OutgoingMail("alice@example.com", "Event cancelled", "Your event was cancelled. You will be refunded."),
+                new OutgoingMail("bob@example.com", "Event cancelled", "Your event was cancelled. You will be refunded.")));
+    }
+
+    @Test
+    void dispatchMail_ShouldReturnUnauthorized_WhenServiceKeyIsMissing() throws Exception {
+        mockMvc.perform(post("/api/v1/notifications/mail").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Missing X-Service-Key header"));
+
+        verifyNoInteractions(mailDispatcher);
+    }
+
+    @Test
+    void putTemplate_ShouldReturnForbidden_WhenServiceKeyIsWrong() throws Exception {
+        mockMvc.perform(put("/api/v1/notifications/templates/event-cancelled").header(SERVICE_KEY_HEADER, "guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"subject\": \"Hi\", \"body\": \"Hello\"}"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("Invalid service key"));
+
+        verifyNoInteractions(templateService);
+    }
+
+    @Test
+    void dispatchMail_ShouldReturnTooManyRequests_WhenQueueIsFull() throws Exception {
+        doThrow(new MailQueueFullException(5)).when(mailDispatcher).submit(anyList());
+
+        mockMvc.perform(post("/api/v1/notifications/mail").header(SERVICE_KEY_HEADER, SERVICE_KEY)
+                        .contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.message").value("The mail queue is full, please try again later"));
+    }
+
+    @Test
+    void dispatchMail_ShouldReturnBadRequest_WhenThereAreNoRecipients() throws Exception {
+        mockMvc.perform(post("/api/v1/notifications/mail").header(SERVICE_KEY_HEADER, SERVICE_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"recipients\": [], \"subject\": \"Event cancelled\", \"body\": \"Cancelled\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.recipients").value("At least one recipient is required"));
+
+        verifyNoInteractions(mailDispatcher);
+    }
+
+    @Test
+    void dispatchMail_ShouldPassIdempotencyKey_AndReportDuplicates() throws Exception {
+        when(mailDispatcher.submit(anyList())).thenReturn(0);
+
+        mockMvc.perform(post("/api/v1/notifications/mail").header(SERVICE_KEY_HEADER, SERVICE_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"recipients": ["alice@example.com"], "subject": "Event cancelled",
+                                 "body": "Cancelled", "idempotencyKey": "event-7-cancelled"}
+                                """))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(0))
+                .andExpect(jsonPath("$.duplicates").value(1));
+
+        verify(mailDispatcher).submit(List.of(
+                new OutgoingMail("alice@example.com", "Event cancelled", "Cancelled", "event-7-cancelled")));
+    }
+
+    @Test
+    void mailStats_ShouldReportMessagesPerSecond() throws Exception {
+        when(mailDispatcher.stats()).thenReturn(new MailDispatchStats(10, 990, 3, 1, 450.0));
+
+        mockMvc.perform(get("/api/v1/notifications/mail/stats").header(SERVICE_KEY_HEADER, SERVICE_KEY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sent").value(990))
+                .andExpect(jsonPath("$.messagesPerSecond").value(450.0));
+    }
+
+    @Test
+    void publishTemplate_ShouldReturnCreated_WithVersionAndVariables() throws Exception {
+        when(templateService.publish("event-cancelled", "{{event}} is cancelled", "Hi {{name}}"))
+                .thenReturn(new NotificationTemplate("event-cancelled", 3,
+                        TemplatePlan.compile("{{event}} is cancelled"), TemplatePlan.compile("Hi {{name}}")));
+
+        mockMvc.perform(put("/api/v1/notifications/templates/event-cancelled").header(SERVICE_KEY_HEADER, SERVICE_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"subject\": \"{{event}} is cancelled\", \"body\": \"Hi {{name}}\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version").value(3))
+                .andExpect(jsonPath("$.variables[0]").value("event"))
+                .andExpect(jsonPath("$.variables[1]").value("name"));
+    }
+
+    @Test
+    void dispatchTemplatedMail_ShouldRenderOneMessagePerRecipient() throws Exception {
+        NotificationTemplate template = new NotificationTemplate("welcome", 1,
+                TemplatePlan.compile("Welcome"), TemplatePlan.compile("Hello {{name}}"));
+        OutgoingMail rendered = new OutgoingMail("alice@example.com", "Welcome", "Hello Alice");
+        when(templateService.get("welcome", null)).thenReturn(template);
+        when(templateService.render(eq(template), eq("alice@example.com"), eq(Map.of("name", "Alice"))))
+                .thenReturn(rendered);
+        when(mailDispatcher.submit(anyList())).thenReturn(1);
+        when(mailDispatcher.pending()).thenReturn(1);
+
+        mockMvc.perform(post("/api/v1/notifications/mail/templated").header(SERVICE_KEY_HEADER, SERVICE_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"templateId": "welcome",
+                                 "recipients": [{"email": "alice@example.com", "variables": {"name": "Alice"}}]}
+                                """))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1));
+
+        verify(mailDispatcher).submit(List.of(rendered));
+    }
+
+    @Test
+    void dispatchTemplatedMail_ShouldReturnNotFound_WhenTheTemplateDoesNotExist() throws Exception {
+        when(templateService.get("welcome", 2)).thenThrow(new TemplateNotFoundException("welcome", 2));
+
+        mockMvc.perform(post("/api/v1/notifications/mail/templated").header(SERVICE_KEY_HEADER, SERVICE_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"templateId": "welcome", "version": 2,
+                                 "recipients": [{"email": "alice@example.com"}]}
+                                """))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Template not found: welcome version 2"));
+
+        verifyNoInteractions(mailDispatcher);
+    }
+}
@@ -0,0 +1,141 @@
+package com.ticketmaster.notification.dedup;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of the dedup check on the enqueue path, with the default window shape (13
+ * buckets of 65 536 keys) and every bucket live and half full:
+ * <ul>
+ * <li>{@code duplicate} - a key seen before: found and dropped;</li>
+ * <li>{@code markAndUnmark} - a new key: checked against every bucket, marked, then unmarked again
+ * so the table stays the same size across iterations.</li>
+ * </ul>
+ * The JUnit test runs both in-process with short iterations and the GC profiler, logs the cost per
+ * check and checks it allocates nothing.
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DedupWindowBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DedupWindowBenchmarkTest.class);
+
+    private static final int BUCKETS = 13;
+    private static final int KEYS_PER_BUCKET = 65_536;
+
+    private DedupWindow window;
+    private String[] recipients;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SteppedClock clock = new SteppedClock();
+        window = new DedupWindow(Duration.ofMinutes(60), BUCKETS, KEYS_PER_BUCKET, clock, null, 0);
+        recipients = new String[1024];
+        for (int i = 0; i < recipients.length; i++) {
+            recipients[i] = "holder" + i + "@example.com";
+        }
+        // Half fill one bucket per slot, ending in the slot the benchmark runs in
+        long slotMillis = Duration.ofMinutes(60).toMillis() / (BUCKETS - 1);
+        for (int slot = 0; slot < BUCKETS; slot++) {
+            clock.millis = slot * slotMillis;
+            for (int i = 0; i < KEYS_PER_BUCKET / 2; i++) {
+                window.markIfAbsent("event-" + slot + "-cancelled", "fan" + i + "@example.com");
+            }
+        }
+        for (String recipient : recipients) {
+            window.markIfAbsent("event-7-cancelled", recipient);
+        }
+    }
+
+    @Benchmark
+    public boolean duplicate() {
+        next = (next + 1) & (recipients.length - 1);
+        return window.markIfAbsent("event-7-cancelled", recipients[next]);
+    }
+
+    @Benchmark
+    public boolean markAndUnmark() {
+        next = (next + 1) & (recipients.length - 1);
+        boolean fresh = window.markIfAbsent("event-8-cancelled", recipients[next]);
+        window.unmark("event-8-cancelled", recipients[next]);
+        return fresh;
+    }
+
+    @Test
+    void shouldCheckInNanosecondsWithoutAllocating() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(DedupWindowBenchmarkTest.class.getName() + "\\.")
+                .forks(0)
+                .threads(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        for (RunResult result : new Runner(options).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            String name = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            double nanos = result.getPrimaryResult().getScore();
+            double bytes = result.getSecondaryResults().get("gc.alloc.rate.norm").getScore();
+
+            log.info("Dedup window, {} buckets - {}: {} ns, {} B per check", BUCKETS, name, Math.round(nanos), bytes);
+
+            assertThat(nanos).isLessThan(10_000.0);
+            assertThat(bytes).isLessThan(1.0);
+        }
+    }
+
+    private static class SteppedClock extends Clock {
+
+        private long millis;
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ticketmaster.notification.dedup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DedupWindowTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void shouldDropRepeatedKey_PerScope() {
+        DedupWindow window = new DedupWindow(Duration.ofMinutes(10), 3, 1024, clock, null, 0);
+
+        assertThat(window.markIfAbsent("cancel-42", "alice@example.com")).isTrue();
+        assertThat(window.markIfAbsent("cancel-42", "alice@example.com")).isFalse();
+        assertThat(window.markIfAbsent("cancel-42", "bob@example.com")).isTrue();
+        assertThat(window.markIfAbsent("cancel-43", "alice@example.com")).isTrue();
+    }
+
+    @Test
+    void shouldRememberKeyForTheWindow_ThenForgetIt() {
+        // Two slots of 5 minutes
+        DedupWindow window = new DedupWindow(Duration.ofMinutes(10), 3, 1024, clock, null, 0);
+        window.markIfAbsent("cancel-42", "alice@example.com");
+
+        clock.advance(Duration.ofMinutes(9));
+        assertThat(window.markIfAbsent("cancel-42", "alice@example.com")).isFalse();
+
+        clock.advance(Duration.ofMinutes(6));
+        assertThat(window.markIfAbsent("cancel-42", "alice@example.com")).isTrue();
+    }
+
+    @Test
+    void shouldAcceptKeyAgain_AfterUnmark_WithoutLosingOthers() {
+        // Eight keys per bucket in 16 entries: plenty of probe collisions
+        DedupWindow window = new DedupWindow(Duration.ofMinutes(10), 3, 8, clock, null, 0);
+        for (int i = 0; i < 8; i++) {
+            window.markIfAbsent("key-" + i, "alice@example.com");
+        }
+
+        for (int i = 0; i < 8; i += 2) {
+            window.unmark("key-" + i, "alice@example.com");
+        }
+
+        for (int i = 1; i < 8; i += 2) {
+            assertThat(window.markIfAbsent("key-" + i, "alice@example.com")).isFalse();
+        }
+        for (int i = 0; i < 8; i += 2) {
+            assertThat(window.markIfAbsent("key-" + i, "alice@example.com")).isTrue();
+        }
+    }
+
+    @Test
+    void shouldAcceptButNotRemember_WhenBucketIsFull() {
+        DedupWindow window = new DedupWindow(Duration.ofMinutes(10), 3, 2, clock, null, 0);
+        window.markIfAbsent("key-1", "alice@example.com");
+        window.markIfAbsent("key-2", "alice@example.com");
+
+        assertThat(window.markIfAbsent("key-3", "alice@example.com")).isTrue();
+        assertThat(window.markIfAbsent("key-3", "alice@example.com")).isTrue();
+        assertThat(window.overflowed()).isEqualTo(2);
+
+        // The next slot has room again
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(window.markIfAbsent("key-3", "alice@example.com")).isTrue();
+        assertThat(window.markIfAbsent("key-3", "alice@example.com")).isFalse();
+    }
+
+    @Test
+    void shouldRestoreKeysFromSnapshot(@TempDir Path directory) {
+        Path snapshot = directory.resolve("dedup.snapshot");
+        DedupWindow window = new DedupWindow(Duration.ofMinutes(10), 3, 1024, clock, snapshot, 0);
+        window.markIfAbsent("cancel-42", "alice@example.com");
+        window.close();
+
+        DedupWindow restored = new DedupWindow(Duration.ofMinutes(10), 3, 1024, clock, snapshot, 0);
+        assertThat(restored.markIfAbsent("cancel-42", "alice@example.com")).isFalse();
+        assertThat(restored.markIfAbsent("cancel-43", "alice@example.com")).isTrue();
+
+        // Restarted after the window: the old buckets are out of it
+        restored.close();
+        clock.advance(Duration.ofMinutes(20));
+        DedupWindow later = new DedupWindow(Duration.ofMinutes(10), 3, 1024, clock, snapshot, 0);
+        assertThat(later.markIfAbsent("cancel-43", "alice@example.com")).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreSnapshot_WrittenWithAnotherShape(@TempDir Path directory) {
+        Path snapshot = directory.resolve("dedup.snapshot");
+        DedupWindow window = new DedupWindow(Duration.ofMinutes(10), 3, 1024, clock, snapshot, 0);
+        window.markIfAbsent("cancel-42", "alice@example.com");
+        window.close();
+        assertThat(Files.exists(snapshot)).isTrue();
+
+        DedupWindow resized = new DedupWindow(Duration.ofMinutes(10), 3, 4096, clock, snapshot, 0);
+        assertThat(resized.markIfAbsent("cancel-42", "alice@example.com")).isTrue();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-06-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
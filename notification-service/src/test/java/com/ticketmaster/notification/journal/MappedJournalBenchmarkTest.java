@@ -0,0 +1,96 @@
+package com.ticketmaster.notification.journal;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of journaling one queued mail (about 150 bytes, the size of a short cancellation
+ * notice) on one thread: the append into the mapped segment when the mail is queued, and its
+ * acknowledgement once sent, including segment rotation and compaction as they come. The JUnit
+ * test runs it in-process with short iterations, logs the cost and checks it stays in the
+ * microseconds.
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappedJournalBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedJournalBenchmarkTest.class);
+
+    private final byte[] record = ("holder12345@example.com|Your event was cancelled|"
+            + "We are sorry: the event you hold tickets for was cancelled. You will be refunded within 5 days.")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private Path directory;
+    private MappedJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        journal = new MappedJournal(directory, 16 * 1024 * 1024, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long appendAndAck() {
+        long offset = journal.append(record);
+        journal.ack(offset);
+        return offset;
+    }
+
+    @Test
+    void shouldJournalInMicroseconds() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(MappedJournalBenchmarkTest.class.getName() + "\\.")
+                .forks(0)
+                .threads(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        RunResult result = new Runner(options).runSingle();
+        double nanos = result.getPrimaryResult().getScore();
+
+        log.info("Mail journal, {} B records - append + ack: {} ns per message", record.length, Math.round(nanos));
+
+        assertThat(nanos).isLessThan(10_000.0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ticketmaster.notification.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedJournalTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecoverUnacknowledgedRecords_InAppendOrder() throws IOException {
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_BYTES, 0)) {
+            journal.append(bytes("first"));
+            long second = journal.append(bytes("second"));
+            journal.append(bytes("third"));
+            journal.ack(second);
+        }
+
+        try (MappedJournal reopened = new MappedJournal(directory, SEGMENT_BYTES, 0)) {
+            assertThat(strings(reopened.recover())).containsExactly("first", "third");
+            // Handed out once
+            assertThat(reopened.recover()).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldRotateSegments_AndDeleteThemOnceFullyAcknowledged() throws IOException {
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_BYTES, 0)) {
+            // 9 + 191 = 200 bytes per record: 5 per segment
+            long[] offsets = new long[12];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = journal.append(new byte[191]);
+            }
+            assertThat(journal.segmentCount()).isEqualTo(3);
+            assertThat(segmentFiles()).hasSize(3);
+
+            for (int i = 0; i < 5; i++) {
+                journal.ack(offsets[i]);
+            }
+            assertThat(segmentFiles()).hasSize(2);
+
+            // The active segment is kept even when everything in it is acknowledged
+            for (int i = 5; i < offsets.length; i++) {
+                journal.ack(offsets[i]);
+            }
+            assertThat(segmentFiles()).hasSize(1);
+        }
+
+        try (MappedJournal reopened = new MappedJournal(directory, SEGMENT_BYTES, 0)) {
+            assertThat(reopened.recover()).isEmpty();
+            // Only the new active segment is left
+            assertThat(segmentFiles()).hasSize(1);
+        }
+    }
+
+    @Test
+    void shouldCompactRecoveredSegment_OnceItsRecordsAreAcknowledged() throws IOException {
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_BYTES, 0)) {
+            journal.append(bytes("a"));
+            journal.append(bytes("b"));
+        }
+
+        try (MappedJournal reopened = new MappedJournal(directory, SEGMENT_BYTES, 0)) {
+            List<MappedJournal.Entry> entries = reopened.recover();
+            assertThat(segmentFiles()).hasSize(2);
+
+            entries.forEach(entry -> reopened.ack(entry.offset()));
+
+            assertThat(segmentFiles()).hasSize(1);
+        }
+    }
+
+    @Test
+    void shouldStopReading_AtTornOrCorruptRecord() throws IOException {
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_BYTES, 0)) {
+            journal.append(bytes("kept"));
+            journal.append(bytes("corrupted"));
+            journal.append(bytes("after"));
+        }
+        // Flip a payload byte of the second record, as if its page never reached the disk
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            long position = MappedJournal.HEADER_BYTES + 4 + MappedJournal.HEADER_BYTES;
+            file.seek(position);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        try (MappedJournal reopened = new MappedJournal(directory, SEGMENT_BYTES, 0)) {
+            assertThat(strings(reopened.recover())).containsExactly("kept");
+        }
+    }
+
+    @Test
+    void shouldRejectRecordsThatDoNotFitASegment() throws IOException {
+        try (MappedJournal journal = new MappedJournal(directory, SEGMENT_BYTES, 0)) {
+            assertThatThrownBy(() -> journal.append(new byte[SEGMENT_BYTES]))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> journal.append(new byte[0]))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(List<MappedJournal.Entry> entries) {
+        return entries.stream().map(entry -> new String(entry.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.ticketmaster.notification.mail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process SMTP stand-in for tests: accepts connections on a free local port, speaks just
+ * enough SMTP for Jakarta Mail (EHLO, MAIL, RCPT, DATA, RSET, NOOP, QUIT) and records the
+ * recipients of every message it accepts. Recipients can be made to fail a number of times with
+ * a given reply code.
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fake-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Map<String, Rejection> rejections = new ConcurrentHashMap<>();
+
+    FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        connections.execute(this::accept);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Recipients of every accepted message, in order.
+     */
+    List<String> delivered() {
+        return delivered;
+    }
+
+    int connectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Answers {@code RCPT TO} for this address with {@code code} the next {@code times} times.
+     */
+    void reject(String address, int code, int times) {
+        rejections.put(address.toLowerCase(Locale.ROOT), new Rejection(code, new AtomicInteger(times)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionCount.incrementAndGet();
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost fake SMTP");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line;
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                    case "HELO", "NOOP" -> reply(out, "250 OK");
+                    case "MAIL" -> {
+                        recipient = null;
+                        reply(out, "250 OK");
+                    }
+                    case "RSET" -> {
+                        recipient = null;
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        String address = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+                        Rejection rejection = rejections.get(address.toLowerCase(Locale.ROOT));
+                        if (rejection != null && rejection.remaining.getAndDecrement() > 0) {
+                            reply(out, rejection.code + " Recipient rejected");
+                        } else {
+                            recipient = address;
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Message content is not kept
+                        }
+                        delivered.add(recipient);
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private static void reply(OutputStream out, String reply) throws IOException {
+        out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private record Rejection(int code, AtomicInteger remaining) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.ticketmaster.notification.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Messages per second to a local in-process SMTP server ({@link FakeSmtpServer}), with the same
+ * number of sending threads:
+ * <ul>
+ * <li>connection per message - what {@code Transport.send} does: connect, EHLO, send, QUIT for
+ * every message;</li>
+ * <li>{@link MailDispatcher} - batches over pooled connections.</li>
+ * </ul>
+ * The server does no real work, so the numbers measure the SMTP round trips the pool saves, not a
+ * real relay. The test logs both rates and checks the dispatcher is faster.
+ */
+@Tag("benchmark")
+class MailDispatchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatchBenchmarkTest.class);
+
+    private static final int MESSAGES = 4000;
+    private static final int THREADS = 4;
+
+    @Test
+    void shouldCompareMessagesPerSecond() throws Exception {
+        double perMessage;
+        try (FakeSmtpServer smtp = new FakeSmtpServer()) {
+            perMessage = connectionPerMessage(smtp);
+            assertThat(smtp.delivered()).hasSize(MESSAGES);
+        }
+
+        double pooled;
+        long connections;
+        try (FakeSmtpServer smtp = new FakeSmtpServer()) {
+            Session session = Session.getInstance(new Properties());
+            SmtpTransportPool pool = new SmtpTransportPool(session, "localhost", smtp.port(), null, null, THREADS, 1000);
+            try (MailDispatcher dispatcher = new MailDispatcher(session, pool, null, null, "no-reply@ticketing.local", THREADS,
+                    MESSAGES, 50, 3, 10, 1000, 5, new SimpleMeterRegistry())) {
+                long start = System.nanoTime();
+                dispatcher.submit(MailDispatcherTest.mails(MESSAGES));
+                MailDispatcherTest.awaitUntil(() -> dispatcher.stats().sent() == MESSAGES);
+                pooled = MESSAGES / ((System.nanoTime() - start) / 1e9);
+            }
+            connections = smtp.connectionCount();
+            assertThat(smtp.delivered()).hasSize(MESSAGES);
+        }
+
+        log.info("Mail to a local SMTP server, {} threads - connection per message: {} messages/s; "
+                        + "pooled batches: {} messages/s over {} connections",
+                THREADS, Math.round(perMessage), Math.round(pooled), connections);
+
+        assertThat(pooled).isGreaterThan(perMessage);
+    }
+
+    private static double connectionPerMessage(FakeSmtpServer smtp) throws Exception {
+        Properties properties = new Properties();
+        properties.put("mail.smtp.host", "localhost");
+        properties.put("mail.smtp.port", String.valueOf(smtp.port()));
+        Session session = Session.getInstance(properties);
+        List<OutgoingMail> mails = MailDispatcherTest.mails(MESSAGES);
+
+        ExecutorService senders = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (OutgoingMail mail : mails) {
+            senders.execute(() -> {
+                try {
+                    MimeMessage message = new MimeMessage(session);
+                    message.setFrom(new InternetAddress("no-reply@ticketing.local"));
+                    message.setRecipient(Message.RecipientType.TO, new InternetAddress(mail.to()));
+                    message.setSubject(mail.subject());
+                    message.setText(mail.body());
+                    Transport.send(message);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        senders.shutdown();
+        assertThat(senders.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        return MESSAGES / ((System.nanoTime() - start) / 1e9);
+    }
+}
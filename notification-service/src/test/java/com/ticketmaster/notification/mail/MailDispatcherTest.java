@@ -0,0 +1,270 @@
+package com.ticketmaster.notification.mail;
+
+import com.ticketmaster.notification.dedup.DedupWindow;
+import com.ticketmaster.notification.exception.MailQueueFullException;
+import com.ticketmaster.notification.journal.MappedJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakeSmtpServer smtp;
+    private SmtpTransportPool pool;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtp = new FakeSmtpServer();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+        smtp.close();
+    }
+
+    @Test
+    void shouldSendEveryMessage_OverFewPooledConnections() throws Exception {
+        start(2, 1000, 50, 3);
+
+        dispatcher.submit(mails(500));
+
+        awaitUntil(() -> dispatcher.stats().sent() == 500);
+        assertThat(smtp.delivered()).hasSize(500).doesNotHaveDuplicates();
+        // Connections are reused across batches: at most one per worker (plus replacements)
+        assertThat(pool.connectionsOpened()).isLessThanOrEqualTo(2);
+        assertThat(smtp.connectionCount()).isLessThanOrEqualTo(2);
+        assertThat(dispatcher.pending()).isZero();
+        assertThat(meterRegistry.get("notification.mail.dispatched").tag("outcome", "sent").counter().count()).isEqualTo(500);
+    }
+
+    @Test
+    void shouldRetryTemporaryFailures_WithBackoff() throws Exception {
+        start(1, 100, 10, 3);
+        smtp.reject("flaky@example.com", 451, 2);
+
+        dispatcher.submit(List.of(new OutgoingMail("flaky@example.com", "Cancelled", "Your event was cancelled")));
+
+        awaitUntil(() -> dispatcher.stats().sent() == 1);
+        assertThat(dispatcher.stats().retried()).isEqualTo(2);
+        assertThat(dispatcher.stats().failed()).isZero();
+        assertThat(smtp.delivered()).containsExactly("flaky@example.com");
+    }
+
+    @Test
+    void shouldGiveUp_OnPermanentFailureOrAfterLastAttempt() throws Exception {
+        start(1, 100, 10, 3);
+        smtp.reject("unknown@example.com", 550, 1);
+        smtp.reject("busy@example.com", 452, 10);
+
+        dispatcher.submit(List.of(
+                new OutgoingMail("unknown@example.com", "Cancelled", "Your event was cancelled"),
+                new OutgoingMail("busy@example.com", "Cancelled", "Your event was cancelled"),
+                new OutgoingMail("ok@example.com", "Cancelled", "Your event was cancelled")));
+
+        awaitUntil(() -> dispatcher.pending() == 0);
+        assertThat(smtp.delivered()).containsExactly("ok@example.com");
+        assertThat(dispatcher.stats().failed()).isEqualTo(2);
+        // Only the 4xx recipient was retried, until its third attempt
+        assertThat(dispatcher.stats().retried()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectWholeRequest_WhenQueueHasNoRoom() throws Exception {
+        start(1, 10, 10, 3);
+
+        assertThatThrownBy(() -> dispatcher.submit(mails(11)))
+                .isInstanceOf(MailQueueFullException.class);
+        assertThat(dispatcher.pending()).isZero();
+    }
+
+    @Test
+    void shouldResendUnsentMessages_AfterRestart(@TempDir Path journalDirectory) throws Exception {
+        MappedJournal journal = new MappedJournal(journalDirectory, 64 * 1024, 0);
+        start(1, 100, 10, 100, journal);
+        smtp.reject("slow@example.com", 451, Integer.MAX_VALUE);
+
+        dispatcher.submit(List.of(
+                new OutgoingMail("slow@example.com", "Cancelled", "Your event was cancelled"),
+                new OutgoingMail("fast@example.com", "Cancelled", "Your event was cancelled")));
+        awaitUntil(() -> dispatcher.stats().sent() == 1 && dispatcher.stats().retried() > 0);
+
+        // Stop while the first message waits for a retry
+        dispatcher.close();
+        journal.close();
+        smtp.reject("slow@example.com", 451, 0);
+
+        MappedJournal reopened = new MappedJournal(journalDirectory, 64 * 1024, 0);
+        start(1, 100, 10, 100, reopened);
+        assertThat(dispatcher.pending()).isEqualTo(1);
+
+        awaitUntil(() -> dispatcher.stats().sent() == 1);
+        assertThat(smtp.delivered()).containsExactly("fast@example.com", "slow@example.com");
+        // Everything sent: only the new, empty segment is left
+        assertThat(reopened.segmentCount()).isEqualTo(1);
+        dispatcher.close();
+        reopened.close();
+        dispatcher = null;
+    }
+
+    @Test
+    void shouldDoubleBackoffPerAttempt_UpToTheCap() throws Exception {
+        start(1, 10, 10, 10);
+
+        assertThat(dispatcher.backoffMillis(1)).isEqualTo(10);
+        assertThat(dispatcher.backoffMillis(2)).isEqualTo(20);
+        assertThat(dispatcher.backoffMillis(3)).isEqualTo(40);
+        assertThat(dispatcher.backoffMillis(8)).isEqualTo(1000);
+        assertThat(dispatcher.backoffMillis(60)).isEqualTo(1000);
+    }
+
+    @Test
+    void shouldDropDuplicates_ButNotARetryOfARejectedRequest() throws Exception {
+        start(1, 3, 10, 3, null, dedupWindow());
+
+        assertThat(dispatcher.submit(keyed(mails(2), "cancel-42"))).isEqualTo(2);
+        assertThat(dispatcher.submit(keyed(mails(2), "cancel-42"))).isZero();
+        awaitUntil(() -> dispatcher.stats().sent() == 2);
+
+        // Rejected as a whole: its keys must not count as seen
+        assertThatThrownBy(() -> dispatcher.submit(keyed(mails(4), "cancel-43")))
+                .isInstanceOf(MailQueueFullException.class);
+        assertThat(dispatcher.submit(keyed(mails(3), "cancel-43"))).isEqualTo(3);
+        awaitUntil(() -> dispatcher.stats().sent() == 5);
+        // Same key, other recipient: not a duplicate
+        assertThat(dispatcher.submit(List.of(
+                new OutgoingMail("other@example.com", "Event cancelled", "Cancelled", "cancel-42")))).isEqualTo(1);
+        awaitUntil(() -> dispatcher.stats().sent() == 6);
+
+        assertThat(meterRegistry.get("notification.mail.duplicates").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldRememberKeysOfRecoveredMessages_AfterRestart(@TempDir Path journalDirectory) throws Exception {
+        MappedJournal journal = new MappedJournal(journalDirectory, 64 * 1024, 0);
+        start(1, 100, 10, 100, journal, dedupWindow());
+        smtp.reject("slow@example.com", 451, Integer.MAX_VALUE);
+        OutgoingMail mail = new OutgoingMail("slow@example.com", "Cancelled", "Your event was cancelled", "cancel-42");
+
+        dispatcher.submit(List.of(mail));
+        awaitUntil(() -> dispatcher.stats().retried() > 0);
+        dispatcher.close();
+        journal.close();
+
+        // A new node without a dedup snapshot learns the key from the journal
+        MappedJournal reopened = new MappedJournal(journalDirectory, 64 * 1024, 0);
+        start(1, 100, 10, 100, reopened, dedupWindow());
+        assertThat(dispatcher.submit(List.of(mail))).isZero();
+        dispatcher.close();
+        reopened.close();
+        dispatcher = null;
+    }
+
+    @Test
+    void shouldRetryAndKeepWorking_WhenConnectionThrowsUnchecked() throws Exception {
+        Session session = Session.getInstance(new Properties());
+        AtomicInteger failures = new AtomicInteger(2);
+        pool = new SmtpTransportPool(session, "localhost", smtp.port(), null, null, 1, 1000) {
+            @Override
+            public PooledTransport borrow() throws MessagingException {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Not connected");
+                }
+                return super.borrow();
+            }
+        };
+        dispatcher = new MailDispatcher(session, pool, null, null, "no-reply@ticketing.local", 1, 100,
+                10, 3, 10, 1000, 5, meterRegistry);
+
+        dispatcher.submit(mails(2));
+
+        awaitUntil(() -> dispatcher.stats().sent() == 2);
+        assertThat(dispatcher.stats().retried()).isEqualTo(2);
+        assertThat(dispatcher.stats().failed()).isZero();
+        assertThat(smtp.delivered()).hasSize(2).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shouldNotResend_WhenJournalAckFails(@TempDir Path journalDirectory) throws Exception {
+        MappedJournal journal = new MappedJournal(journalDirectory, 64 * 1024, 0) {
+            @Override
+            public void ack(long offset) {
+                throw new IllegalStateException("Journal closed");
+            }
+        };
+        start(1, 100, 10, 3, journal);
+
+        dispatcher.submit(mails(3));
+
+        awaitUntil(() -> dispatcher.pending() == 0);
+        assertThat(dispatcher.stats().sent()).isEqualTo(3);
+        assertThat(dispatcher.stats().retried()).isZero();
+        assertThat(smtp.delivered()).hasSize(3).doesNotHaveDuplicates();
+        dispatcher.close();
+        journal.close();
+        dispatcher = null;
+    }
+
+    private void start(int workers, int queueCapacity, int batchSize, int maxAttempts) throws Exception {
+        start(workers, queueCapacity, batchSize, maxAttempts, null);
+    }
+
+    private void start(int workers, int queueCapacity, int batchSize, int maxAttempts, MappedJournal journal) throws Exception {
+        start(workers, queueCapacity, batchSize, maxAttempts, journal, null);
+    }
+
+    private void start(int workers, int queueCapacity, int batchSize, int maxAttempts, MappedJournal journal,
+                       DedupWindow dedup) throws Exception {
+        Session session = Session.getInstance(new Properties());
+        pool = new SmtpTransportPool(session, "localhost", smtp.port(), null, null, workers, 1000);
+        dispatcher = new MailDispatcher(session, pool, journal, dedup, "no-reply@ticketing.local", workers, queueCapacity,
+                batchSize, maxAttempts, 10, 1000, 5, meterRegistry);
+    }
+
+    private static DedupWindow dedupWindow() {
+        return new DedupWindow(Duration.ofMinutes(10), 3, 1024, Clock.systemUTC(), null, 0);
+    }
+
+    private static List<OutgoingMail> keyed(List<OutgoingMail> mails, String idempotencyKey) {
+        return mails.stream()
+                .map(mail -> new OutgoingMail(mail.to(), mail.subject(), mail.body(), idempotencyKey))
+                .toList();
+    }
+
+    static List<OutgoingMail> mails(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new OutgoingMail("holder" + i + "@example.com", "Event cancelled",
+                        "Your event was cancelled. You will be refunded."))
+                .toList();
+    }
+
+    static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 30s");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ticketmaster.notification.security;
+
+import com.ticketmaster.notification.exception.ServiceKeyRejectedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServiceKeyInterceptorTest {
+
+    @Test
+    void shouldAcceptMatchingKey() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/notifications/mail");
+        request.addHeader(ServiceKeyInterceptor.SERVICE_KEY_HEADER, "secret");
+
+        assertThat(new ServiceKeyInterceptor("secret").preHandle(request, new MockHttpServletResponse(), new Object()))
+                .isTrue();
+    }
+
+    @Test
+    void shouldRejectEveryCall_WhenNoKeyIsConfigured() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/notifications/mail");
+        request.addHeader(ServiceKeyInterceptor.SERVICE_KEY_HEADER, "");
+
+        assertThatThrownBy(() -> new ServiceKeyInterceptor(" ").preHandle(request, new MockHttpServletResponse(), new Object()))
+                .isInstanceOfSatisfying(ServiceKeyRejectedException.class,
+                        ex -> assertThat(ex.getStatus()).isEqualTo(HttpStatus.FORBIDDEN));
+    }
+}
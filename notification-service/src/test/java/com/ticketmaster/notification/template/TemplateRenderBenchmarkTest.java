@@ -0,0 +1,141 @@
+package com.ticketmaster.notification.template;
+
+import com.ticketmaster.notification.mail.OutgoingMail;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of rendering a 10 000-recipient cancellation blast on one thread:
+ * <ul>
+ * <li>{@code replacePerRecipient} - substituting each placeholder with {@code String.replace} for
+ * every recipient, which rescans the template and allocates a new string per placeholder;</li>
+ * <li>{@code compiledPlan} - {@link TemplateService}: the template looked up once from the
+ * compiled cache, each recipient rendered into a reused buffer.</li>
+ * </ul>
+ * The JUnit test runs both in-process with short iterations and the GC profiler, logs renders per
+ * second and bytes allocated per blast, and checks the compiled plan wins on both.
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TemplateRenderBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplateRenderBenchmarkTest.class);
+
+    private static final int RECIPIENTS = 10_000;
+
+    private static final String SUBJECT = "{{event}} on {{date}} is cancelled";
+    private static final String BODY = """
+            Hi {{name}},
+
+            We are sorry to tell you that {{event}} at {{venue}} on {{date}} has been cancelled.
+            Your order {{order}} for {{tickets}} ticket(s) will be refunded in full to the card you paid with
+            within 5 business days. You do not need to do anything.
+
+            If you have questions about order {{order}}, reply to this email.
+
+            The Ticketing team
+            """;
+
+    private TemplateService templateService;
+    private List<String> emails;
+    private List<Map<String, String>> values;
+
+    @Setup
+    public void setUp() {
+        templateService = new TemplateService(256, 20);
+        templateService.publish("event-cancelled", SUBJECT, BODY);
+        emails = new ArrayList<>(RECIPIENTS);
+        values = new ArrayList<>(RECIPIENTS);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            emails.add("holder" + i + "@example.com");
+            Map<String, String> recipient = new HashMap<>();
+            recipient.put("name", "Holder " + i);
+            recipient.put("event", "Rock Night");
+            recipient.put("venue", "Main Arena");
+            recipient.put("date", "2026-11-01");
+            recipient.put("order", "ORD-" + (100_000 + i));
+            recipient.put("tickets", String.valueOf(1 + i % 4));
+            values.add(recipient);
+        }
+    }
+
+    @Benchmark
+    public void replacePerRecipient(Blackhole blackhole) {
+        for (int i = 0; i < RECIPIENTS; i++) {
+            String subject = SUBJECT;
+            String body = BODY;
+            for (Map.Entry<String, String> entry : values.get(i).entrySet()) {
+                String placeholder = "{{" + entry.getKey() + "}}";
+                subject = subject.replace(placeholder, entry.getValue());
+                body = body.replace(placeholder, entry.getValue());
+            }
+            blackhole.consume(new OutgoingMail(emails.get(i), subject, body));
+        }
+    }
+
+    @Benchmark
+    public void compiledPlan(Blackhole blackhole) {
+        NotificationTemplate template = templateService.get("event-cancelled", null);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            blackhole.consume(templateService.render(template, emails.get(i), values.get(i)));
+        }
+    }
+
+    @Test
+    void shouldCompareRendersPerSecondAndAllocation() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(TemplateRenderBenchmarkTest.class.getName() + "\\.")
+                .forks(0)
+                .threads(1)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        Map<String, Double> rendersPerSecond = new HashMap<>();
+        Map<String, Double> bytesPerRender = new HashMap<>();
+        for (RunResult result : new Runner(options).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            String name = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            rendersPerSecond.put(name, result.getPrimaryResult().getScore() * RECIPIENTS);
+            bytesPerRender.put(name, result.getSecondaryResults().get("gc.alloc.rate.norm").getScore() / RECIPIENTS);
+        }
+
+        log.info("Cancellation blast, {} recipients - String.replace: {} renders/s, {} B/render; "
+                        + "compiled plan: {} renders/s, {} B/render",
+                RECIPIENTS,
+                Math.round(rendersPerSecond.get("replacePerRecipient")), Math.round(bytesPerRender.get("replacePerRecipient")),
+                Math.round(rendersPerSecond.get("compiledPlan")), Math.round(bytesPerRender.get("compiledPlan")));
+
+        assertThat(rendersPerSecond.get("compiledPlan")).isGreaterThan(rendersPerSecond.get("replacePerRecipient"));
+        assertThat(bytesPerRender.get("compiledPlan")).isLessThan(bytesPerRender.get("replacePerRecipient"));
+    }
+}
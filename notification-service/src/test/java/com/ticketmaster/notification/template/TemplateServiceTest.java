@@ -0,0 +1,107 @@
+package com.ticketmaster.notification.template;
+
+import com.ticketmaster.notification.exception.TemplateNotFoundException;
+import com.ticketmaster.notification.exception.TemplateRenderException;
+import com.ticketmaster.notification.mail.OutgoingMail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TemplateServiceTest {
+
+    private TemplateService templateService;
+
+    @BeforeEach
+    void setUp() {
+        templateService = new TemplateService(2, 2);
+    }
+
+    @Test
+    void render_ShouldFillEveryPlaceholder() {
+        NotificationTemplate template = templateService.publish("event-cancelled",
+                "{{event}} is cancelled", "Hi {{ name }},\n{{event}} on {{date}} is cancelled. {{name}}, you will be refunded.");
+
+        OutgoingMail mail = templateService.render(template, "alice@example.com",
+                Map.of("name", "Alice", "event", "Rock Night", "date", "2026-11-01"));
+
+        assertThat(mail).isEqualTo(new OutgoingMail("alice@example.com", "Rock Night is cancelled",
+                "Hi Alice,\nRock Night on 2026-11-01 is cancelled. Alice, you will be refunded."));
+        assertThat(template.variables()).containsExactly("event", "name", "date");
+    }
+
+    @Test
+    void render_ShouldReuseTheBufferWithoutLeakingThePreviousRecipient() {
+        NotificationTemplate template = templateService.publish("welcome", "Welcome", "Hello {{name}}");
+
+        templateService.render(template, "alice@example.com", Map.of("name", "Alexandra-Maria"));
+        OutgoingMail second = templateService.render(template, "bob@example.com", Map.of("name", "Bob"));
+
+        assertThat(second.body()).isEqualTo("Hello Bob");
+    }
+
+    @Test
+    void render_ShouldThrow_WhenAValueIsMissing() {
+        NotificationTemplate template = templateService.publish("welcome", "Welcome", "Hello {{name}}");
+
+        assertThatThrownBy(() -> templateService.render(template, "alice@example.com", Map.of()))
+                .isInstanceOf(TemplateRenderException.class)
+                .hasMessage("Missing value for {{name}}");
+    }
+
+    @Test
+    void publish_ShouldRejectMalformedTemplates_WithoutCreatingAVersion() {
+        assertThatThrownBy(() -> templateService.publish("welcome", "Welcome", "Hello {{name"))
+                .isInstanceOf(TemplateRenderException.class);
+        assertThatThrownBy(() -> templateService.publish("welcome", "Welcome", "Hello {{first name}}"))
+                .isInstanceOf(TemplateRenderException.class);
+
+        assertThatThrownBy(() -> templateService.get("welcome", null)).isInstanceOf(TemplateNotFoundException.class);
+    }
+
+    @Test
+    void get_ShouldResolveVersions_AndRecompileEvictedOnes() {
+        templateService.publish("welcome", "Welcome", "Hello {{name}}");
+        templateService.publish("welcome", "Welcome", "Hi {{name}}");
+        // Cache holds two entries: this evicts version 1
+        templateService.publish("reminder", "Reminder", "{{event}} starts soon");
+
+        NotificationTemplate first = templateService.get("welcome", 1);
+        NotificationTemplate latest = templateService.get("welcome", null);
+
+        assertThat(first.version()).isEqualTo(1);
+        assertThat(templateService.render(first, "a@example.com", Map.of("name", "A")).body()).isEqualTo("Hello A");
+        assertThat(latest.version()).isEqualTo(2);
+        assertThatThrownBy(() -> templateService.get("welcome", 3))
+                .isInstanceOf(TemplateNotFoundException.class)
+                .hasMessage("Template not found: welcome version 3");
+    }
+
+    @Test
+    void get_ShouldReturnTheCompiledTemplate_FromTheCache() {
+        TemplateService roomy = new TemplateService(16, 2);
+        NotificationTemplate published = roomy.publish("welcome", "Welcome", "Hello {{name}}");
+
+        assertThat(roomy.get("welcome", 1)).isSameAs(published);
+        assertThat(roomy.get("welcome", null)).isSameAs(published);
+    }
+
+    @Test
+    void publish_ShouldDropTheOldestVersion_PastTheCap() {
+        NotificationTemplate first = templateService.publish("welcome", "Welcome", "Hello {{name}}");
+        templateService.publish("welcome", "Welcome", "Hi {{name}}");
+        templateService.publish("welcome", "Welcome", "Hey {{name}}");
+
+        assertThatThrownBy(() -> templateService.get("welcome", 1))
+                .isInstanceOf(TemplateNotFoundException.class)
+                .hasMessage("Template not found: welcome version 1");
+        assertThat(templateService.get("welcome", 2).version()).isEqualTo(2);
+        assertThat(templateService.render(templateService.get("welcome", null), "a@example.com",
+                Map.of("name", "A")).body()).isEqualTo("Hey A");
+        // A dropped version already handed out still renders
+        assertThat(templateService.render(first, "a@example.com", Map.of("name", "A")).body()).isEqualTo("Hello A");
+    }
+}
@@ -58,4 +58,7 @@ public class EventResponse {
 
     @Schema(description = "When the event was last updated", example = "2026-01-15T14:30:00")
     private LocalDateTime updatedAt;
+
+    @Schema(description = "Version of the event, increased by every update and ticket sale", example = "3")
+    private Long version;
 }
@@ -0,0 +1,29 @@
+package com.ticketmaster.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Shared DTO for a revoked access token
+ * Used by: auth-service (publishes the revocations), event-service (polls them)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedTokenResponse {
+
+    @Schema(description = "Token ID (jti claim) of the revoked token", example = "3f2b8c1e-7a4d-4e0b-9c55-1d2f6a8b9e70")
+    private String jti;
+
+    @Schema(description = "When the token expires; the revocation is dropped after that", example = "2026-06-15T20:00:00Z")
+    private Instant expiresAt;
+
+    @Schema(description = "When the token was revoked", example = "2026-06-14T20:00:00Z")
+    private Instant revokedAt;
+}
@@ -0,0 +1,80 @@
+package com.ticketmaster.common.util;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <h1>Bloom Filter</h1>
+ * <p>
+ * A fixed-size set of strings that can answer "definitely not added" or "maybe added".
+ * </p>
+ * <p>
+ * Sized for {@code expectedKeys} at a false-positive rate of {@code falsePositiveRate}: about
+ * 9.6 bits per key at 1%. Adding more keys than expected still works, with a higher
+ * false-positive rate. Keys cannot be removed. Thread-safe; {@link #add} and
+ * {@link #mightContain} never block.
+ * </p>
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashes;
+    private final long seed;
+
+    public BloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected keys must be positive and the rate between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = new AtomicLongArray(Math.toIntExact((optimalBits + 63) / 64));
+        this.bitCount = bits.length() * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * ln2));
+        this.seed = new SecureRandom().nextLong();
+    }
+
+    public void add(String key) {
+        long hash = SeededHash.hash(key, seed);
+        for (int i = 0; i < hashes; i++) {
+            long bit = bitIndex(hash, i);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * @return {@code false} if {@code key} was never added; {@code true} if it probably was.
+     */
+    public boolean mightContain(String key) {
+        long hash = SeededHash.hash(key, seed);
+        for (int i = 0; i < hashes; i++) {
+            long bit = bitIndex(hash, i);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The size of the bit array, in bytes.
+     */
+    public long sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    private long bitIndex(long hash, int i) {
+        // Kirsch-Mitzenmacher: i-th hash derived from the two halves of one 64-bit hash
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = hash >>> 32;
+        return Math.floorMod(h1 + i * h2, bitCount);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ticketmaster.common.util;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens by token id ({@code jti}), checked on every authenticated request.
+ * <p>
+ * The check first asks a {@link BloomFilter}: for the tokens that were never revoked (nearly all
+ * of them) that is one hash and a few bit reads, with no lookup in the exact set. Only a "maybe"
+ * goes on to the exact {@code jti -> expiry} map, which is also what makes the answer exact.
+ * </p>
+ * <p>
+ * An entry is only needed until its token expires. {@link #purgeExpired} drops those and, since a
+ * Bloom filter cannot forget, rebuilds the filter from what is left. Checks never block;
+ * revocations and purges are serialised, which is fine as both are rare.
+ * </p>
+ * Used by: auth-service, event-service
+ */
+public class RevocationList {
+
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public RevocationList(long expectedRevocations, double falsePositiveRate) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * Revokes the token with this id until {@code expiresAt}, after which it is invalid anyway.
+     */
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        filter.add(tokenId);
+    }
+
+    /**
+     * @return {@code true} if the token with this id was revoked. Tokens without an id cannot be revoked.
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Forgets revocations of tokens that expired by {@code now}.
+     *
+     * @return How many were dropped.
+     */
+    public synchronized int purgeExpired(Instant now) {
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        int purged = before - revoked.size();
+        if (purged > 0) {
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, 2L * revoked.size()), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        }
+        return purged;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
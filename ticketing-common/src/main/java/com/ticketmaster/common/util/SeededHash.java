@@ -0,0 +1,29 @@
+package com.ticketmaster.common.util;
+
+/**
+ * 64-bit string hash with a per-instance seed, for the in-memory sketches.
+ * <p>
+ * A random seed means callers cannot choose keys that collide on purpose (e.g. to inflate
+ * someone else's failure count), which {@code String.hashCode} would allow.
+ * </p>
+ */
+public final class SeededHash {
+
+    private SeededHash() {
+    }
+
+    public static long hash(String key, long seed) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            // FNV-1a step
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        // MurmurHash3 finalizer
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,47 @@
+package com.ticketmaster.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T12:00:00Z");
+
+    private final RevocationList revocations = new RevocationList(1_000, 0.01);
+
+    @Test
+    void shouldReportOnlyRevokedTokens() {
+        revocations.revoke("jti-1", NOW.plusSeconds(60));
+
+        assertTrue(revocations.isRevoked("jti-1"));
+        assertFalse(revocations.isRevoked("jti-2"));
+        assertFalse(revocations.isRevoked(null));
+    }
+
+    @Test
+    void shouldStayExact_WithFarMoreRevocationsThanExpected() {
+        for (int i = 0; i < 10_000; i++) {
+            revocations.revoke("revoked-" + i, NOW.plusSeconds(60));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(revocations.isRevoked("revoked-" + i));
+            assertFalse(revocations.isRevoked("active-" + i));
+        }
+    }
+
+    @Test
+    void shouldPurgeRevocationsOfExpiredTokens() {
+        revocations.revoke("short", NOW.plusSeconds(10));
+        revocations.revoke("long", NOW.plusSeconds(3600));
+
+        assertEquals(1, revocations.purgeExpired(NOW.plusSeconds(10)));
+
+        assertFalse(revocations.isRevoked("short"));
+        assertTrue(revocations.isRevoked("long"));
+        assertEquals(1, revocations.size());
+    }
+}